@@ -0,0 +1,98 @@
+package com.sovan.chutesladders.service;
+
+import com.sovan.chutesladders.model.Game;
+import com.sovan.chutesladders.model.GameState;
+import com.sovan.chutesladders.model.Player;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the move engine and board set-up.
+ * The game service is shared by all threads, as in the application, while every thread plays its own game.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Threads(4)
+public class GameEngineBenchmark {
+
+    /**
+     * The game service shared by all benchmark threads.
+     */
+    @State(Scope.Benchmark)
+    public static class Engine {
+
+        GameServiceImpl gameService;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            gameService = new GameServiceImpl(new BoardServiceImpl(), null, null, null, null);
+        }
+    }
+
+    /**
+     * A game played by one benchmark thread, restarted whenever a winner is declared.
+     */
+    @State(Scope.Thread)
+    public static class PlayedGame {
+
+        @Param({"1", "2", "3", "4", "5", "6", "7", "8", "9", "10"})
+        int playerCount;
+
+        Game game;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            List<Player> players = new ArrayList<>(playerCount);
+            for (int i = 0; i < playerCount; i++) {
+                Player player = new Player();
+                player.setName("Player " + (i + 1));
+                players.add(player);
+            }
+            GameState gameState = new GameState();
+            gameState.setPlayerList(players);
+            game = new Game();
+            game.setGameId(UUID.randomUUID());
+            game.setGameState(gameState);
+        }
+
+        void restartIfFinished() {
+            GameState gameState = game.getGameState();
+            if (gameState.isWinnerDeclared()) {
+                for (Player player : gameState.getPlayerList()) {
+                    player.setPosition(0);
+                    player.setWinner(false);
+                }
+                gameState.setNextPlayer(0);
+                gameState.setWinnerDeclared(false);
+            }
+        }
+    }
+
+    @Benchmark
+    public Game processPlayerMove(Engine engine, PlayedGame playedGame) {
+        playedGame.restartIfFinished();
+        engine.gameService.processPlayerMove(playedGame.game);
+        engine.gameService.updateNextPlayer(playedGame.game);
+        return playedGame.game;
+    }
+
+    @Benchmark
+    public BoardServiceImpl boardSetUp() {
+        BoardServiceImpl boardService = new BoardServiceImpl();
+        boardService.setUp();
+        return boardService;
+    }
+}
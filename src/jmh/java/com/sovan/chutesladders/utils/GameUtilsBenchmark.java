@@ -0,0 +1,96 @@
+package com.sovan.chutesladders.utils;
+
+import com.sovan.chutesladders.model.BoardSquare;
+import com.sovan.chutesladders.model.Game;
+import com.sovan.chutesladders.model.GameDTO;
+import com.sovan.chutesladders.model.GameState;
+import com.sovan.chutesladders.model.Player;
+import com.sovan.chutesladders.model.PlayerDTO;
+import com.sovan.chutesladders.service.BoardServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the mapper, the game comparison, the dice and the board squares.
+ * The dice share one {@link java.util.Random} across threads, so contention shows up as the thread count grows.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Threads(4)
+@State(Scope.Thread)
+public class GameUtilsBenchmark {
+
+    @Param({"1", "2", "3", "4", "5", "6", "7", "8", "9", "10"})
+    int playerCount;
+
+    private Game game;
+    private GameDTO gameDTO;
+    private List<PlayerDTO> playerDTOs;
+    private List<BoardSquare> squares;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<Player> players = new ArrayList<>(playerCount);
+        for (int i = 0; i < playerCount; i++) {
+            Player player = new Player();
+            player.setName("Player " + (i + 1));
+            player.setPosition(i * 7);
+            players.add(player);
+        }
+        GameState gameState = new GameState();
+        gameState.setPlayerList(players);
+        game = new Game();
+        game.setGameId(UUID.randomUUID());
+        game.setCreatedAt(Instant.now());
+        game.setGameState(gameState);
+
+        gameDTO = GameMapper.getGameDto(game);
+        playerDTOs = gameDTO.getGameState().getPlayerList();
+
+        BoardServiceImpl boardService = new BoardServiceImpl();
+        boardService.setUp();
+        squares = boardService.getBoard().getBoardSquarelist();
+    }
+
+    @Benchmark
+    public GameDTO getGameDto() {
+        return GameMapper.getGameDto(game);
+    }
+
+    @Benchmark
+    public List<Player> getPlayers() {
+        return GameMapper.getPlayers(playerDTOs);
+    }
+
+    @Benchmark
+    public boolean isGameEqual() {
+        return GameUtils.isGameEqual(game, gameDTO);
+    }
+
+    @Benchmark
+    public int roll() {
+        return DiceUtils.roll(6);
+    }
+
+    @Benchmark
+    public void getNumberSquaresToSkip(Blackhole blackhole) {
+        for (int i = 0; i < squares.size(); i++) {
+            blackhole.consume(squares.get(i).getNumberSquaresToSkip());
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.sovan.chutesladders.loadtest;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sovan.chutesladders.model.GameDTO;
+import com.sovan.chutesladders.model.PlayerDTO;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Minimal HTTP client of the game endpoints.
+ */
+public class GameClient {
+
+    private static final String PATH = "/v1/chutesandladders";
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final String baseUrl;
+
+    /**
+     * Constructs a new GameClient for the instance at the given URL.
+     *
+     * @param baseUrl      the base URL of the instance
+     * @param objectMapper the mapper used to read and write bodies
+     */
+    public GameClient(String baseUrl, ObjectMapper objectMapper) {
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        this.objectMapper = objectMapper;
+        this.baseUrl = baseUrl;
+    }
+
+    /**
+     * The outcome of one request.
+     *
+     * @param status the HTTP status
+     * @param game   the game returned, or null if the request failed
+     */
+    public record Result(int status, GameDTO game) {
+    }
+
+    /**
+     * Creates a game.
+     *
+     * @param players the players of the game
+     * @return the outcome
+     * @throws IOException          if the request fails
+     * @throws InterruptedException if the thread is interrupted
+     */
+    public Result create(List<PlayerDTO> players) throws IOException, InterruptedException {
+        HttpRequest request = json(URI.create(baseUrl + PATH))
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(players)))
+                .build();
+        return send(request);
+    }
+
+    /**
+     * Plays a turn.
+     *
+     * @param game        the game as last seen by the client
+     * @param playerName  the name of the player taking the turn
+     * @param playerToken the token the player was given when the game was created, or null when tokens are not enabled
+     * @return the outcome
+     * @throws IOException          if the request fails
+     * @throws InterruptedException if the thread is interrupted
+     */
+    public Result play(GameDTO game, String playerName, String playerToken) throws IOException, InterruptedException {
+        HttpRequest.Builder request = json(URI.create(baseUrl + PATH))
+                .header("X-Player-Name", playerName)
+                .PUT(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(game)));
+        if (playerToken != null) {
+            request.header("X-Player-Token", playerToken);
+        }
+        return send(request.build());
+    }
+
+    /**
+     * Gets the current state of a game.
+     *
+     * @param gameId the game ID
+     * @return the game, or null if it is not found
+     * @throws IOException          if the request fails
+     * @throws InterruptedException if the thread is interrupted
+     */
+    public GameDTO get(UUID gameId) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + PATH + "/batch?ids=" + gameId)).GET().build();
+        HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            return null;
+        }
+        List<GameDTO> games = objectMapper.readValue(response.body(), new TypeReference<>() {
+        });
+        return games.isEmpty() ? null : games.get(0);
+    }
+
+    private HttpRequest.Builder json(URI uri) {
+        return HttpRequest.newBuilder(uri)
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json");
+    }
+
+    private Result send(HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        GameDTO game = response.statusCode() == 200 ? objectMapper.readValue(response.body(), GameDTO.class) : null;
+        return new Result(response.statusCode(), game);
+    }
+}
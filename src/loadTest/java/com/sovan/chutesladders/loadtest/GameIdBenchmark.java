@@ -0,0 +1,136 @@
+package com.sovan.chutesladders.loadtest;
+
+import com.sovan.chutesladders.utils.UuidUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Measures the insert throughput and database size of the game table keyed by random and by time-ordered UUIDs.
+ * Each kind of ID gets a fresh H2 file database with the game table and its indexes as Hibernate creates them, and
+ * rows are inserted in batches, one transaction per batch. The throughput is reported every million rows, and the size
+ * of the database file after a checkpoint at the end; the difference in size between the kinds is in the indexes on
+ * the game ID, whose pages are left half full when random keys split them.
+ * <p>
+ * Options, given as {@code --name=value}:
+ * <ul>
+ *     <li>{@code --games}: the number of rows to insert per kind of ID (default 10000000)</li>
+ *     <li>{@code --batch-size}: the number of rows per batch and transaction (default 1000)</li>
+ *     <li>{@code --ids}: comma-separated kinds of ID, {@code random} and {@code time-ordered} (default both)</li>
+ *     <li>{@code --directory}: the directory the databases are created in (default build/game-id-benchmark)</li>
+ * </ul>
+ */
+public class GameIdBenchmark {
+
+    private static final int REPORT_EVERY = 1_000_000;
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args the benchmark options
+     * @throws Exception if a run fails
+     */
+    public static void main(String[] args) throws Exception {
+        int games = 10_000_000;
+        int batchSize = 1000;
+        List<String> ids = List.of("random", "time-ordered");
+        Path directory = Path.of("build", "game-id-benchmark");
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            String name = separator > 0 ? arg.substring(0, separator) : arg;
+            String value = separator > 0 ? arg.substring(separator + 1) : "";
+            switch (name) {
+                case "--games" -> games = Integer.parseInt(value);
+                case "--batch-size" -> batchSize = Integer.parseInt(value);
+                case "--ids" -> ids = Arrays.asList(value.split(","));
+                case "--directory" -> directory = Path.of(value);
+                default -> throw new IllegalArgumentException("Unknown option " + arg);
+            }
+        }
+
+        List<String> results = new ArrayList<>();
+        for (String kind : ids) {
+            Supplier<UUID> generator = switch (kind) {
+                case "random" -> UUID::randomUUID;
+                case "time-ordered" -> UuidUtils::timeOrderedUuid;
+                default -> throw new IllegalArgumentException("Unknown kind of ID " + kind);
+            };
+            results.add(run(kind, generator, games, batchSize, directory.resolve(kind)));
+        }
+        results.forEach(System.out::println);
+    }
+
+    /**
+     * Inserts the games into a fresh database and reports the throughput and the database size.
+     *
+     * @return the summary line of the run
+     */
+    private static String run(String kind, Supplier<UUID> generator, int games, int batchSize, Path directory) throws Exception {
+        deleteRecursively(directory);
+        Files.createDirectories(directory);
+        Path database = directory.resolve("games");
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:file:" + database.toAbsolutePath(), "sa", "")) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CREATE TABLE game (game_id UUID NOT NULL PRIMARY KEY, "
+                        + "created_at TIMESTAMP(6) WITH TIME ZONE, game_state_id BIGINT, version BIGINT)");
+                statement.execute("CREATE INDEX idx_game_created_at_id ON game (created_at, game_id)");
+            }
+            connection.setAutoCommit(false);
+
+            long startNanos = System.nanoTime();
+            long intervalStartNanos = startNanos;
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "INSERT INTO game (game_id, created_at, game_state_id, version) VALUES (?, ?, ?, 0)")) {
+                for (int i = 1; i <= games; i++) {
+                    insert.setObject(1, generator.get());
+                    insert.setObject(2, OffsetDateTime.now(ZoneOffset.UTC));
+                    insert.setLong(3, i);
+                    insert.addBatch();
+                    if (i % batchSize == 0 || i == games) {
+                        insert.executeBatch();
+                        connection.commit();
+                    }
+                    if (i % REPORT_EVERY == 0) {
+                        long now = System.nanoTime();
+                        System.out.printf("%s: %,d rows, %,.0f rows/s over the last %,d%n", kind, i,
+                                REPORT_EVERY * 1e9 / (now - intervalStartNanos), REPORT_EVERY);
+                        intervalStartNanos = now;
+                    }
+                }
+            }
+            long elapsedNanos = System.nanoTime() - startNanos;
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CHECKPOINT SYNC");
+            }
+            long bytes = Files.size(directory.resolve("games.mv.db"));
+            return String.format("%s: %,d rows in %,d ms, %,.0f rows/s, database %,d MB", kind, games,
+                    TimeUnit.NANOSECONDS.toMillis(elapsedNanos), games * 1e9 / elapsedNanos, bytes / (1024 * 1024));
+        }
+    }
+
+    private static void deleteRecursively(Path directory) throws IOException {
+        if (!Files.exists(directory)) {
+            return;
+        }
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package com.sovan.chutesladders.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sovan.chutesladders.ChutesLaddersApplication;
+import com.sovan.chutesladders.model.GameDTO;
+import com.sovan.chutesladders.model.GameStateDTO;
+import com.sovan.chutesladders.model.PlayerDTO;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Load generator that plays complete games through the game endpoints and reports throughput,
+ * latency percentiles of create and play requests, and the rate of rejected concurrent turns.
+ * <p>
+ * Without {@code --url} the application is started in-process on a random port with its embedded H2 database;
+ * otherwise the running instance at that URL is targeted. The client threads are split into groups of
+ * {@code --contenders} threads; the threads of a group play the same game at the same time, so that turns
+ * submitted from a stale state are rejected and counted.
+ * <pre>
+ * ./gradlew loadTest -PloadTestArgs="--concurrency=32 --games=5000 --player-mix=2:3,4:1,10:1 --contenders=2"
+ * </pre>
+ */
+public class LoadGenerator {
+
+    private static final int MAX_CONSECUTIVE_FAILURES = 100;
+
+    private final LoadTestOptions options;
+    private final GameClient client;
+    private final LoadTestReport report = new LoadTestReport();
+    private final AtomicInteger gamesStarted = new AtomicInteger();
+
+    /**
+     * Constructs a new LoadGenerator.
+     *
+     * @param options the load test options
+     * @param client  the client of the instance under test
+     */
+    public LoadGenerator(LoadTestOptions options, GameClient client) {
+        this.options = options;
+        this.client = client;
+    }
+
+    /**
+     * Runs the load test.
+     *
+     * @param args the load test options, followed by any arguments for the in-process application
+     * @throws InterruptedException if the load test is interrupted
+     */
+    public static void main(String[] args) throws InterruptedException {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+        ConfigurableApplicationContext context = null;
+        String baseUrl = options.getUrl();
+        if (baseUrl == null) {
+            context = startApplication(options.getApplicationArgs());
+            baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+        }
+        try {
+            new LoadGenerator(options, new GameClient(baseUrl, objectMapper)).run(System.out);
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+
+    /**
+     * Starts the application in-process on a random port.
+     *
+     * @param applicationArgs additional application arguments
+     * @return the application context
+     */
+    private static ConfigurableApplicationContext startApplication(List<String> applicationArgs) {
+        List<String> args = new ArrayList<>(applicationArgs);
+        if (args.stream().noneMatch(arg -> arg.startsWith("--server.port="))) {
+            args.add("--server.port=0");
+        }
+        return SpringApplication.run(ChutesLaddersApplication.class, args.toArray(String[]::new));
+    }
+
+    /**
+     * Plays all games and prints the report.
+     *
+     * @param out the stream to print the report to
+     * @throws InterruptedException if the load test is interrupted
+     */
+    public void run(PrintStream out) throws InterruptedException {
+        int contenders = options.getContenders();
+        int groups = options.getConcurrency() / contenders;
+        ExecutorService executor = Executors.newFixedThreadPool(options.getConcurrency());
+
+        long startNanos = System.nanoTime();
+        for (int i = 0; i < groups; i++) {
+            GameGroup group = new GameGroup(contenders);
+            for (int j = 0; j < contenders; j++) {
+                boolean leader = j == 0;
+                executor.execute(() -> group.runContender(leader));
+            }
+        }
+        executor.shutdown();
+        executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+
+        report.print(out, System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Creates the next game, skipping games whose creation fails.
+     *
+     * @return the created game, or null once all games have been started
+     */
+    private GameDTO nextGame() {
+        while (gamesStarted.getAndIncrement() < options.getGames()) {
+            int playerCount = options.nextPlayerCount();
+            List<PlayerDTO> players = new ArrayList<>(playerCount);
+            for (int i = 0; i < playerCount; i++) {
+                PlayerDTO player = new PlayerDTO();
+                player.setName("Player " + (i + 1));
+                players.add(player);
+            }
+            long startNanos = System.nanoTime();
+            try {
+                GameClient.Result result = client.create(players);
+                report.recordCreate(System.nanoTime() - startNanos);
+                if (result.game() != null) {
+                    return result.game();
+                }
+                report.recordCreateFailure(result.status());
+            } catch (IOException e) {
+                report.recordError();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Plays a game until a winner is declared, refreshing the game whenever a turn is rejected.
+     *
+     * @param game the game as created
+     * @return true if the game was played to the end
+     * @throws InterruptedException if the thread is interrupted
+     */
+    private boolean play(GameDTO game) throws InterruptedException {
+        GameDTO state = game;
+        List<String> playerTokens = game.getGameState().getPlayerList().stream().map(PlayerDTO::getToken).toList();
+        int consecutiveFailures = 0;
+        while (!state.getGameState().isWinnerDeclared()) {
+            GameStateDTO gameState = state.getGameState();
+            String playerName = gameState.getPlayerList().get(gameState.getNextPlayer()).getName();
+            String playerToken = playerTokens.get(gameState.getNextPlayer());
+
+            long startNanos = System.nanoTime();
+            GameClient.Result result = null;
+            try {
+                result = client.play(state, playerName, playerToken);
+                report.recordPlay(System.nanoTime() - startNanos, result.status());
+            } catch (IOException e) {
+                report.recordError();
+            }
+            if (result != null && result.game() != null) {
+                state = result.game();
+                consecutiveFailures = 0;
+                continue;
+            }
+
+            if (++consecutiveFailures >= MAX_CONSECUTIVE_FAILURES) {
+                return false;
+            }
+            if (result != null && result.status() == 503) {
+                Thread.sleep(10);
+            }
+            try {
+                GameDTO latest = client.get(state.getGameId());
+                if (latest == null) {
+                    return false;
+                }
+                state = latest;
+            } catch (IOException e) {
+                report.recordError();
+            }
+        }
+        return true;
+    }
+
+    /**
+     * A group of client threads playing the same games at the same time.
+     * The leader creates each game; all contenders then play it to the end before the next one starts.
+     */
+    private final class GameGroup {
+
+        private final CyclicBarrier barrier;
+        private volatile GameDTO game;
+
+        GameGroup(int contenders) {
+            this.barrier = new CyclicBarrier(contenders);
+        }
+
+        void runContender(boolean leader) {
+            try {
+                while (true) {
+                    if (leader) {
+                        game = nextGame();
+                    }
+                    barrier.await();
+                    GameDTO current = game;
+                    if (current == null) {
+                        return;
+                    }
+                    boolean finished = play(current);
+                    if (leader && finished) {
+                        report.recordGameFinished();
+                    }
+                    barrier.await();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (BrokenBarrierException e) {
+                // another contender of the group was interrupted
+            }
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.sovan.chutesladders.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Command-line options of the {@link LoadGenerator}.
+ * Options are given as {@code --name=value}; any other argument is passed on to the in-process application.
+ */
+public class LoadTestOptions {
+
+    private String url;
+    private int concurrency = 16;
+    private int games = 1000;
+    private int contenders = 1;
+    private int[] playerCounts = {2, 4};
+    private int[] cumulativeWeights = {1, 2};
+    private final List<String> applicationArgs = new ArrayList<>();
+
+    /**
+     * Parses the command-line arguments.
+     *
+     * @param args the arguments
+     * @return the options
+     * @throws IllegalArgumentException if an option has an invalid value
+     */
+    public static LoadTestOptions parse(String[] args) {
+        LoadTestOptions options = new LoadTestOptions();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            String name = separator > 0 ? arg.substring(0, separator) : arg;
+            String value = separator > 0 ? arg.substring(separator + 1) : "";
+            switch (name) {
+                case "--url" -> options.url = value.endsWith("/") ? value.substring(0, value.length() - 1) : value;
+                case "--concurrency" -> options.concurrency = positive(name, value);
+                case "--games" -> options.games = positive(name, value);
+                case "--contenders" -> options.contenders = positive(name, value);
+                case "--player-mix" -> options.parsePlayerMix(value);
+                default -> options.applicationArgs.add(arg);
+            }
+        }
+        if (options.concurrency % options.contenders != 0) {
+            throw new IllegalArgumentException("--concurrency must be a multiple of --contenders.");
+        }
+        return options;
+    }
+
+    /**
+     * Parses a player mix of the form {@code players:weight,players:weight}, e.g. {@code 2:3,4:1}.
+     *
+     * @param value the player mix
+     */
+    private void parsePlayerMix(String value) {
+        String[] entries = value.split(",");
+        playerCounts = new int[entries.length];
+        cumulativeWeights = new int[entries.length];
+        int total = 0;
+        for (int i = 0; i < entries.length; i++) {
+            String[] parts = entries[i].trim().split(":");
+            playerCounts[i] = positive("--player-mix", parts[0]);
+            total += parts.length > 1 ? positive("--player-mix", parts[1]) : 1;
+            cumulativeWeights[i] = total;
+        }
+    }
+
+    private static int positive(String name, String value) {
+        try {
+            int parsed = Integer.parseInt(value.trim());
+            if (parsed > 0) {
+                return parsed;
+            }
+        } catch (NumberFormatException e) {
+            // reported below
+        }
+        throw new IllegalArgumentException(name + " must be a positive integer, got '" + value + "'.");
+    }
+
+    /**
+     * Draws the number of players of the next game from the player mix.
+     *
+     * @return the number of players
+     */
+    public int nextPlayerCount() {
+        int draw = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (draw < cumulativeWeights[i]) {
+                return playerCounts[i];
+            }
+        }
+        return playerCounts[playerCounts.length - 1];
+    }
+
+    /**
+     * Gets the base URL of a running instance to target.
+     *
+     * @return the base URL, or null to start the application in-process
+     */
+    public String getUrl() {
+        return url;
+    }
+
+    /**
+     * Gets the number of client threads.
+     *
+     * @return the number of client threads
+     */
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    /**
+     * Gets the total number of games to play.
+     *
+     * @return the number of games
+     */
+    public int getGames() {
+        return games;
+    }
+
+    /**
+     * Gets the number of client threads playing each game at the same time.
+     *
+     * @return the number of contenders per game
+     */
+    public int getContenders() {
+        return contenders;
+    }
+
+    /**
+     * Gets the arguments passed on to the in-process application.
+     *
+     * @return the application arguments
+     */
+    public List<String> getApplicationArgs() {
+        return applicationArgs;
+    }
+}
@@ -0,0 +1,122 @@
+package com.sovan.chutesladders.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histograms and outcome counters collected during a load test.
+ */
+public class LoadTestReport {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private final Histogram createLatency = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+    private final Histogram playLatency = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+
+    private final LongAdder gamesFinished = new LongAdder();
+    private final LongAdder turnsPlayed = new LongAdder();
+    private final LongAdder conflicts = new LongAdder();
+    private final LongAdder staleRejections = new LongAdder();
+    private final LongAdder shed = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+
+    /**
+     * Records the latency of a create request.
+     *
+     * @param nanos the latency
+     */
+    public void recordCreate(long nanos) {
+        record(createLatency, nanos);
+    }
+
+    /**
+     * Records the latency and outcome of a play request.
+     *
+     * @param nanos  the latency
+     * @param status the HTTP status
+     */
+    public void recordPlay(long nanos, int status) {
+        record(playLatency, nanos);
+        switch (status) {
+            case 200 -> turnsPlayed.increment();
+            case 409 -> conflicts.increment();
+            case 400, 403 -> staleRejections.increment();
+            case 503 -> shed.increment();
+            default -> errors.increment();
+        }
+    }
+
+    /**
+     * Counts a failed create request.
+     *
+     * @param status the HTTP status
+     */
+    public void recordCreateFailure(int status) {
+        if (status == 503) {
+            shed.increment();
+        } else {
+            errors.increment();
+        }
+    }
+
+    /**
+     * Counts a request that did not get a response.
+     */
+    public void recordError() {
+        errors.increment();
+    }
+
+    /**
+     * Counts a game played to the end.
+     */
+    public void recordGameFinished() {
+        gamesFinished.increment();
+    }
+
+    /**
+     * Prints the report.
+     *
+     * @param out          the stream to print to
+     * @param elapsedNanos the duration of the test
+     */
+    public void print(PrintStream out, long elapsedNanos) {
+        double seconds = elapsedNanos / 1e9;
+        long playAttempts = playLatency.getTotalCount();
+        out.printf("Duration            %.2f s%n", seconds);
+        out.printf("Games finished      %d (%.1f/s)%n", gamesFinished.sum(), gamesFinished.sum() / seconds);
+        printLatency(out, "create", createLatency, seconds);
+        printLatency(out, "play", playLatency, seconds);
+        out.printf("Turns played        %d%n", turnsPlayed.sum());
+        out.printf("Lock conflicts      %d (%.3f%% of play requests)%n", conflicts.sum(), percent(conflicts.sum(), playAttempts));
+        out.printf("Stale rejections    %d (%.3f%% of play requests)%n", staleRejections.sum(), percent(staleRejections.sum(), playAttempts));
+        out.printf("Shed (503)          %d%n", shed.sum());
+        out.printf("Errors              %d%n", errors.sum());
+    }
+
+    private static void printLatency(PrintStream out, String name, Histogram histogram, double seconds) {
+        out.printf("%-6s requests     %d (%.1f/s)%n", name, histogram.getTotalCount(), histogram.getTotalCount() / seconds);
+        StringBuilder line = new StringBuilder(String.format("%-6s latency ms  ", name));
+        for (double percentile : PERCENTILES) {
+            line.append(String.format(" p%s=%.3f", format(percentile), histogram.getValueAtPercentile(percentile) / 1000.0));
+        }
+        line.append(String.format(" max=%.3f", histogram.getMaxValue() / 1000.0));
+        out.println(line);
+    }
+
+    private static String format(double percentile) {
+        return percentile == Math.rint(percentile) ? String.valueOf((long) percentile) : String.valueOf(percentile);
+    }
+
+    private static double percent(long count, long total) {
+        return total == 0 ? 0 : 100.0 * count / total;
+    }
+
+    private static void record(Histogram histogram, long nanos) {
+        histogram.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(nanos), HIGHEST_TRACKABLE_MICROS));
+    }
+}
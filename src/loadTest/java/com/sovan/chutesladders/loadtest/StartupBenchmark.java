@@ -0,0 +1,151 @@
+package com.sovan.chutesladders.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sovan.chutesladders.ChutesLaddersApplication;
+import com.sovan.chutesladders.model.PlayerDTO;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the time from launching the application to its first successful turn.
+ * Each run starts a fresh JVM, creates a game as soon as the port accepts requests and plays one turn.
+ * <p>
+ * Options, given as {@code --name=value}:
+ * <ul>
+ *     <li>{@code --runs}: the number of runs (default 5)</li>
+ *     <li>{@code --jar}: the application jar to launch; by default the application classes on the current class path are launched</li>
+ *     <li>{@code --jvm-args}: space-separated JVM options, e.g. {@code -XX:SharedArchiveFile=application.jsa -Dspring.aot.enabled=true}</li>
+ *     <li>{@code --app-args}: space-separated application arguments, e.g. {@code --spring.profiles.active=faststart}</li>
+ * </ul>
+ */
+public class StartupBenchmark {
+
+    private static final long TIMEOUT_NANOS = TimeUnit.MINUTES.toNanos(2);
+    private static final long POLL_MILLIS = 5;
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args the benchmark options
+     * @throws Exception if a run fails
+     */
+    public static void main(String[] args) throws Exception {
+        int runs = 5;
+        String jar = null;
+        List<String> jvmArgs = new ArrayList<>();
+        List<String> appArgs = new ArrayList<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            String name = separator > 0 ? arg.substring(0, separator) : arg;
+            String value = separator > 0 ? arg.substring(separator + 1) : "";
+            switch (name) {
+                case "--runs" -> runs = Integer.parseInt(value);
+                case "--jar" -> jar = value;
+                case "--jvm-args" -> jvmArgs.addAll(split(value));
+                case "--app-args" -> appArgs.addAll(split(value));
+                default -> throw new IllegalArgumentException("Unknown option " + arg);
+            }
+        }
+
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+        long[] firstTurnMillis = new long[runs];
+        for (int i = 0; i < runs; i++) {
+            firstTurnMillis[i] = run(jar, jvmArgs, appArgs, objectMapper);
+            System.out.printf("Run %d: first successful turn after %d ms%n", i + 1, firstTurnMillis[i]);
+        }
+        Arrays.sort(firstTurnMillis);
+        System.out.printf("Time to first turn: min=%d ms median=%d ms max=%d ms%n",
+                firstTurnMillis[0], firstTurnMillis[runs / 2], firstTurnMillis[runs - 1]);
+    }
+
+    /**
+     * Launches the application once and waits for its first successful turn.
+     *
+     * @return the time from launch to the first successful turn, in milliseconds
+     */
+    private static long run(String jar, List<String> jvmArgs, List<String> appArgs, ObjectMapper objectMapper) throws Exception {
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmArgs);
+        if (jar != null) {
+            command.add("-jar");
+            command.add(jar);
+        } else {
+            command.add("-cp");
+            command.add(System.getProperty("java.class.path"));
+            command.add(ChutesLaddersApplication.class.getName());
+        }
+        command.addAll(appArgs);
+        command.add("--server.port=" + port);
+
+        File log = Files.createTempFile("startup-benchmark", ".log").toFile();
+        GameClient client = new GameClient("http://localhost:" + port, objectMapper);
+        long startNanos = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log)
+                .start();
+        try {
+            GameClient.Result created = null;
+            while (created == null || created.game() == null) {
+                checkAlive(process, startNanos, log);
+                try {
+                    created = client.create(players());
+                } catch (IOException e) {
+                    Thread.sleep(POLL_MILLIS);
+                }
+            }
+            GameClient.Result turn = client.play(created.game(), "Player 1",
+                    created.game().getGameState().getPlayerList().get(0).getToken());
+            if (turn.status() != 200) {
+                throw new IllegalStateException("The first turn failed with status " + turn.status() + ", see " + log);
+            }
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+            log.delete();
+            return elapsedMillis;
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    private static void checkAlive(Process process, long startNanos, File log) {
+        if (!process.isAlive()) {
+            throw new IllegalStateException("The application exited with status " + process.exitValue() + ", see " + log);
+        }
+        if (System.nanoTime() - startNanos > TIMEOUT_NANOS) {
+            throw new IllegalStateException("The application did not serve a turn in time, see " + log);
+        }
+    }
+
+    private static List<PlayerDTO> players() {
+        List<PlayerDTO> players = new ArrayList<>();
+        for (int i = 1; i <= 2; i++) {
+            PlayerDTO player = new PlayerDTO();
+            player.setName("Player " + i);
+            players.add(player);
+        }
+        return players;
+    }
+
+    private static List<String> split(String value) {
+        return value.isBlank() ? List.of() : Arrays.asList(value.trim().split("\\s+"));
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
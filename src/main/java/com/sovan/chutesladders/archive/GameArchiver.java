@@ -0,0 +1,45 @@
+package com.sovan.chutesladders.archive;
+
+import com.sovan.chutesladders.service.GameArchiveService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves finished games to the archive in the background, so that the tables and indexes on the turn path only hold
+ * the games still being played and those that finished recently. Runs every
+ * {@code chutesladders.archive.interval-ms} after the previous run has ended, on the scheduling thread.
+ */
+@Component
+@Slf4j
+@EnableScheduling
+@ConditionalOnProperty(name = "chutesladders.archive.enabled", havingValue = "true")
+public class GameArchiver {
+
+    private final GameArchiveService gameArchiveService;
+
+    /**
+     * Constructs a new GameArchiver.
+     *
+     * @param gameArchiveService the service moving the games to the archive
+     */
+    public GameArchiver(GameArchiveService gameArchiveService) {
+        this.gameArchiveService = gameArchiveService;
+    }
+
+    /**
+     * Archives the finished games that are old enough. A failed run is logged and retried at the next run.
+     */
+    @Scheduled(initialDelayString = "${chutesladders.archive.interval-ms:60000}",
+            fixedDelayString = "${chutesladders.archive.interval-ms:60000}")
+    public void archiveFinishedGames() {
+        try {
+            gameArchiveService.archiveFinishedGames();
+        } catch (DataAccessException e) {
+            log.warn("Archiving finished games failed, retrying at the next run", e);
+        }
+    }
+}
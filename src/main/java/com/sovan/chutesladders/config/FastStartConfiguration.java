@@ -0,0 +1,30 @@
+package com.sovan.chutesladders.config;
+
+import com.sovan.chutesladders.controller.GameController;
+import com.sovan.chutesladders.limiter.ConcurrencyLimiter;
+import com.sovan.chutesladders.service.BoardService;
+import com.sovan.chutesladders.service.GameService;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Configuration of the fast-start profile.
+ */
+@Configuration
+@Profile("faststart")
+public class FastStartConfiguration {
+
+    /**
+     * Keeps the beans on the game path eager under lazy initialization, so that the JPA bootstrap,
+     * the board and the game endpoints are ready when the instance reports ready rather than on the first turn.
+     *
+     * @return the exclude filter
+     */
+    @Bean
+    static LazyInitializationExcludeFilter gamePathEagerInitialization() {
+        return LazyInitializationExcludeFilter.forBeanTypes(GameController.class, GameService.class, BoardService.class,
+                ConcurrencyLimiter.class);
+    }
+}
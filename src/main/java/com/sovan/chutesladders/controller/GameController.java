@@ -1,12 +1,24 @@
 package com.sovan.chutesladders.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sovan.chutesladders.exception.GameBatchSizeException;
+import com.sovan.chutesladders.exception.GameFinishedException;
 import com.sovan.chutesladders.exception.GameNotFoundException;
 import com.sovan.chutesladders.exception.InconsistentGameException;
 import com.sovan.chutesladders.exception.NotYourTurnException;
 import com.sovan.chutesladders.exception.PlayerNumbersException;
+import com.sovan.chutesladders.exception.ServerOverloadedException;
+import com.sovan.chutesladders.limiter.ConcurrencyLimiter;
 import com.sovan.chutesladders.model.GameDTO;
+import com.sovan.chutesladders.model.GameExportFormat;
+import com.sovan.chutesladders.model.GameFilter;
+import com.sovan.chutesladders.model.GameImportResultDTO;
+import com.sovan.chutesladders.model.GamePageDTO;
 import com.sovan.chutesladders.model.PlayerDTO;
+import com.sovan.chutesladders.service.GameExportService;
+import com.sovan.chutesladders.service.GameImportService;
 import com.sovan.chutesladders.service.GameService;
+import com.sovan.chutesladders.utils.NdjsonWriter;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -21,9 +33,14 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
 /**
  * Controller for handling game-related requests.
@@ -35,13 +52,18 @@ import java.util.Optional;
 public class GameController {
 
     private GameService gameService;
+    private ConcurrencyLimiter concurrencyLimiter;
+    private ObjectMapper objectMapper;
+    private GameExportService gameExportService;
+    private GameImportService gameImportService;
 
     /**
      * Sets up a new game with the given players.
      */
     @Operation(
         summary = "Create a new Chutes and Ladders game",
-        description = "Creates a new game instance with the provided list of players. Each player needs a name to participate in the game."
+        description = "Creates a new game instance with the provided list of players. Each player needs a name to participate in the game. " +
+                      "When player tokens are enabled, the response holds each player's secret token, which is not returned again and must be sent with the player's turns."
     )
     @RequestBody(
         description = "List of players to participate in the game",
@@ -71,7 +93,7 @@ public class GameController {
     @ApiResponses(value = {
         @ApiResponse(
             responseCode = "200",
-            description = "Game created successfully",
+            description = "Game created successfully, with the token of each player when player tokens are enabled",
             content = @Content(
                 mediaType = MediaType.APPLICATION_JSON_VALUE,
                 schema = @Schema(implementation = GameDTO.class)
@@ -81,12 +103,19 @@ public class GameController {
             responseCode = "400",
             description = "Invalid number of players or player data",
             content = @Content
+        ),
+        @ApiResponse(
+            responseCode = "503",
+            description = "Server overloaded, retry after the number of seconds in the Retry-After header",
+            content = @Content
         )
     })
     @PostMapping
-    public ResponseEntity<GameDTO> gameSetUp(@org.springframework.web.bind.annotation.RequestBody List<PlayerDTO> playerDTOList) throws PlayerNumbersException {
-        GameDTO game = gameService.createNewGame(playerDTOList);
-        return ResponseEntity.of(Optional.of(game));
+    public ResponseEntity<GameDTO> gameSetUp(@org.springframework.web.bind.annotation.RequestBody List<PlayerDTO> playerDTOList) throws PlayerNumbersException, ServerOverloadedException {
+        try (ConcurrencyLimiter.Permit permit = concurrencyLimiter.acquire()) {
+            GameDTO game = gameService.createNewGame(playerDTOList);
+            return ResponseEntity.of(Optional.of(game));
+        }
     }
 
     /**
@@ -94,7 +123,9 @@ public class GameController {
      */
     @Operation(
         summary = "Play a turn in the game",
-        description = "Executes a turn for the specified player in the game. The player name must match the current player's turn."
+        description = "Executes a turn for the specified player in the game. The player, identified by X-Player-Id or X-Player-Name, must be the current player, " +
+                      "and, when player tokens are enabled, X-Player-Token must be the token that player was given when the game was created. " +
+                      "When X-Player-Id is sent, player names may be omitted from the request body."
     )
     @RequestBody(
         description = "Current game state with all players and game information",
@@ -136,10 +167,19 @@ public class GameController {
     )
     @Parameter(
         name = "X-Player-Name",
-        description = "Name of the player making the move",
-        required = true,
+        description = "Name of the player making the move; required unless X-Player-Id is sent",
         example = "Player 1"
     )
+    @Parameter(
+        name = "X-Player-Id",
+        description = "ID of the player making the move, as returned in the player list; takes precedence over X-Player-Name",
+        example = "0"
+    )
+    @Parameter(
+        name = "X-Player-Token",
+        description = "Token of the player making the move, as returned when the game was created; required when player tokens are enabled",
+        example = "q7T0oKqV3cY4mJ9b0fEw2A"
+    )
     @ApiResponses(value = {
         @ApiResponse(
             responseCode = "200",
@@ -161,18 +201,181 @@ public class GameController {
         ),
         @ApiResponse(
             responseCode = "409",
-            description = "Not the player's turn or inconsistent game state",
+            description = "Not the player's turn, inconsistent game state, or the game already has a winner",
+            content = @Content
+        ),
+        @ApiResponse(
+            responseCode = "503",
+            description = "Server overloaded, retry after the number of seconds in the Retry-After header",
             content = @Content
         )
     })
     @PutMapping
     public ResponseEntity<GameDTO> updateGame(
         @org.springframework.web.bind.annotation.RequestBody GameDTO game,
-        @RequestHeader("X-Player-Name") String playerName
-    ) throws PlayerNumbersException, NotYourTurnException, GameNotFoundException, InconsistentGameException {
-        GameDTO updatedGame = gameService.playGame(game, playerName);
-        return ResponseEntity.of(Optional.of(updatedGame));
+        @RequestHeader(value = "X-Player-Name", required = false) String playerName,
+        @RequestHeader(value = "X-Player-Id", required = false) Integer playerId,
+        @RequestHeader(value = "X-Player-Token", required = false) String playerToken
+    ) throws PlayerNumbersException, NotYourTurnException, GameNotFoundException, InconsistentGameException, GameFinishedException, ServerOverloadedException {
+        if (playerName == null && playerId == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        try (ConcurrencyLimiter.Permit permit = concurrencyLimiter.acquire()) {
+            GameDTO updatedGame = playerId != null
+                    ? gameService.playGame(game, playerId.intValue(), playerToken)
+                    : gameService.playGame(game, playerName, playerToken);
+            return ResponseEntity.of(Optional.of(updatedGame));
+        }
+    }
+
+    /**
+     * Gets several games by ID in one request.
+     */
+    @Operation(
+        summary = "Get several games",
+        description = "Returns the current state of up to 100 games in one request. Finished games that were archived " +
+                "are read from the archive, which is slower. Unknown game IDs are skipped."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Games found, in the order they were requested",
+            content = @Content(
+                mediaType = MediaType.APPLICATION_JSON_VALUE,
+                schema = @Schema(implementation = GameDTO[].class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Too many game IDs requested",
+            content = @Content
+        )
+    })
+    @GetMapping("/batch")
+    public ResponseEntity<List<GameDTO>> getGames(
+        @Parameter(description = "Comma-separated IDs of the games to get", required = true)
+        @RequestParam("ids") List<UUID> gameIds
+    ) throws GameBatchSizeException {
+        List<GameDTO> games = gameService.getGames(gameIds);
+        return ResponseEntity.of(Optional.of(games));
+    }
+
+    /**
+     * Lists games one keyset page at a time.
+     */
+    @Operation(
+        summary = "List games",
+        description = "Lists game summaries ordered by creation time and game ID. Players are not included. " +
+                      "To fetch the next page, pass the nextAfterCreatedAt and nextAfterGameId values of the previous page."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Page of games",
+            content = @Content(
+                mediaType = MediaType.APPLICATION_JSON_VALUE,
+                schema = @Schema(implementation = GamePageDTO.class)
+            )
+        )
+    })
+    @GetMapping
+    public ResponseEntity<GamePageDTO> listGames(
+        @Parameter(description = "Only list games whose winner-declared flag has this value")
+        @RequestParam(name = "winnerDeclared", required = false) Boolean winnerDeclared,
+        @Parameter(description = "Only list games created at or after this time (ISO-8601)")
+        @RequestParam(name = "createdFrom", required = false) Instant createdFrom,
+        @Parameter(description = "Only list games created before this time (ISO-8601)")
+        @RequestParam(name = "createdTo", required = false) Instant createdTo,
+        @Parameter(description = "nextAfterCreatedAt of the previous page")
+        @RequestParam(name = "afterCreatedAt", required = false) Instant afterCreatedAt,
+        @Parameter(description = "nextAfterGameId of the previous page")
+        @RequestParam(name = "afterGameId", required = false) UUID afterGameId,
+        @Parameter(description = "Maximum number of games on the page (1-1000)")
+        @RequestParam(name = "limit", defaultValue = "100") int limit
+    ) {
+        GameFilter filter = new GameFilter(winnerDeclared, createdFrom, createdTo);
+        GamePageDTO page = gameService.listGames(filter, afterCreatedAt, afterGameId, limit);
+        return ResponseEntity.of(Optional.of(page));
+    }
+
+    /**
+     * Streams all matching games as newline-delimited JSON.
+     */
+    @Operation(
+        summary = "Stream games",
+        description = "Streams the summaries of all matching games as newline-delimited JSON, ordered by creation time and game ID."
+    )
+    @GetMapping(path = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamGames(
+        @Parameter(description = "Only stream games whose winner-declared flag has this value")
+        @RequestParam(name = "winnerDeclared", required = false) Boolean winnerDeclared,
+        @Parameter(description = "Only stream games created at or after this time (ISO-8601)")
+        @RequestParam(name = "createdFrom", required = false) Instant createdFrom,
+        @Parameter(description = "Only stream games created before this time (ISO-8601)")
+        @RequestParam(name = "createdTo", required = false) Instant createdTo
+    ) {
+        GameFilter filter = new GameFilter(winnerDeclared, createdFrom, createdTo);
+        StreamingResponseBody body = outputStream -> {
+            NdjsonWriter writer = new NdjsonWriter(objectMapper, outputStream);
+            gameService.forEachGameSummary(filter, writer::write);
+            writer.flush();
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    /**
+     * Exports all matching games with their players.
+     */
+    @Operation(
+        summary = "Export games",
+        description = "Streams all matching games with their players, ordered by creation time and game ID. " +
+                      "NDJSON writes one game per line; BINARY uses a compact encoding that can be imported back."
+    )
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportGames(
+        @Parameter(description = "Serialization format, NDJSON or BINARY")
+        @RequestParam(name = "format", defaultValue = "NDJSON") GameExportFormat format,
+        @Parameter(description = "Only export games whose winner-declared flag has this value")
+        @RequestParam(name = "winnerDeclared", required = false) Boolean winnerDeclared,
+        @Parameter(description = "Only export games created at or after this time (ISO-8601)")
+        @RequestParam(name = "createdFrom", required = false) Instant createdFrom,
+        @Parameter(description = "Only export games created before this time (ISO-8601)")
+        @RequestParam(name = "createdTo", required = false) Instant createdTo
+    ) {
+        GameFilter filter = new GameFilter(winnerDeclared, createdFrom, createdTo);
+        StreamingResponseBody body = outputStream -> gameExportService.exportGames(filter, format, outputStream);
+        return ResponseEntity.ok().contentType(format.getMediaType()).body(body);
     }
 
+    /**
+     * Imports games previously written by the export endpoint.
+     */
+    @Operation(
+        summary = "Import games",
+        description = "Reads games in the NDJSON or BINARY export format from the request body, validates them and stores the valid ones. " +
+                      "Games whose ID is already stored are skipped. The response reports the counts and the throughput and, when issueTokens is set " +
+                      "and player tokens are enabled, the player tokens of the imported games."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Import finished",
+            content = @Content(
+                mediaType = MediaType.APPLICATION_JSON_VALUE,
+                schema = @Schema(implementation = GameImportResultDTO.class)
+            )
+        )
+    })
+    @PostMapping("/import")
+    public ResponseEntity<GameImportResultDTO> importGames(
+        @Parameter(description = "Serialization format, NDJSON or BINARY")
+        @RequestParam(name = "format", defaultValue = "NDJSON") GameExportFormat format,
+        @Parameter(description = "Whether to return the player tokens of the imported games; requires player tokens to be enabled")
+        @RequestParam(name = "issueTokens", defaultValue = "false") boolean issueTokens,
+        InputStream body
+    ) throws IOException {
+        GameImportResultDTO result = gameImportService.importGames(body, format, issueTokens);
+        return ResponseEntity.of(Optional.of(result));
+    }
 
-}
\ No newline at end of file
+}
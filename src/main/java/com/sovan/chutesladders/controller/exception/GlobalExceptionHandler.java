@@ -1,11 +1,20 @@
 package com.sovan.chutesladders.controller.exception;
 
+import com.sovan.chutesladders.exception.GameBatchSizeException;
+import com.sovan.chutesladders.exception.GameFinishedException;
 import com.sovan.chutesladders.exception.GameNotFoundException;
 import com.sovan.chutesladders.exception.InconsistentGameException;
 import com.sovan.chutesladders.exception.NotYourTurnException;
 import com.sovan.chutesladders.exception.PlayerNumbersException;
+import com.sovan.chutesladders.exception.ServerOverloadedException;
+import com.sovan.chutesladders.jfr.OptimisticLockConflictEvent;
+import com.sovan.chutesladders.metrics.GameMetrics;
+import jakarta.persistence.OptimisticLockException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 
@@ -16,6 +25,17 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 @ControllerAdvice
 public class GlobalExceptionHandler {
 
+    private final GameMetrics gameMetrics;
+
+    /**
+     * Constructs a new GlobalExceptionHandler with the given dependencies.
+     *
+     * @param gameMetrics the metrics each handled exception is counted in
+     */
+    public GlobalExceptionHandler(GameMetrics gameMetrics) {
+        this.gameMetrics = gameMetrics;
+    }
+
     /**
      * Handles the {@link PlayerNumbersException}.
      *
@@ -24,6 +44,7 @@ public class GlobalExceptionHandler {
      */
     @ExceptionHandler(PlayerNumbersException.class)
     public final ResponseEntity<String> handleMaxPlayerException(PlayerNumbersException ex) {
+        gameMetrics.recordException(ex);
         return new ResponseEntity<>(ex.getMessage(), HttpStatus.BAD_REQUEST);
     }
 
@@ -36,6 +57,7 @@ public class GlobalExceptionHandler {
      */
     @ExceptionHandler(GameNotFoundException.class)
     public final ResponseEntity<String> handleNotYourTurnException(GameNotFoundException ex) {
+        gameMetrics.recordException(ex);
         return new ResponseEntity<>(ex.getMessage(), HttpStatus.BAD_REQUEST);
     }
 
@@ -47,6 +69,7 @@ public class GlobalExceptionHandler {
      */
     @ExceptionHandler(InconsistentGameException.class)
     public final ResponseEntity<String> handleNotYourTurnException(InconsistentGameException ex) {
+        gameMetrics.recordException(ex);
         return new ResponseEntity<>(ex.getMessage(), HttpStatus.BAD_REQUEST);
     }
 
@@ -58,9 +81,70 @@ public class GlobalExceptionHandler {
      */
     @ExceptionHandler(NotYourTurnException.class)
     public final ResponseEntity<String> handleNotYourTurnException(NotYourTurnException ex) {
+        gameMetrics.recordException(ex);
         return new ResponseEntity<>(ex.getMessage(), HttpStatus.FORBIDDEN);
     }
 
+    /**
+     * Handles the {@link GameFinishedException}.
+     *
+     * @param ex the exception
+     * @return a response entity with a conflict status
+     */
+    @ExceptionHandler(GameFinishedException.class)
+    public final ResponseEntity<String> handleGameFinishedException(GameFinishedException ex) {
+        gameMetrics.recordException(ex);
+        return new ResponseEntity<>(ex.getMessage(), HttpStatus.CONFLICT);
+    }
+
+    /**
+     * Handles the {@link GameBatchSizeException}.
+     *
+     * @param ex the exception
+     * @return a response entity with a bad request status
+     */
+    @ExceptionHandler(GameBatchSizeException.class)
+    public final ResponseEntity<String> handleGameBatchSizeException(GameBatchSizeException ex) {
+        gameMetrics.recordException(ex);
+        return new ResponseEntity<>(ex.getMessage(), HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Handles the {@link ServerOverloadedException}.
+     *
+     * @param ex the exception
+     * @return a response entity with a service unavailable status and a Retry-After header
+     */
+    @ExceptionHandler(ServerOverloadedException.class)
+    public final ResponseEntity<String> handleServerOverloadedException(ServerOverloadedException ex) {
+        gameMetrics.recordException(ex);
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(ex.getMessage());
+    }
+
+    /**
+     * Handles optimistic lock failures, raised when another request updated the same game concurrently.
+     *
+     * @param ex the exception
+     * @return a response entity with a conflict status
+     */
+    @ExceptionHandler({OptimisticLockException.class, OptimisticLockingFailureException.class})
+    public final ResponseEntity<String> handleOptimisticLockException(Exception ex) {
+        gameMetrics.recordException(ex);
+        OptimisticLockConflictEvent event = new OptimisticLockConflictEvent();
+        if (event.shouldCommit()) {
+            if (ex instanceof ObjectOptimisticLockingFailureException lockFailure) {
+                event.entity = lockFailure.getPersistentClassName();
+                event.identifier = String.valueOf(lockFailure.getIdentifier());
+            } else if (ex instanceof OptimisticLockException lockException && lockException.getEntity() != null) {
+                event.entity = lockException.getEntity().getClass().getName();
+            }
+            event.commit();
+        }
+        return new ResponseEntity<>("The game was updated concurrently, please reload it and retry.", HttpStatus.CONFLICT);
+    }
+
     /**
      * Handles all other exceptions.
      *
@@ -69,6 +153,7 @@ public class GlobalExceptionHandler {
      */
     @ExceptionHandler(Exception.class)
     public final ResponseEntity<String> handleAllExceptions(Exception ex) {
+        gameMetrics.recordException(ex);
         return new ResponseEntity<>("An internal server error occurred.", HttpStatus.INTERNAL_SERVER_ERROR);
     }
 }
\ No newline at end of file
@@ -0,0 +1,313 @@
+package com.sovan.chutesladders.engine;
+
+import com.sovan.chutesladders.model.Game;
+import com.sovan.chutesladders.model.GameDTO;
+import com.sovan.chutesladders.model.GameState;
+import com.sovan.chutesladders.model.GameStateDTO;
+import com.sovan.chutesladders.model.Player;
+import com.sovan.chutesladders.model.PlayerDTO;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Primitive representation of a game held in memory.
+ * Positions are unsigned bytes, winners a bitmask, names IDs from a {@link PlayerNameRegistry},
+ * and the next player and winner-declared flag are packed into one byte. Names the registry had no room for are kept
+ * as plain strings in an array allocated only for the games that have some. A game of four players takes
+ * about 130 bytes of heap, against several hundred for the equivalent entity graph.
+ * Mapping to entities and DTOs happens only at the edges. Instances are not thread-safe.
+ */
+public final class CompactGameState {
+
+    /**
+     * The largest number of players a compact game can hold.
+     */
+    public static final int MAX_PLAYERS = 16;
+
+    /**
+     * The number of squares whose positions fit in the unsigned byte positions of a compact game.
+     */
+    public static final int MAX_SQUARES = 256;
+
+    private static final int NEXT_PLAYER_MASK = 0x0F;
+    private static final int WINNER_DECLARED_FLAG = 0x10;
+    private static final long NO_CREATION_TIME = Long.MIN_VALUE;
+
+    private final long gameIdHigh;
+    private final long gameIdLow;
+    private final long createdAtSeconds;
+    private final int createdAtNanos;
+    private final int[] nameIds;
+    private final String[] plainNames;
+    private final byte[] positions;
+    private final int winners;
+    private final byte flags;
+
+    private CompactGameState(UUID gameId, Instant createdAt, int[] nameIds, String[] plainNames, byte[] positions,
+                             int winners, int nextPlayer, boolean winnerDeclared) {
+        if (nameIds.length > MAX_PLAYERS) {
+            throw new IllegalArgumentException("Compact games hold at most " + MAX_PLAYERS + " players.");
+        }
+        this.gameIdHigh = gameId.getMostSignificantBits();
+        this.gameIdLow = gameId.getLeastSignificantBits();
+        this.createdAtSeconds = createdAt != null ? createdAt.getEpochSecond() : NO_CREATION_TIME;
+        this.createdAtNanos = createdAt != null ? createdAt.getNano() : 0;
+        this.nameIds = nameIds;
+        this.plainNames = plainNames;
+        this.positions = positions;
+        this.winners = winners;
+        this.flags = (byte) ((nextPlayer & NEXT_PLAYER_MASK) | (winnerDeclared ? WINNER_DECLARED_FLAG : 0));
+    }
+
+    /**
+     * Converts a game entity to its compact representation.
+     *
+     * @param game     the game entity
+     * @param registry the registry the player names are interned in
+     * @return the compact game
+     */
+    public static CompactGameState fromGame(Game game, PlayerNameRegistry registry) {
+        GameState gameState = game.getGameState();
+        List<Player> players = gameState.getPlayerList();
+        int[] nameIds = new int[players.size()];
+        String[] plainNames = null;
+        byte[] positions = new byte[players.size()];
+        int winners = 0;
+        for (int i = 0; i < nameIds.length; i++) {
+            Player player = players.get(i);
+            plainNames = intern(registry, player.getName(), i, nameIds, plainNames);
+            positions[i] = toByte(player.getPosition());
+            if (player.isWinner()) {
+                winners |= 1 << i;
+            }
+        }
+        return new CompactGameState(game.getGameId(), game.getCreatedAt(), nameIds, plainNames, positions, winners,
+                gameState.getNextPlayer(), gameState.isWinnerDeclared());
+    }
+
+    /**
+     * Converts a game DTO to its compact representation.
+     *
+     * @param game     the game DTO
+     * @param registry the registry the player names are interned in
+     * @return the compact game
+     */
+    public static CompactGameState fromDto(GameDTO game, PlayerNameRegistry registry) {
+        GameStateDTO gameState = game.getGameState();
+        List<PlayerDTO> players = gameState.getPlayerList();
+        int[] nameIds = new int[players.size()];
+        String[] plainNames = null;
+        byte[] positions = new byte[players.size()];
+        int winners = 0;
+        for (int i = 0; i < nameIds.length; i++) {
+            PlayerDTO player = players.get(i);
+            plainNames = intern(registry, player.getName(), i, nameIds, plainNames);
+            positions[i] = toByte(player.getPosition());
+            if (player.isWinner()) {
+                winners |= 1 << i;
+            }
+        }
+        return new CompactGameState(game.getGameId(), game.getCreatedAt(), nameIds, plainNames, positions, winners,
+                gameState.getNextPlayer(), gameState.isWinnerDeclared());
+    }
+
+    /**
+     * Creates a copy of the game with the same ID, creation time and players, in a later state.
+     *
+     * @param positions      the position of each player
+     * @param winners        the bitmask of the players who have won
+     * @param nextPlayer     the index of the next player
+     * @param winnerDeclared whether a winner has been declared
+     * @return the game in the given state
+     * @throws IllegalArgumentException if the number of positions does not match the number of players
+     */
+    public CompactGameState withProgress(byte[] positions, int winners, int nextPlayer, boolean winnerDeclared) {
+        if (positions.length != nameIds.length) {
+            throw new IllegalArgumentException("Expected " + nameIds.length + " positions, got " + positions.length + ".");
+        }
+        return new CompactGameState(getGameId(), getCreatedAt(), nameIds, plainNames, positions, winners, nextPlayer,
+                winnerDeclared);
+    }
+
+    /**
+     * Gets the bitmask of the players who have won, bit i standing for player i.
+     *
+     * @return the winners bitmask
+     */
+    public int getWinners() {
+        return winners;
+    }
+
+    /**
+     * Converts the game to a new, unpersisted game entity.
+     *
+     * @param registry the registry the player names were interned in
+     * @return the game entity
+     */
+    public Game toGame(PlayerNameRegistry registry) {
+        List<Player> players = new ArrayList<>(nameIds.length);
+        for (int i = 0; i < nameIds.length; i++) {
+            Player player = new Player();
+            player.setName(getName(i, registry));
+            player.setPosition(getPosition(i));
+            player.setWinner(isWinner(i));
+            players.add(player);
+        }
+        GameState gameState = new GameState();
+        gameState.setPlayerList(players);
+        gameState.setNextPlayer(getNextPlayer());
+        gameState.setWinnerDeclared(isWinnerDeclared());
+
+        Game game = new Game();
+        game.setGameId(getGameId());
+        game.setCreatedAt(getCreatedAt());
+        game.setGameState(gameState);
+        return game;
+    }
+
+    /**
+     * Converts the game to a DTO.
+     *
+     * @param registry the registry the player names were interned in
+     * @return the game DTO
+     */
+    public GameDTO toDto(PlayerNameRegistry registry) {
+        List<PlayerDTO> players = new ArrayList<>(nameIds.length);
+        for (int i = 0; i < nameIds.length; i++) {
+            PlayerDTO player = new PlayerDTO();
+            player.setPlayerId(i);
+            player.setName(getName(i, registry));
+            player.setPosition(getPosition(i));
+            player.setWinner(isWinner(i));
+            players.add(player);
+        }
+        GameStateDTO gameState = new GameStateDTO();
+        gameState.setPlayerList(players);
+        gameState.setNextPlayer(getNextPlayer());
+        gameState.setWinnerDeclared(isWinnerDeclared());
+
+        GameDTO game = new GameDTO();
+        game.setGameId(getGameId());
+        game.setCreatedAt(getCreatedAt());
+        game.setGameState(gameState);
+        return game;
+    }
+
+    /**
+     * Gets the game ID.
+     *
+     * @return the game ID
+     */
+    public UUID getGameId() {
+        return new UUID(gameIdHigh, gameIdLow);
+    }
+
+    /**
+     * Gets the creation time.
+     *
+     * @return the creation time, or null if unknown
+     */
+    public Instant getCreatedAt() {
+        return createdAtSeconds == NO_CREATION_TIME ? null : Instant.ofEpochSecond(createdAtSeconds, createdAtNanos);
+    }
+
+    /**
+     * Gets the number of players.
+     *
+     * @return the number of players
+     */
+    public int getPlayerCount() {
+        return nameIds.length;
+    }
+
+    /**
+     * Gets the index of the next player to play.
+     *
+     * @return the index of the next player
+     */
+    public int getNextPlayer() {
+        return flags & NEXT_PLAYER_MASK;
+    }
+
+    /**
+     * Gets whether a winner has been declared.
+     *
+     * @return true if a winner has been declared
+     */
+    public boolean isWinnerDeclared() {
+        return (flags & WINNER_DECLARED_FLAG) != 0;
+    }
+
+    /**
+     * Gets the position of a player.
+     *
+     * @param player the index of the player
+     * @return the position
+     */
+    public int getPosition(int player) {
+        return positions[player] & 0xFF;
+    }
+
+    /**
+     * Gets whether a player has won.
+     *
+     * @param player the index of the player
+     * @return true if the player has won
+     */
+    public boolean isWinner(int player) {
+        return (winners & (1 << player)) != 0;
+    }
+
+    /**
+     * Gets the name ID of a player.
+     *
+     * @param player the index of the player
+     * @return the name ID in the {@link PlayerNameRegistry}, or {@link PlayerNameRegistry#NOT_INTERNED} for a name
+     * kept as a plain string
+     */
+    public int getNameId(int player) {
+        return nameIds[player];
+    }
+
+    /**
+     * Gets the name of a player.
+     *
+     * @param player   the index of the player
+     * @param registry the registry the player names were interned in
+     * @return the name, or null if the player has none
+     */
+    public String getName(int player, PlayerNameRegistry registry) {
+        return nameIds[player] == PlayerNameRegistry.NOT_INTERNED ? plainNames[player] : registry.name(nameIds[player]);
+    }
+
+    /**
+     * Interns the name of a player, keeping the plain string instead when the registry is full.
+     *
+     * @param registry   the registry to intern the name in
+     * @param name       the name, may be null
+     * @param player     the index of the player
+     * @param nameIds    the name IDs of the players, set at the player's index
+     * @param plainNames the names not interned so far, or null if there are none
+     * @return the names not interned, allocated on the first one, or null if there are none
+     */
+    private static String[] intern(PlayerNameRegistry registry, String name, int player, int[] nameIds, String[] plainNames) {
+        nameIds[player] = registry.intern(name);
+        if (nameIds[player] == PlayerNameRegistry.NOT_INTERNED) {
+            if (plainNames == null) {
+                plainNames = new String[nameIds.length];
+            }
+            plainNames[player] = name;
+        }
+        return plainNames;
+    }
+
+    private static byte toByte(int position) {
+        if (position < 0 || position >= MAX_SQUARES) {
+            throw new IllegalArgumentException("Position " + position + " does not fit a compact game.");
+        }
+        return (byte) position;
+    }
+}
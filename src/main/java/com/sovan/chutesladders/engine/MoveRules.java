@@ -0,0 +1,38 @@
+package com.sovan.chutesladders.engine;
+
+import com.sovan.chutesladders.model.BoardSquare;
+
+import java.util.List;
+
+/**
+ * The rule deciding where a move ends.
+ */
+public final class MoveRules {
+
+    private MoveRules() {
+    }
+
+    /**
+     * Resolves the square a player lands on, following any chute or ladder.
+     * A player who passes the last square, or reaches it through a ladder, stops on the last square and wins.
+     *
+     * @param squares  the squares of the board
+     * @param position the position of the player before the move
+     * @param roll     the dice roll
+     * @return the position of the player after the move
+     */
+    public static int resolvePosition(List<BoardSquare> squares, int position, int roll) {
+        int lastSquare = squares.size() - 1;
+        int nextPosition = position + roll;
+        if (nextPosition > lastSquare) {
+            return lastSquare;
+        }
+        if (nextPosition > 0) {
+            nextPosition += squares.get(nextPosition - 1).getNumberSquaresToSkip();
+            if (nextPosition >= lastSquare) {
+                return lastSquare;
+            }
+        }
+        return nextPosition;
+    }
+}
@@ -0,0 +1,111 @@
+package com.sovan.chutesladders.engine;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Interns player names and assigns each distinct name a compact numeric ID.
+ * Player names repeat heavily across games, so compact game states keep the ID instead of a reference to a string.
+ * IDs are never reclaimed, so the registry holds at most {@code chutesladders.store.max-player-names} names: once it is
+ * full, new names get {@link #NOT_INTERNED} and the caller keeps the plain string, which costs a reference per player
+ * but no longer grows the registry with every name a client makes up.
+ */
+@Component
+public class PlayerNameRegistry {
+
+    /**
+     * The ID standing for a missing name.
+     */
+    public static final int NO_NAME = -1;
+
+    /**
+     * The ID standing for a name that was not interned, because the registry is full or the name was never seen.
+     */
+    public static final int NOT_INTERNED = -2;
+
+    private final int maxNames;
+    private final ConcurrentHashMap<String, Integer> ids = new ConcurrentHashMap<>();
+    private volatile String[] names = new String[64];
+    private int size;
+
+    /**
+     * Constructs a new PlayerNameRegistry.
+     *
+     * @param maxNames the largest number of names interned
+     */
+    public PlayerNameRegistry(@Value("${chutesladders.store.max-player-names:65536}") int maxNames) {
+        this.maxNames = maxNames;
+    }
+
+    /**
+     * Gets the ID of a name, assigning one if the name has not been seen before and the registry is not full.
+     *
+     * @param name the name, may be null
+     * @return the ID of the name, {@link #NO_NAME} for a null name, or {@link #NOT_INTERNED} for a new name once the
+     * registry is full
+     */
+    public int intern(String name) {
+        if (name == null) {
+            return NO_NAME;
+        }
+        Integer id = ids.get(name);
+        if (id != null) {
+            return id;
+        }
+        synchronized (this) {
+            id = ids.get(name);
+            if (id != null) {
+                return id;
+            }
+            if (size == maxNames) {
+                return NOT_INTERNED;
+            }
+            String[] current = names;
+            if (size == current.length) {
+                current = Arrays.copyOf(current, size * 2);
+            }
+            current[size] = name;
+            names = current;
+            id = size++;
+            ids.put(name, id);
+            return id;
+        }
+    }
+
+    /**
+     * Gets the ID of a name without assigning one.
+     *
+     * @param name the name, may be null
+     * @return the ID of the name, {@link #NO_NAME} for a null name, or {@link #NOT_INTERNED} if the name has never
+     * been interned
+     */
+    public int idOf(String name) {
+        if (name == null) {
+            return NO_NAME;
+        }
+        Integer id = ids.get(name);
+        return id != null ? id : NOT_INTERNED;
+    }
+
+    /**
+     * Gets the name with the given ID.
+     *
+     * @param id the ID, other than {@link #NOT_INTERNED}
+     * @return the name, or null for {@link #NO_NAME}
+     */
+    public String name(int id) {
+        return id == NO_NAME ? null : names[id];
+    }
+
+    /**
+     * Gets the number of distinct names interned.
+     *
+     * @return the number of names
+     */
+    public int size() {
+        return ids.size();
+    }
+}
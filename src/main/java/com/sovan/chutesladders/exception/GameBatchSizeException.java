@@ -0,0 +1,17 @@
+package com.sovan.chutesladders.exception;
+
+/**
+ * Exception thrown when a batch request asks for too many games.
+ */
+public class GameBatchSizeException extends Exception {
+
+    /**
+     * Constructs a new GameBatchSizeException with the specified detail message.
+     *
+     * @param msg the detail message
+     */
+    public GameBatchSizeException(String msg) {
+        super(msg);
+    }
+
+}
@@ -0,0 +1,17 @@
+package com.sovan.chutesladders.exception;
+
+/**
+ * Exception thrown when a player tries to play a turn in a game that already has a winner.
+ */
+public class GameFinishedException extends Exception {
+
+    /**
+     * Constructs a new GameFinishedException with the specified detail message.
+     *
+     * @param msg the detail message
+     */
+    public GameFinishedException(String msg) {
+        super(msg);
+    }
+
+}
@@ -1,7 +1,7 @@
 package com.sovan.chutesladders.exception;
 
 /**
- * Exception thrown when the number of players is invalid.
+ * Exception thrown when the number of players is invalid, or a player name is too long.
  */
 public class PlayerNumbersException extends Exception {
 
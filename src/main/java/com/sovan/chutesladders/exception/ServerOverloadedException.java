@@ -0,0 +1,30 @@
+package com.sovan.chutesladders.exception;
+
+/**
+ * Exception thrown when a request is shed because the server is at its concurrency limit.
+ */
+public class ServerOverloadedException extends Exception {
+
+    private final long retryAfterSeconds;
+
+    /**
+     * Constructs a new ServerOverloadedException with the specified detail message.
+     *
+     * @param msg               the detail message
+     * @param retryAfterSeconds the number of seconds the client should wait before retrying
+     */
+    public ServerOverloadedException(String msg, long retryAfterSeconds) {
+        super(msg);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    /**
+     * Gets the number of seconds the client should wait before retrying.
+     *
+     * @return the retry delay in seconds
+     */
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+}
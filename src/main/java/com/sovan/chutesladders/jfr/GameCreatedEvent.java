@@ -0,0 +1,25 @@
+package com.sovan.chutesladders.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event emitted when a game is created. Its duration covers the whole creation.
+ */
+@Name("com.sovan.chutesladders.GameCreated")
+@Label("Game Created")
+@Category({"Chutes and Ladders", "Game"})
+@Description("A new game was created")
+@StackTrace(false)
+public class GameCreatedEvent extends Event {
+
+    @Label("Game ID")
+    public String gameId;
+
+    @Label("Players")
+    public int playerCount;
+}
@@ -0,0 +1,25 @@
+package com.sovan.chutesladders.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event emitted when an update fails because another request changed the same entity.
+ */
+@Name("com.sovan.chutesladders.OptimisticLockConflict")
+@Label("Optimistic Lock Conflict")
+@Category({"Chutes and Ladders", "Game"})
+@Description("An update lost an optimistic locking race")
+@StackTrace(false)
+public class OptimisticLockConflictEvent extends Event {
+
+    @Label("Entity")
+    public String entity;
+
+    @Label("Identifier")
+    public String identifier;
+}
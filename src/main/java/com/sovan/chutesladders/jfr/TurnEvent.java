@@ -0,0 +1,46 @@
+package com.sovan.chutesladders.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight recorder event emitted for each turn played. Its duration covers the turn service method;
+ * the flush at commit happens afterwards and is not included.
+ */
+@Name("com.sovan.chutesladders.Turn")
+@Label("Turn")
+@Category({"Chutes and Ladders", "Game"})
+@Description("A player took a turn")
+@StackTrace(false)
+public class TurnEvent extends Event {
+
+    @Label("Game ID")
+    public String gameId;
+
+    @Label("Player Index")
+    public int playerIndex;
+
+    @Label("Roll")
+    public int roll;
+
+    @Label("From")
+    @Description("Position before the move")
+    public int fromPosition;
+
+    @Label("To")
+    @Description("Position after the move, including any chute or ladder")
+    public int toPosition;
+
+    @Label("Winning Move")
+    public boolean winner;
+
+    @Label("Database Time")
+    @Description("Time spent loading and saving the game")
+    @Timespan(Timespan.NANOSECONDS)
+    public long databaseTime;
+}
@@ -0,0 +1,32 @@
+package com.sovan.chutesladders.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event emitted when a turn is rejected before the move is made.
+ */
+@Name("com.sovan.chutesladders.TurnRejected")
+@Label("Turn Rejected")
+@Category({"Chutes and Ladders", "Game"})
+@Description("A turn was rejected because the game was not found, was stale or it was another player's turn")
+@StackTrace(false)
+public class TurnRejectedEvent extends Event {
+
+    @Label("Game ID")
+    public String gameId;
+
+    @Label("Player Name")
+    public String playerName;
+
+    @Label("Player ID")
+    @Description("ID of the player, or -1 if the player was identified by name")
+    public int playerId;
+
+    @Label("Reason")
+    public String reason;
+}
@@ -0,0 +1,226 @@
+package com.sovan.chutesladders.limiter;
+
+import com.sovan.chutesladders.exception.ServerOverloadedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Latency-based AIMD implementation of the {@link ConcurrencyLimiter} interface.
+ * The limit grows by one while admitted requests finish under the target latency and the
+ * limit is being used, and is cut multiplicatively as soon as a request exceeds the target.
+ * The limit is cut at most once per window: a slow request admitted before the last cut does not cut it again,
+ * so a burst of slow requests in flight together counts as one congestion signal.
+ * Requests over the limit wait in a bounded queue for a bounded time and are shed otherwise.
+ */
+@Component
+@Slf4j
+public class AdaptiveConcurrencyLimiter implements ConcurrencyLimiter {
+
+    private static final Permit NO_OP_PERMIT = () -> {
+    };
+
+    private final boolean enabled;
+    private final int minLimit;
+    private final int maxLimit;
+    private final long targetLatencyNanos;
+    private final double backoffRatio;
+    private final int maxQueueSize;
+    private final long maxWaitNanos;
+    private final long retryAfterSeconds;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition permitAvailable = lock.newCondition();
+
+    private volatile int limit;
+    private volatile int inFlight;
+    private volatile int waiting;
+    private long lastDecreaseNanos = System.nanoTime();
+
+    private final Counter queueFullRejections;
+    private final Counter timeoutRejections;
+
+    /**
+     * Constructs a new AdaptiveConcurrencyLimiter with the given settings.
+     *
+     * @param enabled           whether admission control is applied at all
+     * @param initialLimit      the concurrency limit to start with
+     * @param minLimit          the lowest value the limit may shrink to
+     * @param maxLimit          the highest value the limit may grow to
+     * @param targetLatencyMs   the latency above which the limit is reduced
+     * @param backoffRatio      the factor applied to the limit when the target latency is exceeded
+     * @param maxQueueSize      the number of requests allowed to wait for a permit
+     * @param maxWaitMs         the longest time a request may wait for a permit
+     * @param retryAfterSeconds the Retry-After value returned to shed requests
+     * @param meterRegistry     the registry the limiter metrics are published to
+     */
+    public AdaptiveConcurrencyLimiter(@Value("${chutesladders.admission.enabled:true}") boolean enabled,
+                                      @Value("${chutesladders.admission.initial-limit:20}") int initialLimit,
+                                      @Value("${chutesladders.admission.min-limit:4}") int minLimit,
+                                      @Value("${chutesladders.admission.max-limit:200}") int maxLimit,
+                                      @Value("${chutesladders.admission.target-latency-ms:250}") long targetLatencyMs,
+                                      @Value("${chutesladders.admission.backoff-ratio:0.9}") double backoffRatio,
+                                      @Value("${chutesladders.admission.max-queue-size:50}") int maxQueueSize,
+                                      @Value("${chutesladders.admission.max-wait-ms:50}") long maxWaitMs,
+                                      @Value("${chutesladders.admission.retry-after-seconds:1}") long retryAfterSeconds,
+                                      MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        this.targetLatencyNanos = TimeUnit.MILLISECONDS.toNanos(targetLatencyMs);
+        this.backoffRatio = backoffRatio;
+        this.maxQueueSize = maxQueueSize;
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMs);
+        this.retryAfterSeconds = retryAfterSeconds;
+
+        Gauge.builder("game.admission.limit", this, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Current concurrency limit")
+                .register(meterRegistry);
+        Gauge.builder("game.admission.inflight", this, AdaptiveConcurrencyLimiter::getInFlight)
+                .description("Requests currently holding a permit")
+                .register(meterRegistry);
+        Gauge.builder("game.admission.queue.depth", this, AdaptiveConcurrencyLimiter::getWaiting)
+                .description("Requests waiting for a permit")
+                .register(meterRegistry);
+        this.queueFullRejections = Counter.builder("game.admission.rejected")
+                .description("Requests shed by admission control")
+                .tag("reason", "queue_full")
+                .register(meterRegistry);
+        this.timeoutRejections = Counter.builder("game.admission.rejected")
+                .description("Requests shed by admission control")
+                .tag("reason", "timeout")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Acquires a permit to process a request, waiting at most the configured queue timeout.
+     *
+     * @return a permit that must be closed once the request has been processed
+     * @throws ServerOverloadedException if the queue is full or no permit became available in time
+     */
+    @Override
+    public Permit acquire() throws ServerOverloadedException {
+        if (!enabled) {
+            return NO_OP_PERMIT;
+        }
+        lock.lock();
+        try {
+            if (inFlight < limit) {
+                return admit();
+            }
+            if (waiting >= maxQueueSize) {
+                queueFullRejections.increment();
+                throw overloaded();
+            }
+            waiting++;
+            try {
+                long remaining = maxWaitNanos;
+                while (inFlight >= limit) {
+                    if (remaining <= 0) {
+                        timeoutRejections.increment();
+                        throw overloaded();
+                    }
+                    remaining = permitAvailable.awaitNanos(remaining);
+                }
+                return admit();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                timeoutRejections.increment();
+                throw overloaded();
+            } finally {
+                waiting--;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the current concurrency limit.
+     *
+     * @return the current limit
+     */
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * Gets the number of requests currently holding a permit.
+     *
+     * @return the number of in-flight requests
+     */
+    public int getInFlight() {
+        return inFlight;
+    }
+
+    /**
+     * Gets the number of requests waiting for a permit.
+     *
+     * @return the queue depth
+     */
+    public int getWaiting() {
+        return waiting;
+    }
+
+    /**
+     * Hands out a permit, which releases its slot on the first close only. Must be called while holding the lock.
+     *
+     * @return the permit
+     */
+    private Permit admit() {
+        inFlight++;
+        long startNanos = System.nanoTime();
+        AtomicBoolean released = new AtomicBoolean();
+        return () -> {
+            if (released.compareAndSet(false, true)) {
+                release(startNanos, System.nanoTime());
+            }
+        };
+    }
+
+    /**
+     * Returns a permit and adjusts the limit based on the observed latency.
+     *
+     * @param startNanos when the request was admitted
+     * @param endNanos   when the request released its permit
+     */
+    private void release(long startNanos, long endNanos) {
+        lock.lock();
+        try {
+            boolean saturated = inFlight * 2 >= limit;
+            inFlight--;
+            long latencyNanos = endNanos - startNanos;
+            if (latencyNanos > targetLatencyNanos) {
+                if (startNanos - lastDecreaseNanos >= 0) {
+                    limit = Math.max(minLimit, (int) (limit * backoffRatio));
+                    lastDecreaseNanos = endNanos;
+                    log.debug("Admission limit reduced to {} after a {} ms request", limit, TimeUnit.NANOSECONDS.toMillis(latencyNanos));
+                }
+            } else if (saturated && limit < maxLimit) {
+                limit++;
+                permitAvailable.signal();
+            }
+            permitAvailable.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Creates the exception returned to shed requests.
+     *
+     * @return the exception
+     */
+    private ServerOverloadedException overloaded() {
+        return new ServerOverloadedException("The server is busy, please retry later.", retryAfterSeconds);
+    }
+}
@@ -0,0 +1,29 @@
+package com.sovan.chutesladders.limiter;
+
+import com.sovan.chutesladders.exception.ServerOverloadedException;
+
+/**
+ * Admission control for the game endpoints.
+ */
+public interface ConcurrencyLimiter {
+
+    /**
+     * Acquires a permit to process a request, waiting at most the configured queue timeout.
+     *
+     * @return a permit that must be closed once the request has been processed
+     * @throws ServerOverloadedException if the request was shed
+     */
+    public Permit acquire() throws ServerOverloadedException;
+
+    /**
+     * A permit held for the duration of one admitted request.
+     */
+    interface Permit extends AutoCloseable {
+
+        /**
+         * Releases the permit and records the request latency.
+         */
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,161 @@
+package com.sovan.chutesladders.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Micrometer instrumentation of game creation, the phases of a turn, the exceptions returned to clients
+ * and the SQL statements issued per request.
+ * Timers publish p50, p99 and p99.9 as well as a percentile histogram.
+ */
+@Component
+public class GameMetrics {
+
+    private static final double[] PERCENTILES = {0.5, 0.99, 0.999};
+
+    private final MeterRegistry meterRegistry;
+    private final Map<TurnPhase, Timer> phaseTimers = new EnumMap<>(TurnPhase.class);
+    private final Timer turnTimer;
+    private final Timer createTimer;
+
+    /**
+     * Constructs a new GameMetrics registering its meters in the given registry.
+     *
+     * @param meterRegistry the registry
+     */
+    public GameMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        for (TurnPhase phase : TurnPhase.values()) {
+            phaseTimers.put(phase, timer("game.turn.phase", "Time spent in one phase of a turn")
+                    .tag("phase", phase.getTag())
+                    .register(meterRegistry));
+        }
+        this.turnTimer = timer("game.turn", "Time spent in the turn service method, excluding the commit")
+                .register(meterRegistry);
+        this.createTimer = timer("game.create", "Time spent creating a game")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Records the duration of a turn phase that started at the given time.
+     *
+     * @param phase      the phase
+     * @param startNanos the {@link System#nanoTime()} at which the phase started
+     * @return the current {@link System#nanoTime()}, to be used as the start of the next phase
+     */
+    public long recordPhase(TurnPhase phase, long startNanos) {
+        long now = System.nanoTime();
+        phaseTimers.get(phase).record(now - startNanos, TimeUnit.NANOSECONDS);
+        return now;
+    }
+
+    /**
+     * Records the duration of the turn service method, and arranges for the commit of the
+     * surrounding transaction, if the store runs the turn in one, to be recorded as the {@link TurnPhase#COMMIT} phase.
+     *
+     * @param startNanos the {@link System#nanoTime()} at which the turn started
+     */
+    public void recordTurn(long startNanos) {
+        long now = System.nanoTime();
+        turnTimer.record(now - startNanos, TimeUnit.NANOSECONDS);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_COMMITTED) {
+                        recordPhase(TurnPhase.COMMIT, now);
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * Records the duration of a game creation.
+     *
+     * @param startNanos the {@link System#nanoTime()} at which the creation started
+     */
+    public void recordCreate(long startNanos) {
+        createTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Counts an exception returned to a client.
+     *
+     * @param ex the exception
+     */
+    public void recordException(Exception ex) {
+        Counter.builder("game.exceptions")
+                .description("Exceptions returned to clients")
+                .tag("exception", ex.getClass().getSimpleName())
+                .register(meterRegistry)
+                .increment();
+    }
+
+    /**
+     * Records the connections, SQL statements, entity loads and flushes of one request.
+     *
+     * @param method the HTTP method
+     * @param route  the matched route
+     * @param counts the counts of the request
+     */
+    public void recordQueries(String method, String route, QueryCounts counts) {
+        DistributionSummary.builder("game.request.connections")
+                .description("Database connections obtained per request")
+                .tags("method", method, "uri", route)
+                .register(meterRegistry)
+                .record(counts.getConnections());
+        statements(method, route, "select").record(counts.getSelects());
+        statements(method, route, "insert").record(counts.getInserts());
+        statements(method, route, "update").record(counts.getUpdates());
+        statements(method, route, "delete").record(counts.getDeletes());
+        DistributionSummary.builder("game.request.entity.loads")
+                .description("Entities loaded per request")
+                .tags("method", method, "uri", route)
+                .register(meterRegistry)
+                .record(counts.getEntityLoads());
+        DistributionSummary.builder("game.request.flushes")
+                .description("Persistence context flushes per request")
+                .tags("method", method, "uri", route)
+                .register(meterRegistry)
+                .record(counts.getFlushes());
+    }
+
+    /**
+     * Gets the summary of the SQL statements of one type issued per request.
+     *
+     * @param method the HTTP method
+     * @param route  the matched route
+     * @param type   the statement type
+     * @return the summary
+     */
+    private DistributionSummary statements(String method, String route, String type) {
+        return DistributionSummary.builder("game.request.statements")
+                .description("SQL statements per request")
+                .tags("method", method, "uri", route, "type", type)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Creates a timer builder with the percentiles used by all game timers.
+     *
+     * @param name        the timer name
+     * @param description the timer description
+     * @return the builder
+     */
+    private static Timer.Builder timer(String name, String description) {
+        return Timer.builder(name)
+                .description(description)
+                .publishPercentiles(PERCENTILES)
+                .publishPercentileHistogram();
+    }
+}
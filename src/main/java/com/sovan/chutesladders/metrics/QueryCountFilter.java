@@ -0,0 +1,48 @@
+package com.sovan.chutesladders.metrics;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Counts the SQL statements, entity loads and flushes of each request and publishes them through {@link GameMetrics}.
+ * Work done on async threads, such as streamed exports, is not counted.
+ */
+@Component
+@Slf4j
+public class QueryCountFilter extends OncePerRequestFilter {
+
+    private final GameMetrics gameMetrics;
+
+    /**
+     * Constructs a new QueryCountFilter with the given dependencies.
+     *
+     * @param gameMetrics the metrics the counts are published to
+     */
+    public QueryCountFilter(GameMetrics gameMetrics) {
+        this.gameMetrics = gameMetrics;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        QueryCounts.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            QueryCounts counts = QueryCounts.stop();
+            Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            if (route != null) {
+                gameMetrics.recordQueries(request.getMethod(), route.toString(), counts);
+                log.debug("{} {}: {}", request.getMethod(), route, counts);
+            }
+        }
+    }
+}
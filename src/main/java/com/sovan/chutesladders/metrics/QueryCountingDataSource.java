@@ -0,0 +1,123 @@
+package com.sovan.chutesladders.metrics;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Data source counting, on threads where {@link QueryCounts} is active, the connections obtained and the SQL statements
+ * executed through them, whatever issues them: Hibernate, a {@code JdbcTemplate} or plain JDBC.
+ * A statement is counted when it is executed, or for each row added to a JDBC batch, so a batch of n rows counts as
+ * n statements.
+ */
+public class QueryCountingDataSource extends DelegatingDataSource {
+
+    /**
+     * Constructs a new QueryCountingDataSource.
+     *
+     * @param targetDataSource the data source the connections are obtained from
+     */
+    public QueryCountingDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    /**
+     * Obtains a connection from the target data source and counts it.
+     *
+     * @return the counting connection
+     * @throws SQLException if the connection cannot be obtained
+     */
+    @Override
+    public Connection getConnection() throws SQLException {
+        return countingConnection(super.getConnection());
+    }
+
+    /**
+     * Obtains a connection for the given user from the target data source and counts it.
+     *
+     * @param username the user
+     * @param password the password
+     * @return the counting connection
+     * @throws SQLException if the connection cannot be obtained
+     */
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return countingConnection(super.getConnection(username, password));
+    }
+
+    /**
+     * Counts a connection and wraps it so that the statements created from it are counted.
+     *
+     * @param connection the connection
+     * @return the counting connection
+     */
+    private static Connection countingConnection(Connection connection) {
+        QueryCounts counts = QueryCounts.current();
+        if (counts != null) {
+            counts.countConnection();
+        }
+        return proxy(Connection.class, connection, (proxy, method, args) -> {
+            if (method.getName().equals("equals")) {
+                return proxy == args[0];
+            }
+            if (method.getName().equals("hashCode")) {
+                return System.identityHashCode(proxy);
+            }
+            Object result = invoke(connection, method, args);
+            if (result instanceof CallableStatement statement) {
+                return countingStatement(CallableStatement.class, statement, (String) args[0]);
+            }
+            if (result instanceof PreparedStatement statement) {
+                return countingStatement(PreparedStatement.class, statement, (String) args[0]);
+            }
+            if (result instanceof Statement statement) {
+                return countingStatement(Statement.class, statement, null);
+            }
+            return result;
+        });
+    }
+
+    /**
+     * Wraps a statement so that its executions and batched rows are counted.
+     *
+     * @param type      the statement interface to proxy
+     * @param statement the statement
+     * @param sql       the SQL of a prepared statement, or null for a plain statement
+     * @return the counting statement
+     */
+    private static <S extends Statement> S countingStatement(Class<S> type, S statement, String sql) {
+        return proxy(type, statement, (proxy, method, args) -> {
+            String name = method.getName();
+            if ((name.startsWith("execute") && !name.equals("executeBatch") && !name.equals("executeLargeBatch"))
+                    || name.equals("addBatch")) {
+                String executed = args != null && args.length > 0 && args[0] instanceof String s ? s : sql;
+                QueryCounts counts = QueryCounts.current();
+                if (counts != null && executed != null) {
+                    counts.countStatement(executed);
+                }
+            }
+            return invoke(statement, method, args);
+        });
+    }
+
+    private static <T> T proxy(Class<T> type, T target, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(QueryCountingDataSource.class.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.sovan.chutesladders.metrics;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the application's data sources in a {@link QueryCountingDataSource}, so that the statements of every store
+ * backed by them are counted.
+ */
+@Component
+public class QueryCountingDataSourcePostProcessor implements BeanPostProcessor {
+
+    /**
+     * Wraps a data source bean once it is initialized.
+     *
+     * @param bean     the bean
+     * @param beanName the name of the bean
+     * @return the counting data source, or the bean itself if it is not a data source or is already counting
+     */
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof QueryCountingDataSource)) {
+            return new QueryCountingDataSource(dataSource);
+        }
+        return bean;
+    }
+}
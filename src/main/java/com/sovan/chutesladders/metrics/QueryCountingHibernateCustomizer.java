@@ -0,0 +1,19 @@
+package com.sovan.chutesladders.metrics;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Registers the query counting interceptor with Hibernate. Statements are counted by {@link QueryCountingDataSource}.
+ */
+@Component
+public class QueryCountingHibernateCustomizer implements HibernatePropertiesCustomizer {
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(AvailableSettings.INTERCEPTOR, new QueryCountingInterceptor());
+    }
+}
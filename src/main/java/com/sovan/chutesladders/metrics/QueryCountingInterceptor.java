@@ -0,0 +1,29 @@
+package com.sovan.chutesladders.metrics;
+
+import org.hibernate.Interceptor;
+import org.hibernate.type.Type;
+
+import java.util.Iterator;
+
+/**
+ * Hibernate interceptor counting entity loads and flushes on threads where {@link QueryCounts} is active.
+ */
+public class QueryCountingInterceptor implements Interceptor {
+
+    @Override
+    public boolean onLoad(Object entity, Object id, Object[] state, String[] propertyNames, Type[] types) {
+        QueryCounts counts = QueryCounts.current();
+        if (counts != null) {
+            counts.countEntityLoad();
+        }
+        return false;
+    }
+
+    @Override
+    public void preFlush(Iterator<Object> entities) {
+        QueryCounts counts = QueryCounts.current();
+        if (counts != null) {
+            counts.countFlush();
+        }
+    }
+}
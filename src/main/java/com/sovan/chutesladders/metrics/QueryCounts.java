@@ -0,0 +1,182 @@
+package com.sovan.chutesladders.metrics;
+
+import java.util.Locale;
+
+/**
+ * Database connections and SQL statements, and Hibernate entity loads and flushes, issued on one thread while counting
+ * is active. Counting is started and stopped around a unit of work, typically a request, with {@link #start()} and
+ * {@link #stop()}; the connections and statements are counted by {@link QueryCountingDataSource}, whichever store
+ * issues them, and the entity loads and flushes by {@link QueryCountingInterceptor}.
+ */
+public final class QueryCounts {
+
+    private static final ThreadLocal<QueryCounts> CURRENT = new ThreadLocal<>();
+
+    private int connections;
+    private int selects;
+    private int inserts;
+    private int updates;
+    private int deletes;
+    private int otherStatements;
+    private int entityLoads;
+    private int flushes;
+
+    /**
+     * Starts counting on the current thread, replacing any counts already being collected.
+     *
+     * @return the counts being collected
+     */
+    public static QueryCounts start() {
+        QueryCounts counts = new QueryCounts();
+        CURRENT.set(counts);
+        return counts;
+    }
+
+    /**
+     * Stops counting on the current thread.
+     *
+     * @return the counts collected since {@link #start()}, or empty counts if counting was not active
+     */
+    public static QueryCounts stop() {
+        QueryCounts counts = CURRENT.get();
+        CURRENT.remove();
+        return counts != null ? counts : new QueryCounts();
+    }
+
+    /**
+     * Gets the counts being collected on the current thread.
+     *
+     * @return the counts, or null if counting is not active
+     */
+    static QueryCounts current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Counts a connection obtained from a data source.
+     */
+    void countConnection() {
+        connections++;
+    }
+
+    /**
+     * Counts a SQL statement by its leading keyword.
+     *
+     * @param sql the statement
+     */
+    void countStatement(String sql) {
+        String trimmed = sql.stripLeading();
+        int end = 0;
+        while (end < trimmed.length() && Character.isLetter(trimmed.charAt(end))) {
+            end++;
+        }
+        switch (trimmed.substring(0, end).toLowerCase(Locale.ROOT)) {
+            case "select", "with" -> selects++;
+            case "insert" -> inserts++;
+            case "update" -> updates++;
+            case "delete" -> deletes++;
+            default -> otherStatements++;
+        }
+    }
+
+    /**
+     * Counts an entity loaded from a result set.
+     */
+    void countEntityLoad() {
+        entityLoads++;
+    }
+
+    /**
+     * Counts a flush of the persistence context.
+     */
+    void countFlush() {
+        flushes++;
+    }
+
+    /**
+     * Gets the number of connections obtained.
+     *
+     * @return the number of connections obtained
+     */
+    public int getConnections() {
+        return connections;
+    }
+
+    /**
+     * Gets the number of select statements.
+     *
+     * @return the number of select statements
+     */
+    public int getSelects() {
+        return selects;
+    }
+
+    /**
+     * Gets the number of insert statements.
+     *
+     * @return the number of insert statements
+     */
+    public int getInserts() {
+        return inserts;
+    }
+
+    /**
+     * Gets the number of update statements.
+     *
+     * @return the number of update statements
+     */
+    public int getUpdates() {
+        return updates;
+    }
+
+    /**
+     * Gets the number of delete statements.
+     *
+     * @return the number of delete statements
+     */
+    public int getDeletes() {
+        return deletes;
+    }
+
+    /**
+     * Gets the number of statements of any other kind.
+     *
+     * @return the number of statements of any other kind
+     */
+    public int getOtherStatements() {
+        return otherStatements;
+    }
+
+    /**
+     * Gets the total number of SQL statements.
+     *
+     * @return the number of statements of any kind
+     */
+    public int getStatements() {
+        return selects + inserts + updates + deletes + otherStatements;
+    }
+
+    /**
+     * Gets the number of entities loaded.
+     *
+     * @return the number of entities loaded
+     */
+    public int getEntityLoads() {
+        return entityLoads;
+    }
+
+    /**
+     * Gets the number of flushes.
+     *
+     * @return the number of flushes
+     */
+    public int getFlushes() {
+        return flushes;
+    }
+
+    @Override
+    public String toString() {
+        return connections + " connections, " + selects + " select, " + inserts + " insert, " + updates + " update, " + deletes + " delete, "
+                + otherStatements + " other, " + entityLoads + " entity loads, " + flushes + " flushes";
+    }
+}
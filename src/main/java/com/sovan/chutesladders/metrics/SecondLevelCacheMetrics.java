@@ -0,0 +1,67 @@
+package com.sovan.chutesladders.metrics;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+/**
+ * Micrometer instrumentation of the Hibernate second-level and query caches, read from the Hibernate statistics.
+ * Each cache region publishes its hits, misses, puts and entry count, tagged with the region name, and the whole
+ * second-level cache publishes its hit ratio. Requires {@code hibernate.generate_statistics=true}.
+ */
+@Component
+public class SecondLevelCacheMetrics {
+
+    private final Statistics statistics;
+
+    /**
+     * Constructs a new SecondLevelCacheMetrics registering its meters in the given registry.
+     *
+     * @param entityManagerFactory the entity manager factory whose caches are measured
+     * @param meterRegistry        the registry
+     */
+    public SecondLevelCacheMetrics(EntityManagerFactory entityManagerFactory, MeterRegistry meterRegistry) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics(region);
+            if (regionStatistics == null) {
+                continue;
+            }
+            FunctionCounter.builder("hibernate.cache.requests", regionStatistics, CacheRegionStatistics::getHitCount)
+                    .description("Second-level cache lookups")
+                    .tags("region", region, "result", "hit")
+                    .register(meterRegistry);
+            FunctionCounter.builder("hibernate.cache.requests", regionStatistics, CacheRegionStatistics::getMissCount)
+                    .description("Second-level cache lookups")
+                    .tags("region", region, "result", "miss")
+                    .register(meterRegistry);
+            FunctionCounter.builder("hibernate.cache.puts", regionStatistics, CacheRegionStatistics::getPutCount)
+                    .description("Entries put in the second-level cache")
+                    .tag("region", region)
+                    .register(meterRegistry);
+            Gauge.builder("hibernate.cache.entries", regionStatistics, CacheRegionStatistics::getElementCountInMemory)
+                    .description("Entries held in the second-level cache, or -1 if the provider does not tell")
+                    .tag("region", region)
+                    .register(meterRegistry);
+        }
+        Gauge.builder("hibernate.cache.hit.ratio", this, SecondLevelCacheMetrics::getHitRatio)
+                .description("Share of second-level cache lookups served from the cache since startup")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Gets the share of second-level cache lookups that were hits since startup.
+     *
+     * @return the hit ratio, between 0 and 1, or 0 if there was no lookup
+     */
+    public double getHitRatio() {
+        long hits = statistics.getSecondLevelCacheHitCount();
+        long lookups = hits + statistics.getSecondLevelCacheMissCount();
+        return lookups == 0 ? 0.0 : (double) hits / lookups;
+    }
+}
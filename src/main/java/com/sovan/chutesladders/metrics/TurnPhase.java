@@ -0,0 +1,57 @@
+package com.sovan.chutesladders.metrics;
+
+/**
+ * The phases of a turn that are timed separately.
+ */
+public enum TurnPhase {
+
+    /**
+     * Loading the game and its players from the repository.
+     */
+    LOAD("load"),
+
+    /**
+     * Comparing the stored game with the one sent by the client.
+     */
+    COMPARE("compare"),
+
+    /**
+     * Checking that it is the requesting player's turn.
+     */
+    VALIDATE("validate"),
+
+    /**
+     * Rolling the dice, moving the player and advancing the turn pointer.
+     */
+    MOVE("move"),
+
+    /**
+     * Handing the updated game to the repository.
+     */
+    SAVE("save"),
+
+    /**
+     * Mapping the updated game to its DTO.
+     */
+    MAP("map"),
+
+    /**
+     * Flushing the changes and committing the transaction of the turn, for the stores that run turns in one.
+     */
+    COMMIT("commit");
+
+    private final String tag;
+
+    TurnPhase(String tag) {
+        this.tag = tag;
+    }
+
+    /**
+     * Gets the value of the phase tag.
+     *
+     * @return the tag value
+     */
+    public String getTag() {
+        return tag;
+    }
+}
@@ -3,15 +3,25 @@ package com.sovan.chutesladders.model;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
 
+import java.time.Instant;
 import java.util.UUID;
 
 /**
  * Represents a game of Chutes and Ladders.
+ * Updates set only the changed columns, which on a turn are the update time and the version.
+ * Cached in the second-level cache; a turn updates the cached game through its versioned update.
  */
 @Data
 @Entity
+@DynamicUpdate
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @ToString
+@Table(indexes = @Index(name = "idx_game_created_at_id", columnList = "created_at, game_id"))
 public class Game {
 
     /**
@@ -27,9 +37,30 @@ public class Game {
     @JoinColumn(name = "game_state_id", referencedColumnName = "id")
     private GameState gameState;
 
+    /**
+     * The time the game was created.
+     */
+    private Instant createdAt;
+
+    /**
+     * The time the game was last saved to the database.
+     */
+    private Instant updatedAt;
+
     /**
      * The version number for optimistic locking.
      */
     @Version
     private Long version;
+
+    /**
+     * Gives a game stored without a creation time the time it is first stored, so that it is keyed like every other
+     * game in the listings, which are ordered by creation time.
+     */
+    @PrePersist
+    void fillInCreatedAt() {
+        if (createdAt == null) {
+            createdAt = Instant.now();
+        }
+    }
 }
@@ -0,0 +1,54 @@
+package com.sovan.chutesladders.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.ToString;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Represents a batch of finished games moved out of the game store into the archive.
+ * The games are encoded together with {@link com.sovan.chutesladders.utils.GameBinaryCodec} and deflated, so the
+ * player names repeated across games are compressed once per batch. The IDs of the games are indexed to find the batch
+ * holding a game.
+ */
+@Data
+@Entity
+@ToString(exclude = "data")
+public class GameArchiveBatch {
+
+    /**
+     * The unique identifier for the batch.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * The time the batch was archived.
+     */
+    private Instant archivedAt;
+
+    /**
+     * The IDs of the games in the batch.
+     */
+    @ElementCollection
+    @CollectionTable(name = "archived_game", joinColumns = @JoinColumn(name = "batch_id"),
+            indexes = @Index(name = "idx_archived_game_id", columnList = "game_id", unique = true))
+    @Column(name = "game_id")
+    private List<UUID> gameIds = new ArrayList<>();
+
+    /**
+     * The size of the encoded games before compression, in bytes.
+     */
+    private int rawSize;
+
+    /**
+     * The encoded and deflated games.
+     */
+    @Lob
+    private byte[] data;
+}
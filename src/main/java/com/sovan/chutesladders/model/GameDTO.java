@@ -4,6 +4,7 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.Data;
 import lombok.ToString;
 
+import java.time.Instant;
 import java.util.UUID;
 
 /**
@@ -24,4 +25,10 @@ public class GameDTO {
      */
     @Schema(description = "Current state of the game including players and turn information", required = true)
     private GameStateDTO gameState;
+
+    /**
+     * The time the game was created.
+     */
+    @Schema(description = "Time the game was created", example = "2025-01-01T12:00:00Z", accessMode = Schema.AccessMode.READ_ONLY)
+    private Instant createdAt;
 }
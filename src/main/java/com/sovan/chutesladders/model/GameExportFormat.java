@@ -0,0 +1,34 @@
+package com.sovan.chutesladders.model;
+
+import org.springframework.http.MediaType;
+
+/**
+ * The serialization formats supported by bulk export and import.
+ */
+public enum GameExportFormat {
+
+    /**
+     * One JSON game per line.
+     */
+    NDJSON(MediaType.APPLICATION_NDJSON),
+
+    /**
+     * The compact binary encoding of {@link com.sovan.chutesladders.utils.GameBinaryCodec}.
+     */
+    BINARY(MediaType.APPLICATION_OCTET_STREAM);
+
+    private final MediaType mediaType;
+
+    GameExportFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    /**
+     * Gets the media type of the format.
+     *
+     * @return the media type
+     */
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+}
@@ -0,0 +1,66 @@
+package com.sovan.chutesladders.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Represents the criteria used to select games for listings.
+ * A null field means the criterion is not applied.
+ */
+@Data
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+public class GameFilter {
+
+    private static final Instant MIN_CREATED_AT = Instant.EPOCH;
+    private static final Instant MAX_CREATED_AT = Instant.parse("9999-12-31T23:59:59Z");
+    private static final List<Boolean> ALL_WINNER_STATES = List.of(Boolean.TRUE, Boolean.FALSE);
+
+    /**
+     * Only select games whose winner-declared flag has this value.
+     */
+    private Boolean winnerDeclared;
+
+    /**
+     * Only select games created at or after this time.
+     */
+    private Instant createdFrom;
+
+    /**
+     * Only select games created before this time.
+     */
+    private Instant createdTo;
+
+    /**
+     * Gets the winner-declared values selected by this filter.
+     *
+     * @return the winner-declared values to include
+     */
+    public List<Boolean> winnerStates() {
+        return winnerDeclared == null ? ALL_WINNER_STATES : List.of(winnerDeclared);
+    }
+
+    /**
+     * Gets the inclusive lower creation time bound of this filter.
+     *
+     * @return the lower bound, or the epoch if none is set
+     */
+    public Instant createdFromOrMin() {
+        return createdFrom == null ? MIN_CREATED_AT : createdFrom;
+    }
+
+    /**
+     * Gets the exclusive upper creation time bound of this filter.
+     *
+     * @return the upper bound, or the far future if none is set
+     */
+    public Instant createdToOrMax() {
+        return createdTo == null ? MAX_CREATED_AT : createdTo;
+    }
+}
@@ -0,0 +1,69 @@
+package com.sovan.chutesladders.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+import lombok.ToString;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Represents the outcome of a bulk import.
+ */
+@Data
+@ToString
+@Schema(description = "Outcome of a bulk game import")
+public class GameImportResultDTO {
+    /**
+     * The number of records read from the input.
+     */
+    @Schema(description = "Number of records read from the input", example = "100000")
+    private long read;
+
+    /**
+     * The number of games stored.
+     */
+    @Schema(description = "Number of games stored", example = "99990")
+    private long imported;
+
+    /**
+     * The number of records that were malformed, invalid, duplicated or already stored.
+     */
+    @Schema(description = "Number of records that were malformed, invalid, duplicated or already stored", example = "10")
+    private long rejected;
+
+    /**
+     * Whether the input was cut short by an unreadable record.
+     */
+    @Schema(description = "Indicates if the import stopped early because the input could not be read", example = "false")
+    private boolean aborted;
+
+    /**
+     * The duration of the import in milliseconds.
+     */
+    @Schema(description = "Duration of the import in milliseconds", example = "4200")
+    private long elapsedMillis;
+
+    /**
+     * The number of records processed per second.
+     */
+    @Schema(description = "Records processed per second", example = "23809.5")
+    private double rowsPerSecond;
+
+    /**
+     * The first rejection reasons.
+     */
+    @Schema(description = "The first rejection reasons")
+    private List<String> errors = new ArrayList<>();
+
+    /**
+     * The player tokens of the imported games, by game ID, when they were requested.
+     */
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    @Schema(description = "Player tokens of each imported game, by game ID and in player ID order; only returned when requested with issueTokens")
+    private Map<UUID, List<String>> playerTokens = new LinkedHashMap<>();
+}
@@ -0,0 +1,35 @@
+package com.sovan.chutesladders.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+import lombok.ToString;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Represents one page of a keyset-paginated game listing.
+ */
+@Data
+@ToString
+@Schema(description = "A page of game summaries with the cursor of the next page")
+public class GamePageDTO {
+    /**
+     * The games on this page, ordered by creation time and then game ID.
+     */
+    @Schema(description = "Games on this page, ordered by creation time and then game ID")
+    private List<GameSummaryDTO> games;
+
+    /**
+     * The creation time of the last game on this page, or null if this is the last page.
+     */
+    @Schema(description = "Pass as afterCreatedAt to fetch the next page; absent on the last page", example = "2025-01-01T12:00:00Z")
+    private Instant nextAfterCreatedAt;
+
+    /**
+     * The ID of the last game on this page, or null if this is the last page.
+     */
+    @Schema(description = "Pass as afterGameId to fetch the next page; absent on the last page", example = "32dbcbc1-04e7-4ac9-8c1b-bc46414bdc03")
+    private UUID nextAfterGameId;
+}
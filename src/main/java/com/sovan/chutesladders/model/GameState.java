@@ -4,15 +4,22 @@ package com.sovan.chutesladders.model;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.util.ArrayList;
 import java.util.List;
 
 /**
  * Represents the state of a game.
+ * Updates set only the changed columns, so a turn writes the next player and, when the game ends, the winner flag.
  */
 @Data
 @Entity
+@DynamicUpdate
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @ToString
 public class GameState {
 
@@ -25,9 +32,13 @@ public class GameState {
     /**
      * The list of players in the game.
      * JoinColumn creates a foreign key relationship instead of a join table.
+     * Players are inserted in list order, so ordering by ID keeps every player at the seat, and under the player ID,
+     * they were given when the game was created.
      */
     @OneToMany(cascade = CascadeType.ALL, fetch = FetchType.EAGER)
     @JoinColumn(name = "game_state_id")
+    @OrderBy("id")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     private List<Player> playerList = new ArrayList<>();
     /**
      * The index of the next player to play.
@@ -0,0 +1,44 @@
+package com.sovan.chutesladders.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Represents a lightweight view of a game used for listings, without its players.
+ */
+@Data
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Summary of a game without its player list")
+public class GameSummaryDTO {
+    /**
+     * The unique identifier for the game.
+     */
+    @Schema(description = "Unique identifier for the game session", example = "32dbcbc1-04e7-4ac9-8c1b-bc46414bdc03")
+    private UUID gameId;
+
+    /**
+     * The time the game was created.
+     */
+    @Schema(description = "Time the game was created", example = "2025-01-01T12:00:00Z")
+    private Instant createdAt;
+
+    /**
+     * The index of the next player to play.
+     */
+    @Schema(description = "Index of the player whose turn is next (0-based)", example = "0", minimum = "0")
+    private int nextPlayer;
+
+    /**
+     * Whether a winner has been declared.
+     */
+    @Schema(description = "Indicates if a winner has been declared in the game", example = "false")
+    private boolean isWinnerDeclared;
+}
@@ -1,5 +1,6 @@
 package com.sovan.chutesladders.model;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.Data;
 import lombok.ToString;
@@ -11,12 +12,26 @@ import lombok.ToString;
 @ToString
 @Schema(description = "Player information in the Chutes and Ladders game")
 public class PlayerDTO {
+    /**
+     * The ID of the player within the game, which is the player's index in the player list.
+     */
+    @Schema(description = "ID of the player within the game, to be sent in the X-Player-Id header", example = "0", accessMode = Schema.AccessMode.READ_ONLY)
+    private Integer playerId;
+
     /**
      * The name of the player.
      */
-    @Schema(description = "The name of the player", example = "Player 1", required = true)
+    @Schema(description = "The name of the player; required when creating a game, optional when playing a turn by player ID", example = "Player 1")
     private String name;
 
+    /**
+     * The secret token of the player, only returned when the game is created.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @Schema(description = "Secret token of the player, to be sent in the X-Player-Token header; only returned when the game is created",
+            example = "q7T0oKqV3cY4mJ9b0fEw2A", accessMode = Schema.AccessMode.READ_ONLY)
+    private String token;
+
     /**
      * The current position of the player on the board.
      */
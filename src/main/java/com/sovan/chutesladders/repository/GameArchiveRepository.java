@@ -0,0 +1,36 @@
+package com.sovan.chutesladders.repository;
+
+import com.sovan.chutesladders.model.GameArchiveBatch;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repository for accessing the archive of finished games.
+ */
+@Repository
+public interface GameArchiveRepository extends JpaRepository<GameArchiveBatch, Long> {
+
+    /**
+     * Finds the IDs of the batches holding any of the given games.
+     *
+     * @param gameIds the IDs of the games to find
+     * @return the batch IDs, each once
+     */
+    @Query("SELECT DISTINCT b.id FROM GameArchiveBatch b JOIN b.gameIds gameId WHERE gameId IN :gameIds")
+    List<Long> findBatchIdsHolding(@Param("gameIds") Collection<UUID> gameIds);
+
+    /**
+     * Finds which of the given game IDs are already archived.
+     *
+     * @param gameIds the IDs to look up
+     * @return the IDs that are archived
+     */
+    @Query("SELECT gameId FROM GameArchiveBatch b JOIN b.gameIds gameId WHERE gameId IN :gameIds")
+    List<UUID> findArchivedIds(@Param("gameIds") Collection<UUID> gameIds);
+}
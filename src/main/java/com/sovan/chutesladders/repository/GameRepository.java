@@ -1,13 +1,22 @@
 package com.sovan.chutesladders.repository;
 
 import com.sovan.chutesladders.model.Game;
+import com.sovan.chutesladders.model.GameSummaryDTO;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.util.Optional;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 /**
  * Repository for accessing game data.
@@ -16,16 +25,111 @@ import java.util.UUID;
 public interface GameRepository extends JpaRepository<Game, UUID> {
 
     /**
-     * Finds a game by ID with all related entities fetched in a single query to prevent N+1 issues.
-     * This uses JOIN FETCH to eagerly load GameState and Player entities.
+     * Finds several games by ID with all related entities fetched in a single IN query.
+     * IDs that do not exist are ignored and the result is in no particular order.
      *
-     * @param gameId the ID of the game to find
-     * @return Optional containing the game with all related data loaded, or empty if not found
+     * @param gameIds the IDs of the games to find
+     * @return the games found, with their game state and players loaded
      */
-    @Query("SELECT g FROM Game g " +
+    @Query("SELECT DISTINCT g FROM Game g " +
            "LEFT JOIN FETCH g.gameState gs " +
            "LEFT JOIN FETCH gs.playerList " +
-           "WHERE g.gameId = :gameId")
-    Optional<Game> findByIdWithPlayersOptimized(@Param("gameId") UUID gameId);
+           "WHERE g.gameId IN :gameIds")
+    List<Game> findAllByIdWithPlayersOptimized(@Param("gameIds") Collection<UUID> gameIds);
+
+    /**
+     * Finds which of the given game IDs are already stored.
+     *
+     * @param gameIds the IDs to look up
+     * @return the IDs that exist
+     */
+    @Query("SELECT g.gameId FROM Game g WHERE g.gameId IN :gameIds")
+    List<UUID> findExistingIds(@Param("gameIds") Collection<UUID> gameIds);
+
+    /**
+     * Sets the creation time of the games stored without one, which the listings and streams cannot order and would
+     * otherwise leave out, to their last update time, or to the given time for those never updated.
+     * Must be called inside a transaction.
+     *
+     * @param createdAt the creation time of the games never updated
+     * @return the number of games changed
+     */
+    @Modifying
+    @Query("UPDATE Game g SET g.createdAt = COALESCE(g.updatedAt, :createdAt) WHERE g.createdAt IS NULL")
+    int backfillCreatedAt(@Param("createdAt") Instant createdAt);
+
+    /**
+     * Finds the summaries of the games that come after the given (createdAt, gameId) key, ordered by that key.
+     * This is a keyset (seek) query: each page starts where the previous one ended instead of skipping
+     * OFFSET rows, so deep pages cost the same as the first one. Players are not loaded.
+     * Pages are kept in the query cache until the game or game state table changes.
+     *
+     * @param winnerStates   the winner-declared values to include
+     * @param createdTo      only games created before this time are included
+     * @param afterCreatedAt the creation time of the last game of the previous page
+     * @param afterGameId    the ID of the last game of the previous page
+     * @param pageable       the page size; the page number must be 0
+     * @return the summaries, at most as many as the page size
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT new com.sovan.chutesladders.model.GameSummaryDTO(g.gameId, g.createdAt, gs.nextPlayer, gs.isWinnerDeclared) " +
+           "FROM Game g JOIN g.gameState gs " +
+           "WHERE gs.isWinnerDeclared IN :winnerStates " +
+           "AND g.createdAt < :createdTo " +
+           "AND (g.createdAt > :afterCreatedAt OR (g.createdAt = :afterCreatedAt AND g.gameId > :afterGameId)) " +
+           "ORDER BY g.createdAt, g.gameId")
+    List<GameSummaryDTO> findSummariesAfter(@Param("winnerStates") Collection<Boolean> winnerStates,
+                                            @Param("createdTo") Instant createdTo,
+                                            @Param("afterCreatedAt") Instant afterCreatedAt,
+                                            @Param("afterGameId") UUID afterGameId,
+                                            Pageable pageable);
+
+    /**
+     * Streams the summaries of all games matching the given criteria, ordered by creation time and game ID.
+     * Rows are fetched from the database in chunks, so the result set is never held in memory.
+     * Must be called inside a transaction and the stream must be closed.
+     *
+     * @param winnerStates the winner-declared values to include
+     * @param createdFrom  only games created at or after this time are included
+     * @param createdTo    only games created before this time are included
+     * @return the stream of summaries
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.sovan.chutesladders.model.GameSummaryDTO(g.gameId, g.createdAt, gs.nextPlayer, gs.isWinnerDeclared) " +
+           "FROM Game g JOIN g.gameState gs " +
+           "WHERE gs.isWinnerDeclared IN :winnerStates " +
+           "AND g.createdAt >= :createdFrom AND g.createdAt < :createdTo " +
+           "ORDER BY g.createdAt, g.gameId")
+    Stream<GameSummaryDTO> streamSummaries(@Param("winnerStates") Collection<Boolean> winnerStates,
+                                           @Param("createdFrom") Instant createdFrom,
+                                           @Param("createdTo") Instant createdTo);
+
+    /**
+     * Streams all games matching the given criteria with their game state and players, ordered by creation time,
+     * game ID and player ID so that the rows of one game are adjacent.
+     * Rows are fetched from the database in chunks and the entities are loaded read-only.
+     * Must be called inside a transaction and the stream must be closed.
+     *
+     * @param winnerStates the winner-declared values to include
+     * @param createdFrom  only games created at or after this time are included
+     * @param createdTo    only games created before this time are included
+     * @return the stream of games
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT g FROM Game g " +
+           "JOIN FETCH g.gameState gs " +
+           "LEFT JOIN FETCH gs.playerList p " +
+           "WHERE gs.isWinnerDeclared IN :winnerStates " +
+           "AND g.createdAt >= :createdFrom AND g.createdAt < :createdTo " +
+           "ORDER BY g.createdAt, g.gameId, p.id")
+    Stream<Game> streamGamesWithPlayers(@Param("winnerStates") Collection<Boolean> winnerStates,
+                                        @Param("createdFrom") Instant createdFrom,
+                                        @Param("createdTo") Instant createdTo);
 
 }
@@ -0,0 +1,30 @@
+package com.sovan.chutesladders.service;
+
+import com.sovan.chutesladders.model.GameDTO;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Service for moving finished games out of the game store into a compressed archive, and reading them back.
+ */
+public interface GameArchiveService {
+
+    /**
+     * Moves the finished games that have not changed for the configured minimum age into the archive,
+     * batch by batch, and deletes them from the game store.
+     *
+     * @return the number of games archived
+     */
+    public int archiveFinishedGames();
+
+    /**
+     * Finds archived games by ID. Slower than the game store: the whole batch holding a game is decompressed.
+     * IDs that are not archived are ignored and the result is in no particular order.
+     *
+     * @param gameIds the IDs of the games to find
+     * @return the archived games found
+     */
+    public List<GameDTO> findArchivedGames(Collection<UUID> gameIds);
+}
@@ -0,0 +1,266 @@
+package com.sovan.chutesladders.service;
+
+import com.sovan.chutesladders.model.Game;
+import com.sovan.chutesladders.model.GameArchiveBatch;
+import com.sovan.chutesladders.model.GameDTO;
+import com.sovan.chutesladders.model.GameFilter;
+import com.sovan.chutesladders.model.GameSummaryDTO;
+import com.sovan.chutesladders.model.PlayerDTO;
+import com.sovan.chutesladders.repository.GameArchiveRepository;
+import com.sovan.chutesladders.store.GameStore;
+import com.sovan.chutesladders.utils.GameBinaryCodec;
+import com.sovan.chutesladders.utils.GameMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Implementation of the {@link GameArchiveService} interface.
+ * Finished games are read from the game store one keyset page at a time, oldest first. The games of a page that have
+ * not changed for the minimum age are encoded with {@link GameBinaryCodec}, deflated together into one
+ * {@link GameArchiveBatch} in one transaction per page, then deleted from the store once that transaction is
+ * committed. Games found in the archive already, after an interrupted run, are only deleted.
+ * <p>
+ * Archived games, their encoded and compressed bytes, and the time spent archiving and reading the archive are
+ * published as {@code game.archive.*} metrics.
+ */
+@Service
+@Slf4j
+public class GameArchiveServiceImpl implements GameArchiveService {
+
+    private static final GameFilter FINISHED = new GameFilter(true, null, null);
+    private static final UUID MIN_GAME_ID = new UUID(0L, 0L);
+
+    private final GameStore gameStore;
+    private final GameArchiveRepository archiveRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Duration minAge;
+    private final Counter archivedGames;
+    private final Counter rawBytes;
+    private final Counter compressedBytes;
+    private final Timer batches;
+    private final Timer lookups;
+
+    /**
+     * Constructs a new GameArchiveServiceImpl with the given dependencies and settings.
+     *
+     * @param gameStore           the store the finished games are moved out of
+     * @param archiveRepository   the archive repository
+     * @param transactionTemplate the template running one transaction per batch
+     * @param batchSize           the number of finished games read per batch
+     * @param minAgeMs            how long a finished game stays in the store after its last change
+     * @param meterRegistry       the registry the archive metrics are published to
+     */
+    public GameArchiveServiceImpl(GameStore gameStore, GameArchiveRepository archiveRepository,
+                                  TransactionTemplate transactionTemplate,
+                                  @Value("${chutesladders.archive.batch-size:500}") int batchSize,
+                                  @Value("${chutesladders.archive.min-age-ms:3600000}") long minAgeMs,
+                                  MeterRegistry meterRegistry) {
+        this.gameStore = gameStore;
+        this.archiveRepository = archiveRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.minAge = Duration.ofMillis(minAgeMs);
+        this.archivedGames = Counter.builder("game.archive.games")
+                .description("Finished games moved to the archive")
+                .register(meterRegistry);
+        this.rawBytes = Counter.builder("game.archive.bytes")
+                .description("Bytes of archived games")
+                .baseUnit("bytes")
+                .tag("encoding", "raw")
+                .register(meterRegistry);
+        this.compressedBytes = Counter.builder("game.archive.bytes")
+                .description("Bytes of archived games")
+                .baseUnit("bytes")
+                .tag("encoding", "compressed")
+                .register(meterRegistry);
+        this.batches = Timer.builder("game.archive.batches")
+                .description("Time spent archiving one batch of finished games")
+                .register(meterRegistry);
+        this.lookups = Timer.builder("game.archive.lookups")
+                .description("Time spent reading games from the archive")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Moves the finished games that have not changed for the minimum age into the archive.
+     *
+     * @return the number of games archived
+     */
+    @Override
+    public int archiveFinishedGames() {
+        long startNanos = System.nanoTime();
+        Instant changedBefore = Instant.now().minus(minAge);
+        Instant afterCreatedAt = FINISHED.createdFromOrMin();
+        UUID afterGameId = MIN_GAME_ID;
+        int archived = 0;
+        List<GameSummaryDTO> page;
+        do {
+            page = gameStore.findSummariesAfter(FINISHED, afterCreatedAt, afterGameId, batchSize);
+            if (page.isEmpty()) {
+                break;
+            }
+            GameSummaryDTO last = page.get(page.size() - 1);
+            afterCreatedAt = last.getCreatedAt();
+            afterGameId = last.getGameId();
+
+            List<UUID> gameIds = page.stream().map(GameSummaryDTO::getGameId).toList();
+            long batchStart = System.nanoTime();
+            BatchOutcome outcome = transactionTemplate.execute(status -> archiveBatch(gameIds, changedBefore));
+            if (outcome != null) {
+                gameStore.deleteAllById(outcome.archivedGameIds());
+                archived += outcome.archived();
+                archivedGames.increment(outcome.archived());
+                rawBytes.increment(outcome.rawBytes());
+                compressedBytes.increment(outcome.compressedBytes());
+            }
+            batches.record(System.nanoTime() - batchStart, TimeUnit.NANOSECONDS);
+        } while (page.size() == batchSize);
+
+        if (archived > 0) {
+            log.info("Archived {} finished games in {} ms", archived, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+        }
+        return archived;
+    }
+
+    /**
+     * Finds archived games by decompressing the batches holding them.
+     *
+     * @param gameIds the IDs of the games to find
+     * @return the archived games found
+     */
+    @Override
+    public List<GameDTO> findArchivedGames(Collection<UUID> gameIds) {
+        if (gameIds.isEmpty()) {
+            return List.of();
+        }
+        return lookups.record(() -> {
+            Set<UUID> wanted = new HashSet<>(gameIds);
+            List<GameDTO> games = new ArrayList<>();
+            for (GameArchiveBatch batch : archiveRepository.findAllById(archiveRepository.findBatchIdsHolding(wanted))) {
+                for (GameDTO game : decode(batch.getData())) {
+                    if (wanted.contains(game.getGameId())) {
+                        games.add(game);
+                    }
+                }
+            }
+            return games;
+        });
+    }
+
+    /**
+     * Archives the finished games of one page that have not changed since the given time. Must be called inside
+     * a transaction; the games are deleted from the store once it is committed.
+     *
+     * @param gameIds       the IDs of the finished games of the page
+     * @param changedBefore the time the games must not have changed since
+     * @return the outcome, with the IDs of all the archived games of the page to delete from the store
+     */
+    private BatchOutcome archiveBatch(List<UUID> gameIds, Instant changedBefore) {
+        Set<UUID> alreadyArchived = new HashSet<>(archiveRepository.findArchivedIds(gameIds));
+        List<UUID> toLoad = gameIds.stream().filter(gameId -> !alreadyArchived.contains(gameId)).toList();
+
+        List<Game> games = new ArrayList<>(toLoad.size());
+        for (Game game : gameStore.findAllById(toLoad)) {
+            Instant lastChange = game.getUpdatedAt() != null ? game.getUpdatedAt() : game.getCreatedAt();
+            if (game.getGameState().isWinnerDeclared() && lastChange != null && lastChange.isBefore(changedBefore)) {
+                games.add(game);
+            }
+        }
+
+        List<UUID> archivedGameIds = new ArrayList<>(alreadyArchived);
+        if (games.isEmpty()) {
+            return new BatchOutcome(0, 0, 0, archivedGameIds);
+        }
+        byte[] raw = encode(games);
+        GameArchiveBatch batch = new GameArchiveBatch();
+        batch.setArchivedAt(Instant.now());
+        batch.setRawSize(raw.length);
+        batch.setData(deflate(raw));
+        for (Game game : games) {
+            batch.getGameIds().add(game.getGameId());
+        }
+        archiveRepository.save(batch);
+        archivedGameIds.addAll(batch.getGameIds());
+        return new BatchOutcome(games.size(), raw.length, batch.getData().length, archivedGameIds);
+    }
+
+    /**
+     * What archiving one page did: the games archived, their size before and after compression, and the IDs of
+     * the games of the page that are in the archive.
+     */
+    private record BatchOutcome(int archived, long rawBytes, long compressedBytes, List<UUID> archivedGameIds) {
+    }
+
+    private static byte[] encode(List<Game> games) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            GameBinaryCodec.writeHeader(out);
+            for (Game game : games) {
+                GameBinaryCodec.write(out, GameMapper.getGameDto(game));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static byte[] deflate(byte[] raw) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(raw.length / 2);
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try (DeflaterOutputStream out = new DeflaterOutputStream(bytes, deflater)) {
+            out.write(raw);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            deflater.end();
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decompresses and decodes the games of a batch, numbering their players as the game service does.
+     */
+    private static List<GameDTO> decode(byte[] data) {
+        List<GameDTO> games = new ArrayList<>();
+        try (DataInputStream in = new DataInputStream(new InflaterInputStream(new ByteArrayInputStream(data)))) {
+            GameBinaryCodec.readHeader(in);
+            GameDTO game;
+            while ((game = GameBinaryCodec.read(in)) != null) {
+                List<PlayerDTO> players = game.getGameState().getPlayerList();
+                for (int i = 0; i < players.size(); i++) {
+                    players.get(i).setPlayerId(i);
+                }
+                games.add(game);
+            }
+        } catch (IOException e) {
+            throw new DataAccessResourceFailureException("Archived games could not be read.", e);
+        }
+        return games;
+    }
+}
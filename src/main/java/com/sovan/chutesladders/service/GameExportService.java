@@ -0,0 +1,24 @@
+package com.sovan.chutesladders.service;
+
+import com.sovan.chutesladders.model.GameExportFormat;
+import com.sovan.chutesladders.model.GameFilter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Service for exporting games in bulk.
+ */
+public interface GameExportService {
+
+    /**
+     * Writes all games matching the given filter to the given stream, using constant memory.
+     *
+     * @param filter       the criteria the games must match
+     * @param format       the serialization format
+     * @param outputStream the stream to write to; it is flushed but not closed
+     * @return the number of games written
+     * @throws IOException if the stream cannot be written
+     */
+    public long exportGames(GameFilter filter, GameExportFormat format, OutputStream outputStream) throws IOException;
+}
@@ -0,0 +1,85 @@
+package com.sovan.chutesladders.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sovan.chutesladders.model.Game;
+import com.sovan.chutesladders.model.GameExportFormat;
+import com.sovan.chutesladders.model.GameFilter;
+import com.sovan.chutesladders.store.GameStore;
+import com.sovan.chutesladders.utils.GameBinaryCodec;
+import com.sovan.chutesladders.utils.GameMapper;
+import com.sovan.chutesladders.utils.NdjsonWriter;
+import jakarta.transaction.Transactional;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Implementation of the {@link GameExportService} interface.
+ */
+@Service
+@Slf4j
+public class GameExportServiceImpl implements GameExportService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final GameStore gameStore;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Constructs a new GameExportServiceImpl with the given dependencies.
+     *
+     * @param gameStore    the store the games are exported from
+     * @param objectMapper the mapper used for the NDJSON format
+     */
+    public GameExportServiceImpl(GameStore gameStore, ObjectMapper objectMapper) {
+        this.gameStore = gameStore;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Writes all games matching the given filter to the given stream.
+     * Games are streamed from the game store, which does not keep them once they have been returned,
+     * so memory use does not grow with the number of games.
+     *
+     * @param filter       the criteria the games must match
+     * @param format       the serialization format
+     * @param outputStream the stream to write to; it is flushed but not closed
+     * @return the number of games written
+     * @throws IOException if the stream cannot be written
+     */
+    @Override
+    @Transactional
+    public long exportGames(GameFilter filter, GameExportFormat format, OutputStream outputStream) throws IOException {
+        long startNanos = System.nanoTime();
+        long count = 0;
+        BufferedOutputStream buffered = new BufferedOutputStream(outputStream, BUFFER_SIZE);
+
+        try (Stream<Game> games = gameStore.streamGames(filter)) {
+            Iterator<Game> iterator = games.iterator();
+            if (format == GameExportFormat.BINARY) {
+                DataOutputStream data = new DataOutputStream(buffered);
+                GameBinaryCodec.writeHeader(data);
+                while (iterator.hasNext()) {
+                    GameBinaryCodec.write(data, GameMapper.getGameDto(iterator.next()));
+                    count++;
+                }
+            } else {
+                NdjsonWriter writer = new NdjsonWriter(objectMapper, buffered);
+                while (iterator.hasNext()) {
+                    writer.write(GameMapper.getGameDto(iterator.next()));
+                    count++;
+                }
+            }
+        }
+        buffered.flush();
+
+        log.info("Exported {} games as {} in {} ms", count, format, (System.nanoTime() - startNanos) / 1_000_000);
+        return count;
+    }
+}
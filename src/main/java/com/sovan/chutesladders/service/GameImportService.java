@@ -0,0 +1,37 @@
+package com.sovan.chutesladders.service;
+
+import com.sovan.chutesladders.model.GameExportFormat;
+import com.sovan.chutesladders.model.GameImportResultDTO;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Service for importing games in bulk.
+ */
+public interface GameImportService {
+
+    /**
+     * Reads serialized games from the given stream, validates them and stores the valid ones, using constant memory.
+     * Games whose ID is already stored are skipped.
+     *
+     * @param inputStream the stream to read from, in the format written by {@link GameExportService}
+     * @param format      the serialization format
+     * @return the outcome of the import
+     * @throws IOException if the stream cannot be read
+     */
+    public GameImportResultDTO importGames(InputStream inputStream, GameExportFormat format) throws IOException;
+
+    /**
+     * Reads serialized games from the given stream, validates them and stores the valid ones, optionally issuing the
+     * player tokens of the games stored. Games whose ID is already stored are skipped and get no tokens.
+     *
+     * @param inputStream  the stream to read from, in the format written by {@link GameExportService}
+     * @param format       the serialization format
+     * @param issueTokens  whether to return the player tokens of the imported games; only honoured when player tokens
+     *                     are enabled, and the result then holds a few dozen bytes per imported player
+     * @return the outcome of the import
+     * @throws IOException if the stream cannot be read
+     */
+    public GameImportResultDTO importGames(InputStream inputStream, GameExportFormat format, boolean issueTokens) throws IOException;
+}
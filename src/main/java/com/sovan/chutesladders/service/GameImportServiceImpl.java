@@ -0,0 +1,313 @@
+package com.sovan.chutesladders.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sovan.chutesladders.model.Game;
+import com.sovan.chutesladders.model.GameDTO;
+import com.sovan.chutesladders.model.GameExportFormat;
+import com.sovan.chutesladders.model.GameImportResultDTO;
+import com.sovan.chutesladders.store.GameStore;
+import com.sovan.chutesladders.utils.GameBinaryCodec;
+import com.sovan.chutesladders.utils.GameMapper;
+import com.sovan.chutesladders.utils.GameValidator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.StreamCorruptedException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Implementation of the {@link GameImportService} interface.
+ * Records are read sequentially in batches; each batch is validated in parallel and then
+ * stored in the game store in its own transaction, with one bulk insert.
+ */
+@Service
+@Slf4j
+public class GameImportServiceImpl implements GameImportService {
+
+    private static final int BATCH_SIZE = 500;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_REPORTED_ERRORS = 100;
+    private static final int PROGRESS_LOG_INTERVAL = 100_000;
+
+    private final BoardService boardService;
+    private final GameStore gameStore;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final PlayerTokenService playerTokenService;
+
+    /**
+     * Constructs a new GameImportServiceImpl with the given dependencies.
+     *
+     * @param boardService        the board service, used for the player and position limits
+     * @param gameStore           the store the games are imported into
+     * @param transactionTemplate the template running one transaction per batch
+     * @param objectMapper        the mapper used for the NDJSON format
+     * @param playerTokenService  the service issuing the player tokens of the imported games
+     */
+    public GameImportServiceImpl(@Qualifier("standardChutesLaddersBoardService") BoardService boardService,
+                                 GameStore gameStore, TransactionTemplate transactionTemplate, ObjectMapper objectMapper,
+                                 PlayerTokenService playerTokenService) {
+        this.boardService = boardService;
+        this.gameStore = gameStore;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.playerTokenService = playerTokenService;
+    }
+
+    /**
+     * Reads serialized games from the given stream, validates them and stores the valid ones.
+     *
+     * @param inputStream the stream to read from
+     * @param format      the serialization format
+     * @return the outcome of the import
+     * @throws IOException if the stream cannot be read
+     */
+    @Override
+    public GameImportResultDTO importGames(InputStream inputStream, GameExportFormat format) throws IOException {
+        return importGames(inputStream, format, false);
+    }
+
+    /**
+     * Reads serialized games from the given stream, validates them and stores the valid ones, optionally issuing the
+     * player tokens of the games stored.
+     *
+     * @param inputStream the stream to read from
+     * @param format      the serialization format
+     * @param issueTokens whether to return the player tokens of the imported games
+     * @return the outcome of the import
+     * @throws IOException if the stream cannot be read
+     */
+    @Override
+    public GameImportResultDTO importGames(InputStream inputStream, GameExportFormat format, boolean issueTokens) throws IOException {
+        long startNanos = System.nanoTime();
+        GameImportResultDTO result = new GameImportResultDTO();
+        GameRecordReader reader;
+        try {
+            reader = format == GameExportFormat.BINARY ? binaryReader(inputStream) : ndjsonReader(inputStream);
+        } catch (StreamCorruptedException e) {
+            result.setAborted(true);
+            addError(result, "Input could not be read: " + e.getMessage());
+            return result;
+        }
+
+        if (issueTokens && !playerTokenService.isEnabled()) {
+            addError(result, "Player tokens are not enabled, no tokens were issued.");
+            issueTokens = false;
+        }
+        int maxPlayers = boardService.getMaxPlayers();
+        int boardSize = boardService.getBoard().getBoardSquarelist().size();
+        List<GameDTO> batch = new ArrayList<>(BATCH_SIZE);
+        long nextProgressLog = PROGRESS_LOG_INTERVAL;
+
+        while (true) {
+            GameDTO gameDTO;
+            try {
+                gameDTO = reader.next();
+            } catch (JsonProcessingException e) {
+                result.setRead(result.getRead() + 1);
+                reject(result, "Record " + result.getRead() + " is not a valid game: " + e.getOriginalMessage());
+                continue;
+            } catch (StreamCorruptedException e) {
+                result.setAborted(true);
+                addError(result, "Input could not be read after record " + result.getRead() + ": " + e.getMessage());
+                break;
+            }
+            if (gameDTO == null) {
+                break;
+            }
+            result.setRead(result.getRead() + 1);
+            batch.add(gameDTO);
+
+            if (batch.size() == BATCH_SIZE) {
+                processBatch(batch, maxPlayers, boardSize, issueTokens, result);
+                batch.clear();
+            }
+            if (result.getRead() >= nextProgressLog) {
+                log.info("Import progress: {} records read, {} games imported, {} rows/s",
+                        result.getRead(), result.getImported(), Math.round(rowsPerSecond(result.getRead(), startNanos)));
+                nextProgressLog += PROGRESS_LOG_INTERVAL;
+            }
+        }
+        if (!batch.isEmpty()) {
+            processBatch(batch, maxPlayers, boardSize, issueTokens, result);
+        }
+
+        long elapsedNanos = System.nanoTime() - startNanos;
+        result.setElapsedMillis(elapsedNanos / 1_000_000);
+        result.setRowsPerSecond(rowsPerSecond(result.getRead(), startNanos));
+        log.info("Imported {} of {} games in {} ms ({} rows/s), {} rejected",
+                result.getImported(), result.getRead(), result.getElapsedMillis(),
+                Math.round(result.getRowsPerSecond()), result.getRejected());
+        return result;
+    }
+
+    /**
+     * Validates a batch in parallel and stores the valid games. Games without a creation time are given the time of
+     * the import, as the listings are keyed by it.
+     *
+     * @param batch       the games read from the input
+     * @param maxPlayers  the maximum number of players allowed on the board
+     * @param boardSize   the number of squares on the board
+     * @param issueTokens whether to add the player tokens of the stored games to the result
+     * @param result      the result to update
+     */
+    private void processBatch(List<GameDTO> batch, int maxPlayers, int boardSize, boolean issueTokens, GameImportResultDTO result) {
+        List<String> validationErrors = batch.parallelStream()
+                .map(gameDTO -> GameValidator.validate(gameDTO, maxPlayers, boardSize).orElse(null))
+                .toList();
+
+        Instant importedAt = Instant.now();
+        List<Game> games = new ArrayList<>(batch.size());
+        Set<UUID> batchIds = new HashSet<>();
+        for (int i = 0; i < batch.size(); i++) {
+            GameDTO gameDTO = batch.get(i);
+            if (validationErrors.get(i) != null) {
+                reject(result, validationErrors.get(i));
+            } else if (!batchIds.add(gameDTO.getGameId())) {
+                reject(result, "Game " + gameDTO.getGameId() + ": duplicated in the input.");
+            } else {
+                Game game = GameMapper.getGame(gameDTO);
+                if (game.getCreatedAt() == null) {
+                    game.setCreatedAt(importedAt);
+                }
+                games.add(game);
+            }
+        }
+        if (games.isEmpty()) {
+            return;
+        }
+
+        try {
+            List<UUID> skippedIds = transactionTemplate.execute(status -> gameStore.insertAll(games));
+            if (skippedIds != null) {
+                skippedIds.forEach(gameId -> reject(result, "Game " + gameId + ": already exists."));
+                result.setImported(result.getImported() + games.size() - skippedIds.size());
+                if (issueTokens) {
+                    addPlayerTokens(games, new HashSet<>(skippedIds), result);
+                }
+            }
+        } catch (DataAccessException e) {
+            log.warn("Failed to store a batch of {} imported games", games.size(), e);
+            result.setRejected(result.getRejected() + games.size());
+            addError(result, "A batch of " + games.size() + " games could not be stored: " + e.getMostSpecificCause().getMessage());
+        }
+    }
+
+    /**
+     * Adds the player tokens of the stored games to the result.
+     *
+     * @param games      the games of the batch
+     * @param skippedIds the IDs of the games that were not stored
+     * @param result     the result to update
+     */
+    private void addPlayerTokens(List<Game> games, Set<UUID> skippedIds, GameImportResultDTO result) {
+        for (Game game : games) {
+            if (!skippedIds.contains(game.getGameId())) {
+                int playerCount = game.getGameState().getPlayerList().size();
+                List<String> tokens = new ArrayList<>(playerCount);
+                for (int playerId = 0; playerId < playerCount; playerId++) {
+                    tokens.add(playerTokenService.issue(game.getGameId(), playerId));
+                }
+                result.getPlayerTokens().put(game.getGameId(), tokens);
+            }
+        }
+    }
+
+    /**
+     * Counts a rejected record.
+     *
+     * @param result the result to update
+     * @param reason the reason the record was rejected
+     */
+    private void reject(GameImportResultDTO result, String reason) {
+        result.setRejected(result.getRejected() + 1);
+        addError(result, reason);
+    }
+
+    /**
+     * Records an error, keeping only the first ones.
+     *
+     * @param result the result to update
+     * @param error  the error
+     */
+    private void addError(GameImportResultDTO result, String error) {
+        if (result.getErrors().size() < MAX_REPORTED_ERRORS) {
+            result.getErrors().add(error);
+        }
+    }
+
+    /**
+     * Computes the throughput of the import so far.
+     *
+     * @param rows       the number of records processed
+     * @param startNanos the start time of the import
+     * @return the number of records per second
+     */
+    private double rowsPerSecond(long rows, long startNanos) {
+        long elapsedNanos = Math.max(1, System.nanoTime() - startNanos);
+        return rows * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    /**
+     * Creates a reader for the NDJSON format. Blank lines are skipped.
+     *
+     * @param inputStream the stream to read from
+     * @return the reader
+     */
+    private GameRecordReader ndjsonReader(InputStream inputStream) {
+        BufferedReader lines = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8), BUFFER_SIZE);
+        return () -> {
+            String line;
+            do {
+                line = lines.readLine();
+                if (line == null) {
+                    return null;
+                }
+            } while (line.isBlank());
+            return objectMapper.readValue(line, GameDTO.class);
+        };
+    }
+
+    /**
+     * Creates a reader for the binary format.
+     *
+     * @param inputStream the stream to read from
+     * @return the reader
+     * @throws IOException if the stream does not start with a valid header
+     */
+    private GameRecordReader binaryReader(InputStream inputStream) throws IOException {
+        DataInputStream data = new DataInputStream(new BufferedInputStream(inputStream, BUFFER_SIZE));
+        GameBinaryCodec.readHeader(data);
+        return () -> GameBinaryCodec.read(data);
+    }
+
+    /**
+     * Reads one serialized game at a time.
+     */
+    private interface GameRecordReader {
+
+        /**
+         * Reads the next game.
+         *
+         * @return the game, or null at the end of the input
+         * @throws IOException if the record or the input cannot be read
+         */
+        GameDTO next() throws IOException;
+    }
+}
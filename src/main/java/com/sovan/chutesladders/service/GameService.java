@@ -1,14 +1,22 @@
 package com.sovan.chutesladders.service;
 
 
+import com.sovan.chutesladders.exception.GameBatchSizeException;
+import com.sovan.chutesladders.exception.GameFinishedException;
 import com.sovan.chutesladders.exception.GameNotFoundException;
 import com.sovan.chutesladders.exception.InconsistentGameException;
 import com.sovan.chutesladders.exception.NotYourTurnException;
 import com.sovan.chutesladders.exception.PlayerNumbersException;
 import com.sovan.chutesladders.model.GameDTO;
+import com.sovan.chutesladders.model.GameFilter;
+import com.sovan.chutesladders.model.GamePageDTO;
+import com.sovan.chutesladders.model.GameSummaryDTO;
 import com.sovan.chutesladders.model.PlayerDTO;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
 
 /**
  * Service for managing games.
@@ -19,21 +27,95 @@ public interface GameService {
      * Creates a new game with the given players.
      *
      * @param playerList the list of players to add to the game
-     * @return the created game
-     * @throws PlayerNumbersException if the number of players is invalid
+     * @return the created game, with the token of each player when player tokens are enabled
+     * @throws PlayerNumbersException if the number of players is invalid or a player name is too long
      */
     public GameDTO createNewGame(List<PlayerDTO> playerList) throws PlayerNumbersException;
 
     /**
-     * Plays a turn in the game for the given player.
+     * Plays a turn in the game for the given player, without a player token.
      *
      * @param game       the current state of the game
      * @param playerName the name of the player whose turn it is
      * @return the updated game state
      * @throws PlayerNumbersException    if the number of players is invalid
-     * @throws NotYourTurnException      if it is not the player's turn
+     * @throws NotYourTurnException      if it is not the player's turn, or player tokens are enabled
+     * @throws GameNotFoundException     if the game is not found
+     * @throws InconsistentGameException if the game state is inconsistent
+     * @throws GameFinishedException     if the game already has a winner, or was archived
+     */
+    public GameDTO playGame(GameDTO game, String playerName) throws PlayerNumbersException, NotYourTurnException, GameNotFoundException, InconsistentGameException, GameFinishedException;
+
+    /**
+     * Plays a turn in the game for the given player.
+     *
+     * @param game        the current state of the game
+     * @param playerName  the name of the player whose turn it is
+     * @param playerToken the token issued to that player when the game was created, or null when tokens are not enabled
+     * @return the updated game state
+     * @throws PlayerNumbersException    if the number of players is invalid
+     * @throws NotYourTurnException      if it is not the player's turn, or the token is not theirs
+     * @throws GameNotFoundException     if the game is not found
+     * @throws InconsistentGameException if the game state is inconsistent
+     * @throws GameFinishedException     if the game already has a winner, or was archived
+     */
+    public GameDTO playGame(GameDTO game, String playerName, String playerToken) throws PlayerNumbersException, NotYourTurnException, GameNotFoundException, InconsistentGameException, GameFinishedException;
+
+    /**
+     * Plays a turn in the game for the player with the given ID, without a player token.
+     * The player ID is the player's index in the game, as returned in {@code PlayerDTO.playerId}.
+     *
+     * @param game     the current state of the game; player names may be omitted
+     * @param playerId the ID of the player whose turn it is
+     * @return the updated game state
+     * @throws NotYourTurnException      if it is not the player's turn, or player tokens are enabled
+     * @throws GameNotFoundException     if the game is not found
+     * @throws InconsistentGameException if the game state is inconsistent
+     * @throws GameFinishedException     if the game already has a winner, or was archived
+     */
+    public GameDTO playGame(GameDTO game, int playerId) throws NotYourTurnException, GameNotFoundException, InconsistentGameException, GameFinishedException;
+
+    /**
+     * Plays a turn in the game for the player with the given ID.
+     * The player ID is the player's index in the game, as returned in {@code PlayerDTO.playerId}.
+     *
+     * @param game        the current state of the game; player names may be omitted
+     * @param playerId    the ID of the player whose turn it is
+     * @param playerToken the token issued to that player when the game was created, or null when tokens are not enabled
+     * @return the updated game state
+     * @throws NotYourTurnException      if it is not the player's turn, or the token is not theirs
      * @throws GameNotFoundException     if the game is not found
      * @throws InconsistentGameException if the game state is inconsistent
+     * @throws GameFinishedException     if the game already has a winner, or was archived
+     */
+    public GameDTO playGame(GameDTO game, int playerId, String playerToken) throws NotYourTurnException, GameNotFoundException, InconsistentGameException, GameFinishedException;
+
+    /**
+     * Gets several games by ID in a single query. Finished games moved to the archive are read from it.
+     *
+     * @param gameIds the IDs of the games to get
+     * @return the games found, in the order of the first occurrence of their ID; unknown IDs are skipped
+     * @throws GameBatchSizeException if more games are requested than allowed in one batch
+     */
+    public List<GameDTO> getGames(List<UUID> gameIds) throws GameBatchSizeException;
+
+    /**
+     * Lists the games matching the given filter, one keyset page at a time.
+     *
+     * @param filter         the criteria the games must match
+     * @param afterCreatedAt the creation time of the last game of the previous page, or null for the first page
+     * @param afterGameId    the ID of the last game of the previous page, or null for the first page
+     * @param limit          the maximum number of games to return
+     * @return the page of game summaries
+     */
+    public GamePageDTO listGames(GameFilter filter, Instant afterCreatedAt, UUID afterGameId, int limit);
+
+    /**
+     * Streams the summaries of all games matching the given filter to the given consumer,
+     * without holding the whole result set in memory.
+     *
+     * @param filter   the criteria the games must match
+     * @param consumer the consumer receiving each summary in creation order
      */
-    public GameDTO playGame(GameDTO game, String playerName) throws PlayerNumbersException, NotYourTurnException, GameNotFoundException, InconsistentGameException;
+    public void forEachGameSummary(GameFilter filter, Consumer<GameSummaryDTO> consumer);
 }
@@ -1,22 +1,39 @@
 package com.sovan.chutesladders.service;
 
+import com.sovan.chutesladders.engine.MoveRules;
+import com.sovan.chutesladders.exception.GameBatchSizeException;
+import com.sovan.chutesladders.exception.GameFinishedException;
 import com.sovan.chutesladders.exception.GameNotFoundException;
 import com.sovan.chutesladders.exception.InconsistentGameException;
 import com.sovan.chutesladders.exception.NotYourTurnException;
 import com.sovan.chutesladders.exception.PlayerNumbersException;
+import com.sovan.chutesladders.jfr.GameCreatedEvent;
+import com.sovan.chutesladders.jfr.TurnEvent;
+import com.sovan.chutesladders.jfr.TurnRejectedEvent;
+import com.sovan.chutesladders.metrics.GameMetrics;
+import com.sovan.chutesladders.metrics.TurnPhase;
 import com.sovan.chutesladders.model.*;
-import com.sovan.chutesladders.repository.GameRepository;
+import com.sovan.chutesladders.store.GameStore;
 import com.sovan.chutesladders.utils.DiceUtils;
 import com.sovan.chutesladders.utils.GameMapper;
 import com.sovan.chutesladders.utils.GameUtils;
-import jakarta.persistence.OptimisticLockException;
+import com.sovan.chutesladders.utils.GameValidator;
+import com.sovan.chutesladders.utils.UuidUtils;
 import jakarta.transaction.Transactional;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Implementation of the {@link GameService} interface.
@@ -25,123 +42,416 @@ import java.util.UUID;
 @Slf4j
 public class GameServiceImpl implements GameService {
 
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final int MAX_BATCH_SIZE = 100;
+    private static final UUID MIN_GAME_ID = new UUID(0L, 0L);
+    private static final int NO_PLAYER_ID = -1;
+
     private final BoardService boardService;
-    private final GameRepository gameRepository;
+    private final GameStore gameStore;
+    private final GameMetrics gameMetrics;
+    private final GameArchiveService gameArchiveService;
+    private final PlayerTokenService playerTokenService;
 
     /**
      * Constructs a new GameServiceImpl with the given dependencies.
      *
-     * @param boardService   the board service
-     * @param gameRepository the game repository
+     * @param boardService       the board service
+     * @param gameStore          the store the games are kept in
+     * @param gameMetrics        the game metrics
+     * @param gameArchiveService the archive finished games are read from when they are no longer in the store
+     * @param playerTokenService the service issuing and checking the player tokens
      */
-    public GameServiceImpl(@Qualifier("standardChutesLaddersBoardService") BoardService boardService, GameRepository gameRepository) {
+    public GameServiceImpl(@Qualifier("standardChutesLaddersBoardService") BoardService boardService, GameStore gameStore,
+                           GameMetrics gameMetrics, GameArchiveService gameArchiveService,
+                           PlayerTokenService playerTokenService) {
         this.boardService = boardService;
         this.boardService.setUp();
-        this.gameRepository = gameRepository;
+        this.gameStore = gameStore;
+        this.gameMetrics = gameMetrics;
+        this.gameArchiveService = gameArchiveService;
+        this.playerTokenService = playerTokenService;
     }
 
     /**
-     * Creates a new game with the given players.
+     * Creates a new game with the given players, under a time-ordered ID so that inserts append to the key index.
+     * When player tokens are enabled, each player's token is returned here only; later responses leave it out.
      *
      * @param players the list of players to add to the game
-     * @return the created game
-     * @throws PlayerNumbersException if the number of players is invalid
+     * @return the created game, with the token of each player when player tokens are enabled
+     * @throws PlayerNumbersException if the number of players is invalid or a player name is too long
      */
     @Override
     public GameDTO createNewGame(List<PlayerDTO> players) throws PlayerNumbersException {
-        validatePlayerCount(players.size());
+        GameCreatedEvent event = new GameCreatedEvent();
+        event.begin();
+        long startNanos = System.nanoTime();
+        validatePlayers(players);
         Game game = new Game();
-        game.setGameId(UUID.randomUUID());
+        game.setGameId(UuidUtils.timeOrderedUuid());
+        game.setCreatedAt(Instant.now());
         game.setGameState(initGameState(GameMapper.getPlayers(players)));
-        return GameMapper.getGameDto(gameRepository.save(game));
+        GameDTO createdGame = GameMapper.getGameDto(gameStore.save(game));
+        if (playerTokenService.isEnabled()) {
+            for (PlayerDTO player : createdGame.getGameState().getPlayerList()) {
+                player.setToken(playerTokenService.issue(createdGame.getGameId(), player.getPlayerId()));
+            }
+        }
+        gameMetrics.recordCreate(startNanos);
+
+        if (event.shouldCommit()) {
+            event.gameId = game.getGameId().toString();
+            event.playerCount = players.size();
+            event.commit();
+        }
+        return createdGame;
     }
 
     /**
-     * Plays a turn in the game for the given player.
+     * Plays a turn in the game for the given player, without a player token.
      *
      * @param gameDTO    the current state of the game
      * @param playerName the name of the player whose turn it is
      * @return the updated game state
      * @throws GameNotFoundException     if the game is not found
-     * @throws NotYourTurnException      if it is not the player's turn
+     * @throws NotYourTurnException      if it is not the player's turn, or player tokens are enabled
+     * @throws InconsistentGameException if the game state is inconsistent
+     * @throws GameFinishedException     if the game already has a winner, or was archived
+     */
+    @Override
+    public GameDTO playGame(GameDTO gameDTO, String playerName) throws GameNotFoundException, NotYourTurnException, InconsistentGameException, GameFinishedException {
+        return gameStore.executeTurn(() -> playTurn(gameDTO, playerName, NO_PLAYER_ID, null));
+    }
+
+    /**
+     * Plays a turn in the game for the given player.
+     *
+     * @param gameDTO     the current state of the game
+     * @param playerName  the name of the player whose turn it is
+     * @param playerToken the token issued to that player, or null when tokens are not enabled
+     * @return the updated game state
+     * @throws GameNotFoundException     if the game is not found
+     * @throws NotYourTurnException      if it is not the player's turn, or the token is not theirs
+     * @throws InconsistentGameException if the game state is inconsistent
+     * @throws GameFinishedException     if the game already has a winner, or was archived
+     */
+    @Override
+    public GameDTO playGame(GameDTO gameDTO, String playerName, String playerToken) throws GameNotFoundException, NotYourTurnException, InconsistentGameException, GameFinishedException {
+        return gameStore.executeTurn(() -> playTurn(gameDTO, playerName, NO_PLAYER_ID, playerToken));
+    }
+
+    /**
+     * Plays a turn in the game for the player with the given ID, without a player token.
+     *
+     * @param gameDTO  the current state of the game; player names may be omitted
+     * @param playerId the ID of the player whose turn it is
+     * @return the updated game state
+     * @throws GameNotFoundException     if the game is not found
+     * @throws NotYourTurnException      if it is not the player's turn, or player tokens are enabled
+     * @throws InconsistentGameException if the game state is inconsistent
+     * @throws GameFinishedException     if the game already has a winner, or was archived
+     */
+    @Override
+    public GameDTO playGame(GameDTO gameDTO, int playerId) throws GameNotFoundException, NotYourTurnException, InconsistentGameException, GameFinishedException {
+        return gameStore.executeTurn(() -> playTurn(gameDTO, null, playerId, null));
+    }
+
+    /**
+     * Plays a turn in the game for the player with the given ID.
+     *
+     * @param gameDTO     the current state of the game; player names may be omitted
+     * @param playerId    the ID of the player whose turn it is
+     * @param playerToken the token issued to that player, or null when tokens are not enabled
+     * @return the updated game state
+     * @throws GameNotFoundException     if the game is not found
+     * @throws NotYourTurnException      if it is not the player's turn, or the token is not theirs
      * @throws InconsistentGameException if the game state is inconsistent
+     * @throws GameFinishedException     if the game already has a winner, or was archived
      */
     @Override
-    @Transactional(rollbackOn = {GameNotFoundException.class, NotYourTurnException.class, InconsistentGameException.class, OptimisticLockException.class})
-    public GameDTO playGame(GameDTO gameDTO, String playerName) throws GameNotFoundException, NotYourTurnException, InconsistentGameException {
-        Game dbGame = getGameFromRepository(gameDTO.getGameId());
+    public GameDTO playGame(GameDTO gameDTO, int playerId, String playerToken) throws GameNotFoundException, NotYourTurnException, InconsistentGameException, GameFinishedException {
+        return gameStore.executeTurn(() -> playTurn(gameDTO, null, playerId, playerToken));
+    }
 
-        if (!GameUtils.isGameEqual(dbGame, gameDTO)) {
+    /**
+     * Plays a turn for the player identified by name or, when no name is given, by ID, and proven by their token when
+     * player tokens are enabled. Runs inside {@link GameStore#executeTurn}, which opens a transaction only for the stores
+     * that need one.
+     *
+     * @param gameDTO     the current state of the game
+     * @param playerName  the name of the player whose turn it is, or null
+     * @param playerId    the ID of the player whose turn it is, used when no name is given
+     * @param playerToken the token issued to the player whose turn it is, or null
+     * @return the updated game state
+     * @throws GameNotFoundException     if the game is not found
+     * @throws NotYourTurnException      if it is not the player's turn, or the token is not theirs
+     * @throws InconsistentGameException if the game state is inconsistent
+     * @throws GameFinishedException     if the game already has a winner, or was archived
+     */
+    private GameDTO playTurn(GameDTO gameDTO, String playerName, int playerId, String playerToken) throws GameNotFoundException, NotYourTurnException, InconsistentGameException, GameFinishedException {
+        TurnEvent event = new TurnEvent();
+        event.begin();
+        long turnStart = System.nanoTime();
+        Game dbGame;
+        try {
+            dbGame = getGameFromStore(gameDTO.getGameId());
+        } catch (GameNotFoundException e) {
+            if (!gameArchiveService.findArchivedGames(List.of(gameDTO.getGameId())).isEmpty()) {
+                rejectTurn(gameDTO.getGameId(), playerName, playerId, "game archived");
+                throw new GameFinishedException("Game with ID: " + gameDTO.getGameId() + " has finished and was archived.");
+            }
+            rejectTurn(gameDTO.getGameId(), playerName, playerId, "game not found");
+            throw e;
+        }
+        long loadEnd = gameMetrics.recordPhase(TurnPhase.LOAD, turnStart);
+        long phaseStart = loadEnd;
+
+        boolean consistent = GameUtils.isGameEqual(dbGame, gameDTO);
+        phaseStart = gameMetrics.recordPhase(TurnPhase.COMPARE, phaseStart);
+        if (!consistent) {
+            rejectTurn(gameDTO.getGameId(), playerName, playerId, "inconsistent game state");
             throw new InconsistentGameException("The provided game state does not match the server's state.");
         }
+        if (dbGame.getGameState().isWinnerDeclared()) {
+            rejectTurn(gameDTO.getGameId(), playerName, playerId, "game finished");
+            throw new GameFinishedException("Game with ID: " + gameDTO.getGameId() + " already has a winner.");
+        }
 
-        validatePlayerTurn(dbGame, playerName);
-        processPlayerMove(dbGame);
+        if (playerName != null) {
+            validatePlayerTurn(dbGame, playerName);
+        } else {
+            validatePlayerTurn(dbGame, playerId);
+        }
+        validatePlayerToken(dbGame, playerName, playerId, playerToken);
+        phaseStart = gameMetrics.recordPhase(TurnPhase.VALIDATE, phaseStart);
+
+        GameState gameState = dbGame.getGameState();
+        int playerIndex = gameState.getNextPlayer();
+        Player player = gameState.getPlayerList().get(playerIndex);
+        int fromPosition = player.getPosition();
+        int roll = processPlayerMove(dbGame);
         updateNextPlayer(dbGame);
+        phaseStart = gameMetrics.recordPhase(TurnPhase.MOVE, phaseStart);
+
+        long saveStart = phaseStart;
+        Game savedGame = gameStore.save(dbGame);
+        phaseStart = gameMetrics.recordPhase(TurnPhase.SAVE, phaseStart);
+        long saveEnd = phaseStart;
 
-        return GameMapper.getGameDto(gameRepository.save(dbGame));
+        GameDTO updatedGame = GameMapper.getGameDto(savedGame);
+        gameMetrics.recordPhase(TurnPhase.MAP, phaseStart);
+        gameMetrics.recordTurn(turnStart);
+
+        if (event.shouldCommit()) {
+            event.gameId = dbGame.getGameId().toString();
+            event.playerIndex = playerIndex;
+            event.roll = roll;
+            event.fromPosition = fromPosition;
+            event.toPosition = player.getPosition();
+            event.winner = player.isWinner();
+            event.databaseTime = (loadEnd - turnStart) + (saveEnd - saveStart);
+            event.commit();
+        }
+        return updatedGame;
+    }
+
+    /**
+     * Gets several games by ID in a single query, looking the games not in the store up in the archive.
+     *
+     * @param gameIds the IDs of the games to get
+     * @return the games found, in the order of the first occurrence of their ID; unknown IDs are skipped
+     * @throws GameBatchSizeException if more games are requested than allowed in one batch
+     */
+    @Override
+    public List<GameDTO> getGames(List<UUID> gameIds) throws GameBatchSizeException {
+        Set<UUID> uniqueIds = new LinkedHashSet<>(gameIds);
+        if (uniqueIds.size() > MAX_BATCH_SIZE) {
+            throw new GameBatchSizeException("At most " + MAX_BATCH_SIZE + " games can be requested at once.");
+        }
+        if (uniqueIds.isEmpty()) {
+            return List.of();
+        }
+
+        Map<UUID, GameDTO> gamesById = new HashMap<>();
+        for (Game game : gameStore.findAllById(uniqueIds)) {
+            gamesById.put(game.getGameId(), GameMapper.getGameDto(game));
+        }
+        if (gamesById.size() < uniqueIds.size()) {
+            List<UUID> missingIds = uniqueIds.stream().filter(gameId -> !gamesById.containsKey(gameId)).toList();
+            for (GameDTO game : gameArchiveService.findArchivedGames(missingIds)) {
+                gamesById.put(game.getGameId(), game);
+            }
+        }
+
+        List<GameDTO> games = new ArrayList<>(gamesById.size());
+        for (UUID gameId : uniqueIds) {
+            GameDTO game = gamesById.get(gameId);
+            if (game != null) {
+                games.add(game);
+            }
+        }
+        return games;
+    }
+
+    /**
+     * Lists the games matching the given filter, one keyset page at a time.
+     *
+     * @param filter         the criteria the games must match
+     * @param afterCreatedAt the creation time of the last game of the previous page, or null for the first page
+     * @param afterGameId    the ID of the last game of the previous page, or null for the first page
+     * @param limit          the maximum number of games to return
+     * @return the page of game summaries
+     */
+    @Override
+    public GamePageDTO listGames(GameFilter filter, Instant afterCreatedAt, UUID afterGameId, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        Instant seekCreatedAt = filter.createdFromOrMin();
+        UUID seekGameId = MIN_GAME_ID;
+        if (afterCreatedAt != null && afterGameId != null && !afterCreatedAt.isBefore(seekCreatedAt)) {
+            seekCreatedAt = afterCreatedAt;
+            seekGameId = afterGameId;
+        }
+
+        List<GameSummaryDTO> games = gameStore.findSummariesAfter(filter, seekCreatedAt, seekGameId, pageSize);
+
+        GamePageDTO page = new GamePageDTO();
+        page.setGames(games);
+        if (games.size() == pageSize) {
+            GameSummaryDTO last = games.get(games.size() - 1);
+            page.setNextAfterCreatedAt(last.getCreatedAt());
+            page.setNextAfterGameId(last.getGameId());
+        }
+        return page;
+    }
+
+    /**
+     * Streams the summaries of all games matching the given filter to the given consumer.
+     *
+     * @param filter   the criteria the games must match
+     * @param consumer the consumer receiving each summary in creation order
+     */
+    @Override
+    @Transactional
+    public void forEachGameSummary(GameFilter filter, Consumer<GameSummaryDTO> consumer) {
+        try (Stream<GameSummaryDTO> summaries = gameStore.streamSummaries(filter)) {
+            summaries.forEach(consumer);
+        }
     }
 
     /**
      * Processes a player's move, including rolling the dice and updating the player's position.
+     * Package-private so that the engine benchmarks can drive it directly.
      *
      * @param game the game to process the move for
+     * @return the dice roll
      */
-    private void processPlayerMove(Game game) {
+    int processPlayerMove(Game game) {
         GameState gameState = game.getGameState();
         Player currentPlayer = gameState.getPlayerList().get(gameState.getNextPlayer());
         int roll = DiceUtils.roll(6);
 
-        int currentPosition = currentPlayer.getPosition();
-        int boardSize = boardService.getBoard().getBoardSquarelist().size();
-        int nextPosition = currentPosition + roll;
-
-        // Ensure we don't go beyond the board
-        if (nextPosition >= boardSize) {
-            nextPosition = boardSize - 1; // Move to the last square (winning square)
+        List<BoardSquare> squares = boardService.getBoard().getBoardSquarelist();
+        int nextPosition = MoveRules.resolvePosition(squares, currentPlayer.getPosition(), roll);
+        if (nextPosition == squares.size() - 1) {
             gameState.setWinnerDeclared(true);
             currentPlayer.setWinner(true);
-        } else if (nextPosition > 0 && nextPosition < boardSize) {
-            // Only check for chutes/ladders if we're on a valid board position
-            BoardSquare nextSquare = boardService.getBoard().getBoardSquarelist().get(nextPosition - 1);
-            nextPosition += nextSquare.getNumberSquaresToSkip();
-
-            // Check again if we've now reached or passed the end after chute/ladder
-            if (nextPosition >= boardSize - 1) {
-                nextPosition = boardSize - 1;
-                gameState.setWinnerDeclared(true);
-                currentPlayer.setWinner(true);
-            }
         }
 
         currentPlayer.setPosition(nextPosition);
+        return roll;
     }
 
     /**
      * Validates that it is the correct player's turn.
+     * Package-private so that the allocation tests can drive it directly.
      *
      * @param game       the game to validate the turn for
      * @param playerName the name of the player
      * @throws NotYourTurnException if it is not the player's turn
      */
-    private void validatePlayerTurn(Game game, String playerName) throws NotYourTurnException {
+    void validatePlayerTurn(Game game, String playerName) throws NotYourTurnException {
         GameState state = game.getGameState();
         Player playerToPlay = state.getPlayerList().get(state.getNextPlayer());
         if (!playerToPlay.getName().equals(playerName)) {
+            rejectTurn(game.getGameId(), playerName, NO_PLAYER_ID, "not the player's turn");
             throw new NotYourTurnException("It is " + playerToPlay.getName() + "'s turn.");
         }
     }
 
     /**
-     * Validates that the number of players is within the allowed range.
+     * Validates that it is the turn of the player with the given ID.
+     * Package-private so that the allocation tests can drive it directly.
+     *
+     * @param game     the game to validate the turn for
+     * @param playerId the ID of the player
+     * @throws NotYourTurnException if it is not the player's turn
+     */
+    void validatePlayerTurn(Game game, int playerId) throws NotYourTurnException {
+        int nextPlayer = game.getGameState().getNextPlayer();
+        if (playerId != nextPlayer) {
+            rejectTurn(game.getGameId(), null, playerId, "not the player's turn");
+            throw new NotYourTurnException("It is player " + nextPlayer + "'s turn.");
+        }
+    }
+
+    /**
+     * Validates that the token is the one issued to the player whose turn it is. Any token is accepted when player
+     * tokens are not enabled.
+     *
+     * @param game        the game to validate the turn for
+     * @param playerName  the name of the player, or null if the player was identified by ID
+     * @param playerId    the ID of the player, or {@link #NO_PLAYER_ID} if the player was identified by name
+     * @param playerToken the token sent with the turn, may be null
+     * @throws NotYourTurnException if the token is not the player's
+     */
+    private void validatePlayerToken(Game game, String playerName, int playerId, String playerToken) throws NotYourTurnException {
+        if (!playerTokenService.isEnabled()) {
+            return;
+        }
+        if (playerToken == null) {
+            rejectTurn(game.getGameId(), playerName, playerId, "no player token");
+            throw new NotYourTurnException("A player token is required to play a turn.");
+        }
+        if (!playerTokenService.verify(game.getGameId(), game.getGameState().getNextPlayer(), playerToken)) {
+            rejectTurn(game.getGameId(), playerName, playerId, "wrong player token");
+            throw new NotYourTurnException("The player token does not belong to the player whose turn it is.");
+        }
+    }
+
+    /**
+     * Emits a flight recorder event for a rejected turn.
      *
-     * @param playerCount the number of players
-     * @throws PlayerNumbersException if the number of players is invalid
+     * @param gameId     the game ID
+     * @param playerName the name of the player, or null if the player was identified by ID
+     * @param playerId   the ID of the player, or {@link #NO_PLAYER_ID} if the player was identified by name
+     * @param reason     why the turn was rejected
      */
-    private void validatePlayerCount(int playerCount) throws PlayerNumbersException {
-        if (playerCount <= 0 || playerCount > boardService.getMaxPlayers()) {
+    private void rejectTurn(UUID gameId, String playerName, int playerId, String reason) {
+        TurnRejectedEvent event = new TurnRejectedEvent();
+        if (event.shouldCommit()) {
+            event.gameId = String.valueOf(gameId);
+            event.playerName = playerName;
+            event.playerId = playerId;
+            event.reason = reason;
+            event.commit();
+        }
+    }
+
+    /**
+     * Validates that the number of players is within the allowed range and that no player name is too long to store.
+     *
+     * @param players the players
+     * @throws PlayerNumbersException if the number of players is invalid or a player name is too long
+     */
+    private void validatePlayers(List<PlayerDTO> players) throws PlayerNumbersException {
+        if (players.isEmpty() || players.size() > boardService.getMaxPlayers()) {
             throw new PlayerNumbersException("Number of players must be between 1 and " + boardService.getMaxPlayers() + ".");
         }
+        for (PlayerDTO player : players) {
+            if (player.getName() != null && player.getName().length() > GameValidator.MAX_NAME_LENGTH) {
+                throw new PlayerNumbersException("Player names must be at most " + GameValidator.MAX_NAME_LENGTH + " characters long.");
+            }
+        }
     }
 
     /**
@@ -170,15 +480,15 @@ public class GameServiceImpl implements GameService {
     }
 
     /**
-     * Retrieves a game from the repository by its ID.
+     * Retrieves a game from the store by its ID.
      *
      * @param gameId the ID of the game to retrieve
      * @return the game
      * @throws GameNotFoundException if the game is not found
      */
-    public Game getGameFromRepository(UUID gameId) throws GameNotFoundException {
-        return gameRepository.findByIdWithPlayersOptimized(gameId)
+    public Game getGameFromStore(UUID gameId) throws GameNotFoundException {
+        return gameStore.findById(gameId)
                 .orElseThrow(() -> new GameNotFoundException("Game with ID: " + gameId + " was not found."));
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,39 @@
+package com.sovan.chutesladders.service;
+
+import java.util.UUID;
+
+/**
+ * Service issuing each player of a game a secret token, and checking the token sent with a turn.
+ * A player is identified by their seat, the player ID; the token proves that the client playing the turn is the one
+ * the game was created for. Tokens are optional: when they are not enabled, a turn is accepted on the player's name or
+ * ID alone.
+ */
+public interface PlayerTokenService {
+
+    /**
+     * Tells whether player tokens are enabled.
+     *
+     * @return true if players are issued tokens and must send them with their turns
+     */
+    public boolean isEnabled();
+
+    /**
+     * Issues the token of a player.
+     *
+     * @param gameId   the ID of the game
+     * @param playerId the ID of the player within the game
+     * @return the token, the same each time it is issued for the same game and player
+     * @throws IllegalStateException if tokens are not enabled
+     */
+    public String issue(UUID gameId, int playerId);
+
+    /**
+     * Checks the token sent for a player.
+     *
+     * @param gameId   the ID of the game
+     * @param playerId the ID of the player within the game
+     * @param token    the token sent, may be null
+     * @return true if the token is the one issued for the player
+     */
+    public boolean verify(UUID gameId, int playerId, String token);
+}
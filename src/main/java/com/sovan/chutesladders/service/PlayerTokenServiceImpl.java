@@ -0,0 +1,121 @@
+package com.sovan.chutesladders.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Implementation of the {@link PlayerTokenService} interface.
+ * A token is the HMAC-SHA256 of the game ID and the player ID under a server key, truncated to 128 bits and encoded
+ * as URL-safe Base64. Tokens are derived rather than stored, so every game store supports them without keeping anything
+ * per player, and they cannot be forged without the key. Tokens are off unless {@code chutesladders.player-token.enabled}
+ * is set; the key is then {@code chutesladders.player-token.secret}, which must be the same on every instance and
+ * across restarts, so the application refuses to start without it rather than issue tokens that a restart would void.
+ */
+@Service
+public class PlayerTokenServiceImpl implements PlayerTokenService {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int TOKEN_BYTES = 16;
+
+    private final boolean enabled;
+    private final SecretKeySpec key;
+    private final ThreadLocal<Mac> macs;
+
+    /**
+     * Constructs a new PlayerTokenServiceImpl.
+     *
+     * @param enabled whether players are issued tokens and must send them with their turns
+     * @param secret  the server key, required when tokens are enabled
+     * @throws IllegalStateException if tokens are enabled and the secret is blank
+     */
+    public PlayerTokenServiceImpl(@Value("${chutesladders.player-token.enabled:false}") boolean enabled,
+                                  @Value("${chutesladders.player-token.secret:}") String secret) {
+        this.enabled = enabled;
+        if (!enabled) {
+            this.key = null;
+            this.macs = null;
+            return;
+        }
+        if (secret == null || secret.isBlank()) {
+            throw new IllegalStateException("chutesladders.player-token.secret must be set when chutesladders.player-token.enabled is true");
+        }
+        this.key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+        this.macs = ThreadLocal.withInitial(this::newMac);
+    }
+
+    /**
+     * Tells whether player tokens are enabled.
+     *
+     * @return true if players are issued tokens and must send them with their turns
+     */
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Issues the token of a player.
+     *
+     * @param gameId   the ID of the game
+     * @param playerId the ID of the player within the game
+     * @return the token
+     * @throws IllegalStateException if tokens are not enabled
+     */
+    @Override
+    public String issue(UUID gameId, int playerId) {
+        if (!enabled) {
+            throw new IllegalStateException("Player tokens are not enabled");
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(sign(gameId, playerId));
+    }
+
+    /**
+     * Checks the token sent for a player in constant time.
+     *
+     * @param gameId   the ID of the game
+     * @param playerId the ID of the player within the game
+     * @param token    the token sent, may be null
+     * @return true if the token is the one issued for the player; always false when tokens are not enabled
+     */
+    @Override
+    public boolean verify(UUID gameId, int playerId, String token) {
+        if (!enabled || token == null) {
+            return false;
+        }
+        byte[] sent;
+        try {
+            sent = Base64.getUrlDecoder().decode(token);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        return MessageDigest.isEqual(sign(gameId, playerId), sent);
+    }
+
+    private byte[] sign(UUID gameId, int playerId) {
+        ByteBuffer message = ByteBuffer.allocate(2 * Long.BYTES + Integer.BYTES)
+                .putLong(gameId.getMostSignificantBits())
+                .putLong(gameId.getLeastSignificantBits())
+                .putInt(playerId);
+        return Arrays.copyOf(macs.get().doFinal(message.array()), TOKEN_BYTES);
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 is not available", e);
+        }
+    }
+}
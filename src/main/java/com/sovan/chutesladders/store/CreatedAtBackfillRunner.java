@@ -0,0 +1,51 @@
+package com.sovan.chutesladders.store;
+
+import com.sovan.chutesladders.repository.GameRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+
+/**
+ * Gives the games stored in the database without a creation time, by versions that did not set it, their last update
+ * time as creation time at startup. Listings and streams are keyed by creation time and would otherwise leave these
+ * games out. Games never updated get {@link Instant#EPOCH}, so they come first, as the oldest games. Runs before the
+ * other application runners, and finds nothing to do once every game has a creation time.
+ */
+@Component
+@Slf4j
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class CreatedAtBackfillRunner implements ApplicationRunner {
+
+    private final GameRepository gameRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Constructs a new CreatedAtBackfillRunner.
+     *
+     * @param gameRepository      the game repository
+     * @param transactionTemplate the template running the backfill in one transaction
+     */
+    public CreatedAtBackfillRunner(GameRepository gameRepository, TransactionTemplate transactionTemplate) {
+        this.gameRepository = gameRepository;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * Sets the missing creation times.
+     *
+     * @param args the application arguments
+     */
+    @Override
+    public void run(ApplicationArguments args) {
+        Integer backfilled = transactionTemplate.execute(status -> gameRepository.backfillCreatedAt(Instant.EPOCH));
+        if (backfilled != null && backfilled > 0) {
+            log.info("Set the missing creation time of {} games", backfilled);
+        }
+    }
+}
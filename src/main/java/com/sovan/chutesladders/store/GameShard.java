@@ -0,0 +1,362 @@
+package com.sovan.chutesladders.store;
+
+import com.sovan.chutesladders.model.Game;
+import com.sovan.chutesladders.model.GameFilter;
+import com.sovan.chutesladders.model.GameState;
+import com.sovan.chutesladders.model.GameSummaryDTO;
+import com.sovan.chutesladders.model.Player;
+import com.sovan.chutesladders.metrics.QueryCountingDataSource;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * One database of the {@link ShardedGameStore}, with its own connection pool, schema and transactions.
+ * A game is one row of the game table, holding its state, and one row per player keyed by the game ID and the seat.
+ * The pool publishes the {@code hikaricp.*} metrics tagged with the pool name {@code shard-<index>}, and every
+ * operation is timed as {@code game.store.shard.requests} tagged with the shard and the operation. The games of the
+ * shard are counted once when it is opened, then kept counted as games are inserted and deleted through it, so that
+ * the {@code game.store.shard.games} gauge does not query the database on every scrape.
+ */
+final class GameShard implements AutoCloseable {
+
+    private static final List<String> SCHEMA = List.of(
+            "CREATE TABLE IF NOT EXISTS game (game_id UUID NOT NULL PRIMARY KEY, created_at TIMESTAMP(6) WITH TIME ZONE, " +
+            "updated_at TIMESTAMP(6) WITH TIME ZONE, version BIGINT NOT NULL, next_player INT NOT NULL, " +
+            "is_winner_declared BOOLEAN NOT NULL)",
+            "CREATE INDEX IF NOT EXISTS idx_game_created_at_id ON game (created_at, game_id)",
+            "CREATE TABLE IF NOT EXISTS player (game_id UUID NOT NULL, seat INT NOT NULL, name VARCHAR(255), " +
+            "position INT NOT NULL, is_winner BOOLEAN NOT NULL, PRIMARY KEY (game_id, seat))");
+
+    private static final String SELECT_GAMES =
+            "SELECT g.game_id, g.created_at, g.updated_at, g.version, g.next_player, g.is_winner_declared, " +
+            "p.seat, p.name, p.position, p.is_winner " +
+            "FROM game g LEFT JOIN player p ON p.game_id = g.game_id " +
+            "WHERE g.game_id IN (:gameIds) ORDER BY g.game_id, p.seat";
+    private static final String SELECT_EXISTING_IDS = "SELECT game_id FROM game WHERE game_id IN (:gameIds)";
+    private static final String SELECT_IDS_AFTER =
+            "SELECT game_id FROM game WHERE game_id > :afterGameId ORDER BY game_id LIMIT :limit";
+    private static final String INSERT_GAME =
+            "INSERT INTO game (game_id, created_at, updated_at, version, next_player, is_winner_declared) " +
+            "VALUES (:gameId, :createdAt, :updatedAt, :version, :nextPlayer, :winnerDeclared)";
+    private static final String INSERT_PLAYER =
+            "INSERT INTO player (game_id, seat, name, position, is_winner) VALUES (:gameId, :seat, :name, :position, :winner)";
+    private static final String UPDATE_GAME =
+            "UPDATE game SET version = version + 1, updated_at = :updatedAt, next_player = :nextPlayer, " +
+            "is_winner_declared = :winnerDeclared WHERE game_id = :gameId AND version = :version";
+    private static final String UPDATE_PLAYER =
+            "UPDATE player SET position = :position, is_winner = :winner " +
+            "WHERE game_id = :gameId AND seat = :seat AND (position <> :position OR is_winner <> :winner)";
+    private static final String DELETE_PLAYERS = "DELETE FROM player WHERE game_id IN (:gameIds)";
+    private static final String DELETE_GAMES = "DELETE FROM game WHERE game_id IN (:gameIds)";
+    private static final String SELECT_SUMMARIES_AFTER =
+            "SELECT game_id, created_at, next_player, is_winner_declared FROM game " +
+            "WHERE is_winner_declared IN (:winnerStates) AND created_at < :createdTo " +
+            "AND (created_at > :afterCreatedAt OR (created_at = :afterCreatedAt AND game_id > :afterGameId)) " +
+            "ORDER BY created_at, game_id LIMIT :limit";
+    private static final String SELECT_SUMMARIES =
+            "SELECT game_id, created_at, next_player, is_winner_declared FROM game " +
+            "WHERE is_winner_declared IN (:winnerStates) AND created_at >= :createdFrom AND created_at < :createdTo " +
+            "ORDER BY created_at, game_id";
+    private static final String COUNT_GAMES = "SELECT COUNT(*) FROM game";
+
+    private static final ResultSetExtractor<List<Game>> GAMES_EXTRACTOR = GameShard::extractGames;
+    private static final RowMapper<GameSummaryDTO> SUMMARY_MAPPER = (rows, rowNum) -> new GameSummaryDTO(
+            rows.getObject(1, UUID.class), toInstant(rows.getObject(2, OffsetDateTime.class)),
+            rows.getInt(3), rows.getBoolean(4));
+
+    private final int index;
+    private final HikariDataSource dataSource;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<String, Timer> timers = new LinkedHashMap<>();
+    private final AtomicLong gameCount = new AtomicLong();
+
+    /**
+     * Constructs a new GameShard, opening its connection pool and creating its tables if they do not exist.
+     *
+     * @param index         the index of the shard, used in its pool and metric names
+     * @param url           the JDBC URL of the database
+     * @param username      the database user
+     * @param password      the password of the database user
+     * @param poolSize      the largest number of connections to the database
+     * @param meterRegistry the registry the pool and request metrics are published to
+     */
+    GameShard(int index, String url, String username, String password, int poolSize, MeterRegistry meterRegistry) {
+        this.index = index;
+        HikariConfig config = new HikariConfig();
+        config.setPoolName("shard-" + index);
+        config.setJdbcUrl(url);
+        config.setUsername(username);
+        config.setPassword(password);
+        config.setMaximumPoolSize(poolSize);
+        config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        this.dataSource = new HikariDataSource(config);
+        DataSource countingDataSource = new QueryCountingDataSource(dataSource);
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(countingDataSource);
+        this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(countingDataSource));
+        SCHEMA.forEach(jdbcTemplate.getJdbcOperations()::execute);
+        Long count = jdbcTemplate.getJdbcOperations().queryForObject(COUNT_GAMES, Long.class);
+        gameCount.set(count == null ? 0 : count);
+
+        for (String operation : List.of("find", "save", "delete", "list")) {
+            timers.put(operation, Timer.builder("game.store.shard.requests")
+                    .description("Requests to one shard of the sharded game store")
+                    .tags("shard", String.valueOf(index), "operation", operation)
+                    .register(meterRegistry));
+        }
+        Gauge.builder("game.store.shard.games", gameCount, AtomicLong::get)
+                .description("Games stored in one shard of the sharded game store")
+                .tag("shard", String.valueOf(index))
+                .register(meterRegistry);
+    }
+
+    /**
+     * Gets the index of the shard.
+     *
+     * @return the index
+     */
+    int index() {
+        return index;
+    }
+
+    /**
+     * Finds games by ID with their players, in one select.
+     *
+     * @param gameIds the IDs of the games to find
+     * @return the games found, in no particular order
+     */
+    List<Game> findAll(Collection<UUID> gameIds) {
+        if (gameIds.isEmpty()) {
+            return List.of();
+        }
+        return timed("find", () -> jdbcTemplate.query(SELECT_GAMES, Map.of("gameIds", gameIds), GAMES_EXTRACTOR));
+    }
+
+    /**
+     * Inserts games with their players in one transaction, keeping their versions and skipping the games that are
+     * already stored.
+     *
+     * @param games the games, whose versions must be set
+     * @return the IDs of the games skipped because they are already stored
+     */
+    List<UUID> insertAll(Collection<Game> games) {
+        if (games.isEmpty()) {
+            return List.of();
+        }
+        List<UUID> skippedIds = timed("save", () -> transactionTemplate.execute(status -> {
+            Set<UUID> existing = new HashSet<>(jdbcTemplate.queryForList(SELECT_EXISTING_IDS,
+                    Map.of("gameIds", games.stream().map(Game::getGameId).toList()), UUID.class));
+            List<UUID> skipped = new ArrayList<>();
+            List<SqlParameterSource> gameRows = new ArrayList<>();
+            List<SqlParameterSource> playerRows = new ArrayList<>();
+            for (Game game : games) {
+                if (!existing.add(game.getGameId())) {
+                    skipped.add(game.getGameId());
+                    continue;
+                }
+                GameState gameState = game.getGameState();
+                gameRows.add(new MapSqlParameterSource()
+                        .addValue("gameId", game.getGameId())
+                        .addValue("createdAt", toOffsetDateTime(game.getCreatedAt()))
+                        .addValue("updatedAt", toOffsetDateTime(game.getUpdatedAt()))
+                        .addValue("version", game.getVersion())
+                        .addValue("nextPlayer", gameState.getNextPlayer())
+                        .addValue("winnerDeclared", gameState.isWinnerDeclared()));
+                List<Player> players = gameState.getPlayerList();
+                for (int seat = 0; seat < players.size(); seat++) {
+                    playerRows.add(playerRow(game.getGameId(), seat, players.get(seat))
+                            .addValue("name", players.get(seat).getName()));
+                }
+            }
+            jdbcTemplate.batchUpdate(INSERT_GAME, gameRows.toArray(SqlParameterSource[]::new));
+            jdbcTemplate.batchUpdate(INSERT_PLAYER, playerRows.toArray(SqlParameterSource[]::new));
+            return skipped;
+        }));
+        gameCount.addAndGet(games.size() - skippedIds.size());
+        return skippedIds;
+    }
+
+    /**
+     * Updates the state of a stored game and the players whose position or winner flag changed, in one transaction,
+     * if its version is still the stored one.
+     *
+     * @param game      the game
+     * @param updatedAt the time of the update
+     * @return true if the game was updated, false if it was changed or deleted since it was read
+     */
+    boolean update(Game game, Instant updatedAt) {
+        return timed("save", () -> transactionTemplate.execute(status -> {
+            GameState gameState = game.getGameState();
+            int updated = jdbcTemplate.update(UPDATE_GAME, new MapSqlParameterSource()
+                    .addValue("updatedAt", toOffsetDateTime(updatedAt))
+                    .addValue("nextPlayer", gameState.getNextPlayer())
+                    .addValue("winnerDeclared", gameState.isWinnerDeclared())
+                    .addValue("gameId", game.getGameId())
+                    .addValue("version", game.getVersion()));
+            if (updated == 0) {
+                return false;
+            }
+            List<Player> players = gameState.getPlayerList();
+            SqlParameterSource[] playerRows = new SqlParameterSource[players.size()];
+            for (int seat = 0; seat < players.size(); seat++) {
+                playerRows[seat] = playerRow(game.getGameId(), seat, players.get(seat));
+            }
+            jdbcTemplate.batchUpdate(UPDATE_PLAYER, playerRows);
+            return true;
+        }));
+    }
+
+    /**
+     * Deletes games and their players in one transaction. Unknown IDs are ignored.
+     *
+     * @param gameIds the IDs of the games to delete
+     */
+    void deleteAll(Collection<UUID> gameIds) {
+        if (gameIds.isEmpty()) {
+            return;
+        }
+        Integer deleted = timed("delete", () -> transactionTemplate.execute(status -> {
+            Map<String, Object> parameters = Map.of("gameIds", gameIds);
+            jdbcTemplate.update(DELETE_PLAYERS, parameters);
+            return jdbcTemplate.update(DELETE_GAMES, parameters);
+        }));
+        if (deleted != null) {
+            gameCount.addAndGet(-deleted);
+        }
+    }
+
+    /**
+     * Finds one keyset page of the summaries of the games of this shard.
+     *
+     * @param filter         the criteria the games must match; the lower creation time bound is not applied
+     * @param afterCreatedAt the creation time of the last game of the previous page
+     * @param afterGameId    the ID of the last game of the previous page
+     * @param limit          the maximum number of summaries to return
+     * @return the summaries, in key order
+     */
+    List<GameSummaryDTO> findSummariesAfter(GameFilter filter, Instant afterCreatedAt, UUID afterGameId, int limit) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("winnerStates", filter.winnerStates())
+                .addValue("createdTo", toOffsetDateTime(filter.createdToOrMax()))
+                .addValue("afterCreatedAt", toOffsetDateTime(afterCreatedAt))
+                .addValue("afterGameId", afterGameId)
+                .addValue("limit", limit);
+        return timed("list", () -> jdbcTemplate.query(SELECT_SUMMARIES_AFTER, parameters, SUMMARY_MAPPER));
+    }
+
+    /**
+     * Streams the summaries of the games of this shard matching the filter, holding one connection until the stream
+     * is closed.
+     *
+     * @param filter the criteria the games must match
+     * @return the stream of summaries, in key order
+     */
+    Stream<GameSummaryDTO> streamSummaries(GameFilter filter) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("winnerStates", filter.winnerStates())
+                .addValue("createdFrom", toOffsetDateTime(filter.createdFromOrMin()))
+                .addValue("createdTo", toOffsetDateTime(filter.createdToOrMax()));
+        return timed("list", () -> jdbcTemplate.queryForStream(SELECT_SUMMARIES, parameters, SUMMARY_MAPPER));
+    }
+
+    /**
+     * Lists the IDs of the games of this shard in ID order, one page at a time.
+     *
+     * @param afterGameId the last ID of the previous page
+     * @param limit       the maximum number of IDs to return
+     * @return the IDs following the given one
+     */
+    List<UUID> findIdsAfter(UUID afterGameId, int limit) {
+        return timed("list", () -> jdbcTemplate.queryForList(SELECT_IDS_AFTER,
+                Map.of("afterGameId", afterGameId, "limit", limit), UUID.class));
+    }
+
+    /**
+     * Closes the connection pool.
+     */
+    @Override
+    public void close() {
+        dataSource.close();
+    }
+
+    private <T> T timed(String operation, Supplier<T> work) {
+        return timers.get(operation).record(work);
+    }
+
+    private static MapSqlParameterSource playerRow(UUID gameId, int seat, Player player) {
+        return new MapSqlParameterSource()
+                .addValue("gameId", gameId)
+                .addValue("seat", seat)
+                .addValue("position", player.getPosition())
+                .addValue("winner", player.isWinner());
+    }
+
+    /**
+     * Builds the games from the rows of {@link #SELECT_GAMES}, one per player, ordered by game.
+     */
+    private static List<Game> extractGames(ResultSet rows) throws SQLException {
+        List<Game> games = new ArrayList<>();
+        Game game = null;
+        while (rows.next()) {
+            UUID gameId = rows.getObject(1, UUID.class);
+            if (game == null || !game.getGameId().equals(gameId)) {
+                GameState gameState = new GameState();
+                gameState.setNextPlayer(rows.getInt(5));
+                gameState.setWinnerDeclared(rows.getBoolean(6));
+                game = new Game();
+                game.setGameId(gameId);
+                game.setCreatedAt(toInstant(rows.getObject(2, OffsetDateTime.class)));
+                game.setUpdatedAt(toInstant(rows.getObject(3, OffsetDateTime.class)));
+                game.setVersion(rows.getLong(4));
+                game.setGameState(gameState);
+                games.add(game);
+            }
+            rows.getInt(7);
+            if (!rows.wasNull()) {
+                Player player = new Player();
+                player.setName(rows.getString(8));
+                player.setPosition(rows.getInt(9));
+                player.setWinner(rows.getBoolean(10));
+                game.getGameState().getPlayerList().add(player);
+            }
+        }
+        return games;
+    }
+
+    private static OffsetDateTime toOffsetDateTime(Instant instant) {
+        return instant != null ? OffsetDateTime.ofInstant(instant, ZoneOffset.UTC) : null;
+    }
+
+    private static Instant toInstant(OffsetDateTime dateTime) {
+        return dateTime != null ? dateTime.toInstant() : null;
+    }
+}
@@ -0,0 +1,182 @@
+package com.sovan.chutesladders.store;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Open-addressing hash index from a game ID, given as its two halves, to an int slot number.
+ * Keys and slots live in primitive arrays, so the index adds no objects per game for the garbage collector to trace.
+ * Collisions are resolved by linear probing and removals shift the following entries back, so no tombstones build up.
+ * Instances are not thread-safe.
+ */
+final class GameSlotIndex {
+
+    /**
+     * The slot number returned for IDs that are not in the index.
+     */
+    static final int NO_SLOT = -1;
+
+    private static final int MIN_CAPACITY = 16;
+
+    private long[] keys;
+    private int[] slots;
+    private int mask;
+    private int size;
+
+    /**
+     * Constructs a new GameSlotIndex sized for the given number of games.
+     *
+     * @param expectedSize the number of games expected
+     */
+    GameSlotIndex(int expectedSize) {
+        allocate(tableSizeFor(expectedSize));
+    }
+
+    /**
+     * Gets the slot of a game.
+     *
+     * @param high the most significant bits of the game ID
+     * @param low  the least significant bits of the game ID
+     * @return the slot, or {@link #NO_SLOT} if the game is not in the index
+     */
+    int get(long high, long low) {
+        for (int i = hash(high, low) & mask; ; i = (i + 1) & mask) {
+            int slot = slots[i];
+            if (slot == NO_SLOT) {
+                return NO_SLOT;
+            }
+            if (keys[2 * i] == high && keys[2 * i + 1] == low) {
+                return slot;
+            }
+        }
+    }
+
+    /**
+     * Adds a game to the index or moves it to another slot.
+     *
+     * @param high the most significant bits of the game ID
+     * @param low  the least significant bits of the game ID
+     * @param slot the slot of the game
+     */
+    void put(long high, long low, int slot) {
+        if ((size + 1) * 2 > slots.length) {
+            resize(slots.length * 2);
+        }
+        for (int i = hash(high, low) & mask; ; i = (i + 1) & mask) {
+            if (slots[i] == NO_SLOT) {
+                keys[2 * i] = high;
+                keys[2 * i + 1] = low;
+                slots[i] = slot;
+                size++;
+                return;
+            }
+            if (keys[2 * i] == high && keys[2 * i + 1] == low) {
+                slots[i] = slot;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Removes a game from the index.
+     *
+     * @param high the most significant bits of the game ID
+     * @param low  the least significant bits of the game ID
+     * @return the slot the game was in, or {@link #NO_SLOT} if it was not in the index
+     */
+    int remove(long high, long low) {
+        int i = hash(high, low) & mask;
+        while (slots[i] != NO_SLOT) {
+            if (keys[2 * i] == high && keys[2 * i + 1] == low) {
+                int removed = slots[i];
+                shiftBack(i);
+                size--;
+                return removed;
+            }
+            i = (i + 1) & mask;
+        }
+        return NO_SLOT;
+    }
+
+    /**
+     * Calls the consumer with the slot of every game in the index, in no particular order.
+     *
+     * @param consumer the consumer
+     */
+    void forEachSlot(IntConsumer consumer) {
+        for (int slot : slots) {
+            if (slot != NO_SLOT) {
+                consumer.accept(slot);
+            }
+        }
+    }
+
+    /**
+     * Gets the number of games in the index.
+     *
+     * @return the number of games
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Fills the hole left at the given position by moving back the entries of the same probe run
+     * that would otherwise no longer be reachable.
+     *
+     * @param hole the position that was emptied
+     */
+    private void shiftBack(int hole) {
+        int i = hole;
+        while (true) {
+            i = (i + 1) & mask;
+            if (slots[i] == NO_SLOT) {
+                break;
+            }
+            int home = hash(keys[2 * i], keys[2 * i + 1]) & mask;
+            boolean reachable = hole <= i ? (home > hole && home <= i) : (home > hole || home <= i);
+            if (!reachable) {
+                keys[2 * hole] = keys[2 * i];
+                keys[2 * hole + 1] = keys[2 * i + 1];
+                slots[hole] = slots[i];
+                hole = i;
+            }
+        }
+        slots[hole] = NO_SLOT;
+    }
+
+    private void resize(int capacity) {
+        long[] oldKeys = keys;
+        int[] oldSlots = slots;
+        allocate(capacity);
+        size = 0;
+        for (int i = 0; i < oldSlots.length; i++) {
+            if (oldSlots[i] != NO_SLOT) {
+                put(oldKeys[2 * i], oldKeys[2 * i + 1], oldSlots[i]);
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[2 * capacity];
+        slots = new int[capacity];
+        Arrays.fill(slots, NO_SLOT);
+        mask = capacity - 1;
+    }
+
+    private static int tableSizeFor(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while (capacity < expectedSize * 2L && capacity < (1 << 30)) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    private static int hash(long high, long low) {
+        long h = high * 0x9E3779B97F4A7C15L ^ low;
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        return (int) h;
+    }
+}
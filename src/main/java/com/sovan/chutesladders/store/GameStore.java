@@ -0,0 +1,130 @@
+package com.sovan.chutesladders.store;
+
+import com.sovan.chutesladders.exception.GameFinishedException;
+import com.sovan.chutesladders.exception.GameNotFoundException;
+import com.sovan.chutesladders.exception.InconsistentGameException;
+import com.sovan.chutesladders.exception.NotYourTurnException;
+import com.sovan.chutesladders.model.Game;
+import com.sovan.chutesladders.model.GameFilter;
+import com.sovan.chutesladders.model.GameSummaryDTO;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Storage of the games played by the game service.
+ * Implementations must reject the save of a game whose version no longer matches the stored one
+ * with an {@link org.springframework.dao.OptimisticLockingFailureException}.
+ */
+public interface GameStore {
+
+    /**
+     * Finds a game by ID with its game state and players.
+     *
+     * @param gameId the ID of the game to find
+     * @return the game, or empty if not found
+     */
+    public Optional<Game> findById(UUID gameId);
+
+    /**
+     * Finds several games by ID with their game state and players.
+     * IDs that do not exist are ignored and the result is in no particular order.
+     *
+     * @param gameIds the IDs of the games to find
+     * @return the games found
+     */
+    public List<Game> findAllById(Collection<UUID> gameIds);
+
+    /**
+     * Stores a new game or the new state of a stored one.
+     *
+     * @param game the game to store
+     * @return the stored game, with its version updated
+     */
+    public Game save(Game game);
+
+    /**
+     * Runs one turn: the load of a game, the change of its state and its save. Stores whose saves rely on the game
+     * loaded in the same transaction run the turn in one; the others run it as is, without a database connection.
+     *
+     * @param turn the turn
+     * @param <T>  the result of the turn
+     * @return the result of the turn
+     * @throws GameNotFoundException     if the game is not found
+     * @throws NotYourTurnException      if it is not the player's turn
+     * @throws InconsistentGameException if the game state is inconsistent
+     * @throws GameFinishedException     if the game already has a winner
+     */
+    public <T> T executeTurn(TurnWork<T> turn) throws GameNotFoundException, NotYourTurnException, InconsistentGameException, GameFinishedException;
+
+    /**
+     * Stores several new games at once, as imports do. The games whose ID is already stored are skipped and the
+     * stored games are left unchanged.
+     *
+     * @param games the new games, without versions
+     * @return the IDs of the games skipped because they are already stored
+     */
+    public List<UUID> insertAll(Collection<Game> games);
+
+    /**
+     * Deletes the games with the given IDs. Unknown IDs are ignored.
+     *
+     * @param gameIds the IDs of the games to delete
+     */
+    public void deleteAllById(Collection<UUID> gameIds);
+
+    /**
+     * Finds the summaries of the games matching the filter that come after the given (createdAt, gameId) key,
+     * ordered by that key.
+     *
+     * @param filter         the criteria the games must match; the lower creation time bound is not applied
+     * @param afterCreatedAt the creation time of the last game of the previous page
+     * @param afterGameId    the ID of the last game of the previous page
+     * @param limit          the maximum number of summaries to return
+     * @return the summaries
+     */
+    public List<GameSummaryDTO> findSummariesAfter(GameFilter filter, Instant afterCreatedAt, UUID afterGameId, int limit);
+
+    /**
+     * Streams the summaries of all games matching the filter, ordered by creation time and game ID.
+     * Must be called inside a transaction and the stream must be closed.
+     *
+     * @param filter the criteria the games must match
+     * @return the stream of summaries
+     */
+    public Stream<GameSummaryDTO> streamSummaries(GameFilter filter);
+
+    /**
+     * Streams all games matching the filter with their game state and players, ordered by creation time and game ID,
+     * without holding them all in memory. The games are not tracked by the store after they have been returned.
+     * Must be called inside a transaction and the stream must be closed.
+     *
+     * @param filter the criteria the games must match
+     * @return the stream of games
+     */
+    public Stream<Game> streamGames(GameFilter filter);
+
+    /**
+     * The work of one turn, run by {@link #executeTurn(TurnWork)}.
+     *
+     * @param <T> the result of the turn
+     */
+    @FunctionalInterface
+    public interface TurnWork<T> {
+
+        /**
+         * Plays the turn.
+         *
+         * @return the result of the turn
+         * @throws GameNotFoundException     if the game is not found
+         * @throws NotYourTurnException      if it is not the player's turn
+         * @throws InconsistentGameException if the game state is inconsistent
+         * @throws GameFinishedException     if the game already has a winner
+         */
+        T run() throws GameNotFoundException, NotYourTurnException, InconsistentGameException, GameFinishedException;
+    }
+}
@@ -0,0 +1,263 @@
+package com.sovan.chutesladders.store;
+
+import com.sovan.chutesladders.model.Game;
+import com.sovan.chutesladders.model.GameFilter;
+import com.sovan.chutesladders.model.GameSummaryDTO;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Keyset ordering and filtering of game summaries for the stores that list games in memory or merge the listings of
+ * several databases, and loading of the games in that order.
+ * Games are ordered by creation time and then by game ID, with the ID compared as an unsigned 128-bit number
+ * as the database does, so that the all-zero ID sorts first.
+ */
+final class GameSummaryOrder {
+
+    /**
+     * Orders summaries by creation time, then game ID.
+     */
+    static final Comparator<GameSummaryDTO> BY_KEY = GameSummaryOrder::compare;
+
+    private static final int LOAD_BATCH_SIZE = 500;
+
+    private GameSummaryOrder() {
+    }
+
+    /**
+     * Checks whether a game comes after the given key.
+     *
+     * @param createdAt      the creation time of the game
+     * @param gameId         the ID of the game
+     * @param afterCreatedAt the creation time of the key
+     * @param afterGameId    the ID of the key
+     * @return true if the game comes strictly after the key
+     */
+    static boolean isAfter(Instant createdAt, UUID gameId, Instant afterCreatedAt, UUID afterGameId) {
+        int byTime = createdAt.compareTo(afterCreatedAt);
+        return byTime > 0 || (byTime == 0 && compareIds(gameId, afterGameId) > 0);
+    }
+
+    /**
+     * Checks whether a game is selected by the filter, creation time bounds included.
+     * Games without a creation time are never selected.
+     *
+     * @param summary the summary of the game
+     * @param filter  the criteria the games must match
+     * @return true if the game is selected
+     */
+    static boolean matches(GameSummaryDTO summary, GameFilter filter) {
+        return matchesWinnerState(summary, filter)
+                && !summary.getCreatedAt().isBefore(filter.createdFromOrMin())
+                && summary.getCreatedAt().isBefore(filter.createdToOrMax());
+    }
+
+    /**
+     * Checks whether a game belongs to the keyset page starting after the given key.
+     * Games without a creation time are never selected.
+     *
+     * @param summary        the summary of the game
+     * @param filter         the criteria the games must match; the lower creation time bound is not applied
+     * @param afterCreatedAt the creation time of the last game of the previous page
+     * @param afterGameId    the ID of the last game of the previous page
+     * @return true if the game comes after the key and is selected by the filter
+     */
+    static boolean isOnPageAfter(GameSummaryDTO summary, GameFilter filter, Instant afterCreatedAt, UUID afterGameId) {
+        return matchesWinnerState(summary, filter)
+                && summary.getCreatedAt().isBefore(filter.createdToOrMax())
+                && isAfter(summary.getCreatedAt(), summary.getGameId(), afterCreatedAt, afterGameId);
+    }
+
+    /**
+     * Merges streams of summaries that are each in key order into one stream in key order, reading each stream
+     * only as far as the merged stream is consumed. Closing the merged stream closes every stream.
+     *
+     * @param sorted the streams, each ordered by key
+     * @return the merged stream
+     */
+    static Stream<GameSummaryDTO> merge(List<Stream<GameSummaryDTO>> sorted) {
+        Iterator<GameSummaryDTO> merged = new MergingIterator(sorted.stream().map(Stream::iterator).toList());
+        Stream<GameSummaryDTO> stream = StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(merged, Spliterator.ORDERED | Spliterator.NONNULL), false);
+        for (Stream<GameSummaryDTO> source : sorted) {
+            stream = stream.onClose(source::close);
+        }
+        return stream;
+    }
+
+    /**
+     * Loads the games of a stream of summaries in the order of the summaries, {@value #LOAD_BATCH_SIZE} games at a
+     * time, reading the summaries only as far as the games are consumed. Games deleted since their summary was read
+     * are skipped. Closing the stream of games closes the stream of summaries.
+     *
+     * @param sorted      the summaries, ordered by key
+     * @param findAllById finds the games of a batch of IDs, in any order
+     * @return the stream of games
+     */
+    static Stream<Game> loadGames(Stream<GameSummaryDTO> sorted, Function<Collection<UUID>, List<Game>> findAllById) {
+        Iterator<Game> games = new LoadingIterator(sorted.iterator(), findAllById);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(games, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(sorted::close);
+    }
+
+    /**
+     * Collects the first summaries in key order without sorting all of them.
+     */
+    static final class FirstPage {
+
+        private final int limit;
+        private final PriorityQueue<GameSummaryDTO> largestFirst;
+
+        /**
+         * Constructs a new FirstPage keeping at most the given number of summaries.
+         *
+         * @param limit the page size
+         */
+        FirstPage(int limit) {
+            this.limit = limit;
+            this.largestFirst = new PriorityQueue<>(limit + 1, BY_KEY.reversed());
+        }
+
+        /**
+         * Offers a summary, which is kept if it is among the first ones seen so far.
+         *
+         * @param summary the summary
+         */
+        void offer(GameSummaryDTO summary) {
+            largestFirst.add(summary);
+            if (largestFirst.size() > limit) {
+                largestFirst.poll();
+            }
+        }
+
+        /**
+         * Gets the summaries kept, in key order.
+         *
+         * @return the summaries
+         */
+        List<GameSummaryDTO> toList() {
+            List<GameSummaryDTO> summaries = new ArrayList<>(largestFirst);
+            summaries.sort(BY_KEY);
+            return summaries;
+        }
+    }
+
+    /**
+     * Iterates over the smallest heads of several sorted iterators.
+     */
+    private static final class MergingIterator implements Iterator<GameSummaryDTO> {
+
+        private final List<Iterator<GameSummaryDTO>> sources;
+        private final PriorityQueue<Head> heads;
+
+        private MergingIterator(List<Iterator<GameSummaryDTO>> sources) {
+            this.sources = sources;
+            this.heads = new PriorityQueue<>(Math.max(1, sources.size()), Comparator.comparing(Head::summary, BY_KEY));
+            for (int i = 0; i < sources.size(); i++) {
+                advance(i);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !heads.isEmpty();
+        }
+
+        @Override
+        public GameSummaryDTO next() {
+            Head head = heads.poll();
+            if (head == null) {
+                throw new NoSuchElementException();
+            }
+            advance(head.source());
+            return head.summary();
+        }
+
+        private void advance(int source) {
+            Iterator<GameSummaryDTO> iterator = sources.get(source);
+            if (iterator.hasNext()) {
+                heads.add(new Head(iterator.next(), source));
+            }
+        }
+
+        private record Head(GameSummaryDTO summary, int source) {
+        }
+    }
+
+    /**
+     * Iterates over the games of sorted summaries, loading them one batch at a time.
+     */
+    private static final class LoadingIterator implements Iterator<Game> {
+
+        private final Iterator<GameSummaryDTO> summaries;
+        private final Function<Collection<UUID>, List<Game>> findAllById;
+        private Iterator<Game> batch = Collections.emptyIterator();
+
+        private LoadingIterator(Iterator<GameSummaryDTO> summaries, Function<Collection<UUID>, List<Game>> findAllById) {
+            this.summaries = summaries;
+            this.findAllById = findAllById;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!batch.hasNext() && summaries.hasNext()) {
+                List<UUID> gameIds = new ArrayList<>(LOAD_BATCH_SIZE);
+                while (gameIds.size() < LOAD_BATCH_SIZE && summaries.hasNext()) {
+                    gameIds.add(summaries.next().getGameId());
+                }
+                Map<UUID, Game> found = new HashMap<>();
+                for (Game game : findAllById.apply(gameIds)) {
+                    found.put(game.getGameId(), game);
+                }
+                List<Game> games = new ArrayList<>(found.size());
+                for (UUID gameId : gameIds) {
+                    Game game = found.get(gameId);
+                    if (game != null) {
+                        games.add(game);
+                    }
+                }
+                batch = games.iterator();
+            }
+            return batch.hasNext();
+        }
+
+        @Override
+        public Game next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return batch.next();
+        }
+    }
+
+    private static boolean matchesWinnerState(GameSummaryDTO summary, GameFilter filter) {
+        return summary.getCreatedAt() != null
+                && (filter.getWinnerDeclared() == null || filter.getWinnerDeclared() == summary.isWinnerDeclared());
+    }
+
+    private static int compare(GameSummaryDTO a, GameSummaryDTO b) {
+        int byTime = a.getCreatedAt().compareTo(b.getCreatedAt());
+        return byTime != 0 ? byTime : compareIds(a.getGameId(), b.getGameId());
+    }
+
+    private static int compareIds(UUID a, UUID b) {
+        int byHigh = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+        return byHigh != 0 ? byHigh : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+    }
+}
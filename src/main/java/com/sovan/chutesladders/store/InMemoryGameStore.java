@@ -0,0 +1,303 @@
+package com.sovan.chutesladders.store;
+
+import com.sovan.chutesladders.engine.CompactGameState;
+import com.sovan.chutesladders.engine.PlayerNameRegistry;
+import com.sovan.chutesladders.exception.GameFinishedException;
+import com.sovan.chutesladders.exception.GameNotFoundException;
+import com.sovan.chutesladders.exception.InconsistentGameException;
+import com.sovan.chutesladders.exception.NotYourTurnException;
+import com.sovan.chutesladders.model.Game;
+import com.sovan.chutesladders.model.GameFilter;
+import com.sovan.chutesladders.model.GameSummaryDTO;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * {@link GameStore} keeping the games on the heap in a concurrent map of {@link CompactGameState}.
+ * Stored states are never modified: every save replaces the game's entry, with its version and update time, so reads
+ * need no locking.
+ * Games are not durable: they are lost when the application stops. Listings scan every game.
+ */
+@Component
+@ConditionalOnProperty(name = "chutesladders.store.type", havingValue = "memory")
+public class InMemoryGameStore implements GameStore {
+
+    private final PlayerNameRegistry nameRegistry;
+    private final ConcurrentHashMap<UUID, StoredGame> games = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a new InMemoryGameStore.
+     *
+     * @param nameRegistry the registry the player names are interned in
+     */
+    public InMemoryGameStore(PlayerNameRegistry nameRegistry) {
+        this.nameRegistry = nameRegistry;
+    }
+
+    /**
+     * Finds a game by ID and builds its entity from the compact state.
+     *
+     * @param gameId the ID of the game to find
+     * @return the game, or empty if not found
+     */
+    @Override
+    public Optional<Game> findById(UUID gameId) {
+        StoredGame stored = games.get(gameId);
+        return stored == null ? Optional.empty() : Optional.of(stored.toGame(nameRegistry));
+    }
+
+    /**
+     * Finds several games by ID and builds their entities from the compact states.
+     *
+     * @param gameIds the IDs of the games to find
+     * @return the games found
+     */
+    @Override
+    public List<Game> findAllById(Collection<UUID> gameIds) {
+        List<Game> found = new ArrayList<>(gameIds.size());
+        for (UUID gameId : gameIds) {
+            StoredGame stored = games.get(gameId);
+            if (stored != null) {
+                found.add(stored.toGame(nameRegistry));
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Replaces the stored state of the game if its version matches.
+     * A game without a version is new; a game with a version must carry the version of the stored state.
+     *
+     * @param game the game to store
+     * @return the game, with its version and update time updated
+     * @throws OptimisticLockingFailureException if the game was changed or deleted since it was read,
+     *                                           or a new game reuses the ID of a stored one
+     */
+    @Override
+    public Game save(Game game) {
+        CompactGameState state = CompactGameState.fromGame(game, nameRegistry);
+        Instant updatedAt = Instant.now();
+        StoredGame saved = games.compute(game.getGameId(),
+                (gameId, stored) -> new StoredGame(state, nextVersion(game, stored), updatedAt));
+        game.setVersion(saved.version());
+        game.setUpdatedAt(updatedAt);
+        return game;
+    }
+
+    /**
+     * Runs a turn as is: the game is kept in memory and its save is checked against the stored version, so the turn
+     * needs no transaction and opens no database connection.
+     *
+     * @param turn the turn
+     * @param <T>  the result of the turn
+     * @return the result of the turn
+     * @throws GameNotFoundException     if the game is not found
+     * @throws NotYourTurnException      if it is not the player's turn
+     * @throws InconsistentGameException if the game state is inconsistent
+     * @throws GameFinishedException     if the game already has a winner
+     */
+    @Override
+    public <T> T executeTurn(TurnWork<T> turn) throws GameNotFoundException, NotYourTurnException, InconsistentGameException, GameFinishedException {
+        return turn.run();
+    }
+
+    /**
+     * Stores the games whose ID is not stored yet, each with version 0 and the current time as update time.
+     *
+     * @param newGames the new games, without versions
+     * @return the IDs of the games skipped because they are already stored
+     */
+    @Override
+    public List<UUID> insertAll(Collection<Game> newGames) {
+        List<UUID> skippedIds = new ArrayList<>();
+        Instant updatedAt = Instant.now();
+        for (Game game : newGames) {
+            StoredGame stored = new StoredGame(CompactGameState.fromGame(game, nameRegistry), 0L, updatedAt);
+            if (games.putIfAbsent(game.getGameId(), stored) == null) {
+                game.setVersion(0L);
+                game.setUpdatedAt(updatedAt);
+            } else {
+                skippedIds.add(game.getGameId());
+            }
+        }
+        return skippedIds;
+    }
+
+    /**
+     * Deletes the games with the given IDs.
+     *
+     * @param gameIds the IDs of the games to delete
+     */
+    @Override
+    public void deleteAllById(Collection<UUID> gameIds) {
+        for (UUID gameId : gameIds) {
+            games.remove(gameId);
+        }
+    }
+
+    /**
+     * Finds one keyset page of game summaries by scanning every game and keeping the first ones in key order.
+     *
+     * @param filter         the criteria the games must match
+     * @param afterCreatedAt the creation time of the last game of the previous page
+     * @param afterGameId    the ID of the last game of the previous page
+     * @param limit          the maximum number of summaries to return
+     * @return the summaries
+     */
+    @Override
+    public List<GameSummaryDTO> findSummariesAfter(GameFilter filter, Instant afterCreatedAt, UUID afterGameId, int limit) {
+        GameSummaryOrder.FirstPage page = new GameSummaryOrder.FirstPage(limit);
+        for (StoredGame stored : games.values()) {
+            GameSummaryDTO summary = stored.toSummary();
+            if (GameSummaryOrder.isOnPageAfter(summary, filter, afterCreatedAt, afterGameId)) {
+                page.offer(summary);
+            }
+        }
+        return page.toList();
+    }
+
+    /**
+     * Streams the game summaries matching the filter from a sorted copy taken by scanning every game.
+     *
+     * @param filter the criteria the games must match
+     * @return the stream of summaries
+     */
+    @Override
+    public Stream<GameSummaryDTO> streamSummaries(GameFilter filter) {
+        List<GameSummaryDTO> summaries = new ArrayList<>();
+        for (StoredGame stored : games.values()) {
+            GameSummaryDTO summary = stored.toSummary();
+            if (GameSummaryOrder.matches(summary, filter)) {
+                summaries.add(summary);
+            }
+        }
+        summaries.sort(GameSummaryOrder.BY_KEY);
+        return summaries.stream();
+    }
+
+    /**
+     * Streams the games matching the filter, building their entities from the compact states in key order.
+     *
+     * @param filter the criteria the games must match
+     * @return the stream of games
+     */
+    @Override
+    public Stream<Game> streamGames(GameFilter filter) {
+        return GameSummaryOrder.loadGames(streamSummaries(filter), this::findAllById);
+    }
+
+    /**
+     * Gets the number of games in the store.
+     *
+     * @return the number of games
+     */
+    public int size() {
+        return games.size();
+    }
+
+    /**
+     * Computes the version a game will be stored with, checking it against the stored one.
+     * Package-private so that stores layered on this one can check a save before making it durable.
+     *
+     * @param game the game to store
+     * @return the next version of the game
+     * @throws OptimisticLockingFailureException if the save would conflict
+     */
+    long nextVersion(Game game) {
+        return nextVersion(game, games.get(game.getGameId()));
+    }
+
+    /**
+     * Stores a game state with the given version without any check.
+     *
+     * @param state     the compact state of the game
+     * @param version   the version of the game
+     * @param updatedAt the time of the last change of the game, or null if unknown
+     */
+    void put(CompactGameState state, long version, Instant updatedAt) {
+        games.put(state.getGameId(), new StoredGame(state, version, updatedAt));
+    }
+
+    /**
+     * Gets the stored state of a game.
+     *
+     * @param gameId the game ID
+     * @return the compact state of the game, or null if not found
+     */
+    CompactGameState stateOf(UUID gameId) {
+        StoredGame stored = games.get(gameId);
+        return stored == null ? null : stored.state();
+    }
+
+    /**
+     * Gets the stored version of a game.
+     *
+     * @param gameId the game ID
+     * @return the version of the game, or -1 if not found
+     */
+    long versionOf(UUID gameId) {
+        StoredGame stored = games.get(gameId);
+        return stored == null ? -1L : stored.version();
+    }
+
+    /**
+     * Gets the time of the last change of a stored game.
+     *
+     * @param gameId the game ID
+     * @return the update time of the game, or null if not found or unknown
+     */
+    Instant updatedAtOf(UUID gameId) {
+        StoredGame stored = games.get(gameId);
+        return stored == null ? null : stored.updatedAt();
+    }
+
+    /**
+     * Gets the IDs of the stored games, as a live view.
+     *
+     * @return the game IDs
+     */
+    Set<UUID> gameIds() {
+        return games.keySet();
+    }
+
+    private static long nextVersion(Game game, StoredGame stored) {
+        if (stored == null) {
+            if (game.getVersion() != null) {
+                throw new OptimisticLockingFailureException("Game " + game.getGameId() + " was deleted.");
+            }
+            return 0L;
+        }
+        if (game.getVersion() == null || game.getVersion() != stored.version()) {
+            throw new OptimisticLockingFailureException("Game " + game.getGameId() + " was changed by another request.");
+        }
+        return stored.version() + 1;
+    }
+
+    /**
+     * A stored game state, its version and the time of its last change.
+     */
+    private record StoredGame(CompactGameState state, long version, Instant updatedAt) {
+
+        Game toGame(PlayerNameRegistry nameRegistry) {
+            Game game = state.toGame(nameRegistry);
+            game.setVersion(version);
+            game.setUpdatedAt(updatedAt);
+            return game;
+        }
+
+        GameSummaryDTO toSummary() {
+            return new GameSummaryDTO(state.getGameId(), state.getCreatedAt(), state.getNextPlayer(), state.isWinnerDeclared());
+        }
+    }
+}
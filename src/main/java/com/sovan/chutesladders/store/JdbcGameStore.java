@@ -0,0 +1,276 @@
+package com.sovan.chutesladders.store;
+
+import com.sovan.chutesladders.exception.GameFinishedException;
+import com.sovan.chutesladders.exception.GameNotFoundException;
+import com.sovan.chutesladders.exception.InconsistentGameException;
+import com.sovan.chutesladders.exception.NotYourTurnException;
+import com.sovan.chutesladders.model.Game;
+import com.sovan.chutesladders.model.GameFilter;
+import com.sovan.chutesladders.model.GameState;
+import com.sovan.chutesladders.model.GameSummaryDTO;
+import com.sovan.chutesladders.model.Player;
+import com.sovan.chutesladders.repository.GameRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Cache;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * {@link GameStore} backed by the relational database, reading and updating games on the turn path with hand-written
+ * JDBC statements instead of Hibernate.
+ * A game is loaded with one select of the game, its state and its players, into detached entities that are never
+ * managed, so no persistence context, dirty checking or entity equality is involved. Saving a stored game issues:
+ * <ol>
+ *     <li>{@code UPDATE game ... WHERE version = ?}, which detects concurrent turns by updating no row;</li>
+ *     <li>an update of the game state row;</li>
+ *     <li>one batch of conditional player updates, of which only the row of the player who moved is written.</li>
+ * </ol>
+ * Stored games must have been loaded from this store, so that their state and players carry their row IDs.
+ * Hibernate cannot keep the second-level and query caches current for changes it does not make, so once the
+ * transaction is committed the updated game, game state and players are evicted from the second-level cache and the
+ * cached query results are dropped. Evicting earlier would let a concurrent read cache the rows as they were before
+ * the commit again. New games, deletions and listings go through a {@link JpaGameStore}, which
+ * is not a Spring bean here: its {@code @Transactional} methods would run without a transaction, so every save runs
+ * in a transaction of the transaction template instead, joining the caller's transaction if there is one.
+ */
+@Component
+@ConditionalOnProperty(name = "chutesladders.store.type", havingValue = "jdbc")
+public class JdbcGameStore implements GameStore {
+
+    private static final String SELECT_GAME =
+            "SELECT g.game_id, g.created_at, g.version, gs.id, gs.next_player, gs.is_winner_declared, " +
+            "p.id, p.name, p.position, p.is_winner, g.updated_at " +
+            "FROM game g JOIN game_state gs ON gs.id = g.game_state_id " +
+            "LEFT JOIN player p ON p.game_state_id = gs.id " +
+            "WHERE g.game_id = ? ORDER BY p.id";
+    private static final String UPDATE_VERSION =
+            "UPDATE game SET version = version + 1, updated_at = ? WHERE game_id = ? AND version = ?";
+    private static final String UPDATE_GAME_STATE = "UPDATE game_state SET next_player = ?, is_winner_declared = ? WHERE id = ?";
+    private static final String UPDATE_PLAYER =
+            "UPDATE player SET position = ?, is_winner = ? WHERE id = ? AND (position <> ? OR is_winner <> ?)";
+    private static final ResultSetExtractor<Game> GAME_EXTRACTOR = JdbcGameStore::extractGame;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JpaGameStore jpaGameStore;
+    private final TransactionTemplate transactionTemplate;
+    private final Cache secondLevelCache;
+
+    /**
+     * Constructs a new JdbcGameStore.
+     *
+     * @param jdbcTemplate        the JDBC template, taking part in the current transaction
+     * @param gameRepository      the game repository, for the operations that are not on the turn path
+     * @param entityManager       the entity manager
+     * @param transactionTemplate the template running each save in a transaction
+     */
+    public JdbcGameStore(JdbcTemplate jdbcTemplate, GameRepository gameRepository, EntityManager entityManager,
+                         TransactionTemplate transactionTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.jpaGameStore = new JpaGameStore(gameRepository, entityManager);
+        this.transactionTemplate = transactionTemplate;
+        this.secondLevelCache = entityManager.getEntityManagerFactory().getCache().unwrap(Cache.class);
+    }
+
+    /**
+     * Finds a game by ID with one select of the game, its state and its players.
+     *
+     * @param gameId the ID of the game to find
+     * @return the game, detached, or empty if not found
+     */
+    @Override
+    public Optional<Game> findById(UUID gameId) {
+        return Optional.ofNullable(jdbcTemplate.query(SELECT_GAME, GAME_EXTRACTOR, gameId));
+    }
+
+    /**
+     * Finds several games by ID, fetching their game states and players in a single IN query.
+     *
+     * @param gameIds the IDs of the games to find
+     * @return the games found
+     */
+    @Override
+    public List<Game> findAllById(Collection<UUID> gameIds) {
+        return jpaGameStore.findAllById(gameIds);
+    }
+
+    /**
+     * Persists a new game through JPA, or updates a stored one with JDBC if its version is still the stored one,
+     * in one transaction.
+     *
+     * @param game the game to store
+     * @return the game, with its version updated
+     * @throws OptimisticLockingFailureException if the game was changed or deleted since it was read
+     */
+    @Override
+    public Game save(Game game) {
+        return transactionTemplate.execute(status -> game.getVersion() == null ? jpaGameStore.save(game) : update(game));
+    }
+
+    /**
+     * Runs a turn as is: the game is read with one select into detached entities, and its save runs in a transaction
+     * of its own that checks the version read, so the turn holds a connection only while it reads and while it saves.
+     *
+     * @param turn the turn
+     * @param <T>  the result of the turn
+     * @return the result of the turn
+     * @throws GameNotFoundException     if the game is not found
+     * @throws NotYourTurnException      if it is not the player's turn
+     * @throws InconsistentGameException if the game state is inconsistent
+     * @throws GameFinishedException     if the game already has a winner
+     */
+    @Override
+    public <T> T executeTurn(TurnWork<T> turn) throws GameNotFoundException, NotYourTurnException, InconsistentGameException, GameFinishedException {
+        return turn.run();
+    }
+
+    /**
+     * Updates a stored game with JDBC. Must be called inside a transaction.
+     */
+    private Game update(Game game) {
+        Instant updatedAt = Instant.now();
+        if (jdbcTemplate.update(UPDATE_VERSION, OffsetDateTime.ofInstant(updatedAt, ZoneOffset.UTC), game.getGameId(), game.getVersion()) == 0) {
+            throw new OptimisticLockingFailureException("Game " + game.getGameId() + " was changed or deleted by another request.");
+        }
+        GameState gameState = game.getGameState();
+        jdbcTemplate.update(UPDATE_GAME_STATE, gameState.getNextPlayer(), gameState.isWinnerDeclared(), gameState.getId());
+        List<Object[]> players = new ArrayList<>(gameState.getPlayerList().size());
+        for (Player player : gameState.getPlayerList()) {
+            players.add(new Object[]{player.getPosition(), player.isWinner(), player.getId(), player.getPosition(), player.isWinner()});
+        }
+        jdbcTemplate.batchUpdate(UPDATE_PLAYER, players);
+        evictAfterCommit(game);
+        game.setVersion(game.getVersion() + 1);
+        game.setUpdatedAt(updatedAt);
+        return game;
+    }
+
+    /**
+     * Evicts an updated game, its state and its players from the second-level cache, and drops the cached query
+     * results, once the current transaction is committed.
+     */
+    private void evictAfterCommit(Game game) {
+        UUID gameId = game.getGameId();
+        Long gameStateId = game.getGameState().getId();
+        List<Long> playerIds = game.getGameState().getPlayerList().stream().map(Player::getId).toList();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                secondLevelCache.evict(Game.class, gameId);
+                secondLevelCache.evict(GameState.class, gameStateId);
+                for (Long playerId : playerIds) {
+                    secondLevelCache.evict(Player.class, playerId);
+                }
+                secondLevelCache.evictQueryRegions();
+            }
+        });
+    }
+
+    /**
+     * Persists the games that are not stored yet through JPA, in one transaction.
+     *
+     * @param games the new games, without versions
+     * @return the IDs of the games skipped because they are already stored
+     */
+    @Override
+    public List<UUID> insertAll(Collection<Game> games) {
+        return transactionTemplate.execute(status -> jpaGameStore.insertAll(games));
+    }
+
+    /**
+     * Deletes the games with the given IDs.
+     *
+     * @param gameIds the IDs of the games to delete
+     */
+    @Override
+    public void deleteAllById(Collection<UUID> gameIds) {
+        jpaGameStore.deleteAllById(gameIds);
+    }
+
+    /**
+     * Finds one keyset page of game summaries.
+     *
+     * @param filter         the criteria the games must match
+     * @param afterCreatedAt the creation time of the last game of the previous page
+     * @param afterGameId    the ID of the last game of the previous page
+     * @param limit          the maximum number of summaries to return
+     * @return the summaries
+     */
+    @Override
+    public List<GameSummaryDTO> findSummariesAfter(GameFilter filter, Instant afterCreatedAt, UUID afterGameId, int limit) {
+        return jpaGameStore.findSummariesAfter(filter, afterCreatedAt, afterGameId, limit);
+    }
+
+    /**
+     * Streams the game summaries from the database in chunks.
+     *
+     * @param filter the criteria the games must match
+     * @return the stream of summaries
+     */
+    @Override
+    public Stream<GameSummaryDTO> streamSummaries(GameFilter filter) {
+        return jpaGameStore.streamSummaries(filter);
+    }
+
+    /**
+     * Streams the games from a database cursor through JPA.
+     *
+     * @param filter the criteria the games must match
+     * @return the stream of games
+     */
+    @Override
+    public Stream<Game> streamGames(GameFilter filter) {
+        return jpaGameStore.streamGames(filter);
+    }
+
+    /**
+     * Builds a game from the rows of {@link #SELECT_GAME}, one per player, or returns null if there is no row.
+     */
+    private static Game extractGame(ResultSet rows) throws SQLException {
+        if (!rows.next()) {
+            return null;
+        }
+        GameState gameState = new GameState();
+        gameState.setId(rows.getLong(4));
+        gameState.setNextPlayer(rows.getInt(5));
+        gameState.setWinnerDeclared(rows.getBoolean(6));
+
+        Game game = new Game();
+        game.setGameId(rows.getObject(1, UUID.class));
+        OffsetDateTime createdAt = rows.getObject(2, OffsetDateTime.class);
+        game.setCreatedAt(createdAt != null ? createdAt.toInstant() : null);
+        OffsetDateTime updatedAt = rows.getObject(11, OffsetDateTime.class);
+        game.setUpdatedAt(updatedAt != null ? updatedAt.toInstant() : null);
+        game.setVersion(rows.getLong(3));
+        game.setGameState(gameState);
+        do {
+            long playerId = rows.getLong(7);
+            if (!rows.wasNull()) {
+                Player player = new Player();
+                player.setId(playerId);
+                player.setName(rows.getString(8));
+                player.setPosition(rows.getInt(9));
+                player.setWinner(rows.getBoolean(10));
+                gameState.getPlayerList().add(player);
+            }
+        } while (rows.next());
+        return game;
+    }
+}
@@ -0,0 +1,585 @@
+package com.sovan.chutesladders.store;
+
+import com.sovan.chutesladders.engine.CompactGameState;
+import com.sovan.chutesladders.engine.PlayerNameRegistry;
+import com.sovan.chutesladders.exception.GameFinishedException;
+import com.sovan.chutesladders.exception.GameNotFoundException;
+import com.sovan.chutesladders.exception.InconsistentGameException;
+import com.sovan.chutesladders.exception.NotYourTurnException;
+import com.sovan.chutesladders.model.Game;
+import com.sovan.chutesladders.model.GameDTO;
+import com.sovan.chutesladders.model.GameFilter;
+import com.sovan.chutesladders.model.GameSummaryDTO;
+import com.sovan.chutesladders.utils.GameBinaryCodec;
+import com.sovan.chutesladders.utils.GameMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FileOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StreamCorruptedException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.AccessDeniedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * {@link GameStore} keeping the games in memory, like {@link InMemoryGameStore}, and appending every change to local
+ * journals that are replayed at startup.
+ * New games and deletions go to the journal file, which starts with the {@link GameBinaryCodec} header and is followed
+ * by one entry per change:
+ * <pre>
+ * save   : type 4 (byte), version (long), updated at epoch millis (long, 0 if unknown), incarnation (int),
+ *          game record in the {@link GameBinaryCodec} format
+ * delete : type 2 (byte), game ID (2 longs)
+ * </pre>
+ * Save entries of type 1, without the update time, and of type 3, without the incarnation, written by earlier versions
+ * are still replayed, as incarnation 0.
+ * Each entry is flushed to the operating system before the change is acknowledged, and also forced to disk when
+ * {@code fsync} is enabled. An entry cut short by a crash is dropped at startup.
+ * Saves of stored games, which is every turn, go to the {@link MoveJournal} instead: one fixed-size record copied into
+ * a memory-mapped segment. With {@code fsync} enabled the save waits until the record is on disk, sharing the force
+ * with concurrent saves; otherwise records are forced every {@code fsyncBatchSize} moves.
+ * At startup the journal file is replayed first, then the moves newer than each game's version.
+ * <p>
+ * Every game created gets a new incarnation, one more than the highest seen in either journal, which its save entries
+ * and moves carry. A game deleted and created again with the same ID, as an import does, thus gets a new incarnation,
+ * and the moves left from its previous incarnation are not replayed onto it.
+ * <p>
+ * To bound recovery time and disk usage, a game is snapshotted by appending a save entry to the journal file every
+ * {@code snapshotMoves} moves and when a winner is declared. A full move segment is deleted once every game with moves
+ * in it has a later snapshot or is deleted. When the journal file holds more than {@code compactEntries} entries beyond
+ * one per game, it is rewritten as one snapshot of every game, and all full move segments are deleted.
+ */
+@Component
+@ConditionalOnProperty(name = "chutesladders.store.type", havingValue = "journal")
+@Slf4j
+public class JournalGameStore implements GameStore, AutoCloseable {
+
+    private static final int SAVE_ENTRY = 1;
+    private static final int DELETE_ENTRY = 2;
+    private static final int TIMED_SAVE_ENTRY = 3;
+    private static final int INCARNATED_SAVE_ENTRY = 4;
+    private static final int FIRST_INCARNATION = 0;
+    private static final long NO_UPDATE_TIME = 0L;
+
+    private final InMemoryGameStore games;
+    private final PlayerNameRegistry nameRegistry;
+    private final Path path;
+    private final boolean fsync;
+    private final int snapshotMoves;
+    private final long compactEntries;
+    private final Object writeLock = new Object();
+    private final MoveJournal moves;
+    private final Map<UUID, Integer> incarnations = new HashMap<>();
+    private int lastIncarnation = FIRST_INCARNATION;
+    private FileOutputStream file;
+    private DataOutputStream out;
+    private long entries;
+
+    /**
+     * Constructs a new JournalGameStore, replaying the journals if they exist.
+     *
+     * @param path           the journal file
+     * @param movesDirectory the directory of the move journal segments
+     * @param segmentRecords the number of moves in a segment
+     * @param fsync          whether every change is forced to disk before it is acknowledged
+     * @param fsyncBatchSize the number of moves between forces when fsync is disabled
+     * @param snapshotMoves  the number of moves between snapshots of a game
+     * @param compactEntries the number of superseded entries after which the journal file is rewritten
+     * @param nameRegistry   the registry the player names are interned in
+     * @throws IOException if the journals cannot be read or opened
+     */
+    public JournalGameStore(@Value("${chutesladders.store.journal.path:data/games.journal}") Path path,
+                            @Value("${chutesladders.store.journal.moves-directory:data/moves}") Path movesDirectory,
+                            @Value("${chutesladders.store.journal.segment-records:1048576}") int segmentRecords,
+                            @Value("${chutesladders.store.journal.fsync:false}") boolean fsync,
+                            @Value("${chutesladders.store.journal.fsync-batch-size:256}") int fsyncBatchSize,
+                            @Value("${chutesladders.store.journal.snapshot-moves:64}") int snapshotMoves,
+                            @Value("${chutesladders.store.journal.compact-entries:100000}") long compactEntries,
+                            PlayerNameRegistry nameRegistry) throws IOException {
+        this.games = new InMemoryGameStore(nameRegistry);
+        this.nameRegistry = nameRegistry;
+        this.path = path;
+        this.fsync = fsync;
+        this.snapshotMoves = Math.max(1, snapshotMoves);
+        this.compactEntries = compactEntries;
+
+        boolean exists = Files.exists(path) && Files.size(path) > 0;
+        if (exists) {
+            replay();
+        } else if (path.toAbsolutePath().getParent() != null) {
+            Files.createDirectories(path.toAbsolutePath().getParent());
+        }
+        this.file = new FileOutputStream(path.toFile(), true);
+        this.out = new DataOutputStream(new BufferedOutputStream(file));
+        if (!exists) {
+            GameBinaryCodec.writeHeader(out);
+            flush();
+        }
+        this.moves = new MoveJournal(movesDirectory, segmentRecords, fsync, fsyncBatchSize);
+        this.moves.replay(this::applyMove);
+        log.info("Game journal {} opened with {} games, fsync {}", path, games.size(), fsync ? "on" : "off");
+    }
+
+    /**
+     * Finds a game by ID in memory.
+     *
+     * @param gameId the ID of the game to find
+     * @return the game, or empty if not found
+     */
+    @Override
+    public Optional<Game> findById(UUID gameId) {
+        return games.findById(gameId);
+    }
+
+    /**
+     * Finds several games by ID in memory.
+     *
+     * @param gameIds the IDs of the games to find
+     * @return the games found
+     */
+    @Override
+    public List<Game> findAllById(Collection<UUID> gameIds) {
+        return games.findAllById(gameIds);
+    }
+
+    /**
+     * Appends the game to the journal, or to the move journal if it is already stored, then stores it in memory.
+     * A game without a version is new; a game with a version must carry the version of the stored game.
+     *
+     * @param game the game to store
+     * @return the game, with its version and update time updated
+     * @throws org.springframework.dao.OptimisticLockingFailureException if the game was changed or deleted since
+     *                                                                   it was read
+     * @throws DataAccessResourceFailureException                       if the journal cannot be written
+     */
+    @Override
+    public Game save(Game game) {
+        CompactGameState state = CompactGameState.fromGame(game, nameRegistry);
+        Instant updatedAt = now();
+        if (game.getVersion() != null) {
+            return saveMove(game, state, updatedAt);
+        }
+        GameDTO record = GameMapper.getGameDto(game);
+        long version;
+        synchronized (writeLock) {
+            version = games.nextVersion(game);
+            int incarnation = lastIncarnation + 1;
+            try {
+                appendSave(record, version, updatedAt, incarnation);
+            } catch (IOException e) {
+                throw new DataAccessResourceFailureException("Could not append game " + game.getGameId() + " to the journal.", e);
+            }
+            games.put(state, version, updatedAt);
+            incarnations.put(game.getGameId(), incarnation);
+            lastIncarnation = incarnation;
+            compactIfNeeded();
+        }
+        game.setVersion(version);
+        game.setUpdatedAt(updatedAt);
+        return game;
+    }
+
+    /**
+     * Runs a turn as is: the game is kept in memory, its save is checked against the stored version and appended to
+     * local files, so the turn needs no transaction and opens no database connection.
+     *
+     * @param turn the turn
+     * @param <T>  the result of the turn
+     * @return the result of the turn
+     * @throws GameNotFoundException     if the game is not found
+     * @throws NotYourTurnException      if it is not the player's turn
+     * @throws InconsistentGameException if the game state is inconsistent
+     * @throws GameFinishedException     if the game already has a winner
+     */
+    @Override
+    public <T> T executeTurn(TurnWork<T> turn) throws GameNotFoundException, NotYourTurnException, InconsistentGameException, GameFinishedException {
+        return turn.run();
+    }
+
+    /**
+     * Appends the new state of a stored game to the move journal, stores it in memory, snapshots it if due,
+     * then waits for the move to be durable.
+     */
+    private Game saveMove(Game game, CompactGameState state, Instant updatedAt) {
+        long version;
+        long sequence;
+        synchronized (writeLock) {
+            version = games.nextVersion(game);
+            boolean finished = state.isWinnerDeclared() && !games.stateOf(game.getGameId()).isWinnerDeclared();
+            int incarnation = incarnationOf(game.getGameId());
+            try {
+                sequence = moves.append(state, version, updatedAt, incarnation);
+            } catch (UncheckedIOException e) {
+                throw new DataAccessResourceFailureException("Could not append game " + game.getGameId() + " to the move journal.", e);
+            }
+            games.put(state, version, updatedAt);
+            if (finished || version % snapshotMoves == 0) {
+                try {
+                    appendSave(state.toDto(nameRegistry), version, updatedAt, incarnation);
+                } catch (IOException e) {
+                    throw new DataAccessResourceFailureException("Could not snapshot game " + game.getGameId() + " to the journal.", e);
+                }
+                moves.covered(game.getGameId(), version);
+                compactIfNeeded();
+            }
+        }
+        moves.awaitDurable(sequence);
+        game.setVersion(version);
+        game.setUpdatedAt(updatedAt);
+        return game;
+    }
+
+    /**
+     * Appends a save entry for each game that is not stored yet to the journal, flushed once, then stores them in
+     * memory with version 0 and the current time as update time.
+     *
+     * @param newGames the new games, without versions
+     * @return the IDs of the games skipped because they are already stored
+     * @throws DataAccessResourceFailureException if the journal cannot be written
+     */
+    @Override
+    public List<UUID> insertAll(Collection<Game> newGames) {
+        List<UUID> skippedIds = new ArrayList<>();
+        List<Game> inserted = new ArrayList<>(newGames.size());
+        Instant updatedAt = now();
+        synchronized (writeLock) {
+            Set<UUID> insertedIds = new HashSet<>();
+            List<CompactGameState> states = new ArrayList<>(newGames.size());
+            try {
+                for (Game game : newGames) {
+                    if (games.versionOf(game.getGameId()) >= 0 || !insertedIds.add(game.getGameId())) {
+                        skippedIds.add(game.getGameId());
+                        continue;
+                    }
+                    states.add(CompactGameState.fromGame(game, nameRegistry));
+                    writeSave(out, GameMapper.getGameDto(game), 0L, updatedAt, lastIncarnation + states.size());
+                    inserted.add(game);
+                }
+                flush();
+            } catch (IOException e) {
+                throw new DataAccessResourceFailureException("Could not append " + newGames.size() + " games to the journal.", e);
+            }
+            entries += states.size();
+            for (CompactGameState state : states) {
+                games.put(state, 0L, updatedAt);
+                incarnations.put(state.getGameId(), ++lastIncarnation);
+            }
+            compactIfNeeded();
+        }
+        for (Game game : inserted) {
+            game.setVersion(0L);
+            game.setUpdatedAt(updatedAt);
+        }
+        return skippedIds;
+    }
+
+    /**
+     * Appends the deletions to the journal, then removes the games from memory.
+     *
+     * @param gameIds the IDs of the games to delete
+     * @throws DataAccessResourceFailureException if the journal cannot be written
+     */
+    @Override
+    public void deleteAllById(Collection<UUID> gameIds) {
+        synchronized (writeLock) {
+            try {
+                for (UUID gameId : gameIds) {
+                    out.writeByte(DELETE_ENTRY);
+                    out.writeLong(gameId.getMostSignificantBits());
+                    out.writeLong(gameId.getLeastSignificantBits());
+                }
+                flush();
+            } catch (IOException e) {
+                throw new DataAccessResourceFailureException("Could not append deletions to the journal.", e);
+            }
+            entries += gameIds.size();
+            games.deleteAllById(gameIds);
+            incarnations.keySet().removeAll(gameIds);
+            moves.forget(gameIds);
+            compactIfNeeded();
+        }
+    }
+
+    /**
+     * Finds one keyset page of game summaries in memory.
+     *
+     * @param filter         the criteria the games must match
+     * @param afterCreatedAt the creation time of the last game of the previous page
+     * @param afterGameId    the ID of the last game of the previous page
+     * @param limit          the maximum number of summaries to return
+     * @return the summaries
+     */
+    @Override
+    public List<GameSummaryDTO> findSummariesAfter(GameFilter filter, Instant afterCreatedAt, UUID afterGameId, int limit) {
+        return games.findSummariesAfter(filter, afterCreatedAt, afterGameId, limit);
+    }
+
+    /**
+     * Streams the game summaries matching the filter from memory.
+     *
+     * @param filter the criteria the games must match
+     * @return the stream of summaries
+     */
+    @Override
+    public Stream<GameSummaryDTO> streamSummaries(GameFilter filter) {
+        return games.streamSummaries(filter);
+    }
+
+    /**
+     * Streams the games matching the filter from memory.
+     *
+     * @param filter the criteria the games must match
+     * @return the stream of games
+     */
+    @Override
+    public Stream<Game> streamGames(GameFilter filter) {
+        return games.streamGames(filter);
+    }
+
+    /**
+     * Flushes and closes the journals.
+     *
+     * @throws IOException if a journal cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (writeLock) {
+            out.flush();
+            file.getChannel().force(false);
+            out.close();
+            moves.close();
+        }
+    }
+
+    /**
+     * Appends a save entry and flushes it. Must be called while holding the write lock.
+     */
+    private void appendSave(GameDTO record, long version, Instant updatedAt, int incarnation) throws IOException {
+        writeSave(out, record, version, updatedAt, incarnation);
+        flush();
+        entries++;
+    }
+
+    /**
+     * Writes a save entry to a journal stream without flushing it. Must be called while holding the write lock.
+     */
+    private static void writeSave(DataOutputStream journal, GameDTO record, long version, Instant updatedAt,
+                                  int incarnation) throws IOException {
+        journal.writeByte(INCARNATED_SAVE_ENTRY);
+        journal.writeLong(version);
+        journal.writeLong(updatedAt != null ? updatedAt.toEpochMilli() : NO_UPDATE_TIME);
+        journal.writeInt(incarnation);
+        GameBinaryCodec.write(journal, record);
+    }
+
+    /**
+     * Gets the incarnation of a stored game. Must be called while holding the write lock.
+     */
+    private int incarnationOf(UUID gameId) {
+        return incarnations.getOrDefault(gameId, FIRST_INCARNATION);
+    }
+
+    /**
+     * Gets the current time, to the millisecond kept by the journals.
+     */
+    private static Instant now() {
+        return Instant.ofEpochMilli(System.currentTimeMillis());
+    }
+
+    /**
+     * Rewrites the journal file as one snapshot of every game if it holds too many superseded entries, then deletes
+     * the full move segments, which the snapshot covers. The new file is written beside the journal and renamed over
+     * it, so a crash leaves either journal complete. The rename is forced to disk with the directory before any
+     * segment is deleted, so a crash cannot bring back the old journal without the moves it needs.
+     * Must be called while holding the write lock.
+     *
+     * @throws DataAccessResourceFailureException if the journal cannot be rewritten
+     */
+    private void compactIfNeeded() {
+        if (entries - games.size() <= compactEntries) {
+            return;
+        }
+        Path compacted = path.resolveSibling(path.getFileName() + ".compact");
+        try {
+            try (FileOutputStream compactedFile = new FileOutputStream(compacted.toFile());
+                 DataOutputStream compactedOut = new DataOutputStream(new BufferedOutputStream(compactedFile))) {
+                GameBinaryCodec.writeHeader(compactedOut);
+                for (UUID gameId : games.gameIds()) {
+                    writeSave(compactedOut, games.stateOf(gameId).toDto(nameRegistry), games.versionOf(gameId),
+                            games.updatedAtOf(gameId), incarnationOf(gameId));
+                }
+                compactedOut.flush();
+                compactedFile.getChannel().force(false);
+            }
+            Files.move(compacted, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            forceDirectory(path.toAbsolutePath().getParent());
+            out.close();
+            file = new FileOutputStream(path.toFile(), true);
+            out = new DataOutputStream(new BufferedOutputStream(file));
+        } catch (IOException e) {
+            throw new DataAccessResourceFailureException("Could not compact the journal " + path + ".", e);
+        }
+        log.info("Game journal {} compacted from {} entries to {}", path, entries, games.size());
+        entries = games.size();
+        moves.coverAll();
+    }
+
+    /**
+     * Forces the entries of a directory, such as a rename into it, to disk. File systems that cannot open a directory
+     * for reading, as on Windows, make renames durable on their own.
+     *
+     * @param directory the directory
+     * @throws IOException if the directory cannot be forced
+     */
+    private static void forceDirectory(Path directory) throws IOException {
+        if (directory == null) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (AccessDeniedException e) {
+            log.debug("Directory {} cannot be forced, relying on the file system to make renames durable", directory);
+        }
+    }
+
+    /**
+     * Writes the buffered entries to the file, and to disk if fsync is enabled. Must be called while holding the write lock.
+     */
+    private void flush() throws IOException {
+        out.flush();
+        if (fsync) {
+            file.getChannel().force(false);
+        }
+    }
+
+    /**
+     * Loads the games from the journal. An incomplete last entry is cut off so that new entries follow the last complete one.
+     */
+    private void replay() throws IOException {
+        long validLength;
+        try (CountingInputStream counting = new CountingInputStream(new BufferedInputStream(Files.newInputStream(path)));
+             DataInputStream in = new DataInputStream(counting)) {
+            GameBinaryCodec.readHeader(in);
+            validLength = counting.position;
+            int type;
+            while ((type = in.read()) >= 0) {
+                try {
+                    if (type == SAVE_ENTRY || type == TIMED_SAVE_ENTRY || type == INCARNATED_SAVE_ENTRY) {
+                        long version = in.readLong();
+                        long updatedAt = type != SAVE_ENTRY ? in.readLong() : NO_UPDATE_TIME;
+                        int incarnation = type == INCARNATED_SAVE_ENTRY ? in.readInt() : FIRST_INCARNATION;
+                        GameDTO game = GameBinaryCodec.read(in);
+                        if (game == null) {
+                            break;
+                        }
+                        games.put(CompactGameState.fromDto(game, nameRegistry), version,
+                                updatedAt != NO_UPDATE_TIME ? Instant.ofEpochMilli(updatedAt) : null);
+                        incarnations.put(game.getGameId(), incarnation);
+                        lastIncarnation = Math.max(lastIncarnation, incarnation);
+                    } else if (type == DELETE_ENTRY) {
+                        UUID gameId = new UUID(in.readLong(), in.readLong());
+                        games.deleteAllById(List.of(gameId));
+                        incarnations.remove(gameId);
+                    } else {
+                        throw new StreamCorruptedException("Unexpected journal entry type " + type + ".");
+                    }
+                } catch (EOFException | StreamCorruptedException e) {
+                    log.warn("Game journal {} has an incomplete entry at byte {}, dropping it: {}", path, validLength, e.getMessage());
+                    break;
+                }
+                validLength = counting.position;
+                entries++;
+            }
+        }
+        if (validLength < Files.size(path)) {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+                channel.truncate(validLength);
+            }
+        }
+        log.info("Replayed {} entries from game journal {}", entries, path);
+    }
+
+    /**
+     * Applies a move read from the move journal, unless the game is unknown, which means it was deleted,
+     * the move belongs to another incarnation, which means the game was deleted and created again since,
+     * or its replayed version is already as recent, which means a snapshot covers the move.
+     * Every move read raises the last incarnation, so a game created later cannot take the incarnation of moves left
+     * from a deleted one.
+     *
+     * @return whether the move was applied
+     */
+    private boolean applyMove(MoveJournal.Move move) {
+        lastIncarnation = Math.max(lastIncarnation, move.incarnation());
+        CompactGameState state = games.stateOf(move.gameId());
+        if (state == null || move.incarnation() != incarnationOf(move.gameId())
+                || move.version() <= games.versionOf(move.gameId())) {
+            return false;
+        }
+        games.put(state.withProgress(move.positions(), move.winners(), move.nextPlayer(), move.winnerDeclared()), move.version(),
+                move.updatedAt());
+        return true;
+    }
+
+    /**
+     * Input stream keeping track of the number of bytes read through it.
+     */
+    private static final class CountingInputStream extends FilterInputStream {
+
+        private long position;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                position++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                position += n;
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            position += skipped;
+            return skipped;
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.sovan.chutesladders.store;
+
+import com.sovan.chutesladders.exception.GameFinishedException;
+import com.sovan.chutesladders.exception.GameNotFoundException;
+import com.sovan.chutesladders.exception.InconsistentGameException;
+import com.sovan.chutesladders.exception.NotYourTurnException;
+import com.sovan.chutesladders.model.Game;
+import com.sovan.chutesladders.model.GameFilter;
+import com.sovan.chutesladders.model.GameSummaryDTO;
+import com.sovan.chutesladders.repository.GameRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.OptimisticLockException;
+import jakarta.transaction.Transactional;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * {@link GameStore} backed by the relational database through the Spring Data {@link GameRepository}.
+ * This is the default store.
+ * A turn only changes rows of the game state and players, which would leave the game's version untouched,
+ * so every save sets the game's update time: the game row is then updated through Hibernate's versioned update,
+ * which detects concurrent turns and keeps the game's entry in the second-level cache at the new version.
+ * With the entities' dynamic updates, a turn writes the moved player's position, the game state's turn pointer and
+ * the game's update time and version, and nothing else.
+ */
+@Component
+@ConditionalOnProperty(name = "chutesladders.store.type", havingValue = "jpa", matchIfMissing = true)
+public class JpaGameStore implements GameStore {
+
+    private final GameRepository gameRepository;
+    private final EntityManager entityManager;
+
+    /**
+     * Constructs a new JpaGameStore with the given repository.
+     *
+     * @param gameRepository the game repository
+     * @param entityManager  the entity manager
+     */
+    public JpaGameStore(GameRepository gameRepository, EntityManager entityManager) {
+        this.gameRepository = gameRepository;
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Finds a game by ID from the second-level cache, or from the database with its game state and players
+     * in a single query.
+     *
+     * @param gameId the ID of the game to find
+     * @return the game, or empty if not found
+     */
+    @Override
+    public Optional<Game> findById(UUID gameId) {
+        return Optional.ofNullable(entityManager.find(Game.class, gameId));
+    }
+
+    /**
+     * Finds several games by ID, fetching their game states and players in a single IN query.
+     *
+     * @param gameIds the IDs of the games to find
+     * @return the games found
+     */
+    @Override
+    public List<Game> findAllById(Collection<UUID> gameIds) {
+        return gameRepository.findAllByIdWithPlayersOptimized(gameIds);
+    }
+
+    /**
+     * Persists a new game, or updates a stored one and increments its version when the transaction commits.
+     * A stored game still managed by the current persistence context, as on a turn, is left to dirty checking, which
+     * writes only the changed rows and columns; only a detached game is merged, through the repository so that a stale
+     * version is reported as an {@link org.springframework.dao.OptimisticLockingFailureException}.
+     *
+     * @param game the game to store
+     * @return the stored game
+     */
+    @Override
+    @Transactional
+    public Game save(Game game) {
+        game.setUpdatedAt(Instant.now());
+        return entityManager.contains(game) ? game : gameRepository.save(game);
+    }
+
+    /**
+     * Runs a turn in one transaction, so that the game it loads stays managed until it is saved and its changes are
+     * written by dirty checking when the transaction commits. A turn that fails writes nothing.
+     *
+     * @param turn the turn
+     * @param <T>  the result of the turn
+     * @return the result of the turn
+     * @throws GameNotFoundException     if the game is not found
+     * @throws NotYourTurnException      if it is not the player's turn
+     * @throws InconsistentGameException if the game state is inconsistent
+     * @throws GameFinishedException     if the game already has a winner
+     */
+    @Override
+    @Transactional(rollbackOn = {GameNotFoundException.class, NotYourTurnException.class, InconsistentGameException.class, GameFinishedException.class, OptimisticLockException.class})
+    public <T> T executeTurn(TurnWork<T> turn) throws GameNotFoundException, NotYourTurnException, InconsistentGameException, GameFinishedException {
+        return turn.run();
+    }
+
+    /**
+     * Persists the games that are not stored yet, found with one IN query, in JDBC batches, then detaches them so that
+     * the persistence context does not grow with the number of games stored in the transaction.
+     * Must be called inside a transaction.
+     *
+     * @param games the new games, without versions
+     * @return the IDs of the games skipped because they are already stored
+     */
+    @Override
+    public List<UUID> insertAll(Collection<Game> games) {
+        List<UUID> gameIds = new ArrayList<>(games.size());
+        for (Game game : games) {
+            gameIds.add(game.getGameId());
+        }
+        Set<UUID> existingIds = new HashSet<>(gameRepository.findExistingIds(gameIds));
+
+        Instant updatedAt = Instant.now();
+        List<Game> newGames = new ArrayList<>(games.size());
+        List<UUID> skippedIds = new ArrayList<>(existingIds.size());
+        for (Game game : games) {
+            if (existingIds.contains(game.getGameId())) {
+                skippedIds.add(game.getGameId());
+            } else {
+                game.setUpdatedAt(updatedAt);
+                newGames.add(game);
+            }
+        }
+
+        gameRepository.saveAll(newGames);
+        entityManager.flush();
+        newGames.forEach(entityManager::detach);
+        return skippedIds;
+    }
+
+    /**
+     * Deletes the games with the given IDs.
+     *
+     * @param gameIds the IDs of the games to delete
+     */
+    @Override
+    public void deleteAllById(Collection<UUID> gameIds) {
+        gameRepository.deleteAllById(gameIds);
+    }
+
+    /**
+     * Finds one keyset page of game summaries.
+     *
+     * @param filter         the criteria the games must match
+     * @param afterCreatedAt the creation time of the last game of the previous page
+     * @param afterGameId    the ID of the last game of the previous page
+     * @param limit          the maximum number of summaries to return
+     * @return the summaries
+     */
+    @Override
+    public List<GameSummaryDTO> findSummariesAfter(GameFilter filter, Instant afterCreatedAt, UUID afterGameId, int limit) {
+        return gameRepository.findSummariesAfter(filter.winnerStates(), filter.createdToOrMax(), afterCreatedAt, afterGameId,
+                PageRequest.ofSize(limit));
+    }
+
+    /**
+     * Streams the game summaries from the database in chunks.
+     *
+     * @param filter the criteria the games must match
+     * @return the stream of summaries
+     */
+    @Override
+    public Stream<GameSummaryDTO> streamSummaries(GameFilter filter) {
+        return gameRepository.streamSummaries(filter.winnerStates(), filter.createdFromOrMin(), filter.createdToOrMax());
+    }
+
+    /**
+     * Streams the games from a database cursor read in chunks, with their game state and players fetched by the same
+     * query. Each game is detached as it is returned, so memory use does not grow with the number of games.
+     *
+     * @param filter the criteria the games must match
+     * @return the stream of games
+     */
+    @Override
+    public Stream<Game> streamGames(GameFilter filter) {
+        return gameRepository.streamGamesWithPlayers(filter.winnerStates(), filter.createdFromOrMin(), filter.createdToOrMax())
+                .map(game -> {
+                    entityManager.detach(game);
+                    return game;
+                });
+    }
+
+}
@@ -0,0 +1,391 @@
+package com.sovan.chutesladders.store;
+
+import com.sovan.chutesladders.engine.CompactGameState;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only log of moves in memory-mapped segment files of fixed-size records.
+ * Each record holds the state of a game after a move, so replaying the last record of a game restores it:
+ * <pre>
+ *  0 magic (int)             4 CRC-32 of bytes 8 to 63 (int)
+ *  8 game ID high (long)    16 game ID low (long)
+ * 24 version (long)         32 winners bitmask (short)
+ * 34 player count (byte)    35 next player and winner-declared flags (byte)
+ * 36 positions (16 bytes)   52 updated at epoch millis (long), 0 if unknown
+ * 60 incarnation of the game (int), 0 in records written before it was kept
+ * </pre>
+ * Segments are named {@code segment-NNNNNNNNNN.log} and preallocated to {@code segmentRecords} records; a new one is
+ * started when the current one is full. Appending copies one record into the mapped buffer. In sync mode the caller then
+ * waits in {@link #awaitDurable(long)} until the record is forced to disk, and concurrent callers share one force.
+ * Otherwise the segment is forced every {@code batchSize} records, on rollover and on close; a process crash loses
+ * nothing because the mapped pages belong to the operating system, but a machine crash can lose the last batch.
+ * Replay stops at the first record with a wrong magic or checksum, and appending resumes there.
+ * <p>
+ * The journal keeps, for each segment, the latest version of each game moved in it. The owner reports games that have
+ * been snapshotted up to a version elsewhere with {@link #covered(UUID, long)} and games that are gone with
+ * {@link #forget(Collection)}; a full segment with no uncovered game left is deleted.
+ * Instances are thread-safe.
+ */
+@Slf4j
+final class MoveJournal implements AutoCloseable {
+
+    /**
+     * The size of a move record in bytes.
+     */
+    static final int RECORD_SIZE = 64;
+
+    /**
+     * The first four bytes of every move record.
+     */
+    static final int MAGIC = 0x4D4F5631;
+
+    private static final int CHECKSUMMED_FROM = 8;
+    private static final int ID_HIGH = 8;
+    private static final int ID_LOW = 16;
+    private static final int VERSION = 24;
+    private static final int WINNERS = 32;
+    private static final int PLAYER_COUNT = 34;
+    private static final int FLAGS = 35;
+    private static final int POSITIONS = 36;
+    private static final int UPDATED_AT = 52;
+    private static final int INCARNATION = 60;
+
+    private static final int NEXT_PLAYER_MASK = 0x0F;
+    private static final int WINNER_DECLARED_FLAG = 0x10;
+
+    private final Path directory;
+    private final int segmentRecords;
+    private final boolean sync;
+    private final int batchSize;
+    private final byte[] record = new byte[RECORD_SIZE];
+    private final ByteBuffer recordBuffer = ByteBuffer.wrap(record).order(ByteOrder.LITTLE_ENDIAN);
+    private final CRC32 crc = new CRC32();
+
+    private final TreeMap<Long, Map<UUID, Long>> fullSegments = new TreeMap<>();
+    private Map<UUID, Long> segmentGames = new HashMap<>();
+    private long segmentNumber;
+    private FileChannel channel;
+    private MappedByteBuffer segment;
+    private int forcedUpTo;
+    private long appended;
+    private volatile long durable;
+
+    /**
+     * A move read back from the journal.
+     *
+     * @param gameId         the game ID
+     * @param version        the version of the game after the move
+     * @param positions      the position of each player
+     * @param winners        the bitmask of the players who have won
+     * @param nextPlayer     the index of the next player
+     * @param winnerDeclared whether a winner has been declared
+     * @param updatedAt      the time of the move, or null for records written before it was kept
+     * @param incarnation    the incarnation of the game the move was played in
+     */
+    record Move(UUID gameId, long version, byte[] positions, int winners, int nextPlayer, boolean winnerDeclared,
+                Instant updatedAt, int incarnation) {
+    }
+
+    /**
+     * Opens the journal in the given directory, creating it if needed.
+     *
+     * @param directory      the directory holding the segment files
+     * @param segmentRecords the number of records in a segment
+     * @param sync           whether {@link #awaitDurable(long)} forces the records to disk
+     * @param batchSize      the number of records between forces when not in sync mode
+     * @throws IOException if the directory cannot be created
+     */
+    MoveJournal(Path directory, int segmentRecords, boolean sync, int batchSize) throws IOException {
+        this.directory = directory;
+        this.segmentRecords = segmentRecords;
+        this.sync = sync;
+        this.batchSize = Math.max(1, batchSize);
+        Files.createDirectories(directory);
+    }
+
+    /**
+     * Reads every valid record, oldest first, and positions the journal to append after the last one.
+     * Full segments left with no move the consumer needed are deleted. Must be called once, before the first append.
+     *
+     * @param consumer the consumer applying each move, returning false if a snapshot already covers it or its game is gone
+     * @return the number of moves read
+     * @throws IOException if a segment cannot be read
+     */
+    synchronized long replay(Predicate<Move> consumer) throws IOException {
+        List<Path> segments = listSegments();
+        long moves = 0;
+        int position = 0;
+        for (int i = 0; i < segments.size(); i++) {
+            segmentNumber = segmentNumber(segments.get(i));
+            openSegment(segments.get(i));
+            position = 0;
+            while (position < segment.capacity() && isValid(position)) {
+                Move move = readMove(position);
+                if (consumer.test(move)) {
+                    segmentGames.put(move.gameId(), move.version());
+                }
+                position += RECORD_SIZE;
+                moves++;
+            }
+            if (i < segments.size() - 1) {
+                channel.close();
+                seal();
+            }
+        }
+        if (segments.isEmpty()) {
+            segmentNumber = 0;
+            openSegment(segmentPath(segmentNumber));
+        }
+        segment.position(position);
+        forcedUpTo = position;
+        deleteUnneededSegments();
+        log.info("Replayed {} moves from {} segments in {}", moves, Math.max(1, segments.size()), directory);
+        return moves;
+    }
+
+    /**
+     * Appends the state of a game after a move.
+     *
+     * @param state       the state of the game after the move
+     * @param version     the version of the game after the move
+     * @param updatedAt   the time of the move
+     * @param incarnation the incarnation of the game, telling its moves apart from those of a deleted game with the same ID
+     * @return the sequence number of the record, to pass to {@link #awaitDurable(long)}
+     * @throws UncheckedIOException if a new segment cannot be created
+     */
+    synchronized long append(CompactGameState state, long version, Instant updatedAt, int incarnation) {
+        if (segment.remaining() < RECORD_SIZE) {
+            rollover();
+        }
+        UUID gameId = state.getGameId();
+        Arrays.fill(record, (byte) 0);
+        recordBuffer.putInt(0, MAGIC);
+        recordBuffer.putLong(ID_HIGH, gameId.getMostSignificantBits());
+        recordBuffer.putLong(ID_LOW, gameId.getLeastSignificantBits());
+        recordBuffer.putLong(VERSION, version);
+        recordBuffer.putShort(WINNERS, (short) state.getWinners());
+        recordBuffer.put(PLAYER_COUNT, (byte) state.getPlayerCount());
+        recordBuffer.put(FLAGS, (byte) (state.getNextPlayer() | (state.isWinnerDeclared() ? WINNER_DECLARED_FLAG : 0)));
+        for (int i = 0; i < state.getPlayerCount(); i++) {
+            recordBuffer.put(POSITIONS + i, (byte) state.getPosition(i));
+        }
+        recordBuffer.putLong(UPDATED_AT, updatedAt.toEpochMilli());
+        recordBuffer.putInt(INCARNATION, incarnation);
+        crc.reset();
+        crc.update(record, CHECKSUMMED_FROM, RECORD_SIZE - CHECKSUMMED_FROM);
+        recordBuffer.putInt(4, (int) crc.getValue());
+        segment.put(record);
+        segmentGames.put(gameId, version);
+
+        appended++;
+        if (!sync && segment.position() - forcedUpTo >= batchSize * RECORD_SIZE) {
+            force();
+        }
+        return appended;
+    }
+
+    /**
+     * Waits until the record with the given sequence number is on disk. Does nothing unless in sync mode.
+     * Callers arriving while a force is running are covered together by the next one.
+     *
+     * @param sequence the sequence number returned by {@link #append(CompactGameState, long, Instant, int)}
+     */
+    void awaitDurable(long sequence) {
+        if (!sync || durable >= sequence) {
+            return;
+        }
+        synchronized (this) {
+            if (durable < sequence) {
+                force();
+            }
+        }
+    }
+
+    /**
+     * Records that a snapshot covers the moves of a game up to a version, and deletes the full segments this leaves
+     * without an uncovered game.
+     *
+     * @param gameId  the game ID
+     * @param version the version of the snapshot
+     */
+    synchronized void covered(UUID gameId, long version) {
+        removeIfCovered(segmentGames, gameId, version);
+        for (Map<UUID, Long> games : fullSegments.values()) {
+            removeIfCovered(games, gameId, version);
+        }
+        deleteUnneededSegments();
+    }
+
+    /**
+     * Records that games are deleted, and deletes the full segments this leaves without a game.
+     *
+     * @param gameIds the IDs of the deleted games
+     */
+    synchronized void forget(Collection<UUID> gameIds) {
+        for (UUID gameId : gameIds) {
+            segmentGames.remove(gameId);
+            for (Map<UUID, Long> games : fullSegments.values()) {
+                games.remove(gameId);
+            }
+        }
+        deleteUnneededSegments();
+    }
+
+    /**
+     * Records that a snapshot covers every move so far, and deletes every full segment.
+     */
+    synchronized void coverAll() {
+        segmentGames.clear();
+        for (Map<UUID, Long> games : fullSegments.values()) {
+            games.clear();
+        }
+        deleteUnneededSegments();
+    }
+
+    /**
+     * Gets the number of the segment being appended to.
+     *
+     * @return the segment number
+     */
+    synchronized long getSegmentNumber() {
+        return segmentNumber;
+    }
+
+    /**
+     * Forces the records appended so far to disk and closes the current segment.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        force();
+        channel.close();
+    }
+
+    /**
+     * Forces the records appended since the last force. Must be called while holding the monitor.
+     */
+    private void force() {
+        int position = segment.position();
+        if (position > forcedUpTo) {
+            segment.force(forcedUpTo, position - forcedUpTo);
+            forcedUpTo = position;
+        }
+        durable = appended;
+    }
+
+    /**
+     * Forces the full segment and starts the next one. Must be called while holding the monitor.
+     */
+    private void rollover() {
+        try {
+            force();
+            channel.close();
+            seal();
+            deleteUnneededSegments();
+            segmentNumber++;
+            openSegment(segmentPath(segmentNumber));
+            segment.position(0);
+            forcedUpTo = 0;
+            log.debug("Move journal rolled over to segment {}", segmentNumber);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not start move journal segment " + segmentNumber, e);
+        }
+    }
+
+    /**
+     * Moves the games of the current segment to the full segments. Must be called while holding the monitor.
+     */
+    private void seal() {
+        fullSegments.put(segmentNumber, segmentGames);
+        segmentGames = new HashMap<>();
+    }
+
+    /**
+     * Deletes the full segments with no uncovered game. Must be called while holding the monitor.
+     */
+    private void deleteUnneededSegments() {
+        Iterator<Map.Entry<Long, Map<UUID, Long>>> iterator = fullSegments.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Long, Map<UUID, Long>> full = iterator.next();
+            if (full.getValue().isEmpty()) {
+                try {
+                    Files.deleteIfExists(segmentPath(full.getKey()));
+                    iterator.remove();
+                    log.debug("Move journal segment {} deleted", full.getKey());
+                } catch (IOException e) {
+                    log.warn("Could not delete move journal segment {}: {}", full.getKey(), e.getMessage());
+                }
+            }
+        }
+    }
+
+    private static void removeIfCovered(Map<UUID, Long> games, UUID gameId, long version) {
+        Long latest = games.get(gameId);
+        if (latest != null && latest <= version) {
+            games.remove(gameId);
+        }
+    }
+
+    private void openSegment(Path file) throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) segmentRecords * RECORD_SIZE);
+        segment.order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private boolean isValid(int position) {
+        if (segment.getInt(position) != MAGIC) {
+            return false;
+        }
+        crc.reset();
+        crc.update(segment.slice(position + CHECKSUMMED_FROM, RECORD_SIZE - CHECKSUMMED_FROM));
+        return segment.getInt(position + 4) == (int) crc.getValue();
+    }
+
+    private Move readMove(int position) {
+        int playerCount = segment.get(position + PLAYER_COUNT);
+        byte[] positions = new byte[playerCount];
+        segment.get(position + POSITIONS, positions);
+        int flags = segment.get(position + FLAGS);
+        long updatedAt = segment.getLong(position + UPDATED_AT);
+        return new Move(new UUID(segment.getLong(position + ID_HIGH), segment.getLong(position + ID_LOW)),
+                segment.getLong(position + VERSION), positions, segment.getShort(position + WINNERS) & 0xFFFF,
+                flags & NEXT_PLAYER_MASK, (flags & WINNER_DECLARED_FLAG) != 0,
+                updatedAt != 0 ? Instant.ofEpochMilli(updatedAt) : null, segment.getInt(position + INCARNATION));
+    }
+
+    private List<Path> listSegments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().matches("segment-\\d{10}\\.log")).sorted().toList();
+        }
+    }
+
+    private Path segmentPath(long number) {
+        return directory.resolve(String.format("segment-%010d.log", number));
+    }
+
+    private static long segmentNumber(Path file) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring("segment-".length(), name.length() - ".log".length()));
+    }
+}
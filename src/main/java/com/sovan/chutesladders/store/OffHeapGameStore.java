@@ -0,0 +1,533 @@
+package com.sovan.chutesladders.store;
+
+import com.sovan.chutesladders.engine.CompactGameState;
+import com.sovan.chutesladders.engine.PlayerNameRegistry;
+import com.sovan.chutesladders.exception.GameFinishedException;
+import com.sovan.chutesladders.exception.GameNotFoundException;
+import com.sovan.chutesladders.exception.InconsistentGameException;
+import com.sovan.chutesladders.exception.NotYourTurnException;
+import com.sovan.chutesladders.model.Game;
+import com.sovan.chutesladders.model.GameFilter;
+import com.sovan.chutesladders.model.GameState;
+import com.sovan.chutesladders.model.GameSummaryDTO;
+import com.sovan.chutesladders.model.Player;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * {@link GameStore} keeping the games in direct memory outside the Java heap.
+ * Each game takes one fixed-size slot of {@value #SLOT_SIZE} bytes in an arena of direct buffers that is allocated
+ * segment by segment as it fills up, and a {@link GameSlotIndex} maps game IDs to slots. The garbage collector
+ * therefore sees a few large buffers and primitive arrays however many games are active, instead of an entity graph
+ * per game. Entities are only built for the duration of a request.
+ * <p>
+ * Slot layout, little-endian:
+ * <pre>
+ *  0 game ID high (long)        8 game ID low (long)
+ * 16 created at seconds (long) 24 version (long)
+ * 32 created at nanos (int)    36 winners bitmask (short)
+ * 38 player count (byte)       39 next player and winner-declared flags (byte)
+ * 40 positions (16 bytes)      56 updated at epoch millis (long)
+ * 64 player name IDs (16 ints)
+ * </pre>
+ * Names the {@link PlayerNameRegistry} had no room for are kept on the heap, by slot, for the few games that have some.
+ * Games are not durable: they are lost when the application stops. Listings scan every slot.
+ */
+@Component
+@ConditionalOnProperty(name = "chutesladders.store.type", havingValue = "offheap")
+@Slf4j
+public class OffHeapGameStore implements GameStore {
+
+    /**
+     * The number of bytes of direct memory taken by one game.
+     */
+    public static final int SLOT_SIZE = 128;
+
+    private static final int ID_HIGH = 0;
+    private static final int ID_LOW = 8;
+    private static final int CREATED_AT_SECONDS = 16;
+    private static final int VERSION = 24;
+    private static final int CREATED_AT_NANOS = 32;
+    private static final int WINNERS = 36;
+    private static final int PLAYER_COUNT = 38;
+    private static final int FLAGS = 39;
+    private static final int POSITIONS = 40;
+    private static final int UPDATED_AT = 56;
+    private static final int NAME_IDS = 64;
+
+    private static final int NEXT_PLAYER_MASK = 0x0F;
+    private static final int WINNER_DECLARED_FLAG = 0x10;
+    private static final long NO_CREATION_TIME = Long.MIN_VALUE;
+    private static final int SLOTS_PER_SEGMENT = 1 << 16;
+    private static final int LOCK_STRIPES = 64;
+
+    private final PlayerNameRegistry nameRegistry;
+    private final int maxGames;
+    private final ByteBuffer[] segments;
+    private final GameSlotIndex index;
+    private final ReentrantReadWriteLock indexLock = new ReentrantReadWriteLock();
+    private final ReentrantLock[] slotLocks = new ReentrantLock[LOCK_STRIPES];
+    private final ConcurrentHashMap<Integer, String[]> plainNames = new ConcurrentHashMap<>();
+
+    private int[] freeSlots = new int[64];
+    private int freeSlotCount;
+    private int nextSlot;
+    private volatile int allocatedSegments;
+
+    /**
+     * Constructs a new OffHeapGameStore.
+     *
+     * @param maxGames      the largest number of games held at once
+     * @param nameRegistry  the registry the player names are interned in
+     * @param meterRegistry the registry the store metrics are published to
+     */
+    public OffHeapGameStore(@Value("${chutesladders.store.offheap.max-games:1048576}") int maxGames,
+                            PlayerNameRegistry nameRegistry, MeterRegistry meterRegistry) {
+        this.nameRegistry = nameRegistry;
+        this.maxGames = maxGames;
+        this.segments = new ByteBuffer[(maxGames + SLOTS_PER_SEGMENT - 1) / SLOTS_PER_SEGMENT];
+        this.index = new GameSlotIndex(Math.min(maxGames, SLOTS_PER_SEGMENT));
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            slotLocks[i] = new ReentrantLock();
+        }
+
+        Gauge.builder("game.store.offheap.games", this, OffHeapGameStore::size)
+                .description("Games held in the off-heap store")
+                .register(meterRegistry);
+        Gauge.builder("game.store.offheap.bytes", this, store -> (double) store.allocatedSegments * SLOTS_PER_SEGMENT * SLOT_SIZE)
+                .description("Direct memory allocated by the off-heap store")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        log.info("Off-heap game store holds up to {} games in at most {} MiB of direct memory",
+                maxGames, (long) segments.length * SLOTS_PER_SEGMENT * SLOT_SIZE >> 20);
+    }
+
+    /**
+     * Finds a game by ID and builds its entity from the slot.
+     *
+     * @param gameId the ID of the game to find
+     * @return the game, or empty if not found
+     */
+    @Override
+    public Optional<Game> findById(UUID gameId) {
+        indexLock.readLock().lock();
+        try {
+            int slot = index.get(gameId.getMostSignificantBits(), gameId.getLeastSignificantBits());
+            return slot == GameSlotIndex.NO_SLOT ? Optional.empty() : Optional.of(readGame(slot));
+        } finally {
+            indexLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Finds several games by ID and builds their entities from the slots.
+     *
+     * @param gameIds the IDs of the games to find
+     * @return the games found
+     */
+    @Override
+    public List<Game> findAllById(Collection<UUID> gameIds) {
+        List<Game> games = new ArrayList<>(gameIds.size());
+        indexLock.readLock().lock();
+        try {
+            for (UUID gameId : gameIds) {
+                int slot = index.get(gameId.getMostSignificantBits(), gameId.getLeastSignificantBits());
+                if (slot != GameSlotIndex.NO_SLOT) {
+                    games.add(readGame(slot));
+                }
+            }
+        } finally {
+            indexLock.readLock().unlock();
+        }
+        return games;
+    }
+
+    /**
+     * Writes the game to its slot, allocating one for a new game.
+     * A game without a version is new; a game with a version must carry the version of its slot.
+     *
+     * @param game the game to store
+     * @return the game, with its version and update time updated
+     * @throws OptimisticLockingFailureException   if the game was changed or deleted since it was read,
+     *                                             or a new game reuses the ID of a stored one
+     * @throws DataAccessResourceFailureException if the store is full
+     */
+    @Override
+    public Game save(Game game) {
+        long high = game.getGameId().getMostSignificantBits();
+        long low = game.getGameId().getLeastSignificantBits();
+        indexLock.readLock().lock();
+        try {
+            int slot = index.get(high, low);
+            if (slot != GameSlotIndex.NO_SLOT) {
+                return update(slot, game);
+            }
+        } finally {
+            indexLock.readLock().unlock();
+        }
+
+        indexLock.writeLock().lock();
+        try {
+            int slot = index.get(high, low);
+            if (slot != GameSlotIndex.NO_SLOT) {
+                return update(slot, game);
+            }
+            if (game.getVersion() != null) {
+                throw new OptimisticLockingFailureException("Game " + game.getGameId() + " was deleted.");
+            }
+            Instant updatedAt = now();
+            slot = allocateSlot();
+            writeGame(slot, game, 0L, updatedAt);
+            index.put(high, low, slot);
+            game.setVersion(0L);
+            game.setUpdatedAt(updatedAt);
+            return game;
+        } finally {
+            indexLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Runs a turn as is: the game is kept in direct memory and its save is checked against the stored version, so the
+     * turn needs no transaction and opens no database connection.
+     *
+     * @param turn the turn
+     * @param <T>  the result of the turn
+     * @return the result of the turn
+     * @throws GameNotFoundException     if the game is not found
+     * @throws NotYourTurnException      if it is not the player's turn
+     * @throws InconsistentGameException if the game state is inconsistent
+     * @throws GameFinishedException     if the game already has a winner
+     */
+    @Override
+    public <T> T executeTurn(TurnWork<T> turn) throws GameNotFoundException, NotYourTurnException, InconsistentGameException, GameFinishedException {
+        return turn.run();
+    }
+
+    /**
+     * Writes each game that is not stored yet to a new slot, with version 0 and the current time as update time,
+     * under one hold of the index lock.
+     *
+     * @param games the new games, without versions
+     * @return the IDs of the games skipped because they are already stored
+     * @throws DataAccessResourceFailureException if the store is full
+     */
+    @Override
+    public List<UUID> insertAll(Collection<Game> games) {
+        List<UUID> skippedIds = new ArrayList<>();
+        Instant updatedAt = now();
+        indexLock.writeLock().lock();
+        try {
+            for (Game game : games) {
+                long high = game.getGameId().getMostSignificantBits();
+                long low = game.getGameId().getLeastSignificantBits();
+                if (index.get(high, low) != GameSlotIndex.NO_SLOT) {
+                    skippedIds.add(game.getGameId());
+                    continue;
+                }
+                int slot = allocateSlot();
+                writeGame(slot, game, 0L, updatedAt);
+                index.put(high, low, slot);
+                game.setVersion(0L);
+                game.setUpdatedAt(updatedAt);
+            }
+        } finally {
+            indexLock.writeLock().unlock();
+        }
+        return skippedIds;
+    }
+
+    /**
+     * Deletes the games with the given IDs and frees their slots.
+     *
+     * @param gameIds the IDs of the games to delete
+     */
+    @Override
+    public void deleteAllById(Collection<UUID> gameIds) {
+        indexLock.writeLock().lock();
+        try {
+            for (UUID gameId : gameIds) {
+                int slot = index.remove(gameId.getMostSignificantBits(), gameId.getLeastSignificantBits());
+                if (slot != GameSlotIndex.NO_SLOT) {
+                    freeSlot(slot);
+                }
+            }
+        } finally {
+            indexLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Finds one keyset page of game summaries by scanning every slot and keeping the first ones in key order.
+     *
+     * @param filter         the criteria the games must match
+     * @param afterCreatedAt the creation time of the last game of the previous page
+     * @param afterGameId    the ID of the last game of the previous page
+     * @param limit          the maximum number of summaries to return
+     * @return the summaries
+     */
+    @Override
+    public List<GameSummaryDTO> findSummariesAfter(GameFilter filter, Instant afterCreatedAt, UUID afterGameId, int limit) {
+        GameSummaryOrder.FirstPage page = new GameSummaryOrder.FirstPage(limit);
+        indexLock.readLock().lock();
+        try {
+            index.forEachSlot(slot -> {
+                GameSummaryDTO summary = readSummary(slot);
+                if (GameSummaryOrder.isOnPageAfter(summary, filter, afterCreatedAt, afterGameId)) {
+                    page.offer(summary);
+                }
+            });
+        } finally {
+            indexLock.readLock().unlock();
+        }
+        return page.toList();
+    }
+
+    /**
+     * Streams the game summaries matching the filter from a sorted copy taken by scanning every slot.
+     *
+     * @param filter the criteria the games must match
+     * @return the stream of summaries
+     */
+    @Override
+    public Stream<GameSummaryDTO> streamSummaries(GameFilter filter) {
+        List<GameSummaryDTO> summaries = new ArrayList<>();
+        indexLock.readLock().lock();
+        try {
+            index.forEachSlot(slot -> {
+                GameSummaryDTO summary = readSummary(slot);
+                if (GameSummaryOrder.matches(summary, filter)) {
+                    summaries.add(summary);
+                }
+            });
+        } finally {
+            indexLock.readLock().unlock();
+        }
+        summaries.sort(GameSummaryOrder.BY_KEY);
+        return summaries.stream();
+    }
+
+    /**
+     * Streams the games matching the filter, building their entities from the slots in key order, one batch at a time.
+     *
+     * @param filter the criteria the games must match
+     * @return the stream of games
+     */
+    @Override
+    public Stream<Game> streamGames(GameFilter filter) {
+        return GameSummaryOrder.loadGames(streamSummaries(filter), this::findAllById);
+    }
+
+    /**
+     * Gets the number of games in the store.
+     *
+     * @return the number of games
+     */
+    public int size() {
+        indexLock.readLock().lock();
+        try {
+            return index.size();
+        } finally {
+            indexLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Overwrites a stored game if the version matches. Must be called while holding the index lock.
+     */
+    private Game update(int slot, Game game) {
+        ReentrantLock lock = slotLocks[slot % LOCK_STRIPES];
+        lock.lock();
+        try {
+            long version = segment(slot).getLong(offset(slot) + VERSION);
+            if (game.getVersion() == null || game.getVersion() != version) {
+                throw new OptimisticLockingFailureException("Game " + game.getGameId() + " was changed by another request.");
+            }
+            Instant updatedAt = now();
+            writeGame(slot, game, version + 1, updatedAt);
+            game.setVersion(version + 1);
+            game.setUpdatedAt(updatedAt);
+            return game;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Builds the entity of the game in a slot. Must be called while holding the index lock.
+     */
+    private Game readGame(int slot) {
+        ByteBuffer segment = segment(slot);
+        int base = offset(slot);
+        ReentrantLock lock = slotLocks[slot % LOCK_STRIPES];
+        lock.lock();
+        try {
+            int playerCount = segment.get(base + PLAYER_COUNT);
+            int winners = segment.getShort(base + WINNERS) & 0xFFFF;
+            List<Player> players = new ArrayList<>(playerCount);
+            for (int i = 0; i < playerCount; i++) {
+                Player player = new Player();
+                int nameId = segment.getInt(base + NAME_IDS + 4 * i);
+                player.setName(nameId == PlayerNameRegistry.NOT_INTERNED ? plainNames.get(slot)[i] : nameRegistry.name(nameId));
+                player.setPosition(segment.get(base + POSITIONS + i) & 0xFF);
+                player.setWinner((winners & (1 << i)) != 0);
+                players.add(player);
+            }
+            int flags = segment.get(base + FLAGS);
+            GameState gameState = new GameState();
+            gameState.setPlayerList(players);
+            gameState.setNextPlayer(flags & NEXT_PLAYER_MASK);
+            gameState.setWinnerDeclared((flags & WINNER_DECLARED_FLAG) != 0);
+
+            Game game = new Game();
+            game.setGameId(new UUID(segment.getLong(base + ID_HIGH), segment.getLong(base + ID_LOW)));
+            game.setCreatedAt(readCreatedAt(segment, base));
+            game.setVersion(segment.getLong(base + VERSION));
+            game.setUpdatedAt(Instant.ofEpochMilli(segment.getLong(base + UPDATED_AT)));
+            game.setGameState(gameState);
+            return game;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Reads the summary of the game in a slot. Must be called while holding the index lock.
+     */
+    private GameSummaryDTO readSummary(int slot) {
+        ByteBuffer segment = segment(slot);
+        int base = offset(slot);
+        ReentrantLock lock = slotLocks[slot % LOCK_STRIPES];
+        lock.lock();
+        try {
+            int flags = segment.get(base + FLAGS);
+            UUID gameId = new UUID(segment.getLong(base + ID_HIGH), segment.getLong(base + ID_LOW));
+            return new GameSummaryDTO(gameId, readCreatedAt(segment, base), flags & NEXT_PLAYER_MASK,
+                    (flags & WINNER_DECLARED_FLAG) != 0);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Writes a game to a slot. Must be called while holding the index lock, and the slot lock for a stored game.
+     */
+    private void writeGame(int slot, Game game, long version, Instant updatedAt) {
+        GameState gameState = game.getGameState();
+        List<Player> players = gameState.getPlayerList();
+        if (players.size() > CompactGameState.MAX_PLAYERS) {
+            throw new IllegalArgumentException("The off-heap store holds games of at most " + CompactGameState.MAX_PLAYERS + " players.");
+        }
+        int[] nameIds = new int[players.size()];
+        String[] slotPlainNames = null;
+        int winners = 0;
+        for (int i = 0; i < nameIds.length; i++) {
+            Player player = players.get(i);
+            if (player.getPosition() < 0 || player.getPosition() >= CompactGameState.MAX_SQUARES) {
+                throw new IllegalArgumentException("Position " + player.getPosition() + " does not fit the off-heap store.");
+            }
+            nameIds[i] = nameRegistry.intern(player.getName());
+            if (nameIds[i] == PlayerNameRegistry.NOT_INTERNED) {
+                if (slotPlainNames == null) {
+                    slotPlainNames = new String[nameIds.length];
+                }
+                slotPlainNames[i] = player.getName();
+            }
+            if (player.isWinner()) {
+                winners |= 1 << i;
+            }
+        }
+        if (slotPlainNames != null) {
+            plainNames.put(slot, slotPlainNames);
+        } else {
+            plainNames.remove(slot);
+        }
+
+        ByteBuffer segment = segment(slot);
+        int base = offset(slot);
+        Instant createdAt = game.getCreatedAt();
+        segment.putLong(base + ID_HIGH, game.getGameId().getMostSignificantBits());
+        segment.putLong(base + ID_LOW, game.getGameId().getLeastSignificantBits());
+        segment.putLong(base + CREATED_AT_SECONDS, createdAt != null ? createdAt.getEpochSecond() : NO_CREATION_TIME);
+        segment.putInt(base + CREATED_AT_NANOS, createdAt != null ? createdAt.getNano() : 0);
+        segment.putLong(base + VERSION, version);
+        segment.putLong(base + UPDATED_AT, updatedAt.toEpochMilli());
+        segment.putShort(base + WINNERS, (short) winners);
+        segment.put(base + PLAYER_COUNT, (byte) players.size());
+        segment.put(base + FLAGS, (byte) ((gameState.getNextPlayer() & NEXT_PLAYER_MASK)
+                | (gameState.isWinnerDeclared() ? WINNER_DECLARED_FLAG : 0)));
+        for (int i = 0; i < nameIds.length; i++) {
+            segment.put(base + POSITIONS + i, (byte) players.get(i).getPosition());
+            segment.putInt(base + NAME_IDS + 4 * i, nameIds[i]);
+        }
+    }
+
+    /**
+     * Gets the current time, to the millisecond kept in the slots.
+     */
+    private static Instant now() {
+        return Instant.ofEpochMilli(System.currentTimeMillis());
+    }
+
+    private static Instant readCreatedAt(ByteBuffer segment, int base) {
+        long seconds = segment.getLong(base + CREATED_AT_SECONDS);
+        return seconds == NO_CREATION_TIME ? null : Instant.ofEpochSecond(seconds, segment.getInt(base + CREATED_AT_NANOS));
+    }
+
+    /**
+     * Takes a free slot, allocating a new segment if needed. Must be called while holding the index write lock.
+     */
+    private int allocateSlot() {
+        if (freeSlotCount > 0) {
+            return freeSlots[--freeSlotCount];
+        }
+        if (nextSlot >= maxGames) {
+            throw new DataAccessResourceFailureException("The off-heap game store is full with " + maxGames + " games.");
+        }
+        int segmentIndex = nextSlot / SLOTS_PER_SEGMENT;
+        if (segments[segmentIndex] == null) {
+            segments[segmentIndex] = ByteBuffer.allocateDirect(SLOTS_PER_SEGMENT * SLOT_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            allocatedSegments = segmentIndex + 1;
+        }
+        return nextSlot++;
+    }
+
+    /**
+     * Returns a slot to the free list. Must be called while holding the index write lock.
+     */
+    private void freeSlot(int slot) {
+        plainNames.remove(slot);
+        if (freeSlotCount == freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, freeSlotCount * 2);
+        }
+        freeSlots[freeSlotCount++] = slot;
+    }
+
+    private ByteBuffer segment(int slot) {
+        return segments[slot / SLOTS_PER_SEGMENT];
+    }
+
+    private static int offset(int slot) {
+        return (slot % SLOTS_PER_SEGMENT) * SLOT_SIZE;
+    }
+}
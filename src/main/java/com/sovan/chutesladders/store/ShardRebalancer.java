@@ -0,0 +1,56 @@
+package com.sovan.chutesladders.store;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rebalances the sharded game store at startup, after the shard URLs have changed, by moving every game to the shard
+ * its ID now routes to. It runs before the other application runners and before readiness is reported, so no game is
+ * played while it is moved. Enabled with {@code chutesladders.store.sharded.rebalance=true}, together with the
+ * {@code sharded} store.
+ */
+@Component
+@Slf4j
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(name = "chutesladders.store.sharded.rebalance", havingValue = "true")
+public class ShardRebalancer implements ApplicationRunner {
+
+    private final ShardedGameStore gameStore;
+    private final Counter movedGames;
+
+    /**
+     * Constructs a new ShardRebalancer.
+     *
+     * @param gameStore     the sharded store to rebalance
+     * @param meterRegistry the registry the rebalancing metrics are published to
+     */
+    public ShardRebalancer(ShardedGameStore gameStore, MeterRegistry meterRegistry) {
+        this.gameStore = gameStore;
+        this.movedGames = Counter.builder("game.store.shard.rebalanced")
+                .description("Games moved to another shard by rebalancing")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Moves the misplaced games to their shards.
+     *
+     * @param args the application arguments
+     */
+    @Override
+    public void run(ApplicationArguments args) {
+        long startNanos = System.nanoTime();
+        long moved = gameStore.rebalance();
+        movedGames.increment(moved);
+        log.info("Rebalancing over {} shards moved {} games in {} ms", gameStore.getShardCount(), moved,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+    }
+}
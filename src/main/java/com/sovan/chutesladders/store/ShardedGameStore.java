@@ -0,0 +1,337 @@
+package com.sovan.chutesladders.store;
+
+import com.sovan.chutesladders.exception.GameFinishedException;
+import com.sovan.chutesladders.exception.GameNotFoundException;
+import com.sovan.chutesladders.exception.InconsistentGameException;
+import com.sovan.chutesladders.exception.NotYourTurnException;
+import com.sovan.chutesladders.model.Game;
+import com.sovan.chutesladders.model.GameFilter;
+import com.sovan.chutesladders.model.GameSummaryDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * {@link GameStore} spreading the games over several databases, the shards, so that writes are not limited by one
+ * database. Each shard is a {@link GameShard} with its own connection pool, and a game lives in the shard chosen by
+ * a jump consistent hash of its ID over the configured shard URLs, so the game service does not see the sharding.
+ * <p>
+ * A game is read and saved in its shard only, in a transaction of that shard; the version check of a save is done by
+ * its update, as in {@link JdbcGameStore}. Listings query every shard and merge the results in key order.
+ * <p>
+ * When shards are added at the end of the URL list, the jump hash moves only the games that now belong to a new shard,
+ * about one in the new shard count per shard added. Those games are not found until {@link #rebalance()} has moved
+ * them. Shards to be removed must be the last ones of the list and are moved to the drain URLs, which are only read
+ * by the rebalancing.
+ */
+@Component
+@ConditionalOnProperty(name = "chutesladders.store.type", havingValue = "sharded")
+@Slf4j
+public class ShardedGameStore implements GameStore, AutoCloseable {
+
+    private static final int REBALANCE_BATCH_SIZE = 500;
+
+    private final List<GameShard> shards = new ArrayList<>();
+    private final List<GameShard> drainedShards = new ArrayList<>();
+
+    /**
+     * Constructs a new ShardedGameStore, opening a connection pool to every shard.
+     *
+     * @param urls          the JDBC URLs of the shards, in routing order
+     * @param drainUrls     the JDBC URLs of removed shards whose games are still to be moved by a rebalancing
+     * @param username      the database user of the shards
+     * @param password      the password of the database user
+     * @param poolSize      the largest number of connections to each shard
+     * @param meterRegistry the registry the shard metrics are published to
+     */
+    public ShardedGameStore(@Value("${chutesladders.store.sharded.urls:jdbc:h2:mem:shard0;DB_CLOSE_DELAY=-1,jdbc:h2:mem:shard1;DB_CLOSE_DELAY=-1,jdbc:h2:mem:shard2;DB_CLOSE_DELAY=-1,jdbc:h2:mem:shard3;DB_CLOSE_DELAY=-1}") List<String> urls,
+                            @Value("${chutesladders.store.sharded.drain-urls:}") List<String> drainUrls,
+                            @Value("${chutesladders.store.sharded.username:sa}") String username,
+                            @Value("${chutesladders.store.sharded.password:}") String password,
+                            @Value("${chutesladders.store.sharded.pool-size:10}") int poolSize,
+                            MeterRegistry meterRegistry) {
+        if (urls.isEmpty()) {
+            throw new IllegalArgumentException("At least one shard URL must be configured.");
+        }
+        for (String url : urls) {
+            shards.add(new GameShard(shards.size(), url, username, password, poolSize, meterRegistry));
+        }
+        for (String url : drainUrls) {
+            drainedShards.add(new GameShard(shards.size() + drainedShards.size(), url, username, password, poolSize, meterRegistry));
+        }
+        log.info("Sharded game store over {} shards, {} being drained", shards.size(), drainedShards.size());
+    }
+
+    /**
+     * Finds a game in its shard.
+     *
+     * @param gameId the ID of the game to find
+     * @return the game, or empty if not found
+     */
+    @Override
+    public Optional<Game> findById(UUID gameId) {
+        return shardOf(gameId).findAll(List.of(gameId)).stream().findFirst();
+    }
+
+    /**
+     * Finds several games with one select per shard holding some of them.
+     *
+     * @param gameIds the IDs of the games to find
+     * @return the games found
+     */
+    @Override
+    public List<Game> findAllById(Collection<UUID> gameIds) {
+        List<Game> games = new ArrayList<>(gameIds.size());
+        groupByShard(gameIds).forEach((shard, ids) -> games.addAll(shard.findAll(ids)));
+        return games;
+    }
+
+    /**
+     * Inserts a new game in its shard, or updates a stored one if its version is still the stored one.
+     *
+     * @param game the game to store
+     * @return the game, with its version updated
+     * @throws OptimisticLockingFailureException if the game was changed or deleted since it was read
+     */
+    @Override
+    public Game save(Game game) {
+        GameShard shard = shardOf(game.getGameId());
+        Instant updatedAt = Instant.now();
+        if (game.getVersion() == null) {
+            if (!shard.insertAll(List.of(newStoredGame(game, updatedAt))).isEmpty()) {
+                throw new OptimisticLockingFailureException("Game " + game.getGameId() + " already exists.");
+            }
+            game.setVersion(0L);
+        } else {
+            if (!shard.update(game, updatedAt)) {
+                throw new OptimisticLockingFailureException("Game " + game.getGameId() + " was changed or deleted by another request.");
+            }
+            game.setVersion(game.getVersion() + 1);
+        }
+        game.setUpdatedAt(updatedAt);
+        return game;
+    }
+
+    /**
+     * Runs a turn as is: the game is read with one select of its shard, and its save runs in a shard transaction of
+     * its own that checks the version read.
+     *
+     * @param turn the turn
+     * @param <T>  the result of the turn
+     * @return the result of the turn
+     * @throws GameNotFoundException     if the game is not found
+     * @throws NotYourTurnException      if it is not the player's turn
+     * @throws InconsistentGameException if the game state is inconsistent
+     * @throws GameFinishedException     if the game already has a winner
+     */
+    @Override
+    public <T> T executeTurn(TurnWork<T> turn) throws GameNotFoundException, NotYourTurnException, InconsistentGameException, GameFinishedException {
+        return turn.run();
+    }
+
+    /**
+     * Inserts the games that are not stored yet, with one transaction per shard holding some of them.
+     *
+     * @param games the new games, without versions
+     * @return the IDs of the games skipped because they are already stored
+     */
+    @Override
+    public List<UUID> insertAll(Collection<Game> games) {
+        Instant updatedAt = Instant.now();
+        Map<GameShard, List<Game>> byShard = new LinkedHashMap<>();
+        for (Game game : games) {
+            byShard.computeIfAbsent(shardOf(game.getGameId()), shard -> new ArrayList<>()).add(newStoredGame(game, updatedAt));
+        }
+        List<UUID> skippedIds = new ArrayList<>();
+        byShard.forEach((shard, shardGames) -> skippedIds.addAll(shard.insertAll(shardGames)));
+        Set<UUID> skipped = new HashSet<>(skippedIds);
+        for (Game game : games) {
+            if (!skipped.contains(game.getGameId())) {
+                game.setVersion(0L);
+                game.setUpdatedAt(updatedAt);
+            }
+        }
+        return skippedIds;
+    }
+
+    /**
+     * Deletes the games with the given IDs from their shards.
+     *
+     * @param gameIds the IDs of the games to delete
+     */
+    @Override
+    public void deleteAllById(Collection<UUID> gameIds) {
+        groupByShard(gameIds).forEach(GameShard::deleteAll);
+    }
+
+    /**
+     * Finds one keyset page of game summaries by reading one page from every shard and keeping the first ones.
+     *
+     * @param filter         the criteria the games must match
+     * @param afterCreatedAt the creation time of the last game of the previous page
+     * @param afterGameId    the ID of the last game of the previous page
+     * @param limit          the maximum number of summaries to return
+     * @return the summaries
+     */
+    @Override
+    public List<GameSummaryDTO> findSummariesAfter(GameFilter filter, Instant afterCreatedAt, UUID afterGameId, int limit) {
+        GameSummaryOrder.FirstPage page = new GameSummaryOrder.FirstPage(limit);
+        for (GameShard shard : shards) {
+            shard.findSummariesAfter(filter, afterCreatedAt, afterGameId, limit).forEach(page::offer);
+        }
+        return page.toList();
+    }
+
+    /**
+     * Streams the game summaries of every shard, merged in key order. Each shard holds one connection until the
+     * stream is closed; no transaction is needed.
+     *
+     * @param filter the criteria the games must match
+     * @return the stream of summaries
+     */
+    @Override
+    public Stream<GameSummaryDTO> streamSummaries(GameFilter filter) {
+        List<Stream<GameSummaryDTO>> streams = new ArrayList<>(shards.size());
+        try {
+            for (GameShard shard : shards) {
+                streams.add(shard.streamSummaries(filter));
+            }
+        } catch (RuntimeException e) {
+            streams.forEach(Stream::close);
+            throw e;
+        }
+        return GameSummaryOrder.merge(streams);
+    }
+
+    /**
+     * Streams the games of every shard in key order, loading them one batch at a time from the merged summaries.
+     * Each shard holds one connection until the stream is closed; no transaction is needed.
+     *
+     * @param filter the criteria the games must match
+     * @return the stream of games
+     */
+    @Override
+    public Stream<Game> streamGames(GameFilter filter) {
+        return GameSummaryOrder.loadGames(streamSummaries(filter), this::findAllById);
+    }
+
+    /**
+     * Moves every game that is not in the shard its ID routes to, including all the games of the drained shards,
+     * to that shard. A game is copied before it is deleted from its old shard, so an interrupted rebalancing loses
+     * nothing and can be run again. Games must not be played while they are moved.
+     *
+     * @return the number of games moved
+     */
+    public long rebalance() {
+        long moved = 0;
+        List<GameShard> sources = new ArrayList<>(shards);
+        sources.addAll(drainedShards);
+        for (GameShard source : sources) {
+            long movedFromShard = 0;
+            UUID afterGameId = new UUID(0L, 0L);
+            List<UUID> gameIds;
+            do {
+                gameIds = source.findIdsAfter(afterGameId, REBALANCE_BATCH_SIZE);
+                if (gameIds.isEmpty()) {
+                    break;
+                }
+                afterGameId = gameIds.get(gameIds.size() - 1);
+                for (Map.Entry<GameShard, List<UUID>> target : groupByShard(gameIds).entrySet()) {
+                    if (target.getKey() == source) {
+                        continue;
+                    }
+                    target.getKey().insertAll(source.findAll(target.getValue()));
+                    source.deleteAll(target.getValue());
+                    movedFromShard += target.getValue().size();
+                }
+            } while (gameIds.size() == REBALANCE_BATCH_SIZE);
+            log.info("Moved {} games out of shard {}", movedFromShard, source.index());
+            moved += movedFromShard;
+        }
+        return moved;
+    }
+
+    /**
+     * Gets the number of shards games are routed to.
+     *
+     * @return the shard count
+     */
+    public int getShardCount() {
+        return shards.size();
+    }
+
+    /**
+     * Gets the shard a game is routed to.
+     *
+     * @param gameId the ID of the game
+     * @return the index of its shard
+     */
+    public int shardIndexOf(UUID gameId) {
+        return jumpHash(gameId.getMostSignificantBits() ^ gameId.getLeastSignificantBits(), shards.size());
+    }
+
+    /**
+     * Closes the connection pools of the shards.
+     */
+    @Override
+    public void close() {
+        shards.forEach(GameShard::close);
+        drainedShards.forEach(GameShard::close);
+    }
+
+    /**
+     * Copies a new game with the version and update time it is inserted with, leaving the game itself unchanged
+     * until the insert has succeeded.
+     */
+    private static Game newStoredGame(Game game, Instant updatedAt) {
+        Game stored = new Game();
+        stored.setGameId(game.getGameId());
+        stored.setGameState(game.getGameState());
+        stored.setCreatedAt(game.getCreatedAt());
+        stored.setUpdatedAt(updatedAt);
+        stored.setVersion(0L);
+        return stored;
+    }
+
+    private GameShard shardOf(UUID gameId) {
+        return shards.get(shardIndexOf(gameId));
+    }
+
+    private Map<GameShard, List<UUID>> groupByShard(Collection<UUID> gameIds) {
+        Map<GameShard, List<UUID>> byShard = new LinkedHashMap<>();
+        for (UUID gameId : gameIds) {
+            byShard.computeIfAbsent(shardOf(gameId), shard -> new ArrayList<>()).add(gameId);
+        }
+        return byShard;
+    }
+
+    /**
+     * Jump consistent hash of Lamping and Veach: maps a key to one of the given number of buckets so that growing the
+     * bucket count from n to n + 1 moves only the keys that go to the new bucket.
+     */
+    static int jumpHash(long key, int buckets) {
+        long bucket = -1;
+        long next = 0;
+        while (next < buckets) {
+            bucket = next;
+            key = key * 2862933555777941757L + 1;
+            next = (long) ((bucket + 1) * ((double) (1L << 31) / (double) ((key >>> 33) + 1)));
+        }
+        return (int) bucket;
+    }
+}
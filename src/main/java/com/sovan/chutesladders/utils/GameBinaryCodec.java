@@ -0,0 +1,172 @@
+package com.sovan.chutesladders.utils;
+
+import com.sovan.chutesladders.model.GameDTO;
+import com.sovan.chutesladders.model.GameStateDTO;
+import com.sovan.chutesladders.model.PlayerDTO;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.io.UTFDataFormatException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Compact binary encoding of games for bulk export and import.
+ * A stream starts with a header and is followed by one record per game:
+ * <pre>
+ * header : magic "CLG" (3 bytes), format version (1 byte)
+ * record : marker (1 byte), game ID (2 longs), has creation time (boolean),
+ *          [epoch seconds (long), nanos (int)], next player (byte), winner declared (boolean),
+ *          player count (byte), players
+ * player : has name (boolean), [name (modified UTF-8)], position (short), winner (boolean)
+ * </pre>
+ */
+public class GameBinaryCodec {
+
+    private static final byte[] MAGIC = {'C', 'L', 'G'};
+    private static final byte FORMAT_VERSION = 1;
+    private static final byte RECORD_MARKER = 1;
+    private static final int MAX_NAME_BYTES = 65535;
+    private static final int MAX_BYTES_PER_CHAR = 3;
+
+    /**
+     * Writes the stream header.
+     *
+     * @param out the stream to write to
+     * @throws IOException if the stream cannot be written
+     */
+    public static void writeHeader(DataOutputStream out) throws IOException {
+        out.write(MAGIC);
+        out.writeByte(FORMAT_VERSION);
+    }
+
+    /**
+     * Reads and checks the stream header.
+     *
+     * @param in the stream to read from
+     * @throws IOException if the stream cannot be read or does not start with a supported header
+     */
+    public static void readHeader(DataInputStream in) throws IOException {
+        byte[] magic = new byte[MAGIC.length];
+        in.readFully(magic);
+        for (int i = 0; i < MAGIC.length; i++) {
+            if (magic[i] != MAGIC[i]) {
+                throw new StreamCorruptedException("Not a game export stream.");
+            }
+        }
+        byte version = in.readByte();
+        if (version != FORMAT_VERSION) {
+            throw new StreamCorruptedException("Unsupported game export format version " + version + ".");
+        }
+    }
+
+    /**
+     * Writes one game record.
+     *
+     * @param out  the stream to write to
+     * @param game the game to write
+     * @throws UTFDataFormatException if a player name is longer than 65535 bytes in modified UTF-8, in which case
+     *                                nothing is written
+     * @throws IOException            if the stream cannot be written
+     */
+    public static void write(DataOutputStream out, GameDTO game) throws IOException {
+        List<PlayerDTO> players = game.getGameState().getPlayerList();
+        for (int i = 0; i < players.size(); i++) {
+            String name = players.get(i).getName();
+            if (name != null && name.length() > MAX_NAME_BYTES / MAX_BYTES_PER_CHAR && utfLength(name) > MAX_NAME_BYTES) {
+                throw new UTFDataFormatException("The name of player " + i + " of game " + game.getGameId()
+                        + " is longer than " + MAX_NAME_BYTES + " bytes.");
+            }
+        }
+
+        out.writeByte(RECORD_MARKER);
+        out.writeLong(game.getGameId().getMostSignificantBits());
+        out.writeLong(game.getGameId().getLeastSignificantBits());
+
+        Instant createdAt = game.getCreatedAt();
+        out.writeBoolean(createdAt != null);
+        if (createdAt != null) {
+            out.writeLong(createdAt.getEpochSecond());
+            out.writeInt(createdAt.getNano());
+        }
+
+        GameStateDTO gameState = game.getGameState();
+        out.writeByte(gameState.getNextPlayer());
+        out.writeBoolean(gameState.isWinnerDeclared());
+        out.writeByte(players.size());
+        for (int i = 0; i < players.size(); i++) {
+            PlayerDTO player = players.get(i);
+            out.writeBoolean(player.getName() != null);
+            if (player.getName() != null) {
+                out.writeUTF(player.getName());
+            }
+            out.writeShort(player.getPosition());
+            out.writeBoolean(player.isWinner());
+        }
+    }
+
+    /**
+     * Reads the next game record.
+     *
+     * @param in the stream to read from
+     * @return the game, or null at the end of the stream
+     * @throws IOException if the stream cannot be read or is malformed
+     */
+    public static GameDTO read(DataInputStream in) throws IOException {
+        int marker = in.read();
+        if (marker < 0) {
+            return null;
+        }
+        if (marker != RECORD_MARKER) {
+            throw new StreamCorruptedException("Unexpected record marker " + marker + ".");
+        }
+        try {
+            GameDTO game = new GameDTO();
+            game.setGameId(new UUID(in.readLong(), in.readLong()));
+            if (in.readBoolean()) {
+                game.setCreatedAt(Instant.ofEpochSecond(in.readLong(), in.readInt()));
+            }
+
+            GameStateDTO gameState = new GameStateDTO();
+            gameState.setNextPlayer(in.readByte());
+            gameState.setWinnerDeclared(in.readBoolean());
+            int playerCount = in.readUnsignedByte();
+            List<PlayerDTO> players = new ArrayList<>(playerCount);
+            for (int i = 0; i < playerCount; i++) {
+                PlayerDTO player = new PlayerDTO();
+                if (in.readBoolean()) {
+                    player.setName(in.readUTF());
+                }
+                player.setPosition(in.readShort());
+                player.setWinner(in.readBoolean());
+                players.add(player);
+            }
+            gameState.setPlayerList(players);
+            game.setGameState(gameState);
+            return game;
+        } catch (EOFException e) {
+            throw new StreamCorruptedException("Truncated game record.");
+        }
+    }
+
+    /**
+     * Gets the length of a string in the modified UTF-8 of {@link DataOutputStream#writeUTF(String)}.
+     *
+     * @param value the string
+     * @return the number of bytes
+     */
+    private static long utfLength(String value) {
+        long length = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            length += c >= 0x0001 && c <= 0x007F ? 1 : c <= 0x07FF ? 2 : 3;
+        }
+        return length;
+    }
+
+}
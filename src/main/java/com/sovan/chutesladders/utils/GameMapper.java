@@ -2,11 +2,13 @@ package com.sovan.chutesladders.utils;
 
 import com.sovan.chutesladders.model.*;
 
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * Mapper for converting between game entities and DTOs.
+ * The mappings are on the turn path and use indexed loops into presized lists to keep allocation to the mapped objects.
  */
 public class GameMapper {
 
@@ -18,24 +20,48 @@ public class GameMapper {
      * @return the list of player entities
      */
     public static List<Player> getPlayers(List<PlayerDTO> playerDTOList){
-
-        return playerDTOList.stream().map((PlayerDTO playerDTO) -> {
+        List<Player> players = new ArrayList<>(playerDTOList.size());
+        for (int i = 0; i < playerDTOList.size(); i++) {
+            PlayerDTO playerDTO = playerDTOList.get(i);
             Player player = new Player();
             player.setPosition(playerDTO.getPosition());
             player.setName(playerDTO.getName());
             player.setWinner(playerDTO.isWinner());
-            return player;
-        }).collect(Collectors.toList());
+            players.add(player);
+        }
+        return players;
+    }
+
+    /**
+     * Converts a game DTO to a new game entity, keeping its ID, creation time and state.
+     *
+     * @param gameDTO the game DTO
+     * @return the game entity, not yet persisted
+     */
+    public static Game getGame(GameDTO gameDTO) {
+        Game game = new Game();
+        game.setGameId(gameDTO.getGameId());
+        game.setCreatedAt(gameDTO.getCreatedAt() != null ? gameDTO.getCreatedAt() : Instant.now());
+
+        GameStateDTO gameStateDTO = gameDTO.getGameState();
+        GameState gameState = new GameState();
+        gameState.setPlayerList(getPlayers(gameStateDTO.getPlayerList()));
+        gameState.setNextPlayer(gameStateDTO.getNextPlayer());
+        gameState.setWinnerDeclared(gameStateDTO.isWinnerDeclared());
+        game.setGameState(gameState);
+        return game;
     }
 
     /**
      * Converts a player entity to a player DTO.
      *
-     * @param player the player entity
+     * @param player   the player entity
+     * @param playerId the index of the player in the game
      * @return the player DTO
      */
-    private static PlayerDTO getPlayerDto(Player player) {
+    private static PlayerDTO getPlayerDto(Player player, int playerId) {
         PlayerDTO playerDTO = new PlayerDTO();
+        playerDTO.setPlayerId(playerId);
         playerDTO.setName(player.getName());
         playerDTO.setPosition(player.getPosition());
         playerDTO.setWinner(player.isWinner());
@@ -51,17 +77,19 @@ public class GameMapper {
     public static GameDTO getGameDto(Game game){
         GameDTO gameDTO = new GameDTO();
         gameDTO.setGameId(game.getGameId());
+        gameDTO.setCreatedAt(game.getCreatedAt());
 
         GameStateDTO gameStateDTO = new GameStateDTO();
         GameState gameState = game.getGameState();
 
         gameStateDTO.setNextPlayer(gameState.getNextPlayer());
         gameStateDTO.setWinnerDeclared(gameState.isWinnerDeclared());
-        gameStateDTO.setPlayerList(
-                gameState.getPlayerList().stream()
-                        .map(GameMapper::getPlayerDto)
-                        .collect(Collectors.toList())
-        );
+        List<Player> players = gameState.getPlayerList();
+        List<PlayerDTO> playerDTOs = new ArrayList<>(players.size());
+        for (int i = 0; i < players.size(); i++) {
+            playerDTOs.add(getPlayerDto(players.get(i), i));
+        }
+        gameStateDTO.setPlayerList(playerDTOs);
 
         gameDTO.setGameState(gameStateDTO);
         return gameDTO;
@@ -2,7 +2,6 @@ package com.sovan.chutesladders.utils;
 
 import com.sovan.chutesladders.model.*;
 import lombok.extern.slf4j.Slf4j;
-import org.thymeleaf.util.StringUtils;
 
 import java.util.List;
 import java.util.Objects;
@@ -50,6 +49,8 @@ public class GameUtils {
 
     /**
      * Checks if the player list of a game entity is equal to the player list of a game DTO.
+     * Lists of different sizes are never equal. Names are only compared when the request includes them,
+     * since turns played by player ID do not need to resend the names.
      *
      * @param gameStatedb  the game state from the database
      * @param gameStateReq the game state from the request
@@ -58,10 +59,14 @@ public class GameUtils {
     public static boolean isPlayerListEqual(GameState gameStatedb, GameStateDTO gameStateReq) {
         List<Player> playerlistDb = gameStatedb.getPlayerList();
         List<PlayerDTO> playerlistReq = gameStateReq.getPlayerList();
+        if (playerlistReq == null || playerlistDb.size() != playerlistReq.size()) {
+            return false;
+        }
         for (int i = 0; i < playerlistDb.size(); i++) {
             Player p1 = playerlistDb.get(i);
             PlayerDTO p2 = playerlistReq.get(i);
-            if (p1 == null || p2 == null || !StringUtils.equals(p1.getName(), p2.getName()) || p1.getPosition() != p2.getPosition()) {
+            if (p1 == null || p2 == null || p1.getPosition() != p2.getPosition()
+                    || (p2.getName() != null && !Objects.equals(p1.getName(), p2.getName()))) {
                 return false;
             }
         }
@@ -0,0 +1,90 @@
+package com.sovan.chutesladders.utils;
+
+import com.sovan.chutesladders.model.GameDTO;
+import com.sovan.chutesladders.model.GameStateDTO;
+import com.sovan.chutesladders.model.PlayerDTO;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Utility class for checking that a serialized game is a state the game engine can produce.
+ */
+public class GameValidator {
+
+    /**
+     * The longest player name accepted, the length of the player name column. Such a name also fits well within the
+     * 65535 bytes {@link GameBinaryCodec} can write.
+     */
+    public static final int MAX_NAME_LENGTH = 255;
+
+    /**
+     * Validates a game.
+     * The game must have between 1 and maxPlayers players named with at most {@link #MAX_NAME_LENGTH} characters,
+     * every position must be on the board,
+     * the next player must be one of the players, and exactly one player, standing on the last square,
+     * must be a winner if and only if a winner is declared.
+     *
+     * @param game       the game to validate
+     * @param maxPlayers the maximum number of players allowed on the board
+     * @param boardSize  the number of squares on the board
+     * @return the reason the game is invalid, or empty if it is valid
+     */
+    public static Optional<String> validate(GameDTO game, int maxPlayers, int boardSize) {
+        if (game.getGameId() == null) {
+            return Optional.of("Game ID is missing.");
+        }
+        GameStateDTO gameState = game.getGameState();
+        if (gameState == null || gameState.getPlayerList() == null) {
+            return invalid(game, "game state is missing");
+        }
+
+        List<PlayerDTO> players = gameState.getPlayerList();
+        if (players.isEmpty() || players.size() > maxPlayers) {
+            return invalid(game, "number of players must be between 1 and " + maxPlayers);
+        }
+        if (gameState.getNextPlayer() < 0 || gameState.getNextPlayer() >= players.size()) {
+            return invalid(game, "next player " + gameState.getNextPlayer() + " is not one of the players");
+        }
+
+        int lastSquare = boardSize - 1;
+        int winners = 0;
+        for (int i = 0; i < players.size(); i++) {
+            PlayerDTO player = players.get(i);
+            if (player == null || player.getName() == null || player.getName().isBlank()) {
+                return invalid(game, "player " + i + " has no name");
+            }
+            if (player.getName().length() > MAX_NAME_LENGTH) {
+                return invalid(game, "player " + i + " has a name longer than " + MAX_NAME_LENGTH + " characters");
+            }
+            if (player.getPosition() < 0 || player.getPosition() > lastSquare) {
+                return invalid(game, "player " + i + " is off the board at position " + player.getPosition());
+            }
+            if (player.isWinner()) {
+                winners++;
+                if (player.getPosition() != lastSquare) {
+                    return invalid(game, "winner " + i + " is not on the last square");
+                }
+            } else if (player.getPosition() == lastSquare) {
+                return invalid(game, "player " + i + " is on the last square but is not a winner");
+            }
+        }
+
+        if (gameState.isWinnerDeclared() ? winners != 1 : winners != 0) {
+            return invalid(game, "winner declared is " + gameState.isWinnerDeclared() + " but there are " + winners + " winners");
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Builds the reason a game is invalid.
+     *
+     * @param game   the invalid game
+     * @param reason the reason
+     * @return the reason, prefixed with the game ID
+     */
+    private static Optional<String> invalid(GameDTO game, String reason) {
+        return Optional.of("Game " + game.getGameId() + ": " + reason + ".");
+    }
+
+}
@@ -0,0 +1,54 @@
+package com.sovan.chutesladders.utils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Writes objects as newline-delimited JSON, one object per line.
+ * Failures are rethrown unchecked so the writer can be used as a stream consumer.
+ */
+public class NdjsonWriter {
+
+    private final ObjectWriter objectWriter;
+    private final OutputStream outputStream;
+
+    /**
+     * Constructs a new NdjsonWriter writing to the given stream.
+     *
+     * @param objectMapper the mapper used to serialize each object
+     * @param outputStream the stream to write to; it is not closed by this writer
+     */
+    public NdjsonWriter(ObjectMapper objectMapper, OutputStream outputStream) {
+        this.objectWriter = objectMapper.writer();
+        this.outputStream = outputStream;
+    }
+
+    /**
+     * Writes one object followed by a newline.
+     *
+     * @param value the object to write
+     */
+    public void write(Object value) {
+        try {
+            outputStream.write(objectWriter.writeValueAsBytes(value));
+            outputStream.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Flushes the underlying stream.
+     */
+    public void flush() {
+        try {
+            outputStream.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
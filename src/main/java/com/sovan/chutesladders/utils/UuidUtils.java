@@ -0,0 +1,55 @@
+package com.sovan.chutesladders.utils;
+
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Utility class for generating time-ordered UUIDs, laid out as version 7 UUIDs of RFC 9562:
+ * <pre>
+ * 48 bits Unix time in milliseconds | 4 bits version 7 | 12 bits counter | 2 bits variant | 62 random bits
+ * </pre>
+ * IDs generated later compare greater as unsigned 128-bit numbers, which is how databases order UUID columns,
+ * so new rows are appended to the end of a primary key index instead of landing on random pages.
+ * The counter orders the IDs generated in the same millisecond; when it overflows, the time is carried forward.
+ * They are ordinary {@link UUID}s and coexist with the random version 4 IDs of existing games.
+ */
+public class UuidUtils {
+
+    private static final SecureRandom random = new SecureRandom();
+    private static final AtomicLong lastTimeAndCounter = new AtomicLong();
+
+    private static final int COUNTER_BITS = 12;
+    private static final long COUNTER_MASK = (1L << COUNTER_BITS) - 1;
+    private static final long VERSION_7 = 0x7000L;
+    private static final long VARIANT_MASK = 0x3FFFFFFFFFFFFFFFL;
+    private static final long VARIANT_RFC = 0x8000000000000000L;
+
+    /**
+     * Generates a time-ordered UUID, greater than every one generated before by this class loader.
+     *
+     * @return the UUID
+     */
+    public static UUID timeOrderedUuid() {
+        long now = System.currentTimeMillis() << COUNTER_BITS;
+        long timeAndCounter = lastTimeAndCounter.updateAndGet(last -> Math.max(now, last + 1));
+        long mostSignificantBits = (timeAndCounter >>> COUNTER_BITS) << 16 | VERSION_7 | (timeAndCounter & COUNTER_MASK);
+        long leastSignificantBits = random.nextLong() & VARIANT_MASK | VARIANT_RFC;
+        return new UUID(mostSignificantBits, leastSignificantBits);
+    }
+
+    /**
+     * Gets the time a time-ordered UUID was generated at.
+     *
+     * @param uuid a version 7 UUID
+     * @return the generation time, to the millisecond
+     * @throws IllegalArgumentException if the UUID is not a version 7 UUID
+     */
+    public static Instant timestampOf(UUID uuid) {
+        if (uuid.version() != 7) {
+            throw new IllegalArgumentException("UUID " + uuid + " is not time-ordered.");
+        }
+        return Instant.ofEpochMilli(uuid.getMostSignificantBits() >>> 16);
+    }
+}
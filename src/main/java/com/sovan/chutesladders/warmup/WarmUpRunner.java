@@ -0,0 +1,141 @@
+package com.sovan.chutesladders.warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sovan.chutesladders.engine.PlayerNameRegistry;
+import com.sovan.chutesladders.metrics.GameMetrics;
+import com.sovan.chutesladders.model.GameDTO;
+import com.sovan.chutesladders.model.PlayerDTO;
+import com.sovan.chutesladders.service.BoardServiceImpl;
+import com.sovan.chutesladders.service.GameService;
+import com.sovan.chutesladders.service.GameServiceImpl;
+import com.sovan.chutesladders.service.PlayerTokenService;
+import com.sovan.chutesladders.store.InMemoryGameStore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Plays synthetic games through the game service at startup so that the turn path is compiled before real traffic arrives.
+ * Every request and response is also serialized and deserialized with the application's object mapper, as the controller does.
+ * Application runners complete before the application reports itself ready, so readiness is only reported once
+ * the warm-up has finished.
+ * <p>
+ * The games are played by a private game service, over its own {@link InMemoryGameStore} and with its game metrics in a
+ * throwaway registry, so the warm-up never writes to the configured game store and never shows in the
+ * {@code game.*} turn metrics. Only the engine, mapping and serialization are warmed; the configured store is not.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "chutesladders.warmup.enabled", havingValue = "true")
+public class WarmUpRunner implements ApplicationRunner {
+
+    private final ObjectMapper objectMapper;
+    private final PlayerTokenService playerTokenService;
+    private final int maxGames;
+    private final int playerCount;
+    private final long maxDurationNanos;
+    private final Timer duration;
+    private final Counter turns;
+
+    /**
+     * Constructs a new WarmUpRunner with the given dependencies and settings.
+     *
+     * @param objectMapper       the application's object mapper
+     * @param playerTokenService the service issuing and checking the player tokens
+     * @param maxGames           the number of games to play
+     * @param playerCount        the number of players in each game
+     * @param maxDurationMs      the longest time the warm-up may take
+     * @param meterRegistry      the registry the warm-up metrics are published to
+     */
+    public WarmUpRunner(ObjectMapper objectMapper,
+                        PlayerTokenService playerTokenService,
+                        @Value("${chutesladders.warmup.games:200}") int maxGames,
+                        @Value("${chutesladders.warmup.players:4}") int playerCount,
+                        @Value("${chutesladders.warmup.max-duration-ms:30000}") long maxDurationMs,
+                        MeterRegistry meterRegistry) {
+        this.objectMapper = objectMapper;
+        this.playerTokenService = playerTokenService;
+        this.maxGames = maxGames;
+        this.playerCount = playerCount;
+        this.maxDurationNanos = TimeUnit.MILLISECONDS.toNanos(maxDurationMs);
+        this.duration = Timer.builder("game.warmup.duration")
+                .description("Time spent warming up before reporting ready")
+                .register(meterRegistry);
+        this.turns = Counter.builder("game.warmup.turns")
+                .description("Turns played during the warm-up")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Plays the warm-up games until the configured number of games or the configured duration is reached.
+     *
+     * @param args the application arguments
+     */
+    @Override
+    public void run(ApplicationArguments args) {
+        long startNanos = System.nanoTime();
+        long deadline = startNanos + maxDurationNanos;
+        GameService gameService = new GameServiceImpl(new BoardServiceImpl(), new InMemoryGameStore(new PlayerNameRegistry(playerCount)),
+                new GameMetrics(new SimpleMeterRegistry()), null, playerTokenService);
+        int games = 0;
+        try {
+            while (games < maxGames && System.nanoTime() < deadline) {
+                GameDTO game = roundTrip(gameService.createNewGame(roundTripPlayers()));
+                List<PlayerDTO> players = game.getGameState().getPlayerList();
+                while (!game.getGameState().isWinnerDeclared() && System.nanoTime() < deadline) {
+                    PlayerDTO player = players.get(game.getGameState().getNextPlayer());
+                    game = roundTrip(gameService.playGame(roundTrip(game), player.getName(), player.getToken()));
+                    turns.increment();
+                }
+                games++;
+            }
+        } catch (Exception e) {
+            log.warn("Warm-up stopped early after {} games", games, e);
+        }
+
+        long elapsedNanos = System.nanoTime() - startNanos;
+        duration.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        log.info("Warm-up played {} games and {} turns in {} ms", games, (long) turns.count(),
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+    }
+
+    /**
+     * Builds the players of a warm-up game as the controller would read them from a request.
+     *
+     * @return the players
+     * @throws IOException if the players cannot be serialized
+     */
+    private List<PlayerDTO> roundTripPlayers() throws IOException {
+        List<PlayerDTO> players = new ArrayList<>(playerCount);
+        for (int i = 1; i <= playerCount; i++) {
+            PlayerDTO player = new PlayerDTO();
+            player.setName("Warm-up " + i);
+            players.add(player);
+        }
+        byte[] json = objectMapper.writeValueAsBytes(players);
+        return List.of(objectMapper.readValue(json, PlayerDTO[].class));
+    }
+
+    /**
+     * Serializes and deserializes a game, as it would travel between the client and the controller.
+     *
+     * @param game the game
+     * @return the copy read back
+     * @throws IOException if the game cannot be serialized
+     */
+    private GameDTO roundTrip(GameDTO game) throws IOException {
+        return objectMapper.readValue(objectMapper.writeValueAsBytes(game), GameDTO.class);
+    }
+}
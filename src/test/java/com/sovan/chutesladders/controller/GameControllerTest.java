@@ -5,9 +5,17 @@ import com.sovan.chutesladders.exception.GameNotFoundException;
 import com.sovan.chutesladders.exception.InconsistentGameException;
 import com.sovan.chutesladders.exception.NotYourTurnException;
 import com.sovan.chutesladders.exception.PlayerNumbersException;
+import com.sovan.chutesladders.exception.ServerOverloadedException;
+import com.sovan.chutesladders.limiter.ConcurrencyLimiter;
+import com.sovan.chutesladders.metrics.GameMetrics;
 import com.sovan.chutesladders.model.GameDTO;
+import com.sovan.chutesladders.model.GameFilter;
+import com.sovan.chutesladders.model.GamePageDTO;
+import com.sovan.chutesladders.model.GameSummaryDTO;
 import com.sovan.chutesladders.model.GameStateDTO;
 import com.sovan.chutesladders.model.PlayerDTO;
+import com.sovan.chutesladders.service.GameExportService;
+import com.sovan.chutesladders.service.GameImportService;
 import com.sovan.chutesladders.service.GameService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -15,14 +23,20 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.Instant;
 import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
 
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -30,12 +44,26 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @WebMvcTest(GameController.class)
 class GameControllerTest {
 
+    private static final String TOKEN = "q7T0oKqV3cY4mJ9b0fEw2A";
+
     @Autowired
     private MockMvc mockMvc;
 
     @MockitoBean
     private GameService gameService;
 
+    @MockitoBean
+    private ConcurrencyLimiter concurrencyLimiter;
+
+    @MockitoBean
+    private GameExportService gameExportService;
+
+    @MockitoBean
+    private GameImportService gameImportService;
+
+    @MockitoBean
+    private GameMetrics gameMetrics;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -85,31 +113,73 @@ class GameControllerTest {
         GameDTO updatedGame = createTestGameDTO();
         updatedGame.getGameState().setNextPlayer(1);
 
-        when(gameService.playGame(any(GameDTO.class), eq("Alice")))
+        when(gameService.playGame(any(GameDTO.class), eq("Alice"), eq(TOKEN)))
                 .thenReturn(updatedGame);
 
         // Act & Assert
         mockMvc.perform(put("/v1/chutesandladders")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(testGameDTO))
-                .header("X-Player-Name", "Alice"))
+                .header("X-Player-Name", "Alice")
+                .header("X-Player-Token", TOKEN))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$.gameId").exists())
                 .andExpect(jsonPath("$.gameState.nextPlayer").value(1));
     }
 
+    @Test
+    void testUpdateGame_ByPlayerId_ShouldSucceed() throws Exception {
+        // Arrange
+        when(gameService.playGame(any(GameDTO.class), eq(0), eq(TOKEN))).thenReturn(testGameDTO);
+
+        // Act & Assert
+        mockMvc.perform(put("/v1/chutesandladders")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(testGameDTO))
+                .header("X-Player-Id", "0")
+                .header("X-Player-Token", TOKEN))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.gameId").exists());
+        verify(gameService, never()).playGame(any(GameDTO.class), anyString(), anyString());
+    }
+
+    @Test
+    void testUpdateGame_NoPlayerHeader_ShouldReturn400() throws Exception {
+        // Act & Assert
+        mockMvc.perform(put("/v1/chutesandladders")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(testGameDTO)))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(gameService);
+    }
+
+    @Test
+    void testUpdateGame_NoPlayerToken_ShouldPlayWithoutToken() throws Exception {
+        // Arrange
+        when(gameService.playGame(any(GameDTO.class), eq("Alice"), isNull())).thenReturn(testGameDTO);
+
+        // Act & Assert
+        mockMvc.perform(put("/v1/chutesandladders")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(testGameDTO))
+                .header("X-Player-Name", "Alice"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.gameId").exists());
+    }
+
     @Test
     void testUpdateGame_GameNotFound_ShouldReturn400() throws Exception {
         // Arrange
-        when(gameService.playGame(any(GameDTO.class), eq("Alice")))
+        when(gameService.playGame(any(GameDTO.class), eq("Alice"), eq(TOKEN)))
                 .thenThrow(new GameNotFoundException("Game not found"));
 
         // Act & Assert
         mockMvc.perform(put("/v1/chutesandladders")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(testGameDTO))
-                .header("X-Player-Name", "Alice"))
+                .header("X-Player-Name", "Alice")
+                .header("X-Player-Token", TOKEN))
                 .andExpect(status().isBadRequest())
                 .andExpect(content().string("Game not found"));
     }
@@ -117,14 +187,15 @@ class GameControllerTest {
     @Test
     void testUpdateGame_NotYourTurn_ShouldReturn403() throws Exception {
         // Arrange
-        when(gameService.playGame(any(GameDTO.class), eq("Bob")))
+        when(gameService.playGame(any(GameDTO.class), eq("Bob"), eq(TOKEN)))
                 .thenThrow(new NotYourTurnException("It is Alice's turn"));
 
         // Act & Assert
         mockMvc.perform(put("/v1/chutesandladders")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(testGameDTO))
-                .header("X-Player-Name", "Bob"))
+                .header("X-Player-Name", "Bob")
+                .header("X-Player-Token", TOKEN))
                 .andExpect(status().isForbidden())
                 .andExpect(content().string("It is Alice's turn"));
     }
@@ -132,18 +203,73 @@ class GameControllerTest {
     @Test
     void testUpdateGame_InconsistentGameState_ShouldReturn400() throws Exception {
         // Arrange
-        when(gameService.playGame(any(GameDTO.class), eq("Alice")))
+        when(gameService.playGame(any(GameDTO.class), eq("Alice"), eq(TOKEN)))
                 .thenThrow(new InconsistentGameException("Game state inconsistent"));
 
         // Act & Assert
         mockMvc.perform(put("/v1/chutesandladders")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(testGameDTO))
-                .header("X-Player-Name", "Alice"))
+                .header("X-Player-Name", "Alice")
+                .header("X-Player-Token", TOKEN))
                 .andExpect(status().isBadRequest())
                 .andExpect(content().string("Game state inconsistent"));
     }
 
+    @Test
+    void testUpdateGame_ConcurrentUpdate_ShouldReturn409() throws Exception {
+        // Arrange
+        when(gameService.playGame(any(GameDTO.class), eq("Alice"), eq(TOKEN)))
+                .thenThrow(new ObjectOptimisticLockingFailureException("Game", testGameDTO.getGameId()));
+
+        // Act & Assert
+        mockMvc.perform(put("/v1/chutesandladders")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(testGameDTO))
+                .header("X-Player-Name", "Alice")
+                .header("X-Player-Token", TOKEN))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void testUpdateGame_ServerOverloaded_ShouldReturn503WithRetryAfter() throws Exception {
+        // Arrange
+        when(concurrencyLimiter.acquire())
+                .thenThrow(new ServerOverloadedException("The server is busy, please retry later.", 2));
+
+        // Act & Assert
+        mockMvc.perform(put("/v1/chutesandladders")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(testGameDTO))
+                .header("X-Player-Name", "Alice")
+                .header("X-Player-Token", TOKEN))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "2"))
+                .andExpect(content().string("The server is busy, please retry later."));
+    }
+
+    @Test
+    void testListGames_ShouldReturnPageWithCursor() throws Exception {
+        // Arrange
+        GameSummaryDTO summary = new GameSummaryDTO(testGameDTO.getGameId(), Instant.parse("2025-01-01T12:00:00Z"), 0, false);
+        GamePageDTO page = new GamePageDTO();
+        page.setGames(List.of(summary));
+        page.setNextAfterCreatedAt(summary.getCreatedAt());
+        page.setNextAfterGameId(summary.getGameId());
+
+        when(gameService.listGames(eq(new GameFilter(false, null, null)), isNull(), isNull(), eq(1)))
+                .thenReturn(page);
+
+        // Act & Assert
+        mockMvc.perform(get("/v1/chutesandladders")
+                .param("winnerDeclared", "false")
+                .param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.games.length()").value(1))
+                .andExpect(jsonPath("$.games[0].gameId").value(summary.getGameId().toString()))
+                .andExpect(jsonPath("$.nextAfterGameId").value(summary.getGameId().toString()));
+    }
+
     // Helper methods
     private List<PlayerDTO> createValidPlayerDTOs() {
         PlayerDTO alice = new PlayerDTO();
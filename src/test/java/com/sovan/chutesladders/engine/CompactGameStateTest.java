@@ -0,0 +1,98 @@
+package com.sovan.chutesladders.engine;
+
+import com.sovan.chutesladders.model.Game;
+import com.sovan.chutesladders.model.GameDTO;
+import com.sovan.chutesladders.model.GameState;
+import com.sovan.chutesladders.model.Player;
+import com.sovan.chutesladders.utils.GameMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompactGameStateTest {
+
+    private PlayerNameRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new PlayerNameRegistry(1024);
+    }
+
+    @Test
+    void testFromGame_ShouldRoundTripToGameAndDto() {
+        Game game = createGame();
+
+        CompactGameState compact = CompactGameState.fromGame(game, registry);
+        Game restored = compact.toGame(registry);
+        GameDTO dto = compact.toDto(registry);
+
+        assertEquals(game.getGameId(), restored.getGameId());
+        assertEquals(game.getCreatedAt(), restored.getCreatedAt());
+        assertEquals(1, restored.getGameState().getNextPlayer());
+        assertTrue(restored.getGameState().isWinnerDeclared());
+        for (int i = 0; i < 3; i++) {
+            Player expected = game.getGameState().getPlayerList().get(i);
+            Player actual = restored.getGameState().getPlayerList().get(i);
+            assertEquals(expected.getName(), actual.getName());
+            assertEquals(expected.getPosition(), actual.getPosition());
+            assertEquals(expected.isWinner(), actual.isWinner());
+        }
+        assertEquals(GameMapper.getGameDto(game), dto);
+    }
+
+    @Test
+    void testPlayerNameRegistry_ShouldInternNames() {
+        int alice = registry.intern("Alice");
+        int bob = registry.intern("Bob");
+
+        assertNotEquals(alice, bob);
+        assertEquals(alice, registry.intern(new String("Alice")));
+        assertEquals("Bob", registry.name(bob));
+        assertEquals(PlayerNameRegistry.NO_NAME, registry.intern(null));
+        assertNull(registry.name(PlayerNameRegistry.NO_NAME));
+        for (int i = 0; i < 1000; i++) {
+            assertEquals("Player " + i, registry.name(registry.intern("Player " + i)));
+        }
+    }
+
+    @Test
+    void testPlayerNameRegistry_Full_ShouldKeepPlainNames() {
+        PlayerNameRegistry smallRegistry = new PlayerNameRegistry(2);
+        Game game = createGame();
+
+        CompactGameState compact = CompactGameState.fromGame(game, smallRegistry);
+        GameDTO dto = GameMapper.getGameDto(game);
+
+        assertEquals(2, smallRegistry.size());
+        assertEquals(PlayerNameRegistry.NOT_INTERNED, compact.getNameId(2));
+        assertEquals("Carol", compact.getName(2, smallRegistry));
+        assertEquals(dto, compact.toDto(smallRegistry));
+        assertEquals(PlayerNameRegistry.NOT_INTERNED, smallRegistry.intern("Mallory"));
+        assertEquals(2, smallRegistry.size());
+    }
+
+    private Game createGame() {
+        GameState gameState = new GameState();
+        gameState.setPlayerList(Arrays.asList(createPlayer("Alice", 12, false), createPlayer("Bob", 99, true), createPlayer("Carol", 40, false)));
+        gameState.setNextPlayer(1);
+        gameState.setWinnerDeclared(true);
+        Game game = new Game();
+        game.setGameId(UUID.randomUUID());
+        game.setCreatedAt(Instant.parse("2025-01-01T12:00:00.123456Z"));
+        game.setGameState(gameState);
+        return game;
+    }
+
+    private Player createPlayer(String name, int position, boolean winner) {
+        Player player = new Player();
+        player.setName(name);
+        player.setPosition(position);
+        player.setWinner(winner);
+        return player;
+    }
+}
@@ -161,6 +161,13 @@ class CompleteGamePlayTest {
         assertNotNull(winningPlayer, "There should be a winning player marked as winner");
         assertEquals(winner, winningPlayer.getName(), "Winner name should match the player marked as winner");
 
+        // Step 4: Verify that no more turns can be played once the game has a winner
+        mockMvc.perform(put("/v1/chutesandladders")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(currentGame))
+                .header("X-Player-Name", PLAYER_NAMES[currentGame.getGameState().getNextPlayer()]))
+                .andExpect(status().isConflict());
+
         logger.info(" Game completed successfully! {} won the game!", winner);
     }
 
@@ -3,6 +3,7 @@ package com.sovan.chutesladders.integration;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.sovan.chutesladders.ChutesLaddersApplication;
 import com.sovan.chutesladders.model.GameDTO;
+import com.sovan.chutesladders.model.GamePageDTO;
 import com.sovan.chutesladders.model.PlayerDTO;
 import com.sovan.chutesladders.repository.GameRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -22,6 +23,7 @@ import java.util.Arrays;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -151,6 +153,43 @@ class GameIntegrationTest {
         assertEquals(1, gameRepository.count());
     }
 
+    @Test
+    void testListGamesWithKeysetPagination() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(post("/v1/chutesandladders")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(createPlayerDTOs())))
+                    .andExpect(status().isOk());
+        }
+
+        // First page holds two games and a cursor
+        MvcResult firstPage = mockMvc.perform(get("/v1/chutesandladders")
+                .param("winnerDeclared", "false")
+                .param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.games.length()").value(2))
+                .andExpect(jsonPath("$.nextAfterGameId").exists())
+                .andReturn();
+
+        GamePageDTO page = objectMapper.readValue(firstPage.getResponse().getContentAsString(), GamePageDTO.class);
+
+        // Second page holds the remaining game and no cursor
+        mockMvc.perform(get("/v1/chutesandladders")
+                .param("winnerDeclared", "false")
+                .param("limit", "2")
+                .param("afterCreatedAt", page.getNextAfterCreatedAt().toString())
+                .param("afterGameId", page.getNextAfterGameId().toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.games.length()").value(1))
+                .andExpect(jsonPath("$.nextAfterGameId").doesNotExist());
+
+        // No game has a winner yet
+        mockMvc.perform(get("/v1/chutesandladders")
+                .param("winnerDeclared", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.games.length()").value(0));
+    }
+
     private List<PlayerDTO> createPlayerDTOs() {
         PlayerDTO alice = new PlayerDTO();
         alice.setName("Alice");
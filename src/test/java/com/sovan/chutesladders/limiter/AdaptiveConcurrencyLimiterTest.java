@@ -0,0 +1,119 @@
+package com.sovan.chutesladders.limiter;
+
+import com.sovan.chutesladders.exception.ServerOverloadedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void testAcquire_UnderLimit_ShouldAdmit() throws ServerOverloadedException {
+        AdaptiveConcurrencyLimiter limiter = createLimiter(2, 0, 10_000);
+
+        ConcurrencyLimiter.Permit first = limiter.acquire();
+        ConcurrencyLimiter.Permit second = limiter.acquire();
+
+        assertEquals(2, limiter.getInFlight());
+        first.close();
+        second.close();
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void testAcquire_OverLimitWithNoQueue_ShouldShed() throws ServerOverloadedException {
+        AdaptiveConcurrencyLimiter limiter = createLimiter(1, 0, 10_000);
+
+        try (ConcurrencyLimiter.Permit permit = limiter.acquire()) {
+            ServerOverloadedException ex = assertThrows(ServerOverloadedException.class, limiter::acquire);
+            assertEquals(3, ex.getRetryAfterSeconds());
+        }
+        assertEquals(1.0, meterRegistry.get("game.admission.rejected").tag("reason", "queue_full").counter().count());
+    }
+
+    @Test
+    void testAcquire_QueuedRequestTimesOut_ShouldShed() throws ServerOverloadedException {
+        AdaptiveConcurrencyLimiter limiter = createLimiter(1, 1, 10_000);
+
+        try (ConcurrencyLimiter.Permit permit = limiter.acquire()) {
+            assertThrows(ServerOverloadedException.class, limiter::acquire);
+        }
+        assertEquals(0, limiter.getWaiting());
+        assertEquals(1.0, meterRegistry.get("game.admission.rejected").tag("reason", "timeout").counter().count());
+    }
+
+    @Test
+    void testRelease_SlowRequest_ShouldReduceLimit() throws ServerOverloadedException {
+        AdaptiveConcurrencyLimiter limiter = createLimiter(10, 0, 0);
+
+        limiter.acquire().close();
+
+        assertTrue(limiter.getLimit() < 10);
+    }
+
+    @Test
+    void testRelease_BurstOfSlowRequests_ShouldReduceLimitOnce() throws ServerOverloadedException {
+        AdaptiveConcurrencyLimiter limiter = createLimiter(16, 0, 0);
+        List<ConcurrencyLimiter.Permit> permits = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            permits.add(limiter.acquire());
+        }
+
+        permits.forEach(ConcurrencyLimiter.Permit::close);
+
+        assertEquals(8, limiter.getLimit());
+        limiter.acquire().close();
+        assertEquals(4, limiter.getLimit());
+    }
+
+    @Test
+    void testClose_Twice_ShouldReleaseOnce() throws ServerOverloadedException {
+        AdaptiveConcurrencyLimiter limiter = createLimiter(2, 0, 10_000);
+        ConcurrencyLimiter.Permit first = limiter.acquire();
+        ConcurrencyLimiter.Permit second = limiter.acquire();
+
+        first.close();
+        first.close();
+
+        assertEquals(1, limiter.getInFlight());
+        second.close();
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void testRelease_FastSaturatedRequests_ShouldRaiseLimit() throws ServerOverloadedException {
+        AdaptiveConcurrencyLimiter limiter = createLimiter(2, 0, 10_000);
+
+        ConcurrencyLimiter.Permit first = limiter.acquire();
+        ConcurrencyLimiter.Permit second = limiter.acquire();
+        first.close();
+        second.close();
+
+        assertTrue(limiter.getLimit() > 2);
+    }
+
+    @Test
+    void testAcquire_Disabled_ShouldAlwaysAdmit() throws ServerOverloadedException {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(false, 1, 1, 1, 10_000, 0.9, 0, 1, 3, meterRegistry);
+
+        for (int i = 0; i < 5; i++) {
+            assertNotNull(limiter.acquire());
+        }
+    }
+
+    private AdaptiveConcurrencyLimiter createLimiter(int limit, int maxQueueSize, long targetLatencyMs) {
+        return new AdaptiveConcurrencyLimiter(true, limit, 1, 100, targetLatencyMs, 0.5, maxQueueSize, 10, 3, meterRegistry);
+    }
+}
@@ -0,0 +1,90 @@
+package com.sovan.chutesladders.metrics;
+
+import com.sovan.chutesladders.controller.exception.GlobalExceptionHandler;
+import com.sovan.chutesladders.engine.PlayerNameRegistry;
+import com.sovan.chutesladders.exception.NotYourTurnException;
+import com.sovan.chutesladders.model.GameDTO;
+import com.sovan.chutesladders.model.PlayerDTO;
+import com.sovan.chutesladders.service.BoardServiceImpl;
+import com.sovan.chutesladders.service.GameServiceImpl;
+import com.sovan.chutesladders.service.PlayerTokenServiceImpl;
+import com.sovan.chutesladders.store.InMemoryGameStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameMetricsTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private GameMetrics gameMetrics;
+    private GameServiceImpl gameService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        gameMetrics = new GameMetrics(meterRegistry);
+        gameService = new GameServiceImpl(new BoardServiceImpl(), new InMemoryGameStore(new PlayerNameRegistry(16)),
+                gameMetrics, null, new PlayerTokenServiceImpl(true, "test-secret"));
+    }
+
+    @Test
+    void testTurn_ShouldRecordTurnAndEveryPhaseOnce() throws Exception {
+        GameDTO game = gameService.createNewGame(createPlayers());
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            PlayerDTO first = game.getGameState().getPlayerList().get(0);
+            gameService.playGame(game, first.getName(), first.getToken());
+            for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+            }
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(1, meterRegistry.get("game.create").timer().count());
+        assertEquals(1, meterRegistry.get("game.turn").timer().count());
+        for (TurnPhase phase : TurnPhase.values()) {
+            assertEquals(1, meterRegistry.get("game.turn.phase").tag("phase", phase.getTag()).timer().count(), phase.getTag());
+        }
+        assertEquals(TurnPhase.values().length, meterRegistry.get("game.turn.phase").timers().size());
+    }
+
+    @Test
+    void testTurn_OutOfTurn_ShouldCountExceptionAndStopAtValidation() throws Exception {
+        GameDTO game = gameService.createNewGame(createPlayers());
+        GlobalExceptionHandler exceptionHandler = new GlobalExceptionHandler(gameMetrics);
+        PlayerDTO second = game.getGameState().getPlayerList().get(1);
+
+        NotYourTurnException ex = assertThrows(NotYourTurnException.class,
+                () -> gameService.playGame(game, second.getName(), second.getToken()));
+        assertEquals(HttpStatus.FORBIDDEN, exceptionHandler.handleNotYourTurnException(ex).getStatusCode());
+
+        assertEquals(1, meterRegistry.get("game.exceptions").tag("exception", "NotYourTurnException").counter().count());
+        assertEquals(1, meterRegistry.get("game.exceptions").counters().size());
+        assertEquals(0, meterRegistry.get("game.turn").timer().count());
+        assertEquals(1, meterRegistry.get("game.turn.phase").tag("phase", "load").timer().count());
+        assertEquals(1, meterRegistry.get("game.turn.phase").tag("phase", "compare").timer().count());
+        assertEquals(0, meterRegistry.get("game.turn.phase").tag("phase", "validate").timer().count());
+        assertEquals(0, meterRegistry.get("game.turn.phase").tag("phase", "save").timer().count());
+        assertEquals(0, meterRegistry.get("game.turn.phase").tag("phase", "commit").timer().count());
+    }
+
+    private List<PlayerDTO> createPlayers() {
+        List<PlayerDTO> players = new ArrayList<>();
+        for (int i = 1; i <= 2; i++) {
+            PlayerDTO player = new PlayerDTO();
+            player.setName("Player " + i);
+            players.add(player);
+        }
+        return players;
+    }
+}
@@ -0,0 +1,68 @@
+package com.sovan.chutesladders.metrics;
+
+import com.sovan.chutesladders.ChutesLaddersApplication;
+import com.sovan.chutesladders.model.GameDTO;
+import com.sovan.chutesladders.model.PlayerDTO;
+import com.sovan.chutesladders.service.GameService;
+import com.sovan.chutesladders.store.GameStore;
+import com.sovan.chutesladders.store.JournalGameStore;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.sovan.chutesladders.metrics.QueryBudget.measure;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+/**
+ * Database budget of the game service on the journal store, whose turns must not touch the database at all.
+ */
+@SpringBootTest(classes = ChutesLaddersApplication.class,
+        properties = {"spring.datasource.url=jdbc:h2:mem:journalbudget", "chutesladders.store.type=journal"})
+@ActiveProfiles("test")
+class JournalQueryBudgetTest {
+
+    @TempDir
+    static Path journalDirectory;
+
+    @Autowired
+    private GameService gameService;
+
+    @Autowired
+    private GameStore gameStore;
+
+    @DynamicPropertySource
+    static void journalProperties(DynamicPropertyRegistry registry) {
+        registry.add("chutesladders.store.journal.path", () -> journalDirectory.resolve("games.journal").toString());
+        registry.add("chutesladders.store.journal.moves-directory", () -> journalDirectory.resolve("moves").toString());
+    }
+
+    @Test
+    void testPlayGame_ShouldOpenNoConnection() throws Exception {
+        assertInstanceOf(JournalGameStore.class, gameStore);
+        GameDTO game = gameService.createNewGame(createPlayerDTOs(4));
+
+        QueryCounts counts = measure(() -> gameService.playGame(game, "Player 1"));
+
+        assertEquals(0, counts.getConnections(), "a journal store turn opened " + counts);
+        assertEquals(0, counts.getStatements());
+    }
+
+    private List<PlayerDTO> createPlayerDTOs(int count) {
+        List<PlayerDTO> players = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            PlayerDTO player = new PlayerDTO();
+            player.setName("Player " + i);
+            players.add(player);
+        }
+        return players;
+    }
+}
@@ -0,0 +1,57 @@
+package com.sovan.chutesladders.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test utility measuring the SQL statements issued by a unit of work and asserting them against a budget.
+ */
+public final class QueryBudget {
+
+    private QueryBudget() {
+    }
+
+    /**
+     * A unit of work that may throw a checked exception.
+     */
+    @FunctionalInterface
+    public interface Work {
+        void run() throws Exception;
+    }
+
+    /**
+     * Runs the work and returns the statements it issued on the current thread.
+     *
+     * @param work the work to measure
+     * @return the counts
+     * @throws Exception if the work throws
+     */
+    public static QueryCounts measure(Work work) throws Exception {
+        QueryCounts.start();
+        try {
+            work.run();
+        } catch (Exception e) {
+            QueryCounts.stop();
+            throw e;
+        }
+        return QueryCounts.stop();
+    }
+
+    /**
+     * Asserts that the counts do not exceed the budget.
+     *
+     * @param what       a description of the measured work
+     * @param counts     the counts
+     * @param maxSelects the maximum number of select statements
+     * @param maxInserts the maximum number of insert statements
+     * @param maxUpdates the maximum number of update statements
+     * @param maxDeletes the maximum number of delete statements
+     */
+    public static void assertWithinBudget(String what, QueryCounts counts, int maxSelects, int maxInserts, int maxUpdates, int maxDeletes) {
+        String message = what + " issued " + counts;
+        assertTrue(counts.getSelects() <= maxSelects, message + ", select budget is " + maxSelects);
+        assertTrue(counts.getInserts() <= maxInserts, message + ", insert budget is " + maxInserts);
+        assertTrue(counts.getUpdates() <= maxUpdates, message + ", update budget is " + maxUpdates);
+        assertTrue(counts.getDeletes() <= maxDeletes, message + ", delete budget is " + maxDeletes);
+        assertTrue(counts.getOtherStatements() == 0, message + ", no other statements are expected");
+    }
+}
@@ -0,0 +1,92 @@
+package com.sovan.chutesladders.metrics;
+
+import com.sovan.chutesladders.ChutesLaddersApplication;
+import com.sovan.chutesladders.model.GameDTO;
+import com.sovan.chutesladders.model.PlayerDTO;
+import com.sovan.chutesladders.service.GameService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.sovan.chutesladders.metrics.QueryBudget.assertWithinBudget;
+import static com.sovan.chutesladders.metrics.QueryBudget.measure;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * SQL statement budgets of the game service on the default JPA store. Each service call runs in its own transaction,
+ * so the flush at commit is included in the counts. Statements are counted at the data source, one per row of a batch.
+ */
+@SpringBootTest(classes = ChutesLaddersApplication.class)
+@ActiveProfiles("test")
+class QueryBudgetTest {
+
+    @Autowired
+    private GameService gameService;
+
+    @Autowired
+    private SecondLevelCacheMetrics secondLevelCacheMetrics;
+
+    @Test
+    void testCreateNewGame_ShouldStayWithinBudget() throws Exception {
+        List<PlayerDTO> players = createPlayerDTOs(4);
+
+        QueryCounts counts = measure(() -> gameService.createNewGame(players));
+
+        // game state, players and game rows, then the players' foreign keys
+        assertWithinBudget("createNewGame", counts, 0, players.size() + 2, players.size(), 0);
+    }
+
+    @Test
+    void testPlayGame_ShouldStayWithinBudget() throws Exception {
+        GameDTO game = gameService.createNewGame(createPlayerDTOs(4));
+
+        QueryCounts counts = measure(() -> gameService.playGame(game, "Player 1"));
+
+        // at most one select, for what the second-level cache misses, then the moved player, the game state and the game
+        assertWithinBudget("playGame", counts, 1, 0, 3, 0);
+        assertEquals(1, counts.getConnections(), "the load and the save of a turn should share one transaction");
+        assertTrue(counts.getFlushes() <= 1, "playGame should flush only at commit, flushed " + counts.getFlushes() + " times");
+    }
+
+    @Test
+    void testPlayGame_RepeatedReads_ShouldBeServedFromSecondLevelCache() throws Exception {
+        GameDTO game = gameService.createNewGame(createPlayerDTOs(2));
+        GameDTO afterFirstTurn = gameService.playGame(game, "Player 1");
+
+        QueryCounts counts = measure(() -> gameService.playGame(afterFirstTurn, "Player 2"));
+
+        assertWithinBudget("playGame from the second-level cache", counts, 0, 0, 3, 0);
+        assertTrue(secondLevelCacheMetrics.getHitRatio() > 0, "the second-level cache should have served hits");
+    }
+
+    @Test
+    void testGetGames_ShouldStayWithinBudget() throws Exception {
+        List<UUID> gameIds = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            gameIds.add(gameService.createNewGame(createPlayerDTOs(3)).getGameId());
+        }
+        AtomicReference<List<GameDTO>> games = new AtomicReference<>();
+
+        QueryCounts counts = measure(() -> games.set(gameService.getGames(gameIds)));
+
+        assertEquals(5, games.get().size());
+        assertWithinBudget("getGames", counts, 1, 0, 0, 0);
+    }
+
+    private List<PlayerDTO> createPlayerDTOs(int count) {
+        List<PlayerDTO> players = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            PlayerDTO player = new PlayerDTO();
+            player.setName("Player " + i);
+            players.add(player);
+        }
+        return players;
+    }
+}
@@ -0,0 +1,77 @@
+package com.sovan.chutesladders.metrics;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.List;
+
+import static com.sovan.chutesladders.metrics.QueryBudget.measure;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class QueryCountingDataSourceTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private QueryCountingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:querycounting;DB_CLOSE_DELAY=-1");
+        dataSource = new QueryCountingDataSource(h2);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS item (id INT PRIMARY KEY, name VARCHAR(20))");
+        jdbcTemplate.execute("DELETE FROM item");
+    }
+
+    @Test
+    void testJdbcTemplate_ShouldCountConnectionsAndStatements() throws Exception {
+        QueryCounts counts = measure(() -> {
+            jdbcTemplate.update("INSERT INTO item (id, name) VALUES (?, ?)", 1, "one");
+            jdbcTemplate.queryForObject("SELECT COUNT(*) FROM item", Integer.class);
+            jdbcTemplate.execute("DELETE FROM item WHERE id = 2");
+        });
+
+        assertEquals(3, counts.getConnections());
+        assertEquals(1, counts.getInserts());
+        assertEquals(1, counts.getSelects());
+        assertEquals(1, counts.getDeletes());
+        assertEquals(0, counts.getOtherStatements());
+    }
+
+    @Test
+    void testBatch_ShouldCountEveryRow() throws Exception {
+        QueryCounts counts = measure(() -> jdbcTemplate.batchUpdate("INSERT INTO item (id, name) VALUES (?, ?)",
+                List.of(new Object[]{1, "one"}, new Object[]{2, "two"}, new Object[]{3, "three"})));
+
+        assertEquals(1, counts.getConnections());
+        assertEquals(3, counts.getInserts());
+    }
+
+    @Test
+    void testPreparedStatement_ShouldCountEachExecution() throws Exception {
+        QueryCounts counts = measure(() -> {
+            try (Connection connection = dataSource.getConnection();
+                 PreparedStatement statement = connection.prepareStatement("UPDATE item SET name = ? WHERE id = ?")) {
+                for (int i = 0; i < 2; i++) {
+                    statement.setString(1, "name");
+                    statement.setInt(2, i);
+                    statement.executeUpdate();
+                }
+            }
+        });
+
+        assertEquals(1, counts.getConnections());
+        assertEquals(2, counts.getUpdates());
+    }
+
+    @Test
+    void testNotCounting_ShouldNotFail() {
+        jdbcTemplate.update("INSERT INTO item (id, name) VALUES (?, ?)", 1, "one");
+
+        assertEquals(0, QueryCounts.stop().getStatements());
+    }
+}
@@ -10,6 +10,7 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 
 import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -87,6 +88,22 @@ class GameRepositoryTest {
         assertNotNull(foundGame.get());
     }
 
+    @Test
+    void testFindAllByIdWithPlayersOptimized() {
+        Game otherGame = createTestGame();
+        otherGame.setGameId(UUID.randomUUID());
+        gameRepository.save(testGame);
+        gameRepository.save(otherGame);
+        entityManager.flush();
+        entityManager.clear();
+
+        List<Game> games = gameRepository.findAllByIdWithPlayersOptimized(
+                List.of(gameId, otherGame.getGameId(), UUID.randomUUID()));
+
+        assertEquals(2, games.size());
+        games.forEach(game -> assertEquals(2, game.getGameState().getPlayerList().size()));
+    }
+
     private Game createTestGame() {
         Game game = new Game();
         game.setGameId(gameId);
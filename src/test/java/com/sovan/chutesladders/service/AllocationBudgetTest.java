@@ -0,0 +1,169 @@
+package com.sovan.chutesladders.service;
+
+import com.sovan.chutesladders.model.Game;
+import com.sovan.chutesladders.model.GameDTO;
+import com.sovan.chutesladders.model.GameState;
+import com.sovan.chutesladders.model.Player;
+import com.sovan.chutesladders.model.PlayerDTO;
+import com.sovan.chutesladders.utils.GameMapper;
+import com.sovan.chutesladders.utils.GameUtils;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Allocation budgets of the turn path after the database boundary: the game comparison, the turn validation,
+ * the move engine and the DTO mapping. Bytes allocated per operation are measured with the thread allocation
+ * counter after a warm-up, and compared with the budgets in {@code allocation-budgets.properties}.
+ */
+class AllocationBudgetTest {
+
+    private static final int WARM_UP_ITERATIONS = 20_000;
+    private static final int MEASURED_ITERATIONS = 20_000;
+    private static final int PLAYER_COUNT = 4;
+
+    private static com.sun.management.ThreadMXBean threadMXBean;
+    private static Properties budgets;
+
+    private GameServiceImpl gameService;
+    private Game game;
+    private GameDTO gameDTO;
+    private List<PlayerDTO> playerDTOs;
+
+    @BeforeAll
+    static void setUpClass() throws IOException {
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean,
+                "Thread allocation counters are not available on this JVM");
+        threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threadMXBean.isThreadAllocatedMemorySupported(), "Thread allocation counters are not supported");
+        threadMXBean.setThreadAllocatedMemoryEnabled(true);
+
+        budgets = new Properties();
+        try (InputStream in = AllocationBudgetTest.class.getResourceAsStream("/allocation-budgets.properties")) {
+            budgets.load(in);
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        gameService = new GameServiceImpl(new BoardServiceImpl(), null, null, null, null);
+        List<Player> players = new ArrayList<>();
+        for (int i = 0; i < PLAYER_COUNT; i++) {
+            Player player = new Player();
+            player.setName("Player " + (i + 1));
+            players.add(player);
+        }
+        GameState gameState = new GameState();
+        gameState.setPlayerList(players);
+        game = new Game();
+        game.setGameId(UUID.randomUUID());
+        game.setGameState(gameState);
+        gameDTO = GameMapper.getGameDto(game);
+        playerDTOs = gameDTO.getGameState().getPlayerList();
+    }
+
+    @Test
+    void testIsGameEqual_ShouldStayWithinBudget() {
+        assertWithinBudget("isGameEqual", () -> {
+            if (!GameUtils.isGameEqual(game, gameDTO)) {
+                throw new IllegalStateException("The game should be equal to its own DTO");
+            }
+        });
+    }
+
+    @Test
+    void testValidatePlayerTurn_ShouldStayWithinBudget() {
+        assertWithinBudget("validatePlayerTurn", () -> {
+            try {
+                gameService.validatePlayerTurn(game, "Player 1");
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    @Test
+    void testProcessPlayerMove_ShouldStayWithinBudget() {
+        assertWithinBudget("processPlayerMove", () -> {
+            restartIfFinished();
+            gameService.processPlayerMove(game);
+        });
+    }
+
+    @Test
+    void testUpdateNextPlayer_ShouldStayWithinBudget() {
+        assertWithinBudget("updateNextPlayer", () -> gameService.updateNextPlayer(game));
+    }
+
+    @Test
+    void testGetGameDto_ShouldStayWithinBudget() {
+        assertWithinBudget("getGameDto", () -> GameMapper.getGameDto(game));
+    }
+
+    @Test
+    void testGetPlayers_ShouldStayWithinBudget() {
+        assertWithinBudget("getPlayers", () -> GameMapper.getPlayers(playerDTOs));
+    }
+
+    @Test
+    void testTurnPath_ShouldStayWithinBudget() {
+        assertWithinBudget("turnPath", () -> {
+            restartIfFinished();
+            GameDTO current = GameMapper.getGameDto(game);
+            if (!GameUtils.isGameEqual(game, current)) {
+                throw new IllegalStateException("The game should be equal to its own DTO");
+            }
+            gameService.processPlayerMove(game);
+            gameService.updateNextPlayer(game);
+            GameMapper.getGameDto(game);
+        });
+    }
+
+    /**
+     * Measures the bytes allocated per run of the operation and asserts they are within its budget.
+     * The DTO built at the start of the turn path stands in for the request body and is part of its budget.
+     *
+     * @param name      the name of the operation in the budget file
+     * @param operation the operation
+     */
+    private void assertWithinBudget(String name, Runnable operation) {
+        long budget = Long.parseLong(budgets.getProperty(name));
+        for (int i = 0; i < WARM_UP_ITERATIONS; i++) {
+            operation.run();
+        }
+
+        long threadId = Thread.currentThread().getId();
+        long before = threadMXBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            operation.run();
+        }
+        long allocated = threadMXBean.getThreadAllocatedBytes(threadId) - before;
+
+        long bytesPerOperation = allocated / MEASURED_ITERATIONS;
+        assertTrue(bytesPerOperation <= budget,
+                name + " allocated " + bytesPerOperation + " bytes per operation, budget is " + budget);
+    }
+
+    private void restartIfFinished() {
+        GameState gameState = game.getGameState();
+        if (gameState.isWinnerDeclared()) {
+            for (Player player : gameState.getPlayerList()) {
+                player.setPosition(0);
+                player.setWinner(false);
+            }
+            gameState.setNextPlayer(0);
+            gameState.setWinnerDeclared(false);
+        }
+    }
+}
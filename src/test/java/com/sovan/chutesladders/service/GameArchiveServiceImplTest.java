@@ -0,0 +1,152 @@
+package com.sovan.chutesladders.service;
+
+import com.sovan.chutesladders.ChutesLaddersApplication;
+import com.sovan.chutesladders.model.Game;
+import com.sovan.chutesladders.model.GameDTO;
+import com.sovan.chutesladders.model.GameState;
+import com.sovan.chutesladders.model.Player;
+import com.sovan.chutesladders.repository.GameArchiveRepository;
+import com.sovan.chutesladders.repository.GameRepository;
+import com.sovan.chutesladders.store.GameStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(classes = ChutesLaddersApplication.class, properties = {
+        "spring.datasource.url=jdbc:h2:mem:archive",
+        "chutesladders.archive.enabled=false",
+        "chutesladders.archive.batch-size=3",
+        "chutesladders.archive.min-age-ms=0"})
+@ActiveProfiles("test")
+class GameArchiveServiceImplTest {
+
+    @Autowired
+    private GameArchiveService gameArchiveService;
+
+    @Autowired
+    private GameService gameService;
+
+    @Autowired
+    private GameStore gameStore;
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private GameArchiveRepository archiveRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        gameRepository.deleteAll();
+        archiveRepository.deleteAll();
+    }
+
+    @Test
+    void testArchiveFinishedGames_ShouldMoveOnlyFinishedGames() throws Exception {
+        List<UUID> finished = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            finished.add(gameStore.save(createGame(true, i)).getGameId());
+        }
+        UUID playing = gameStore.save(createGame(false, 0)).getGameId();
+        double archivedBefore = meterRegistry.get("game.archive.games").counter().count();
+
+        assertEquals(7, gameArchiveService.archiveFinishedGames());
+
+        assertEquals(7, meterRegistry.get("game.archive.games").counter().count() - archivedBefore);
+        assertEquals(3, archiveRepository.count());
+        assertTrue(gameStore.findAllById(finished).isEmpty());
+        assertTrue(gameStore.findById(playing).isPresent());
+        assertEquals(0, gameArchiveService.archiveFinishedGames());
+
+        List<GameDTO> games = gameService.getGames(List.of(finished.get(4), playing, finished.get(0)));
+        assertEquals(List.of(finished.get(4), playing, finished.get(0)), games.stream().map(GameDTO::getGameId).toList());
+        GameDTO archived = games.get(0);
+        assertTrue(archived.getGameState().isWinnerDeclared());
+        assertEquals("Alice", archived.getGameState().getPlayerList().get(0).getName());
+        assertEquals(4, archived.getGameState().getPlayerList().get(0).getPosition());
+        assertEquals(1, archived.getGameState().getPlayerList().get(1).getPlayerId());
+        assertTrue(archived.getGameState().getPlayerList().get(1).isWinner());
+    }
+
+    @Test
+    void testArchiveFinishedGames_GameAlreadyArchived_ShouldOnlyDeleteIt() {
+        Game game = gameStore.save(createGame(true, 1));
+        gameArchiveService.archiveFinishedGames();
+        gameStore.save(createGame(game.getGameId(), true, 1));
+
+        assertEquals(0, gameArchiveService.archiveFinishedGames());
+
+        assertTrue(gameStore.findById(game.getGameId()).isEmpty());
+        assertEquals(1, gameArchiveService.findArchivedGames(List.of(game.getGameId())).size());
+    }
+
+    /**
+     * Archiving with a minimum age on a store that is not the database, whose games must carry the time of their last
+     * change for the age to be checked.
+     */
+    @Nested
+    @TestPropertySource(properties = {
+            "spring.datasource.url=jdbc:h2:mem:archiveminage",
+            "chutesladders.store.type=memory",
+            "chutesladders.archive.min-age-ms=3600000"})
+    class MinimumAge {
+
+        @Autowired
+        private GameArchiveService minAgeArchiveService;
+
+        @Autowired
+        private GameStore memoryGameStore;
+
+        @Test
+        void testArchiveFinishedGames_OldGameFinishedRecently_ShouldKeepIt() {
+            Game game = createGame(true, 4);
+            game.setCreatedAt(Instant.now().minus(Duration.ofHours(2)));
+            UUID gameId = memoryGameStore.save(game).getGameId();
+
+            assertEquals(0, minAgeArchiveService.archiveFinishedGames());
+
+            assertTrue(memoryGameStore.findById(gameId).isPresent());
+            assertTrue(minAgeArchiveService.findArchivedGames(List.of(gameId)).isEmpty());
+        }
+    }
+
+    private Game createGame(boolean finished, int position) {
+        return createGame(UUID.randomUUID(), finished, position);
+    }
+
+    private Game createGame(UUID gameId, boolean finished, int position) {
+        List<Player> players = new ArrayList<>();
+        for (String name : List.of("Alice", "Bob")) {
+            Player player = new Player();
+            player.setName(name);
+            player.setPosition(position);
+            players.add(player);
+        }
+        players.get(1).setWinner(finished);
+        GameState gameState = new GameState();
+        gameState.setPlayerList(players);
+        gameState.setWinnerDeclared(finished);
+
+        Game game = new Game();
+        game.setGameId(gameId);
+        game.setCreatedAt(Instant.now());
+        game.setGameState(gameState);
+        return game;
+    }
+}
@@ -0,0 +1,91 @@
+package com.sovan.chutesladders.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sovan.chutesladders.model.*;
+import com.sovan.chutesladders.store.GameStore;
+import com.sovan.chutesladders.utils.GameBinaryCodec;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GameExportServiceImplTest {
+
+    @Mock
+    private GameStore gameStore;
+
+    private GameExportServiceImpl gameExportService;
+    private Game firstGame;
+    private Game secondGame;
+
+    @BeforeEach
+    void setUp() {
+        gameExportService = new GameExportServiceImpl(gameStore, new ObjectMapper().findAndRegisterModules());
+        firstGame = createGame();
+        secondGame = createGame();
+        when(gameStore.streamGames(any(GameFilter.class))).thenReturn(Stream.of(firstGame, secondGame));
+    }
+
+    @Test
+    void testExportGames_Ndjson_ShouldWriteOneLinePerGame() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long count = gameExportService.exportGames(new GameFilter(), GameExportFormat.NDJSON, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, count);
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].contains(firstGame.getGameId().toString()));
+        assertTrue(lines[1].contains(secondGame.getGameId().toString()));
+    }
+
+    @Test
+    void testExportGames_Binary_ShouldBeReadableByCodec() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long count = gameExportService.exportGames(new GameFilter(), GameExportFormat.BINARY, out);
+
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(out.toByteArray()));
+        GameBinaryCodec.readHeader(in);
+        assertEquals(2, count);
+        assertEquals(firstGame.getGameId(), GameBinaryCodec.read(in).getGameId());
+        assertEquals(secondGame.getGameId(), GameBinaryCodec.read(in).getGameId());
+        assertNull(GameBinaryCodec.read(in));
+    }
+
+    private Game createGame() {
+        Game game = new Game();
+        game.setGameId(UUID.randomUUID());
+
+        GameState gameState = new GameState();
+        gameState.setNextPlayer(0);
+        gameState.setWinnerDeclared(false);
+
+        Player alice = new Player();
+        alice.setName("Alice");
+        alice.setPosition(12);
+
+        Player bob = new Player();
+        bob.setName("Bob");
+        bob.setPosition(30);
+
+        gameState.setPlayerList(Arrays.asList(alice, bob));
+        game.setGameState(gameState);
+        return game;
+    }
+}
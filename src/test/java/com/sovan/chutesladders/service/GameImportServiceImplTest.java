@@ -0,0 +1,188 @@
+package com.sovan.chutesladders.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sovan.chutesladders.model.*;
+import com.sovan.chutesladders.store.GameStore;
+import com.sovan.chutesladders.utils.GameBinaryCodec;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class GameImportServiceImplTest {
+
+    @Mock
+    private BoardService boardService;
+
+    @Mock
+    private GameStore gameStore;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ObjectMapper objectMapper;
+    private PlayerTokenService playerTokenService;
+    private GameImportServiceImpl gameImportService;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper().findAndRegisterModules();
+        playerTokenService = new PlayerTokenServiceImpl(true, "test-secret");
+        gameImportService = new GameImportServiceImpl(boardService, gameStore,
+                new TransactionTemplate(transactionManager), objectMapper, playerTokenService);
+
+        Board board = new Board();
+        board.setBoardSquarelist(Collections.nCopies(100, new BoardSquare()));
+        when(boardService.getBoard()).thenReturn(board);
+        when(boardService.getMaxPlayers()).thenReturn(10);
+        when(gameStore.insertAll(anyCollection())).thenReturn(List.of());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testImportGames_Ndjson_ShouldStoreValidGamesAndRejectOthers() throws IOException {
+        GameDTO valid = createGameDTO(12);
+        GameDTO offBoard = createGameDTO(150);
+        String input = objectMapper.writeValueAsString(valid) + "\n"
+                + "not json\n"
+                + "\n"
+                + objectMapper.writeValueAsString(offBoard) + "\n"
+                + objectMapper.writeValueAsString(valid) + "\n";
+
+        GameImportResultDTO result = gameImportService.importGames(
+                new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), GameExportFormat.NDJSON);
+
+        assertEquals(4, result.getRead());
+        assertEquals(1, result.getImported());
+        assertEquals(3, result.getRejected());
+        assertFalse(result.isAborted());
+        assertEquals(3, result.getErrors().size());
+
+        ArgumentCaptor<List<Game>> saved = ArgumentCaptor.forClass(List.class);
+        verify(gameStore).insertAll(saved.capture());
+        assertEquals(1, saved.getValue().size());
+        assertEquals(valid.getGameId(), saved.getValue().get(0).getGameId());
+        assertNotNull(saved.getValue().get(0).getCreatedAt());
+    }
+
+    @Test
+    void testImportGames_Binary_ShouldSkipExistingGames() throws IOException {
+        GameDTO existing = createGameDTO(5);
+        GameDTO fresh = createGameDTO(7);
+        when(gameStore.insertAll(anyCollection())).thenReturn(List.of(existing.getGameId()));
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        GameBinaryCodec.writeHeader(out);
+        GameBinaryCodec.write(out, existing);
+        GameBinaryCodec.write(out, fresh);
+        out.flush();
+
+        GameImportResultDTO result = gameImportService.importGames(
+                new ByteArrayInputStream(bytes.toByteArray()), GameExportFormat.BINARY);
+
+        assertEquals(2, result.getRead());
+        assertEquals(1, result.getImported());
+        assertEquals(1, result.getRejected());
+    }
+
+    @Test
+    void testImportGames_IssueTokens_ShouldReturnTokensOfImportedGamesOnly() throws IOException {
+        GameDTO existing = createGameDTO(5);
+        GameDTO fresh = createGameDTO(7);
+        when(gameStore.insertAll(anyCollection())).thenReturn(List.of(existing.getGameId()));
+        String input = objectMapper.writeValueAsString(existing) + "\n" + objectMapper.writeValueAsString(fresh) + "\n";
+
+        GameImportResultDTO result = gameImportService.importGames(
+                new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), GameExportFormat.NDJSON, true);
+
+        assertEquals(1, result.getPlayerTokens().size());
+        List<String> tokens = result.getPlayerTokens().get(fresh.getGameId());
+        assertEquals(2, tokens.size());
+        assertTrue(playerTokenService.verify(fresh.getGameId(), 0, tokens.get(0)));
+        assertTrue(playerTokenService.verify(fresh.getGameId(), 1, tokens.get(1)));
+    }
+
+    @Test
+    void testImportGames_IssueTokensWhenDisabled_ShouldImportWithoutTokens() throws IOException {
+        gameImportService = new GameImportServiceImpl(boardService, gameStore,
+                new TransactionTemplate(transactionManager), objectMapper, new PlayerTokenServiceImpl(false, ""));
+        String input = objectMapper.writeValueAsString(createGameDTO(5)) + "\n";
+
+        GameImportResultDTO result = gameImportService.importGames(
+                new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), GameExportFormat.NDJSON, true);
+
+        assertEquals(1, result.getImported());
+        assertTrue(result.getPlayerTokens().isEmpty());
+        assertEquals(List.of("Player tokens are not enabled, no tokens were issued."), result.getErrors());
+    }
+
+    @Test
+    void testImportGames_BinaryWithBadHeader_ShouldAbort() throws IOException {
+        GameImportResultDTO result = gameImportService.importGames(
+                new ByteArrayInputStream("{}\n".getBytes(StandardCharsets.UTF_8)), GameExportFormat.BINARY);
+
+        assertTrue(result.isAborted());
+        assertEquals(0, result.getImported());
+        verify(gameStore, never()).insertAll(anyCollection());
+    }
+
+    @Test
+    void testImportGames_ManyGames_ShouldUseSeveralBatches() throws IOException {
+        StringBuilder input = new StringBuilder();
+        for (int i = 0; i < 1200; i++) {
+            input.append(objectMapper.writeValueAsString(createGameDTO(i % 99))).append('\n');
+        }
+
+        GameImportResultDTO result = gameImportService.importGames(
+                new ByteArrayInputStream(input.toString().getBytes(StandardCharsets.UTF_8)), GameExportFormat.NDJSON);
+
+        assertEquals(1200, result.getImported());
+        assertTrue(result.getRowsPerSecond() > 0);
+        verify(gameStore, times(3)).insertAll(anyCollection());
+    }
+
+    private GameDTO createGameDTO(int position) {
+        GameDTO gameDTO = new GameDTO();
+        gameDTO.setGameId(UUID.randomUUID());
+
+        GameStateDTO gameStateDTO = new GameStateDTO();
+        gameStateDTO.setNextPlayer(0);
+        gameStateDTO.setWinnerDeclared(false);
+
+        PlayerDTO alice = new PlayerDTO();
+        alice.setName("Alice");
+        alice.setPosition(position);
+
+        PlayerDTO bob = new PlayerDTO();
+        bob.setName("Bob");
+        bob.setPosition(0);
+
+        gameStateDTO.setPlayerList(new ArrayList<>(Arrays.asList(alice, bob)));
+        gameDTO.setGameState(gameStateDTO);
+        return gameDTO;
+    }
+}
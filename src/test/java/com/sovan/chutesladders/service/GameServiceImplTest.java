@@ -1,22 +1,35 @@
 package com.sovan.chutesladders.service;
 
+import com.sovan.chutesladders.exception.GameBatchSizeException;
+import com.sovan.chutesladders.exception.GameFinishedException;
 import com.sovan.chutesladders.exception.GameNotFoundException;
 import com.sovan.chutesladders.exception.InconsistentGameException;
 import com.sovan.chutesladders.exception.NotYourTurnException;
 import com.sovan.chutesladders.exception.PlayerNumbersException;
+import com.sovan.chutesladders.jfr.TurnEvent;
+import com.sovan.chutesladders.jfr.TurnRejectedEvent;
+import com.sovan.chutesladders.metrics.GameMetrics;
 import com.sovan.chutesladders.model.*;
-import com.sovan.chutesladders.repository.GameRepository;
+import com.sovan.chutesladders.store.GameStore;
 import com.sovan.chutesladders.utils.DiceUtils;
 import com.sovan.chutesladders.utils.GameMapper;
 import com.sovan.chutesladders.utils.GameUtils;
+import com.sovan.chutesladders.utils.GameValidator;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -24,6 +37,7 @@ import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.*;
 
@@ -34,7 +48,16 @@ class GameServiceImplTest {
     private BoardService boardService;
 
     @Mock
-    private GameRepository gameRepository;
+    private GameStore gameStore;
+
+    @Mock
+    private GameMetrics gameMetrics;
+
+    @Mock
+    private GameArchiveService gameArchiveService;
+
+    @Spy
+    private PlayerTokenService playerTokenService = new PlayerTokenServiceImpl(true, "test-secret");
 
     @InjectMocks
     private GameServiceImpl gameService;
@@ -50,6 +73,7 @@ class GameServiceImplTest {
         validPlayerDTOs = createValidPlayerDTOs();
         testGame = createTestGame();
         testGameDTO = createTestGameDTO();
+        lenient().when(gameStore.executeTurn(any())).thenAnswer(invocation -> invocation.<GameStore.TurnWork<?>>getArgument(0).run());
     }
 
     @Test
@@ -57,7 +81,7 @@ class GameServiceImplTest {
         // Arrange
         when(boardService.getMaxPlayers()).thenReturn(10);
         Game savedGame = createTestGame();
-        when(gameRepository.save(any(Game.class))).thenReturn(savedGame);
+        when(gameStore.save(any(Game.class))).thenReturn(savedGame);
 
         try (MockedStatic<GameMapper> gameMapperMock = mockStatic(GameMapper.class)) {
             List<Player> players = createTestPlayers();
@@ -69,7 +93,10 @@ class GameServiceImplTest {
 
             // Assert
             assertNotNull(result);
-            verify(gameRepository).save(any(Game.class));
+            verify(gameStore).save(any(Game.class));
+            for (PlayerDTO player : result.getGameState().getPlayerList()) {
+                assertTrue(playerTokenService.verify(gameId, player.getPlayerId(), player.getToken()));
+            }
         }
     }
 
@@ -81,7 +108,7 @@ class GameServiceImplTest {
 
         // Act & Assert
         assertThrows(PlayerNumbersException.class, () -> gameService.createNewGame(tooManyPlayers));
-        verify(gameRepository, never()).save(any(Game.class));
+        verify(gameStore, never()).save(any(Game.class));
     }
 
     @Test
@@ -92,14 +119,26 @@ class GameServiceImplTest {
 
         // Act & Assert
         assertThrows(PlayerNumbersException.class, () -> gameService.createNewGame(noPlayers));
-        verify(gameRepository, never()).save(any(Game.class));
+        verify(gameStore, never()).save(any(Game.class));
+    }
+
+    @Test
+    void testCreateNewGame_NameTooLong_ShouldThrowException() {
+        // Arrange
+        when(boardService.getMaxPlayers()).thenReturn(10);
+        PlayerDTO player = new PlayerDTO();
+        player.setName("A".repeat(GameValidator.MAX_NAME_LENGTH + 1));
+
+        // Act & Assert
+        assertThrows(PlayerNumbersException.class, () -> gameService.createNewGame(List.of(player)));
+        verify(gameStore, never()).save(any(Game.class));
     }
 
     @Test
     void testPlayGame_ValidMove_ShouldSucceed() throws Exception {
         // Arrange
-        when(gameRepository.findByIdWithPlayersOptimized(gameId)).thenReturn(Optional.of(testGame));
-        when(gameRepository.save(any(Game.class))).thenReturn(testGame);
+        when(gameStore.findById(gameId)).thenReturn(Optional.of(testGame));
+        when(gameStore.save(any(Game.class))).thenReturn(testGame);
 
         Board mockBoard = new Board();
         List<BoardSquare> squares = Arrays.asList(
@@ -117,75 +156,326 @@ class GameServiceImplTest {
             diceUtilsMock.when(() -> DiceUtils.roll(6)).thenReturn(3);
 
             // Act
-            GameDTO result = gameService.playGame(testGameDTO, "Alice");
+            GameDTO result = gameService.playGame(testGameDTO, "Alice", token(0));
 
             // Assert
             assertNotNull(result);
-            verify(gameRepository).findByIdWithPlayersOptimized(gameId);
-            verify(gameRepository).save(any(Game.class));
+            verify(gameStore).findById(gameId);
+            verify(gameStore).save(any(Game.class));
         }
     }
 
     @Test
     void testPlayGame_GameNotFound_ShouldThrowException() {
         // Arrange
-        when(gameRepository.findByIdWithPlayersOptimized(gameId)).thenReturn(Optional.empty());
+        when(gameStore.findById(gameId)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(GameNotFoundException.class, () -> gameService.playGame(testGameDTO, "Alice", token(0)));
+        verify(gameStore, never()).save(any(Game.class));
+    }
+
+    @Test
+    void testPlayGame_GameArchived_ShouldThrowGameFinishedException() {
+        // Arrange
+        when(gameStore.findById(gameId)).thenReturn(Optional.empty());
+        when(gameArchiveService.findArchivedGames(List.of(gameId))).thenReturn(List.of(testGameDTO));
 
         // Act & Assert
-        assertThrows(GameNotFoundException.class, () -> gameService.playGame(testGameDTO, "Alice"));
-        verify(gameRepository, never()).save(any(Game.class));
+        GameFinishedException ex = assertThrows(GameFinishedException.class, () -> gameService.playGame(testGameDTO, "Alice", token(0)));
+        assertTrue(ex.getMessage().contains("archived"));
+        verify(gameStore, never()).save(any(Game.class));
     }
 
     @Test
     void testPlayGame_InconsistentGameState_ShouldThrowException() {
         // Arrange
-        when(gameRepository.findByIdWithPlayersOptimized(gameId)).thenReturn(Optional.of(testGame));
+        when(gameStore.findById(gameId)).thenReturn(Optional.of(testGame));
 
         try (MockedStatic<GameUtils> gameUtilsMock = mockStatic(GameUtils.class)) {
             gameUtilsMock.when(() -> GameUtils.isGameEqual(any(Game.class), any(GameDTO.class))).thenReturn(false);
 
             // Act & Assert
-            assertThrows(InconsistentGameException.class, () -> gameService.playGame(testGameDTO, "Alice"));
-            verify(gameRepository, never()).save(any(Game.class));
+            assertThrows(InconsistentGameException.class, () -> gameService.playGame(testGameDTO, "Alice", token(0)));
+            verify(gameStore, never()).save(any(Game.class));
         }
     }
 
     @Test
     void testPlayGame_NotPlayersTurn_ShouldThrowException() {
         // Arrange
-        when(gameRepository.findByIdWithPlayersOptimized(gameId)).thenReturn(Optional.of(testGame));
+        when(gameStore.findById(gameId)).thenReturn(Optional.of(testGame));
 
         try (MockedStatic<GameUtils> gameUtilsMock = mockStatic(GameUtils.class)) {
             gameUtilsMock.when(() -> GameUtils.isGameEqual(any(Game.class), any(GameDTO.class))).thenReturn(true);
 
             // Act & Assert - Bob tries to play when it's Alice's turn
-            assertThrows(NotYourTurnException.class, () -> gameService.playGame(testGameDTO, "Bob"));
-            verify(gameRepository, never()).save(any(Game.class));
+            assertThrows(NotYourTurnException.class, () -> gameService.playGame(testGameDTO, "Bob", token(1)));
+            verify(gameStore, never()).save(any(Game.class));
+        }
+    }
+
+    @Test
+    void testPlayGame_WrongPlayerToken_ShouldThrowException() {
+        // Arrange
+        when(gameStore.findById(gameId)).thenReturn(Optional.of(testGame));
+
+        try (MockedStatic<GameUtils> gameUtilsMock = mockStatic(GameUtils.class)) {
+            gameUtilsMock.when(() -> GameUtils.isGameEqual(any(Game.class), any(GameDTO.class))).thenReturn(true);
+
+            // Act & Assert - Alice's turn played with Bob's token, another game's token, or none
+            assertThrows(NotYourTurnException.class, () -> gameService.playGame(testGameDTO, "Alice", token(1)));
+            assertThrows(NotYourTurnException.class,
+                    () -> gameService.playGame(testGameDTO, 0, playerTokenService.issue(UUID.randomUUID(), 0)));
+            assertThrows(NotYourTurnException.class, () -> gameService.playGame(testGameDTO, 0, null));
+            assertThrows(NotYourTurnException.class, () -> gameService.playGame(testGameDTO, "Alice"));
+            verify(gameStore, never()).save(any(Game.class));
+        }
+    }
+
+    @Test
+    void testPlayGame_TokensDisabled_ShouldPlayWithoutToken() throws Exception {
+        // Arrange
+        doReturn(false).when(playerTokenService).isEnabled();
+        when(gameStore.findById(gameId)).thenReturn(Optional.of(testGame));
+        when(gameStore.save(any(Game.class))).thenReturn(testGame);
+
+        Board mockBoard = new Board();
+        mockBoard.setBoardSquarelist(Arrays.asList(new BoardSquare(), new BoardSquare(), new BoardSquare()));
+        when(boardService.getBoard()).thenReturn(mockBoard);
+
+        try (MockedStatic<GameUtils> gameUtilsMock = mockStatic(GameUtils.class);
+             MockedStatic<GameMapper> gameMapperMock = mockStatic(GameMapper.class);
+             MockedStatic<DiceUtils> diceUtilsMock = mockStatic(DiceUtils.class)) {
+
+            gameUtilsMock.when(() -> GameUtils.isGameEqual(any(Game.class), any(GameDTO.class))).thenReturn(true);
+            gameMapperMock.when(() -> GameMapper.getGameDto(any(Game.class))).thenReturn(testGameDTO);
+            diceUtilsMock.when(() -> DiceUtils.roll(6)).thenReturn(1);
+
+            // Act
+            GameDTO result = gameService.playGame(testGameDTO, "Alice");
+
+            // Assert
+            assertNotNull(result);
+            verify(gameStore).save(any(Game.class));
+            verify(playerTokenService, never()).verify(any(UUID.class), anyInt(), any());
+        }
+    }
+
+    @Test
+    void testPlayGame_ByPlayerId_ShouldSucceed() throws Exception {
+        // Arrange
+        when(gameStore.findById(gameId)).thenReturn(Optional.of(testGame));
+        when(gameStore.save(any(Game.class))).thenReturn(testGame);
+
+        Board mockBoard = new Board();
+        mockBoard.setBoardSquarelist(Arrays.asList(new BoardSquare(), new BoardSquare(), new BoardSquare()));
+        when(boardService.getBoard()).thenReturn(mockBoard);
+
+        try (MockedStatic<GameUtils> gameUtilsMock = mockStatic(GameUtils.class);
+             MockedStatic<GameMapper> gameMapperMock = mockStatic(GameMapper.class);
+             MockedStatic<DiceUtils> diceUtilsMock = mockStatic(DiceUtils.class)) {
+
+            gameUtilsMock.when(() -> GameUtils.isGameEqual(any(Game.class), any(GameDTO.class))).thenReturn(true);
+            gameMapperMock.when(() -> GameMapper.getGameDto(any(Game.class))).thenReturn(testGameDTO);
+            diceUtilsMock.when(() -> DiceUtils.roll(6)).thenReturn(1);
+
+            // Act - Alice is player 0
+            GameDTO result = gameService.playGame(testGameDTO, 0, token(0));
+
+            // Assert
+            assertNotNull(result);
+            verify(gameStore).save(any(Game.class));
+        }
+    }
+
+    @Test
+    void testPlayGame_ByPlayerId_NotPlayersTurn_ShouldThrowException() {
+        // Arrange
+        when(gameStore.findById(gameId)).thenReturn(Optional.of(testGame));
+
+        try (MockedStatic<GameUtils> gameUtilsMock = mockStatic(GameUtils.class)) {
+            gameUtilsMock.when(() -> GameUtils.isGameEqual(any(Game.class), any(GameDTO.class))).thenReturn(true);
+
+            // Act & Assert - player 1 (Bob) tries to play when it's player 0's turn
+            NotYourTurnException ex = assertThrows(NotYourTurnException.class, () -> gameService.playGame(testGameDTO, 1, token(1)));
+            assertEquals("It is player 0's turn.", ex.getMessage());
+            verify(gameStore, never()).save(any(Game.class));
         }
     }
 
     @Test
-    void testGetGameFromRepository_GameExists_ShouldReturnGame() throws GameNotFoundException {
+    void testPlayGame_AfterWin_ShouldThrowException() throws Exception {
         // Arrange
-        when(gameRepository.findByIdWithPlayersOptimized(gameId)).thenReturn(Optional.of(testGame));
+        when(gameStore.findById(gameId)).thenReturn(Optional.of(testGame));
+        when(gameStore.save(any(Game.class))).thenReturn(testGame);
+
+        Board mockBoard = new Board();
+        mockBoard.setBoardSquarelist(Arrays.asList(new BoardSquare(), new BoardSquare(), new BoardSquare(), new BoardSquare()));
+        when(boardService.getBoard()).thenReturn(mockBoard);
+
+        try (MockedStatic<GameUtils> gameUtilsMock = mockStatic(GameUtils.class);
+             MockedStatic<DiceUtils> diceUtilsMock = mockStatic(DiceUtils.class)) {
+
+            gameUtilsMock.when(() -> GameUtils.isGameEqual(any(Game.class), any(GameDTO.class))).thenReturn(true);
+            diceUtilsMock.when(() -> DiceUtils.roll(6)).thenReturn(3);
+
+            // Act - Alice reaches the last square, then Bob tries to play on
+            GameDTO won = gameService.playGame(testGameDTO, "Alice", token(0));
+            assertTrue(won.getGameState().isWinnerDeclared());
+
+            // Assert
+            assertThrows(GameFinishedException.class, () -> gameService.playGame(won, "Bob", token(1)));
+            assertThrows(GameFinishedException.class, () -> gameService.playGame(won, 1, token(1)));
+            verify(gameStore, times(1)).save(any(Game.class));
+            assertEquals(3, testGame.getGameState().getPlayerList().get(0).getPosition());
+            assertEquals(0, testGame.getGameState().getPlayerList().get(1).getPosition());
+        }
+    }
+
+    @Test
+    void testPlayGame_ShouldEmitTurnEvent() throws Exception {
+        // Arrange
+        when(gameStore.findById(gameId)).thenReturn(Optional.of(testGame));
+        when(gameStore.save(any(Game.class))).thenReturn(testGame);
+
+        Board mockBoard = new Board();
+        mockBoard.setBoardSquarelist(Arrays.asList(new BoardSquare(), new BoardSquare(), new BoardSquare(), new BoardSquare()));
+        when(boardService.getBoard()).thenReturn(mockBoard);
+
+        try (MockedStatic<GameUtils> gameUtilsMock = mockStatic(GameUtils.class);
+             MockedStatic<DiceUtils> diceUtilsMock = mockStatic(DiceUtils.class);
+             Recording recording = new Recording()) {
+
+            gameUtilsMock.when(() -> GameUtils.isGameEqual(any(Game.class), any(GameDTO.class))).thenReturn(true);
+            diceUtilsMock.when(() -> DiceUtils.roll(6)).thenReturn(2);
+            recording.enable(TurnEvent.class);
+            recording.start();
+
+            // Act
+            gameService.playGame(testGameDTO, "Alice", token(0));
+
+            // Assert
+            recording.stop();
+            List<RecordedEvent> events = readEvents(recording, "com.sovan.chutesladders.Turn");
+            assertEquals(1, events.size());
+            RecordedEvent event = events.get(0);
+            assertEquals(gameId.toString(), event.getString("gameId"));
+            assertEquals(0, event.getInt("playerIndex"));
+            assertEquals(2, event.getInt("roll"));
+            assertEquals(0, event.getInt("fromPosition"));
+            assertEquals(2, event.getInt("toPosition"));
+            assertFalse(event.getBoolean("winner"));
+        }
+    }
+
+    @Test
+    void testPlayGame_NotPlayersTurn_ShouldEmitTurnRejectedEvent() throws Exception {
+        // Arrange
+        when(gameStore.findById(gameId)).thenReturn(Optional.of(testGame));
+
+        try (MockedStatic<GameUtils> gameUtilsMock = mockStatic(GameUtils.class);
+             Recording recording = new Recording()) {
+
+            gameUtilsMock.when(() -> GameUtils.isGameEqual(any(Game.class), any(GameDTO.class))).thenReturn(true);
+            recording.enable(TurnRejectedEvent.class);
+            recording.start();
+
+            // Act
+            assertThrows(NotYourTurnException.class, () -> gameService.playGame(testGameDTO, "Bob", token(1)));
+
+            // Assert
+            recording.stop();
+            List<RecordedEvent> events = readEvents(recording, "com.sovan.chutesladders.TurnRejected");
+            assertEquals(1, events.size());
+            assertEquals("Bob", events.get(0).getString("playerName"));
+            assertEquals("not the player's turn", events.get(0).getString("reason"));
+        }
+    }
+
+    @Test
+    void testGetGameFromStore_GameExists_ShouldReturnGame() throws GameNotFoundException {
+        // Arrange
+        when(gameStore.findById(gameId)).thenReturn(Optional.of(testGame));
 
         // Act
-        Game result = gameService.getGameFromRepository(gameId);
+        Game result = gameService.getGameFromStore(gameId);
 
         // Assert
         assertNotNull(result);
         assertEquals(testGame, result);
-        verify(gameRepository).findByIdWithPlayersOptimized(gameId);
+        verify(gameStore).findById(gameId);
     }
 
     @Test
-    void testGetGameFromRepository_GameDoesNotExist_ShouldThrowException() {
+    void testGetGameFromStore_GameDoesNotExist_ShouldThrowException() {
         // Arrange
-        when(gameRepository.findByIdWithPlayersOptimized(gameId)).thenReturn(Optional.empty());
+        when(gameStore.findById(gameId)).thenReturn(Optional.empty());
 
         // Act & Assert
-        assertThrows(GameNotFoundException.class, () -> gameService.getGameFromRepository(gameId));
-        verify(gameRepository).findByIdWithPlayersOptimized(gameId);
+        assertThrows(GameNotFoundException.class, () -> gameService.getGameFromStore(gameId));
+        verify(gameStore).findById(gameId);
+    }
+
+    @Test
+    void testGetGames_ShouldReturnFoundGamesInRequestedOrder() throws GameBatchSizeException {
+        // Arrange
+        UUID unknownId = UUID.randomUUID();
+        Game otherGame = createTestGame();
+        otherGame.setGameId(UUID.randomUUID());
+        when(gameStore.findAllById(anyCollection())).thenReturn(List.of(testGame, otherGame));
+
+        // Act
+        List<GameDTO> result = gameService.getGames(List.of(otherGame.getGameId(), unknownId, gameId, otherGame.getGameId()));
+
+        // Assert
+        assertEquals(2, result.size());
+        assertEquals(otherGame.getGameId(), result.get(0).getGameId());
+        assertEquals(gameId, result.get(1).getGameId());
+        verify(gameStore, times(1)).findAllById(anyCollection());
+    }
+
+    @Test
+    void testGetGames_ArchivedGame_ShouldReadItFromArchive() throws GameBatchSizeException {
+        // Arrange
+        UUID archivedId = UUID.randomUUID();
+        GameDTO archivedGame = createTestGameDTO();
+        archivedGame.setGameId(archivedId);
+        when(gameStore.findAllById(anyCollection())).thenReturn(List.of(testGame));
+        when(gameArchiveService.findArchivedGames(List.of(archivedId))).thenReturn(List.of(archivedGame));
+
+        // Act
+        List<GameDTO> result = gameService.getGames(List.of(archivedId, gameId));
+
+        // Assert
+        assertEquals(2, result.size());
+        assertSame(archivedGame, result.get(0));
+        assertEquals(gameId, result.get(1).getGameId());
+    }
+
+    @Test
+    void testGetGames_AllGamesInStore_ShouldNotReadArchive() throws GameBatchSizeException {
+        // Arrange
+        when(gameStore.findAllById(anyCollection())).thenReturn(List.of(testGame));
+
+        // Act
+        gameService.getGames(List.of(gameId));
+
+        // Assert
+        verifyNoInteractions(gameArchiveService);
+    }
+
+    @Test
+    void testGetGames_TooManyIds_ShouldThrowException() {
+        // Arrange
+        List<UUID> gameIds = new ArrayList<>();
+        for (int i = 0; i < 101; i++) {
+            gameIds.add(UUID.randomUUID());
+        }
+
+        // Act & Assert
+        assertThrows(GameBatchSizeException.class, () -> gameService.getGames(gameIds));
+        verify(gameStore, never()).findAllById(anyCollection());
     }
 
     @Test
@@ -216,6 +506,26 @@ class GameServiceImplTest {
     }
 
     // Helper methods
+    private String token(int playerId) {
+        return playerTokenService.issue(gameId, playerId);
+    }
+
+    private List<RecordedEvent> readEvents(Recording recording, String eventName) throws Exception {
+        Path file = Files.createTempFile("game-events", ".jfr");
+        try {
+            recording.dump(file);
+            List<RecordedEvent> events = new ArrayList<>();
+            for (RecordedEvent event : RecordingFile.readAllEvents(file)) {
+                if (event.getEventType().getName().equals(eventName)) {
+                    events.add(event);
+                }
+            }
+            return events;
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
     private List<PlayerDTO> createValidPlayerDTOs() {
         PlayerDTO alice = new PlayerDTO();
         alice.setName("Alice");
@@ -0,0 +1,43 @@
+package com.sovan.chutesladders.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PlayerTokenServiceImplTest {
+
+    @Test
+    void testIssue_ShouldBeVerifiedForTheSamePlayerOnly() {
+        PlayerTokenService playerTokenService = new PlayerTokenServiceImpl(true, "test-secret");
+        UUID gameId = UUID.randomUUID();
+
+        String token = playerTokenService.issue(gameId, 1);
+
+        assertTrue(playerTokenService.isEnabled());
+        assertEquals(token, new PlayerTokenServiceImpl(true, "test-secret").issue(gameId, 1));
+        assertTrue(playerTokenService.verify(gameId, 1, token));
+        assertFalse(playerTokenService.verify(gameId, 0, token));
+        assertFalse(playerTokenService.verify(UUID.randomUUID(), 1, token));
+        assertFalse(playerTokenService.verify(gameId, 1, "not base64!"));
+        assertFalse(playerTokenService.verify(gameId, 1, null));
+        assertFalse(new PlayerTokenServiceImpl(true, "other-secret").verify(gameId, 1, token));
+    }
+
+    @Test
+    void testConstructor_EnabledWithoutSecret_ShouldFail() {
+        assertThrows(IllegalStateException.class, () -> new PlayerTokenServiceImpl(true, ""));
+        assertThrows(IllegalStateException.class, () -> new PlayerTokenServiceImpl(true, "  "));
+        assertThrows(IllegalStateException.class, () -> new PlayerTokenServiceImpl(true, null));
+    }
+
+    @Test
+    void testDisabled_ShouldNotIssueTokens() {
+        PlayerTokenService playerTokenService = new PlayerTokenServiceImpl(false, "");
+
+        assertFalse(playerTokenService.isEnabled());
+        assertThrows(IllegalStateException.class, () -> playerTokenService.issue(UUID.randomUUID(), 0));
+        assertFalse(playerTokenService.verify(UUID.randomUUID(), 0, "q7T0oKqV3cY4mJ9b0fEw2A"));
+    }
+}
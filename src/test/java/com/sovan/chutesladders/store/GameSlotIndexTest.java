@@ -0,0 +1,48 @@
+package com.sovan.chutesladders.store;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameSlotIndexTest {
+
+    @Test
+    void testPutAndGet_ShouldFindEveryGameAfterResizing() {
+        GameSlotIndex index = new GameSlotIndex(4);
+        for (int i = 0; i < 10_000; i++) {
+            index.put(i, -i, i);
+        }
+
+        assertEquals(10_000, index.size());
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals(i, index.get(i, -i));
+        }
+        assertEquals(GameSlotIndex.NO_SLOT, index.get(10_000, -10_000));
+    }
+
+    @Test
+    void testRemove_ShouldKeepOtherGamesReachable() {
+        GameSlotIndex index = new GameSlotIndex(16);
+        Map<Long, Integer> expected = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 5_000; i++) {
+            long key = random.nextInt(2_000);
+            if (random.nextBoolean()) {
+                index.put(key, key, i);
+                expected.put(key, i);
+            } else {
+                Integer removed = expected.remove(key);
+                assertEquals(removed == null ? GameSlotIndex.NO_SLOT : removed.intValue(), index.remove(key, key));
+            }
+        }
+
+        assertEquals(expected.size(), index.size());
+        for (long key = 0; key < 2_000; key++) {
+            assertEquals(expected.getOrDefault(key, GameSlotIndex.NO_SLOT).intValue(), index.get(key, key));
+        }
+    }
+}
@@ -0,0 +1,274 @@
+package com.sovan.chutesladders.store;
+
+import com.sovan.chutesladders.model.Game;
+import com.sovan.chutesladders.model.GameFilter;
+import com.sovan.chutesladders.model.GameState;
+import com.sovan.chutesladders.model.GameSummaryDTO;
+import com.sovan.chutesladders.model.Player;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Behaviour every {@link GameStore} must have. Each store runs these tests through a subclass providing the store,
+ * which must be empty at the start of each test.
+ */
+abstract class GameStoreConformanceTest {
+
+    protected static final Instant CREATED_AT = Instant.parse("2025-01-01T12:00:00.123Z");
+
+    /**
+     * Gets the store under test.
+     *
+     * @return the store
+     */
+    protected abstract GameStore store();
+
+    /**
+     * Runs work in a transaction, for stores that need one to stream.
+     *
+     * @param work the work
+     * @param <T>  the type of the result
+     * @return the result of the work
+     */
+    protected <T> T inTransaction(Supplier<T> work) {
+        return work.get();
+    }
+
+    @Test
+    void testSaveAndFindById_ShouldRoundTripGame() {
+        Game game = createGame(UUID.randomUUID(), CREATED_AT);
+        game.getGameState().getPlayerList().get(1).setPosition(99);
+        game.getGameState().getPlayerList().get(1).setWinner(true);
+        game.getGameState().setWinnerDeclared(true);
+        game.getGameState().setNextPlayer(1);
+
+        store().save(game);
+        Game found = store().findById(game.getGameId()).orElseThrow();
+
+        assertEquals(game.getGameId(), found.getGameId());
+        assertEquals(CREATED_AT, found.getCreatedAt());
+        assertEquals(0L, found.getVersion());
+        assertEquals(1, found.getGameState().getNextPlayer());
+        assertTrue(found.getGameState().isWinnerDeclared());
+        List<Player> players = found.getGameState().getPlayerList();
+        assertEquals(2, players.size());
+        assertEquals("Alice", players.get(0).getName());
+        assertEquals(0, players.get(0).getPosition());
+        assertFalse(players.get(0).isWinner());
+        assertEquals("Bob", players.get(1).getName());
+        assertEquals(99, players.get(1).getPosition());
+        assertTrue(players.get(1).isWinner());
+    }
+
+    @Test
+    void testFindById_UnknownGame_ShouldReturnEmpty() {
+        assertTrue(store().findById(UUID.randomUUID()).isEmpty());
+    }
+
+    @Test
+    void testSave_StoredGame_ShouldIncrementVersionAndKeepState() {
+        UUID gameId = store().save(createGame(UUID.randomUUID(), CREATED_AT)).getGameId();
+        Game loaded = store().findById(gameId).orElseThrow();
+        loaded.getGameState().getPlayerList().get(0).setPosition(4);
+        loaded.getGameState().setNextPlayer(1);
+
+        store().save(loaded);
+
+        Game found = store().findById(gameId).orElseThrow();
+        assertEquals(1L, found.getVersion());
+        assertEquals(4, found.getGameState().getPlayerList().get(0).getPosition());
+        assertEquals(1, found.getGameState().getNextPlayer());
+    }
+
+    @Test
+    void testSave_ShouldKeepTimeOfLastChange() {
+        Instant before = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        UUID gameId = store().save(createGame(UUID.randomUUID(), CREATED_AT)).getGameId();
+        Game created = store().findById(gameId).orElseThrow();
+        assertNotNull(created.getUpdatedAt());
+        assertFalse(created.getUpdatedAt().isBefore(before));
+
+        created.getGameState().setNextPlayer(1);
+        store().save(created);
+
+        Game updated = store().findById(gameId).orElseThrow();
+        assertFalse(updated.getUpdatedAt().isBefore(created.getUpdatedAt()));
+        assertEquals(CREATED_AT, updated.getCreatedAt());
+    }
+
+    @Test
+    void testSave_StaleVersion_ShouldThrowAndKeepStoredState() {
+        UUID gameId = store().save(createGame(UUID.randomUUID(), CREATED_AT)).getGameId();
+        Game first = store().findById(gameId).orElseThrow();
+        Game second = store().findById(gameId).orElseThrow();
+        first.getGameState().getPlayerList().get(0).setPosition(3);
+        store().save(first);
+
+        second.getGameState().getPlayerList().get(0).setPosition(5);
+        assertThrows(OptimisticLockingFailureException.class, () -> store().save(second));
+        assertEquals(3, store().findById(gameId).orElseThrow().getGameState().getPlayerList().get(0).getPosition());
+    }
+
+    @Test
+    void testFindAllById_ShouldSkipUnknownIds() {
+        Game game = store().save(createGame(UUID.randomUUID(), CREATED_AT));
+
+        List<Game> games = store().findAllById(List.of(game.getGameId(), UUID.randomUUID()));
+
+        assertEquals(1, games.size());
+        assertEquals(game.getGameId(), games.get(0).getGameId());
+        assertEquals(2, games.get(0).getGameState().getPlayerList().size());
+    }
+
+    @Test
+    void testDeleteAllById_ShouldRemoveGamesAndIgnoreUnknownIds() {
+        UUID deleted = store().save(createGame(UUID.randomUUID(), CREATED_AT)).getGameId();
+        UUID kept = store().save(createGame(UUID.randomUUID(), CREATED_AT)).getGameId();
+
+        store().deleteAllById(List.of(deleted, UUID.randomUUID()));
+
+        assertTrue(store().findById(deleted).isEmpty());
+        assertTrue(store().findById(kept).isPresent());
+    }
+
+    @Test
+    void testFindSummariesAfter_ShouldPageInKeyOrder() {
+        for (int i = 0; i < 10; i++) {
+            store().save(createGame(UUID.randomUUID(), CREATED_AT.plusSeconds(i % 3)));
+        }
+        GameFilter filter = new GameFilter();
+
+        List<GameSummaryDTO> all = new ArrayList<>();
+        Instant afterCreatedAt = filter.createdFromOrMin();
+        UUID afterGameId = new UUID(0L, 0L);
+        List<GameSummaryDTO> page;
+        do {
+            page = store().findSummariesAfter(filter, afterCreatedAt, afterGameId, 4);
+            all.addAll(page);
+            if (!page.isEmpty()) {
+                afterCreatedAt = page.get(page.size() - 1).getCreatedAt();
+                afterGameId = page.get(page.size() - 1).getGameId();
+            }
+        } while (page.size() == 4);
+
+        assertEquals(10, all.size());
+        for (int i = 1; i < all.size(); i++) {
+            assertTrue(GameSummaryOrder.BY_KEY.compare(all.get(i - 1), all.get(i)) < 0, "page order broken at " + i);
+        }
+    }
+
+    @Test
+    void testFindSummariesAfter_ShouldApplyWinnerFilter() {
+        Game finished = createGame(UUID.randomUUID(), CREATED_AT);
+        finished.getGameState().setWinnerDeclared(true);
+        store().save(finished);
+        store().save(createGame(UUID.randomUUID(), CREATED_AT));
+
+        List<GameSummaryDTO> page = store().findSummariesAfter(new GameFilter(true, null, null), Instant.EPOCH, new UUID(0L, 0L), 10);
+
+        assertEquals(1, page.size());
+        assertEquals(finished.getGameId(), page.get(0).getGameId());
+        assertTrue(page.get(0).isWinnerDeclared());
+    }
+
+    @Test
+    void testStreamSummaries_ShouldApplyFilterInKeyOrder() {
+        Game finished = createGame(UUID.randomUUID(), CREATED_AT);
+        finished.getGameState().setWinnerDeclared(true);
+        store().save(finished);
+        store().save(createGame(UUID.randomUUID(), CREATED_AT.plusSeconds(2)));
+        store().save(createGame(UUID.randomUUID(), CREATED_AT.plusSeconds(1)));
+        store().save(createGame(UUID.randomUUID(), CREATED_AT.minusSeconds(60)));
+
+        List<GameSummaryDTO> result = inTransaction(() -> {
+            try (Stream<GameSummaryDTO> summaries = store().streamSummaries(new GameFilter(false, CREATED_AT, null))) {
+                return summaries.toList();
+            }
+        });
+
+        assertEquals(2, result.size());
+        assertEquals(CREATED_AT.plusSeconds(1), result.get(0).getCreatedAt());
+        assertEquals(CREATED_AT.plusSeconds(2), result.get(1).getCreatedAt());
+        assertFalse(result.get(0).isWinnerDeclared());
+    }
+
+    @Test
+    void testInsertAll_ShouldStoreNewGamesAndSkipStoredOnes() {
+        Game stored = createGame(UUID.randomUUID(), CREATED_AT);
+        store().save(stored);
+        Game again = createGame(stored.getGameId(), CREATED_AT);
+        again.getGameState().getPlayerList().get(0).setPosition(7);
+        Game first = createGame(UUID.randomUUID(), CREATED_AT);
+        Game second = createGame(UUID.randomUUID(), CREATED_AT.plusSeconds(1));
+        second.getGameState().getPlayerList().get(1).setPosition(12);
+
+        List<UUID> skipped = inTransaction(() -> store().insertAll(List.of(first, again, second)));
+
+        assertEquals(List.of(stored.getGameId()), skipped);
+        assertEquals(0, store().findById(stored.getGameId()).orElseThrow().getGameState().getPlayerList().get(0).getPosition());
+        Game found = store().findById(second.getGameId()).orElseThrow();
+        assertEquals(0L, found.getVersion());
+        assertEquals(CREATED_AT.plusSeconds(1), found.getCreatedAt());
+        assertEquals(12, found.getGameState().getPlayerList().get(1).getPosition());
+        assertTrue(store().findById(first.getGameId()).isPresent());
+    }
+
+    @Test
+    void testStreamGames_ShouldApplyFilterInKeyOrderWithPlayers() {
+        Game finished = createGame(UUID.randomUUID(), CREATED_AT);
+        finished.getGameState().setWinnerDeclared(true);
+        store().save(finished);
+        Game later = createGame(UUID.randomUUID(), CREATED_AT.plusSeconds(2));
+        later.getGameState().getPlayerList().get(1).setPosition(30);
+        store().save(later);
+        store().save(createGame(UUID.randomUUID(), CREATED_AT.plusSeconds(1)));
+        store().save(createGame(UUID.randomUUID(), CREATED_AT.minusSeconds(60)));
+
+        List<Game> result = inTransaction(() -> {
+            try (Stream<Game> games = store().streamGames(new GameFilter(false, CREATED_AT, null))) {
+                return games.toList();
+            }
+        });
+
+        assertEquals(2, result.size());
+        assertEquals(CREATED_AT.plusSeconds(1), result.get(0).getCreatedAt());
+        assertEquals(later.getGameId(), result.get(1).getGameId());
+        List<Player> players = result.get(1).getGameState().getPlayerList();
+        assertEquals(List.of("Alice", "Bob"), players.stream().map(Player::getName).toList());
+        assertEquals(30, players.get(1).getPosition());
+    }
+
+    /**
+     * Creates a new, unsaved game of two players on the first square.
+     *
+     * @param gameId    the game ID
+     * @param createdAt the creation time
+     * @return the game
+     */
+    protected Game createGame(UUID gameId, Instant createdAt) {
+        List<Player> players = new ArrayList<>();
+        for (String name : List.of("Alice", "Bob")) {
+            Player player = new Player();
+            player.setName(name);
+            players.add(player);
+        }
+        GameState gameState = new GameState();
+        gameState.setPlayerList(players);
+
+        Game game = new Game();
+        game.setGameId(gameId);
+        game.setCreatedAt(createdAt);
+        game.setGameState(gameState);
+        return game;
+    }
+}
@@ -0,0 +1,19 @@
+package com.sovan.chutesladders.store;
+
+import com.sovan.chutesladders.engine.PlayerNameRegistry;
+import org.junit.jupiter.api.BeforeEach;
+
+class InMemoryGameStoreTest extends GameStoreConformanceTest {
+
+    private InMemoryGameStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new InMemoryGameStore(new PlayerNameRegistry(1024));
+    }
+
+    @Override
+    protected GameStore store() {
+        return store;
+    }
+}
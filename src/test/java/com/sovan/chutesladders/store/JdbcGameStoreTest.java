@@ -0,0 +1,105 @@
+package com.sovan.chutesladders.store;
+
+import com.sovan.chutesladders.ChutesLaddersApplication;
+import com.sovan.chutesladders.metrics.QueryCounts;
+import com.sovan.chutesladders.model.Game;
+import com.sovan.chutesladders.model.GameFilter;
+import com.sovan.chutesladders.model.GameSummaryDTO;
+import com.sovan.chutesladders.model.Player;
+import com.sovan.chutesladders.repository.GameRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static com.sovan.chutesladders.metrics.QueryBudget.measure;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(classes = ChutesLaddersApplication.class,
+        properties = {"spring.datasource.url=jdbc:h2:mem:jdbcstore", "chutesladders.store.type=jdbc"})
+@ActiveProfiles("test")
+class JdbcGameStoreTest extends GameStoreConformanceTest {
+
+    @Autowired
+    private GameStore gameStore;
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        gameRepository.deleteAll();
+    }
+
+    @Override
+    protected GameStore store() {
+        return gameStore;
+    }
+
+    @Override
+    protected <T> T inTransaction(Supplier<T> work) {
+        return transactionTemplate.execute(status -> work.get());
+    }
+
+    @Test
+    void testFindById_ShouldLoadRowIdsAndPlayersInInsertionOrder() {
+        assertInstanceOf(JdbcGameStore.class, gameStore);
+        UUID gameId = gameStore.save(createGame(UUID.randomUUID(), CREATED_AT)).getGameId();
+
+        Game found = gameStore.findById(gameId).orElseThrow();
+
+        assertNotNull(found.getGameState().getId());
+        Player first = found.getGameState().getPlayerList().get(0);
+        Player second = found.getGameState().getPlayerList().get(1);
+        assertEquals("Alice", first.getName());
+        assertEquals("Bob", second.getName());
+        assertTrue(first.getId() < second.getId());
+    }
+
+    @Test
+    void testSave_ShouldRefreshCachedEntitiesAndQueriesAfterCommit() {
+        GameFilter all = new GameFilter();
+        UUID gameId = gameStore.save(createGame(UUID.randomUUID(), CREATED_AT)).getGameId();
+        List<GameSummaryDTO> cached = gameStore.findSummariesAfter(all, all.createdFromOrMin(), new UUID(0L, 0L), 10);
+        assertEquals(0, cached.get(0).getNextPlayer());
+        assertEquals(0, positionOfFirstPlayer(gameId));
+
+        inTransaction(() -> {
+            Game game = gameStore.findById(gameId).orElseThrow();
+            game.getGameState().getPlayerList().get(0).setPosition(6);
+            game.getGameState().setNextPlayer(1);
+            return gameStore.save(game);
+        });
+
+        List<GameSummaryDTO> summaries = gameStore.findSummariesAfter(all, all.createdFromOrMin(), new UUID(0L, 0L), 10);
+        assertEquals(1, summaries.get(0).getNextPlayer());
+        assertEquals(6, positionOfFirstPlayer(gameId));
+    }
+
+    @Test
+    void testSave_ShouldBeCountedPerStatementAndBatchedRow() throws Exception {
+        UUID gameId = gameStore.save(createGame(UUID.randomUUID(), CREATED_AT)).getGameId();
+        Game game = gameStore.findById(gameId).orElseThrow();
+        game.getGameState().getPlayerList().get(0).setPosition(4);
+
+        QueryCounts counts = measure(() -> gameStore.save(game));
+
+        // the game, the game state and one conditional update per player, in one connection
+        assertEquals(1, counts.getConnections());
+        assertEquals(2 + game.getGameState().getPlayerList().size(), counts.getUpdates());
+        assertEquals(0, counts.getSelects());
+    }
+
+    private int positionOfFirstPlayer(UUID gameId) {
+        return inTransaction(() -> gameRepository.findById(gameId).orElseThrow().getGameState().getPlayerList().get(0).getPosition());
+    }
+}
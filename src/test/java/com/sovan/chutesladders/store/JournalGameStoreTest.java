@@ -0,0 +1,345 @@
+package com.sovan.chutesladders.store;
+
+import com.sovan.chutesladders.engine.PlayerNameRegistry;
+import com.sovan.chutesladders.model.Game;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JournalGameStoreTest extends GameStoreConformanceTest {
+
+    @TempDir
+    Path directory;
+
+    private Path journal;
+    private Path moves;
+    private int segmentRecords = 1024;
+    private int snapshotMoves = 64;
+    private long compactEntries = 100_000;
+    private JournalGameStore store;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        journal = directory.resolve("games.journal");
+        moves = directory.resolve("moves");
+        store = open();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        store.close();
+    }
+
+    @Override
+    protected GameStore store() {
+        return store;
+    }
+
+    @Test
+    void testRestart_ShouldReplayJournal() throws IOException {
+        UUID deleted = store.save(createGame(UUID.randomUUID(), CREATED_AT)).getGameId();
+        UUID played = store.save(createGame(UUID.randomUUID(), CREATED_AT)).getGameId();
+        Game game = store.findById(played).orElseThrow();
+        game.getGameState().getPlayerList().get(0).setPosition(7);
+        game.getGameState().setNextPlayer(1);
+        Instant playedAt = store.save(game).getUpdatedAt();
+        store.deleteAllById(List.of(deleted));
+
+        reopen();
+
+        assertTrue(store.findById(deleted).isEmpty());
+        Game replayed = store.findById(played).orElseThrow();
+        assertEquals(1L, replayed.getVersion());
+        assertEquals(7, replayed.getGameState().getPlayerList().get(0).getPosition());
+        assertEquals(1, replayed.getGameState().getNextPlayer());
+        assertEquals("Bob", replayed.getGameState().getPlayerList().get(1).getName());
+        assertEquals(playedAt, replayed.getUpdatedAt());
+    }
+
+    @Test
+    void testRestart_IncompleteLastEntry_ShouldBeDroppedAndJournalStayAppendable() throws IOException {
+        UUID kept = store.save(createGame(UUID.randomUUID(), CREATED_AT)).getGameId();
+        long lengthBefore = Files.size(journal);
+        UUID torn = store.save(createGame(UUID.randomUUID(), CREATED_AT)).getGameId();
+        store.close();
+        try (FileChannel channel = FileChannel.open(journal, StandardOpenOption.WRITE)) {
+            channel.truncate(lengthBefore + 10);
+        }
+
+        store = open();
+        assertEquals(lengthBefore, Files.size(journal));
+        assertTrue(store.findById(kept).isPresent());
+        assertTrue(store.findById(torn).isEmpty());
+
+        UUID added = store.save(createGame(UUID.randomUUID(), CREATED_AT)).getGameId();
+        reopen();
+        assertTrue(store.findById(kept).isPresent());
+        assertTrue(store.findById(added).isPresent());
+    }
+
+    /**
+     * A test cannot drop what the operating system has not written yet, so the crash is simulated on the files: the
+     * store is closed, which forces nothing more than fsync already forced before each turn was acknowledged, and the
+     * record slot after the last acknowledged turn is overwritten with a torn record, as left by a turn being appended
+     * when the process died.
+     */
+    @Test
+    void testCrash_TornTail_ShouldKeepEveryAcknowledgedTurn() throws Exception {
+        List<UUID> gameIds = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            gameIds.add(store.save(createGame(UUID.randomUUID(), CREATED_AT)).getGameId());
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(gameIds.size());
+        try {
+            List<Future<?>> turns = new ArrayList<>();
+            for (UUID gameId : gameIds) {
+                turns.add(executor.submit(() -> {
+                    for (int turn = 1; turn <= 50; turn++) {
+                        Game game = store.findById(gameId).orElseThrow();
+                        game.getGameState().getPlayerList().get(turn % 2).setPosition(turn);
+                        game.getGameState().setNextPlayer((turn + 1) % 2);
+                        store.save(game);
+                    }
+                }));
+            }
+            for (Future<?> turn : turns) {
+                turn.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        crash(gameIds.size() * 50);
+
+        for (UUID gameId : gameIds) {
+            Game replayed = store.findById(gameId).orElseThrow();
+            assertEquals(50L, replayed.getVersion());
+            assertEquals(49, replayed.getGameState().getPlayerList().get(1).getPosition());
+            assertEquals(50, replayed.getGameState().getPlayerList().get(0).getPosition());
+            assertEquals(1, replayed.getGameState().getNextPlayer());
+        }
+        play(gameIds.get(0), 51);
+        reopen();
+        assertEquals(51L, store.findById(gameIds.get(0)).orElseThrow().getVersion());
+    }
+
+    @Test
+    void testRestart_TornMoveRecord_ShouldBeIgnoredAndOverwritten() throws IOException {
+        UUID gameId = store.save(createGame(UUID.randomUUID(), CREATED_AT)).getGameId();
+        play(gameId, 3);
+        play(gameId, 5);
+        store.close();
+        try (FileChannel channel = FileChannel.open(moves.resolve("segment-0000000000.log"), StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{(byte) 0xFF}), MoveJournal.RECORD_SIZE + 40);
+        }
+
+        store = open();
+        Game replayed = store.findById(gameId).orElseThrow();
+        assertEquals(1L, replayed.getVersion());
+        assertEquals(3, replayed.getGameState().getPlayerList().get(0).getPosition());
+
+        play(gameId, 9);
+        reopen();
+        assertEquals(2L, store.findById(gameId).orElseThrow().getVersion());
+        assertEquals(9, store.findById(gameId).orElseThrow().getGameState().getPlayerList().get(0).getPosition());
+    }
+
+    @Test
+    void testSave_FullSegment_ShouldRollOverAndReplayEverySegment() throws IOException {
+        store.close();
+        segmentRecords = 4;
+        store = open();
+        UUID gameId = store.save(createGame(UUID.randomUUID(), CREATED_AT)).getGameId();
+        for (int position = 1; position <= 10; position++) {
+            play(gameId, position);
+        }
+
+        reopen();
+
+        try (Stream<Path> segments = Files.list(moves)) {
+            assertEquals(3, segments.count());
+        }
+        Game replayed = store.findById(gameId).orElseThrow();
+        assertEquals(10L, replayed.getVersion());
+        assertEquals(10, replayed.getGameState().getPlayerList().get(0).getPosition());
+    }
+
+    @Test
+    void testRestart_MovesOfDeletedGame_ShouldBeSkipped() throws IOException {
+        UUID gameId = store.save(createGame(UUID.randomUUID(), CREATED_AT)).getGameId();
+        play(gameId, 6);
+        store.deleteAllById(List.of(gameId));
+
+        reopen();
+
+        assertTrue(store.findById(gameId).isEmpty());
+    }
+
+    @Test
+    void testRestart_DeletedAndInsertedAgain_ShouldNotReplayMovesOfDeletedGame() throws IOException {
+        UUID gameId = UUID.randomUUID();
+        store.save(createGame(gameId, CREATED_AT));
+        for (int position = 1; position <= 5; position++) {
+            play(gameId, position);
+        }
+        store.deleteAllById(List.of(gameId));
+        store.insertAll(List.of(createGame(gameId, CREATED_AT)));
+
+        reopen();
+
+        Game replayed = store.findById(gameId).orElseThrow();
+        assertEquals(0L, replayed.getVersion());
+        assertEquals(0, replayed.getGameState().getPlayerList().get(0).getPosition());
+        play(gameId, 7);
+        reopen();
+        replayed = store.findById(gameId).orElseThrow();
+        assertEquals(1L, replayed.getVersion());
+        assertEquals(7, replayed.getGameState().getPlayerList().get(0).getPosition());
+    }
+
+    @Test
+    void testRestart_DeletedBeforeRestartAndInsertedAfter_ShouldNotReplayMovesOfDeletedGame() throws IOException {
+        UUID gameId = UUID.randomUUID();
+        store.save(createGame(gameId, CREATED_AT));
+        for (int position = 1; position <= 5; position++) {
+            play(gameId, position);
+        }
+        store.deleteAllById(List.of(gameId));
+        reopen();
+        store.insertAll(List.of(createGame(gameId, CREATED_AT)));
+
+        reopen();
+
+        Game replayed = store.findById(gameId).orElseThrow();
+        assertEquals(0L, replayed.getVersion());
+        assertEquals(0, replayed.getGameState().getPlayerList().get(0).getPosition());
+    }
+
+    @Test
+    void testSave_SnapshotEveryNMoves_ShouldDeleteCoveredSegments() throws IOException {
+        store.close();
+        segmentRecords = 4;
+        snapshotMoves = 4;
+        store = open();
+        UUID gameId = store.save(createGame(UUID.randomUUID(), CREATED_AT)).getGameId();
+        for (int position = 1; position <= 9; position++) {
+            play(gameId, position);
+        }
+
+        assertEquals(List.of(moves.resolve("segment-0000000002.log")), listSegments());
+        reopen();
+        Game replayed = store.findById(gameId).orElseThrow();
+        assertEquals(9L, replayed.getVersion());
+        assertEquals(9, replayed.getGameState().getPlayerList().get(0).getPosition());
+    }
+
+    @Test
+    void testSave_FinishedGame_ShouldBeSnapshotted() throws IOException {
+        store.close();
+        segmentRecords = 2;
+        store = open();
+        UUID finished = store.save(createGame(UUID.randomUUID(), CREATED_AT)).getGameId();
+        UUID other = store.save(createGame(UUID.randomUUID(), CREATED_AT)).getGameId();
+        play(finished, 50);
+        long lengthBefore = Files.size(journal);
+        Game game = store.findById(finished).orElseThrow();
+        game.getGameState().getPlayerList().get(0).setPosition(100);
+        game.getGameState().getPlayerList().get(0).setWinner(true);
+        game.getGameState().setWinnerDeclared(true);
+        store.save(game);
+
+        play(other, 5);
+
+        assertTrue(Files.size(journal) > lengthBefore);
+        assertEquals(List.of(moves.resolve("segment-0000000001.log")), listSegments());
+        reopen();
+        Game replayed = store.findById(finished).orElseThrow();
+        assertEquals(2L, replayed.getVersion());
+        assertTrue(replayed.getGameState().isWinnerDeclared());
+        assertEquals(5, store.findById(other).orElseThrow().getGameState().getPlayerList().get(0).getPosition());
+    }
+
+    @Test
+    void testDeleteAllById_TooManySupersededEntries_ShouldCompactJournal() throws IOException {
+        store.close();
+        segmentRecords = 2;
+        compactEntries = 3;
+        store = open();
+        UUID kept = store.save(createGame(UUID.randomUUID(), CREATED_AT)).getGameId();
+        for (int position = 1; position <= 3; position++) {
+            play(kept, position);
+        }
+        List<UUID> deleted = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            deleted.add(store.save(createGame(UUID.randomUUID(), CREATED_AT)).getGameId());
+        }
+        long lengthBefore = Files.size(journal);
+
+        store.deleteAllById(deleted);
+
+        assertTrue(Files.size(journal) < lengthBefore);
+        assertEquals(List.of(moves.resolve("segment-0000000001.log")), listSegments());
+        reopen();
+        Game replayed = store.findById(kept).orElseThrow();
+        assertEquals(3L, replayed.getVersion());
+        assertEquals(3, replayed.getGameState().getPlayerList().get(0).getPosition());
+        assertTrue(store.findAllById(deleted).isEmpty());
+    }
+
+    private List<Path> listSegments() throws IOException {
+        try (Stream<Path> segments = Files.list(moves)) {
+            return segments.sorted().toList();
+        }
+    }
+
+    private void play(UUID gameId, int position) {
+        Game game = store.findById(gameId).orElseThrow();
+        game.getGameState().getPlayerList().get(0).setPosition(position);
+        store.save(game);
+    }
+
+    private JournalGameStore open() throws IOException {
+        return new JournalGameStore(journal, moves, segmentRecords, true, 256, snapshotMoves, compactEntries, new PlayerNameRegistry(1024));
+    }
+
+    private void reopen() throws IOException {
+        store.close();
+        store = open();
+    }
+
+    /**
+     * Closes the store, leaves a torn record after the last acknowledged move of the first segment, as a move being
+     * appended when the process was killed would, then opens a new store over the journals.
+     *
+     * @param acknowledgedMoves the number of moves in the first segment
+     */
+    private void crash(int acknowledgedMoves) throws IOException {
+        store.close();
+        ByteBuffer torn = ByteBuffer.allocate(MoveJournal.RECORD_SIZE / 2).order(ByteOrder.LITTLE_ENDIAN);
+        torn.putInt(MoveJournal.MAGIC).putInt(0xBADC0DE).putLong(-1L);
+        torn.rewind();
+        try (FileChannel channel = FileChannel.open(moves.resolve("segment-0000000000.log"), StandardOpenOption.WRITE)) {
+            channel.write(torn, (long) acknowledgedMoves * MoveJournal.RECORD_SIZE);
+        }
+        store = open();
+    }
+}
@@ -0,0 +1,124 @@
+package com.sovan.chutesladders.store;
+
+import com.sovan.chutesladders.ChutesLaddersApplication;
+import com.sovan.chutesladders.metrics.QueryCounts;
+import com.sovan.chutesladders.model.Game;
+import com.sovan.chutesladders.model.GameFilter;
+import com.sovan.chutesladders.model.GameSummaryDTO;
+import com.sovan.chutesladders.repository.GameRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static com.sovan.chutesladders.metrics.QueryBudget.measure;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(classes = ChutesLaddersApplication.class, properties = "spring.datasource.url=jdbc:h2:mem:jpastore")
+@ActiveProfiles("test")
+class JpaGameStoreTest extends GameStoreConformanceTest {
+
+    @Autowired
+    private GameStore gameStore;
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private CreatedAtBackfillRunner createdAtBackfillRunner;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        gameRepository.deleteAll();
+    }
+
+    @Override
+    protected GameStore store() {
+        return gameStore;
+    }
+
+    @Override
+    protected <T> T inTransaction(Supplier<T> work) {
+        return transactionTemplate.execute(status -> work.get());
+    }
+
+    @Test
+    void testSave_ManagedGame_ShouldNotMerge() {
+        UUID gameId = gameStore.save(createGame(UUID.randomUUID(), CREATED_AT)).getGameId();
+
+        inTransaction(() -> {
+            Game loaded = gameStore.findById(gameId).orElseThrow();
+            loaded.getGameState().getPlayerList().get(0).setPosition(6);
+            assertSame(loaded, gameStore.save(loaded));
+            return null;
+        });
+
+        Game found = gameStore.findById(gameId).orElseThrow();
+        assertEquals(1L, found.getVersion());
+        assertEquals(6, found.getGameState().getPlayerList().get(0).getPosition());
+    }
+
+    @Test
+    void testExecuteTurn_ShouldLoadAndSaveInOneTransaction() throws Exception {
+        UUID gameId = gameStore.save(createGame(UUID.randomUUID(), CREATED_AT)).getGameId();
+
+        QueryCounts counts = measure(() -> gameStore.executeTurn(() -> {
+            Game loaded = gameStore.findById(gameId).orElseThrow();
+            loaded.getGameState().getPlayerList().get(0).setPosition(6);
+            assertSame(loaded, gameStore.save(loaded));
+            return loaded;
+        }));
+
+        assertEquals(1, counts.getConnections());
+        Game found = gameStore.findById(gameId).orElseThrow();
+        assertEquals(1L, found.getVersion());
+        assertEquals(6, found.getGameState().getPlayerList().get(0).getPosition());
+    }
+
+    @Test
+    void testSave_GameWithoutCreationTime_ShouldBeGivenOne() {
+        UUID gameId = gameStore.save(createGame(UUID.randomUUID(), null)).getGameId();
+
+        assertNotNull(gameStore.findById(gameId).orElseThrow().getCreatedAt());
+    }
+
+    @Test
+    void testBackfill_LegacyGameWithoutCreationTime_ShouldBeListedAndStreamed() {
+        UUID legacyId = gameStore.save(createGame(UUID.randomUUID(), CREATED_AT)).getGameId();
+        UUID otherId = gameStore.save(createGame(UUID.randomUUID(), CREATED_AT)).getGameId();
+        inTransaction(() -> entityManager.createNativeQuery("UPDATE game SET created_at = NULL, updated_at = NULL WHERE game_id = :gameId")
+                .setParameter("gameId", legacyId)
+                .executeUpdate());
+        GameFilter filter = new GameFilter();
+        assertEquals(List.of(otherId), gameStore.findSummariesAfter(filter, filter.createdFromOrMin(), new UUID(0L, 0L), 10)
+                .stream().map(GameSummaryDTO::getGameId).toList());
+
+        createdAtBackfillRunner.run(new DefaultApplicationArguments());
+
+        List<GameSummaryDTO> page = gameStore.findSummariesAfter(filter, filter.createdFromOrMin(), new UUID(0L, 0L), 10);
+        assertEquals(List.of(legacyId, otherId), page.stream().map(GameSummaryDTO::getGameId).toList());
+        assertEquals(Instant.EPOCH, page.get(0).getCreatedAt());
+        List<UUID> streamed = inTransaction(() -> {
+            try (Stream<GameSummaryDTO> summaries = gameStore.streamSummaries(filter)) {
+                return summaries.map(GameSummaryDTO::getGameId).toList();
+            }
+        });
+        assertEquals(List.of(legacyId, otherId), streamed);
+    }
+}
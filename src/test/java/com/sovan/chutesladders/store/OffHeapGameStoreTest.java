@@ -0,0 +1,66 @@
+package com.sovan.chutesladders.store;
+
+import com.sovan.chutesladders.engine.PlayerNameRegistry;
+import com.sovan.chutesladders.model.Player;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffHeapGameStoreTest extends GameStoreConformanceTest {
+
+    private OffHeapGameStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new OffHeapGameStore(100, new PlayerNameRegistry(1024), new SimpleMeterRegistry());
+    }
+
+    @Override
+    protected GameStore store() {
+        return store;
+    }
+
+    @Test
+    void testSave_NewGameWithStoredId_ShouldThrow() {
+        UUID gameId = UUID.randomUUID();
+        store.save(createGame(gameId, CREATED_AT));
+
+        assertThrows(OptimisticLockingFailureException.class, () -> store.save(createGame(gameId, CREATED_AT)));
+    }
+
+    @Test
+    void testSave_FullNameRegistry_ShouldKeepPlainNames() {
+        OffHeapGameStore smallStore = new OffHeapGameStore(10, new PlayerNameRegistry(1), new SimpleMeterRegistry());
+        UUID gameId = smallStore.save(createGame(UUID.randomUUID(), CREATED_AT)).getGameId();
+
+        List<Player> players = smallStore.findById(gameId).orElseThrow().getGameState().getPlayerList();
+        assertEquals(List.of("Alice", "Bob"), players.stream().map(Player::getName).toList());
+    }
+
+    @Test
+    void testDeleteAllById_FullStore_ShouldReuseSlots() {
+        List<UUID> gameIds = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            gameIds.add(store.save(createGame(UUID.randomUUID(), CREATED_AT)).getGameId());
+        }
+        assertThrows(DataAccessResourceFailureException.class, () -> store.save(createGame(UUID.randomUUID(), CREATED_AT)));
+
+        store.deleteAllById(gameIds.subList(0, 50));
+
+        assertEquals(50, store.size());
+        assertTrue(store.findById(gameIds.get(0)).isEmpty());
+        assertTrue(store.findById(gameIds.get(99)).isPresent());
+        for (int i = 0; i < 50; i++) {
+            store.save(createGame(UUID.randomUUID(), CREATED_AT));
+        }
+        assertEquals(100, store.size());
+    }
+}
@@ -0,0 +1,158 @@
+package com.sovan.chutesladders.store;
+
+import com.sovan.chutesladders.metrics.QueryCounts;
+import com.sovan.chutesladders.model.Game;
+import com.sovan.chutesladders.model.GameFilter;
+import com.sovan.chutesladders.model.GameSummaryDTO;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static com.sovan.chutesladders.metrics.QueryBudget.measure;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShardedGameStoreTest extends GameStoreConformanceTest {
+
+    private final List<ShardedGameStore> opened = new ArrayList<>();
+    private String databasePrefix;
+    private ShardedGameStore store;
+
+    @BeforeEach
+    void setUp() {
+        databasePrefix = "shardtest" + UUID.randomUUID().toString().replace("-", "");
+        store = open(3, 0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        opened.forEach(ShardedGameStore::close);
+    }
+
+    @Override
+    protected GameStore store() {
+        return store;
+    }
+
+    @Test
+    void testSave_ShouldSpreadGamesOverShards() {
+        Set<Integer> usedShards = new HashSet<>();
+        for (int i = 0; i < 60; i++) {
+            UUID gameId = store.save(createGame(UUID.randomUUID(), CREATED_AT)).getGameId();
+            usedShards.add(store.shardIndexOf(gameId));
+        }
+
+        assertEquals(Set.of(0, 1, 2), usedShards);
+        try (Stream<GameSummaryDTO> summaries = store.streamSummaries(new GameFilter())) {
+            assertEquals(60, summaries.count());
+        }
+    }
+
+    @Test
+    void testSave_NewGameWithStoredId_ShouldThrow() {
+        UUID gameId = UUID.randomUUID();
+        store.save(createGame(gameId, CREATED_AT));
+
+        assertThrows(OptimisticLockingFailureException.class, () -> store.save(createGame(gameId, CREATED_AT)));
+    }
+
+    @Test
+    void testFindById_ShouldBeCountedAsOneSelect() throws Exception {
+        UUID gameId = store.save(createGame(UUID.randomUUID(), CREATED_AT)).getGameId();
+
+        QueryCounts counts = measure(() -> store.findById(gameId));
+
+        assertEquals(1, counts.getConnections());
+        assertEquals(1, counts.getSelects());
+        assertEquals(1, counts.getStatements());
+    }
+
+    @Test
+    void testGameCountGauge_ShouldFollowInsertsAndDeletes() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        List<UUID> gameIds = IntStream.range(0, 30)
+                .mapToObj(i -> store.save(createGame(UUID.randomUUID(), CREATED_AT)).getGameId())
+                .toList();
+        ShardedGameStore reopened = open(3, 0, meterRegistry);
+        assertEquals(30, storedGames(meterRegistry));
+
+        reopened.insertAll(List.of(createGame(UUID.randomUUID(), CREATED_AT), createGame(gameIds.get(0), CREATED_AT)));
+        assertEquals(31, storedGames(meterRegistry));
+
+        reopened.deleteAllById(List.of(gameIds.get(0), gameIds.get(1), UUID.randomUUID()));
+        assertEquals(29, storedGames(meterRegistry));
+    }
+
+    @Test
+    void testJumpHash_AddingShard_ShouldOnlyMoveGamesToNewShard() {
+        for (int i = 0; i < 10_000; i++) {
+            long key = UUID.randomUUID().getMostSignificantBits();
+            int before = ShardedGameStore.jumpHash(key, 4);
+            int after = ShardedGameStore.jumpHash(key, 5);
+            assertTrue(after == before || after == 4, "key moved from " + before + " to " + after);
+        }
+    }
+
+    @Test
+    void testRebalance_AddedAndDrainedShards_ShouldMoveGamesToTheirShards() {
+        List<UUID> gameIds = IntStream.range(0, 200)
+                .mapToObj(i -> store.save(createGame(UUID.randomUUID(), CREATED_AT)).getGameId())
+                .toList();
+        Game played = store.findById(gameIds.get(0)).orElseThrow();
+        played.getGameState().getPlayerList().get(0).setPosition(7);
+        store.save(played);
+
+        ShardedGameStore grown = open(4, 0);
+        assertTrue(grown.rebalance() > 0);
+        assertEquals(0, grown.rebalance());
+        assertAllFound(grown, gameIds);
+        assertEquals(7, grown.findById(gameIds.get(0)).orElseThrow().getGameState().getPlayerList().get(0).getPosition());
+        assertEquals(1L, grown.findById(gameIds.get(0)).orElseThrow().getVersion());
+
+        ShardedGameStore shrunk = open(2, 2);
+        shrunk.rebalance();
+        assertAllFound(shrunk, gameIds);
+        try (Stream<GameSummaryDTO> summaries = shrunk.streamSummaries(new GameFilter())) {
+            assertEquals(200, summaries.count());
+        }
+    }
+
+    private static double storedGames(SimpleMeterRegistry meterRegistry) {
+        return meterRegistry.get("game.store.shard.games").gauges().stream().mapToDouble(Gauge::value).sum();
+    }
+
+    private void assertAllFound(ShardedGameStore sharded, List<UUID> gameIds) {
+        assertEquals(gameIds.size(), sharded.findAllById(gameIds).size());
+        for (UUID gameId : gameIds) {
+            assertTrue(sharded.findById(gameId).isPresent(), "game " + gameId + " not found");
+        }
+    }
+
+    /**
+     * Opens a store over the first shard databases of this test, the drained ones following the routed ones.
+     */
+    private ShardedGameStore open(int shards, int drained) {
+        return open(shards, drained, new SimpleMeterRegistry());
+    }
+
+    private ShardedGameStore open(int shards, int drained, SimpleMeterRegistry meterRegistry) {
+        List<String> urls = new ArrayList<>();
+        for (int i = 0; i < shards + drained; i++) {
+            urls.add("jdbc:h2:mem:" + databasePrefix + "_" + i + ";DB_CLOSE_DELAY=-1");
+        }
+        ShardedGameStore sharded = new ShardedGameStore(urls.subList(0, shards), urls.subList(shards, urls.size()),
+                "sa", "", 2, meterRegistry);
+        opened.add(sharded);
+        return sharded;
+    }
+}
@@ -0,0 +1,96 @@
+package com.sovan.chutesladders.utils;
+
+import com.sovan.chutesladders.model.GameDTO;
+import com.sovan.chutesladders.model.GameStateDTO;
+import com.sovan.chutesladders.model.PlayerDTO;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.io.UTFDataFormatException;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameBinaryCodecTest {
+
+    @Test
+    void testWriteAndRead_ShouldRoundTrip() throws IOException {
+        GameDTO game = createGameDTO(Instant.parse("2025-01-01T12:00:00.123456Z"));
+        GameDTO gameWithoutCreatedAt = createGameDTO(null);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        GameBinaryCodec.writeHeader(out);
+        GameBinaryCodec.write(out, game);
+        GameBinaryCodec.write(out, gameWithoutCreatedAt);
+        out.flush();
+
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        GameBinaryCodec.readHeader(in);
+        assertEquals(game, GameBinaryCodec.read(in));
+        assertEquals(gameWithoutCreatedAt, GameBinaryCodec.read(in));
+        assertNull(GameBinaryCodec.read(in));
+    }
+
+    @Test
+    void testReadHeader_WrongMagic_ShouldThrowException() {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(new byte[]{'{', '"', 'g', 1}));
+
+        assertThrows(StreamCorruptedException.class, () -> GameBinaryCodec.readHeader(in));
+    }
+
+    @Test
+    void testRead_TruncatedRecord_ShouldThrowException() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        GameBinaryCodec.write(out, createGameDTO(null));
+        out.flush();
+        byte[] truncated = Arrays.copyOf(bytes.toByteArray(), bytes.size() - 3);
+
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(truncated));
+        assertThrows(StreamCorruptedException.class, () -> GameBinaryCodec.read(in));
+    }
+
+    @Test
+    void testWrite_NameTooLong_ShouldThrowExceptionWithoutWriting() throws IOException {
+        GameDTO game = createGameDTO(null);
+        game.getGameState().getPlayerList().get(1).setName("\u00e9".repeat(40_000));
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+
+        assertThrows(UTFDataFormatException.class, () -> GameBinaryCodec.write(out, game));
+        out.flush();
+        assertEquals(0, bytes.size());
+    }
+
+    private GameDTO createGameDTO(Instant createdAt) {
+        GameDTO gameDTO = new GameDTO();
+        gameDTO.setGameId(UUID.randomUUID());
+        gameDTO.setCreatedAt(createdAt);
+
+        GameStateDTO gameStateDTO = new GameStateDTO();
+        gameStateDTO.setNextPlayer(1);
+        gameStateDTO.setWinnerDeclared(true);
+        gameStateDTO.setPlayerList(Arrays.asList(
+                createPlayerDTO("Alice", 99, true),
+                createPlayerDTO("Bob", 42, false)
+        ));
+        gameDTO.setGameState(gameStateDTO);
+        return gameDTO;
+    }
+
+    private PlayerDTO createPlayerDTO(String name, int position, boolean isWinner) {
+        PlayerDTO playerDTO = new PlayerDTO();
+        playerDTO.setName(name);
+        playerDTO.setPosition(position);
+        playerDTO.setWinner(isWinner);
+        return playerDTO;
+    }
+}
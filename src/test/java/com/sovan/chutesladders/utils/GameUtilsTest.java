@@ -104,6 +104,16 @@ class GameUtilsTest {
         assertFalse(result);
     }
 
+    @Test
+    void testIsPlayerListEqual_WhenRequestOmitsPlayerNames_ShouldReturnTrue() {
+        GameState gameState = testGame.getGameState();
+        GameStateDTO gameStateDTO = testGameDTO.getGameState();
+        gameStateDTO.getPlayerList().get(0).setName(null);
+        gameStateDTO.getPlayerList().get(1).setName(null);
+
+        assertTrue(GameUtils.isPlayerListEqual(gameState, gameStateDTO));
+    }
+
     @Test
     void testIsPlayerListEqual_WhenDifferentPlayerPosition_ShouldReturnFalse() {
         GameState gameState = testGame.getGameState();
@@ -114,6 +124,24 @@ class GameUtilsTest {
         assertFalse(result);
     }
 
+    @Test
+    void testIsPlayerListEqual_WhenDifferentPlayerCount_ShouldReturnFalse() {
+        GameState gameState = testGame.getGameState();
+        GameStateDTO gameStateDTO = testGameDTO.getGameState();
+        gameStateDTO.setPlayerList(List.of(createPlayerDTO("Alice", 5)));
+
+        assertFalse(GameUtils.isPlayerListEqual(gameState, gameStateDTO));
+    }
+
+    @Test
+    void testIsPlayerListEqual_WhenRequestHasNoPlayers_ShouldReturnFalse() {
+        GameState gameState = testGame.getGameState();
+        GameStateDTO gameStateDTO = testGameDTO.getGameState();
+        gameStateDTO.setPlayerList(null);
+
+        assertFalse(GameUtils.isPlayerListEqual(gameState, gameStateDTO));
+    }
+
     private Game createTestGame() {
         Game game = new Game();
         game.setGameId(gameId);
@@ -0,0 +1,112 @@
+package com.sovan.chutesladders.utils;
+
+import com.sovan.chutesladders.model.GameDTO;
+import com.sovan.chutesladders.model.GameStateDTO;
+import com.sovan.chutesladders.model.PlayerDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameValidatorTest {
+
+    private static final int MAX_PLAYERS = 10;
+    private static final int BOARD_SIZE = 100;
+
+    private GameDTO gameDTO;
+
+    @BeforeEach
+    void setUp() {
+        gameDTO = new GameDTO();
+        gameDTO.setGameId(UUID.randomUUID());
+
+        GameStateDTO gameStateDTO = new GameStateDTO();
+        gameStateDTO.setNextPlayer(1);
+        gameStateDTO.setWinnerDeclared(false);
+        gameStateDTO.setPlayerList(new ArrayList<>(Arrays.asList(
+                createPlayerDTO("Alice", 12, false),
+                createPlayerDTO("Bob", 40, false)
+        )));
+        gameDTO.setGameState(gameStateDTO);
+    }
+
+    @Test
+    void testValidate_ValidGame_ShouldPass() {
+        assertTrue(GameValidator.validate(gameDTO, MAX_PLAYERS, BOARD_SIZE).isEmpty());
+    }
+
+    @Test
+    void testValidate_FinishedGame_ShouldPass() {
+        gameDTO.getGameState().setWinnerDeclared(true);
+        gameDTO.getGameState().getPlayerList().set(0, createPlayerDTO("Alice", 99, true));
+
+        assertTrue(GameValidator.validate(gameDTO, MAX_PLAYERS, BOARD_SIZE).isEmpty());
+    }
+
+    @Test
+    void testValidate_MissingGameId_ShouldFail() {
+        gameDTO.setGameId(null);
+
+        assertTrue(GameValidator.validate(gameDTO, MAX_PLAYERS, BOARD_SIZE).isPresent());
+    }
+
+    @Test
+    void testValidate_TooManyPlayers_ShouldFail() {
+        List<PlayerDTO> players = new ArrayList<>();
+        for (int i = 0; i <= MAX_PLAYERS; i++) {
+            players.add(createPlayerDTO("Player " + i, 0, false));
+        }
+        gameDTO.getGameState().setPlayerList(players);
+
+        assertTrue(GameValidator.validate(gameDTO, MAX_PLAYERS, BOARD_SIZE).isPresent());
+    }
+
+    @Test
+    void testValidate_NameTooLong_ShouldFail() {
+        gameDTO.getGameState().getPlayerList().get(1).setName("B".repeat(GameValidator.MAX_NAME_LENGTH + 1));
+
+        assertTrue(GameValidator.validate(gameDTO, MAX_PLAYERS, BOARD_SIZE).isPresent());
+    }
+
+    @Test
+    void testValidate_PositionOffBoard_ShouldFail() {
+        gameDTO.getGameState().getPlayerList().get(1).setPosition(BOARD_SIZE);
+
+        assertTrue(GameValidator.validate(gameDTO, MAX_PLAYERS, BOARD_SIZE).isPresent());
+    }
+
+    @Test
+    void testValidate_NextPlayerOutOfRange_ShouldFail() {
+        gameDTO.getGameState().setNextPlayer(2);
+
+        assertTrue(GameValidator.validate(gameDTO, MAX_PLAYERS, BOARD_SIZE).isPresent());
+    }
+
+    @Test
+    void testValidate_WinnerDeclaredWithoutWinner_ShouldFail() {
+        gameDTO.getGameState().setWinnerDeclared(true);
+
+        assertTrue(GameValidator.validate(gameDTO, MAX_PLAYERS, BOARD_SIZE).isPresent());
+    }
+
+    @Test
+    void testValidate_WinnerNotOnLastSquare_ShouldFail() {
+        gameDTO.getGameState().setWinnerDeclared(true);
+        gameDTO.getGameState().getPlayerList().get(0).setWinner(true);
+
+        assertTrue(GameValidator.validate(gameDTO, MAX_PLAYERS, BOARD_SIZE).isPresent());
+    }
+
+    private PlayerDTO createPlayerDTO(String name, int position, boolean isWinner) {
+        PlayerDTO playerDTO = new PlayerDTO();
+        playerDTO.setName(name);
+        playerDTO.setPosition(position);
+        playerDTO.setWinner(isWinner);
+        return playerDTO;
+    }
+}
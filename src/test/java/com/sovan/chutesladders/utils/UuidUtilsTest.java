@@ -0,0 +1,51 @@
+package com.sovan.chutesladders.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UuidUtilsTest {
+
+    @Test
+    void testTimeOrderedUuid_ShouldBeVersion7WithRfcVariant() {
+        UUID uuid = UuidUtils.timeOrderedUuid();
+
+        assertEquals(7, uuid.version());
+        assertEquals(2, uuid.variant());
+    }
+
+    @Test
+    void testTimeOrderedUuid_ShouldIncreaseAsUnsignedNumbers() {
+        UUID previous = UuidUtils.timeOrderedUuid();
+        for (int i = 0; i < 100_000; i++) {
+            UUID next = UuidUtils.timeOrderedUuid();
+            assertTrue(Long.compareUnsigned(previous.getMostSignificantBits(), next.getMostSignificantBits()) < 0,
+                    previous + " should sort before " + next);
+            previous = next;
+        }
+    }
+
+    @Test
+    void testTimeOrderedUuid_ConcurrentCalls_ShouldBeUnique() {
+        Set<UUID> uuids = ConcurrentHashMap.newKeySet();
+        IntStream.range(0, 200_000).parallel().forEach(i -> uuids.add(UuidUtils.timeOrderedUuid()));
+
+        assertEquals(200_000, uuids.size());
+    }
+
+    @Test
+    void testTimestampOf_ShouldReturnGenerationTime() {
+        Instant before = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        Instant timestamp = UuidUtils.timestampOf(UuidUtils.timeOrderedUuid());
+
+        assertFalse(timestamp.isBefore(before));
+        assertThrows(IllegalArgumentException.class, () -> UuidUtils.timestampOf(UUID.randomUUID()));
+    }
+}
@@ -0,0 +1,36 @@
+package com.sovan.chutesladders.warmup;
+
+import com.sovan.chutesladders.ChutesLaddersApplication;
+import com.sovan.chutesladders.repository.GameRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(classes = ChutesLaddersApplication.class, properties = {
+        "chutesladders.warmup.enabled=true",
+        "chutesladders.warmup.games=3",
+        "spring.datasource.url=jdbc:h2:mem:warmup"
+})
+@ActiveProfiles("test")
+class WarmUpRunnerTest {
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void testWarmUp_ShouldPlayGamesWithoutTouchingStoreOrGameMetrics() {
+        assertEquals(1, meterRegistry.get("game.warmup.duration").timer().count());
+        assertTrue(meterRegistry.get("game.warmup.turns").counter().count() > 0);
+        assertEquals(0, gameRepository.count());
+        assertEquals(0, meterRegistry.get("game.create").timer().count());
+        assertEquals(0, meterRegistry.get("game.turn").timer().count());
+    }
+}